@@ -15,6 +15,7 @@
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.DataStoreInfo;
 import org.geoserver.catalog.HTTPStoreInfo;
 import org.geoserver.catalog.LayerGroupInfo;
@@ -26,8 +27,10 @@
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.datadir.internal.DataDirectoryLoader;
+import org.geoserver.catalog.datadir.internal.LazyResourceLoader;
 import org.geoserver.catalog.event.CatalogListener;
 import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.impl.DefaultCatalogFacade;
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.config.ConfigurationListener;
 import org.geoserver.config.DefaultGeoServerLoader;
@@ -112,11 +115,41 @@ public void loadCatalog(Catalog targetCatalog, XStreamPersister xp) throws Excep
 
         decryptStorePasswords(newlyLoadedCatalog);
 
+        Optional<LazyResourceLoader> lazyLoader = loader.getLazyLoader();
+        DefaultCatalogFacade lazyFacade = lazyLoader.isPresent() ? lazyLoadingFacade(targetCatalog) : null;
+        if (lazyLoader.isPresent() && lazyFacade == null) {
+            LOGGER.info("Target catalog does not support lazy loading, fully loading resources and layers");
+            lazyLoader.get().setCatalog(newlyLoadedCatalog);
+            lazyLoader.get().materializeAll();
+        }
+
         transferContents(newlyLoadedCatalog, targetCatalog, xp);
 
+        if (lazyFacade != null) {
+            LazyResourceLoader lazy = lazyLoader.get();
+            lazy.setCatalog(targetCatalog);
+            lazyFacade.setMaterializer(lazy);
+            lazy.materializeGroupLayers(targetCatalog);
+            LOGGER.log(Level.CONFIG, "{0} of {1} resources and layers fully loaded at startup", new Object[] {
+                lazy.getMaterializedCount(), lazy.getStubCount()
+            });
+        }
+
         getLoaderListener().loadCatalog(targetCatalog, xp);
     }
 
+    /**
+     * Returns the facade of the target catalog if it can complete the loading of resources and layers on demand, null
+     * otherwise
+     */
+    private DefaultCatalogFacade lazyLoadingFacade(Catalog target) {
+        if (target instanceof CatalogImpl) {
+            CatalogFacade facade = ((CatalogImpl) target).getRawCatalog().getFacade();
+            if (facade instanceof DefaultCatalogFacade) return (DefaultCatalogFacade) facade;
+        }
+        return null;
+    }
+
     protected CatalogImpl newTemporaryCatalog() {
         return new CatalogImpl();
     }
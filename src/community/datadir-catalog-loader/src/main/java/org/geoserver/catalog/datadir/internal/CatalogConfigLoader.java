@@ -49,6 +49,9 @@ class CatalogConfigLoader {
     private final ExecutorService executor;
     private final CatalogImpl catalog;
 
+    /** Creates resource and layer stubs instead of fully loading them, if not null */
+    private final LazyResourceLoader lazyLoader;
+
     static {
         try {
             LOGGER.info("Forcing initialization of CRS subsystem or it'd fail under concurrency");
@@ -60,6 +63,15 @@ class CatalogConfigLoader {
 
     public CatalogConfigLoader(
             CatalogImpl catalog, DataDirectoryWalker fileWalk, XStreamLoader xstreamLoader, ExecutorService executor) {
+        this(catalog, fileWalk, xstreamLoader, executor, null);
+    }
+
+    public CatalogConfigLoader(
+            CatalogImpl catalog,
+            DataDirectoryWalker fileWalk,
+            XStreamLoader xstreamLoader,
+            ExecutorService executor,
+            LazyResourceLoader lazyLoader) {
         requireNonNull(catalog);
         requireNonNull(fileWalk);
         requireNonNull(xstreamLoader);
@@ -68,6 +80,7 @@ public CatalogConfigLoader(
         this.fileWalk = fileWalk;
         this.xstreamLoader = xstreamLoader;
         this.executor = executor;
+        this.lazyLoader = lazyLoader;
     }
 
     public CatalogImpl loadCatalog() throws Exception {
@@ -93,6 +106,9 @@ private CatalogImpl readCatalog() throws Exception {
         loadLayerGroups(fileWalk.globalLayerGroups().stream());
 
         LOGGER.config(String.format("Depersisted %,d Catalog files.", readFileCount.get()));
+        if (lazyLoader != null) {
+            LOGGER.config(String.format("Deferred loading of %,d resources and layers.", lazyLoader.getStubCount()));
+        }
         return this.catalog;
     }
 
@@ -136,6 +152,17 @@ private void loadLayers(Stream<LayerDirectory> layers) {
     }
 
     private void loadResourceAndLayer(LayerDirectory layerDir) {
+        if (lazyLoader != null) {
+            Optional<LazyResourceLoader.Entry> stubs = lazyLoader.createStubs(layerDir, catalog);
+            if (stubs.isPresent()) {
+                LazyResourceLoader.Entry entry = stubs.get();
+                save(entry.resource).ifPresent(resource -> {
+                    save(entry.layer);
+                    lazyLoader.register(entry);
+                });
+                return;
+            }
+        }
         loadResource(layerDir.resourceFile).ifPresent(resource -> loadLayer(layerDir));
     }
 
@@ -0,0 +1,350 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir.internal;
+
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
+import com.thoughtworks.xstream.io.xml.XppDriver;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A binary snapshot of the catalog and configuration files of a data directory, used to speed up restarts.
+ *
+ * <p>The snapshot holds, for each file, the XStream binary encoding of its element tree (see
+ * {@link com.thoughtworks.xstream.io.binary.BinaryStreamDriver}), along with the last modified time and size the file
+ * had when the snapshot was taken. A snapshot entry is used only if the file still has the same timestamp and size,
+ * otherwise the XML file is parsed and the entry replaced. Storing the element tree rather than the objects keeps the
+ * snapshot independent of the catalog classes, the usual converters and aliases apply when loading it.
+ *
+ * <p>The snapshot file is read in memory and shared by the loading threads. It is not memory mapped, as a mapped file
+ * cannot be replaced on Windows until the mapping is garbage collected. Once loading is complete {@link #save()} writes
+ * a new snapshot if any entry was added, changed or removed, replacing the old one atomically.
+ *
+ * <p>With lazy loading the snapshot does not help resources and layers: their stubs come from a scan of the XML files,
+ * and they are fully loaded after the end of the startup, once the snapshot has been released.
+ *
+ * <p>File layout: a header with a magic number, the format version, the version of the code that wrote it, and the
+ * entry count; a table with the relative path, timestamp, size, offset and length of each entry; and the entries data.
+ * Offsets are relative to the start of the data section.
+ */
+class CatalogSnapshot {
+
+    private static final Logger LOGGER =
+            Logging.getLogger(CatalogSnapshot.class.getPackage().getName());
+
+    static final int MAGIC = 0x47534453; // "GSDS"
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final XppDriver XML_DRIVER = new XppDriver();
+
+    /** The location of an entry in the data section, and the state of the file it was taken from */
+    private static class Entry {
+        final long lastModified;
+        final long size;
+        final int offset;
+        final int length;
+
+        Entry(long lastModified, long size, int offset, int length) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return lastModified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    /** The entries of a snapshot file, and its data section */
+    private static class Table {
+        final Map<String, Entry> entries;
+        final ByteBuffer data;
+
+        Table(Map<String, Entry> entries, ByteBuffer data) {
+            this.entries = entries;
+            this.data = data;
+        }
+    }
+
+    /** An entry created during this load, not yet saved */
+    private static class Update {
+        final long lastModified;
+        final long size;
+        final byte[] data;
+
+        Update(long lastModified, long size, byte[] data) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.data = data;
+        }
+    }
+
+    private final Path root;
+
+    private final Path file;
+
+    private final String version;
+
+    private final Map<String, Entry> entries;
+
+    private final ByteBuffer data;
+
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Update> updates = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private CatalogSnapshot(Path root, Path file, String version, Map<String, Entry> entries, ByteBuffer data) {
+        this.root = root;
+        this.file = file;
+        this.version = version;
+        this.entries = entries;
+        this.data = data;
+    }
+
+    /**
+     * Opens the snapshot stored in {@code file}, for the data directory at {@code root}. An empty snapshot is returned
+     * if the file does not exist, or was written by a different version.
+     */
+    static CatalogSnapshot open(Path root, Path file, String version) {
+        if (Files.isRegularFile(file)) {
+            try {
+                if (Files.size(file) > Integer.MAX_VALUE) {
+                    LOGGER.warning("Ignoring catalog snapshot " + file + ", too large to be read");
+                } else {
+                    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+                    Optional<Table> table = readTable(buffer, version);
+                    if (table.isPresent()) {
+                        return new CatalogSnapshot(root, file, version, table.get().entries, table.get().data);
+                    }
+                    LOGGER.info("Ignoring catalog snapshot " + file + ", written by a different version");
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Ignoring unreadable catalog snapshot " + file, e);
+            }
+        }
+        return new CatalogSnapshot(root, file, version, Collections.emptyMap(), null);
+    }
+
+    private static Optional<Table> readTable(ByteBuffer buffer, String version) throws IOException {
+        ByteBuffer table = buffer.duplicate();
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(table));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !version.equals(in.readUTF())) {
+            return Optional.empty();
+        }
+        int count = in.readInt();
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, count * 2));
+        for (int i = 0; i < count; i++) {
+            String path = in.readUTF();
+            entries.put(path, new Entry(in.readLong(), in.readLong(), in.readInt(), in.readInt()));
+        }
+        // the input stream does not buffer, the table is now positioned at the start of the data section
+        ByteBuffer data = table.slice();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.offset < 0 || entry.length < 0 || entry.offset > data.limit() - entry.length) {
+                throw new IOException("Invalid snapshot entry " + e.getKey());
+            }
+        }
+        return Optional.of(new Table(entries, data));
+    }
+
+    /**
+     * Returns the binary encoding of {@code path}, if the snapshot holds a copy taken when the file had the given
+     * attributes.
+     */
+    Optional<InputStream> open(Path path, BasicFileAttributes attributes) {
+        String key = key(path);
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.matches(attributes)) {
+            return Optional.empty();
+        }
+        used.add(key);
+        hits.incrementAndGet();
+        return Optional.of(new ByteBufferInputStream(slice(entry)));
+    }
+
+    /** Records the contents of {@code path}, read when it had the given attributes, to be saved in the snapshot */
+    void update(Path path, BasicFileAttributes attributes, byte[] xml) {
+        String key = key(path);
+        try {
+            byte[] binary = transcode(xml);
+            updates.put(key, new Update(attributes.lastModifiedTime().toMillis(), attributes.size(), binary));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Not adding " + path + " to the catalog snapshot", e);
+        }
+        used.remove(key);
+    }
+
+    /** Number of files loaded from the snapshot */
+    long getHits() {
+        return hits.get();
+    }
+
+    /** Number of files parsed and added to the snapshot */
+    long getUpdates() {
+        return updates.size();
+    }
+
+    /**
+     * Writes a new snapshot with the entries used by this load, if it differs from the one that was opened. Entries
+     * for files that have been removed, or failed to load, are dropped.
+     */
+    void save() throws IOException {
+        if (updates.isEmpty() && used.size() == entries.size()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(used);
+        keys.removeAll(updates.keySet());
+        keys.addAll(updates.keySet());
+        Collections.sort(keys);
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        DataOutputStream tableOut = new DataOutputStream(table);
+        tableOut.writeInt(MAGIC);
+        tableOut.writeInt(FORMAT_VERSION);
+        tableOut.writeUTF(version);
+        tableOut.writeInt(keys.size());
+        long offset = 0;
+        for (String key : keys) {
+            Update update = updates.get(key);
+            Entry entry = entries.get(key);
+            long lastModified = update == null ? entry.lastModified : update.lastModified;
+            long size = update == null ? entry.size : update.size;
+            int length = update == null ? entry.length : update.data.length;
+            if (offset + length > Integer.MAX_VALUE) {
+                LOGGER.warning("Catalog snapshot would exceed 2GB, not saving it");
+                return;
+            }
+            tableOut.writeUTF(key);
+            tableOut.writeLong(lastModified);
+            tableOut.writeLong(size);
+            tableOut.writeInt((int) offset);
+            tableOut.writeInt(length);
+            offset += length;
+        }
+        tableOut.flush();
+
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                table.writeTo(out);
+                for (String key : keys) {
+                    Update update = updates.get(key);
+                    if (update != null) {
+                        out.write(update.data);
+                    } else {
+                        writeTo(slice(entries.get(key)), out);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        LOGGER.config(String.format("Saved catalog snapshot with %,d entries to %s", keys.size(), file));
+    }
+
+    private String key(Path path) {
+        return root.relativize(path).toString().replace('\\', '/');
+    }
+
+    private ByteBuffer slice(Entry entry) {
+        ByteBuffer buffer = data.duplicate();
+        buffer.position(entry.offset);
+        buffer.limit(entry.offset + entry.length);
+        return buffer.slice();
+    }
+
+    private static void writeTo(ByteBuffer buffer, OutputStream out) throws IOException {
+        byte[] chunk = new byte[8192];
+        while (buffer.hasRemaining()) {
+            int len = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, len);
+            out.write(chunk, 0, len);
+        }
+    }
+
+    /**
+     * Converts an XML document into the XStream binary format, preserving the element tree, so that a persister using
+     * the binary driver loads it exactly as the XML one would.
+     */
+    static byte[] transcode(byte[] xml) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(xml.length);
+        HierarchicalStreamReader reader = XML_DRIVER.createReader(new ByteArrayInputStream(xml));
+        HierarchicalStreamWriter writer = new BinaryStreamWriter(out);
+        try {
+            new HierarchicalStreamCopier().copy(reader, writer);
+            writer.flush();
+        } finally {
+            reader.close();
+        }
+        return out.toByteArray();
+    }
+
+    /** Reads a {@link ByteBuffer} without copying it */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -4,10 +4,13 @@
  */
 package org.geoserver.catalog.datadir.internal;
 
+import com.google.common.base.Stopwatch;
+import java.io.IOException;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
@@ -36,6 +39,14 @@
  * {@link Runtime#availableProcessors()}, or overridden by the value passed through the environment variable or system
  * property {@literal DATADIR_LOAD_PARALLELISM}.
  *
+ * <p>If the {@literal DATADIR_LOADER_LAZY} environment variable or system property is {@code true}, resources and
+ * layers are loaded as stubs, and fully loaded on demand by the {@link #getLazyLoader() lazy loader}.
+ *
+ * <p>If the {@literal DATADIR_LOADER_SNAPSHOT} environment variable or system property is {@code true}, the parsed
+ * files are kept in a binary {@link CatalogSnapshot snapshot} used by the following restarts for the files that did
+ * not change. The snapshot is stored in {@code temp/datadir-loader.snapshot}, or the location given by
+ * {@literal DATADIR_LOADER_SNAPSHOT_FILE}.
+ *
  * @implNote a {@link DataDirectoryWalker} is created and used to delegate the actual loading logic to the
  *     {@link CatalogConfigLoader} and {@link GeoServerConfigLoader} collaborators.
  * @see DataDirectoryWalker
@@ -46,6 +57,12 @@ public class DataDirectoryLoader {
 
     private static final String DATADIR_LOAD_PARALLELISM = "DATADIR_LOAD_PARALLELISM";
 
+    static final String DATADIR_LOADER_LAZY = "DATADIR_LOADER_LAZY";
+
+    static final String DATADIR_LOADER_SNAPSHOT = "DATADIR_LOADER_SNAPSHOT";
+
+    static final String DATADIR_LOADER_SNAPSHOT_FILE = "DATADIR_LOADER_SNAPSHOT_FILE";
+
     private static final Logger LOGGER =
             Logging.getLogger(DataDirectoryLoader.class.getPackage().getName());
 
@@ -61,6 +78,10 @@ public class DataDirectoryLoader {
 
     private final XStreamLoader xstreamLoader;
 
+    private final LazyResourceLoader lazyLoader;
+
+    private CatalogSnapshot snapshot;
+
     public DataDirectoryLoader(
             FileSystemResourceStore resourceStore, List<XStreamServiceLoader<ServiceInfo>> serviceLoaders) {
 
@@ -72,6 +93,54 @@ public DataDirectoryLoader(
         this.fileWalk = new DataDirectoryWalker(dataDirRoot, serviceFileNames);
         this.executor = executor();
         this.xstreamLoader = new XStreamLoader();
+        this.lazyLoader = isLazy() ? new LazyResourceLoader(xstreamLoader) : null;
+        this.snapshot = openSnapshot(dataDirRoot);
+        this.xstreamLoader.setSnapshot(snapshot);
+    }
+
+    /** @return the loader completing resources and layers on demand, empty if lazy loading is disabled */
+    public Optional<LazyResourceLoader> getLazyLoader() {
+        return Optional.ofNullable(lazyLoader);
+    }
+
+    private static boolean isLazy() {
+        return Boolean.parseBoolean(GeoServerExtensions.getProperty(DATADIR_LOADER_LAZY));
+    }
+
+    private static CatalogSnapshot openSnapshot(Path dataDirRoot) {
+        if (!Boolean.parseBoolean(GeoServerExtensions.getProperty(DATADIR_LOADER_SNAPSHOT))) {
+            return null;
+        }
+        String location = GeoServerExtensions.getProperty(DATADIR_LOADER_SNAPSHOT_FILE);
+        Path file = StringUtils.hasText(location)
+                ? Path.of(location)
+                : dataDirRoot.resolve("temp").resolve("datadir-loader.snapshot");
+        Stopwatch stopWatch = Stopwatch.createStarted();
+        CatalogSnapshot snapshot = CatalogSnapshot.open(dataDirRoot, file, snapshotVersion());
+        LOGGER.log(Level.CONFIG, "Opened catalog snapshot {0} in {1}", new Object[] {file, stopWatch.stop()});
+        return snapshot;
+    }
+
+    /** The snapshot records the element tree of the files, only a format change or an upgrade invalidates it */
+    private static String snapshotVersion() {
+        String version = DataDirectoryLoader.class.getPackage().getImplementationVersion();
+        return version == null ? "" : version;
+    }
+
+    /** Saves the snapshot once both the catalog and the configuration have been loaded */
+    private void saveSnapshot() {
+        if (snapshot == null) return;
+        xstreamLoader.setSnapshot(null);
+        try {
+            LOGGER.log(Level.CONFIG, "Loaded {0} files from the catalog snapshot, parsed {1}", new Object[] {
+                snapshot.getHits(), snapshot.getUpdates()
+            });
+            snapshot.save();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to save the catalog snapshot", e);
+        } finally {
+            snapshot = null;
+        }
     }
 
     private ForkJoinPool executor() {
@@ -102,7 +171,7 @@ private UncaughtExceptionHandler uncaughtExceptionHandler() {
     }
 
     public CatalogImpl loadCatalog(CatalogImpl catalogImpl) throws Exception {
-        CatalogConfigLoader loader = new CatalogConfigLoader(catalogImpl, fileWalk, xstreamLoader, executor);
+        CatalogConfigLoader loader = new CatalogConfigLoader(catalogImpl, fileWalk, xstreamLoader, executor, lazyLoader);
         try {
             CatalogImpl catalog = loader.loadCatalog();
             this.catalogLoaded = true;
@@ -136,6 +205,9 @@ public GeoServerImpl loadGeoServer(Catalog realCatalog) throws Exception {
     }
 
     public synchronized void dispose() {
+        // an incomplete load cannot tell removed files from failed ones, do not save the snapshot
+        xstreamLoader.setSnapshot(null);
+        snapshot = null;
         if (!executor.isShutdown()) {
             executor.shutdownNow();
             fileWalk.dispose();
@@ -144,6 +216,7 @@ public synchronized void dispose() {
 
     private void tryDispose() {
         if (catalogLoaded && geoserverLoaded) {
+            saveSnapshot();
             dispose();
         }
     }
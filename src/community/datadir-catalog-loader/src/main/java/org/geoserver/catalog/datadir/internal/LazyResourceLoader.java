@@ -0,0 +1,366 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.AttributeTypeInfo;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.PublishedType;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.datadir.internal.DataDirectoryWalker.LayerDirectory;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.impl.CatalogInfoMaterializer;
+import org.geoserver.catalog.impl.CoverageInfoImpl;
+import org.geoserver.catalog.impl.FeatureTypeInfoImpl;
+import org.geoserver.catalog.impl.LayerGroupStyle;
+import org.geoserver.catalog.impl.LayerInfoImpl;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.impl.ResourceInfoImpl;
+import org.geoserver.catalog.impl.WMSLayerInfoImpl;
+import org.geoserver.catalog.impl.WMTSLayerInfoImpl;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Loads resources and layers lazily: at startup only a stub holding the identifiers, names, references, enabled flag
+ * and lat/lon bounding box is created out of a streaming scan of the XML files, the full configuration is parsed and
+ * copied into the stub the first time the catalog returns it.
+ *
+ * <p>A resource and its layer share the same directory, and are always materialized together, so that a layer never
+ * refers to a partially loaded resource. Layers published through layer groups are materialized as soon as the lazy
+ * loader is installed, see {@link #materializeGroupLayers(Catalog)}, as layer groups refer to them directly.
+ *
+ * <p>Materialized objects are kept in memory like any other catalog object, and are not turned back into stubs, as
+ * references to them can be held anywhere in the application. A stub whose files cannot be parsed, or no longer
+ * describe the same objects, is never exposed as a complete object: the lookup fails with a {@link CatalogException}
+ * and the stub stays pending, so that a later lookup can retry and saving it cannot overwrite the files.
+ */
+public class LazyResourceLoader implements CatalogInfoMaterializer {
+
+    private static final Logger LOGGER =
+            Logging.getLogger(LazyResourceLoader.class.getPackage().getName());
+
+    /** Fields that are set while creating the stub, and must not be overwritten by the full parse */
+    private static final Set<String> RESOURCE_PRESERVED_FIELDS = Set.of("id", "catalog", "store", "namespace");
+
+    private static final Set<String> LAYER_PRESERVED_FIELDS = Set.of("id", "resource");
+
+    /** The indexed properties the stubs are created with, the other indexes miss the stubs until materialized */
+    static final Set<String> STUB_PROPERTIES = Set.of("name", "store.id", "namespace.id", "enabled", "advertised");
+
+    /** A resource and layer pair, and the files they are loaded from */
+    static class Entry {
+        final Path resourceFile;
+        final Path layerFile;
+        final ResourceInfo resource;
+        final LayerInfo layer;
+
+        /** Thread materializing the entry, to short-circuit recursive lookups during the parse */
+        Thread owner;
+
+        volatile boolean done;
+
+        Entry(Path resourceFile, Path layerFile, ResourceInfo resource, LayerInfo layer) {
+            this.resourceFile = resourceFile;
+            this.layerFile = layerFile;
+            this.resource = resource;
+            this.layer = layer;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> pending = new ConcurrentHashMap<>();
+
+    private final XStreamLoader xstreamLoader;
+
+    private final AtomicLong stubCount = new AtomicLong();
+
+    private final AtomicLong materializedCount = new AtomicLong();
+
+    private volatile Catalog catalog;
+
+    public LazyResourceLoader() {
+        this(new XStreamLoader());
+    }
+
+    LazyResourceLoader(XStreamLoader xstreamLoader) {
+        this.xstreamLoader = xstreamLoader;
+    }
+
+    /** Sets the catalog used to parse the full configuration and resolve the references found in it */
+    public void setCatalog(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /** Number of resource and layer pairs created as stubs at startup */
+    public long getStubCount() {
+        return stubCount.get();
+    }
+
+    /** Number of resource and layer pairs fully loaded so far */
+    public long getMaterializedCount() {
+        return materializedCount.get();
+    }
+
+    /**
+     * Creates the resource and layer stubs for the given directory, or returns an empty optional if the files do not
+     * contain enough information, or refer to objects not found in the catalog, in which case the caller is expected
+     * to fall back on a full load.
+     */
+    Optional<Entry> createStubs(LayerDirectory layerDir, Catalog catalog) {
+        try {
+            XmlHeader rh = XmlHeader.read(layerDir.resourceFile);
+            XmlHeader lh = XmlHeader.read(layerDir.layerFile);
+
+            String id = rh.get("id");
+            String layerId = lh.get("id");
+            String name = rh.get("name");
+            if (id == null || layerId == null || name == null || !id.equals(lh.get("resource.id"))) {
+                return Optional.empty();
+            }
+            StoreInfo store = lookup(rh.get("store.id"), sid -> catalog.getStore(sid, StoreInfo.class));
+            NamespaceInfo ns = lookup(rh.get("namespace.id"), catalog::getNamespace);
+            StyleInfo style = lookup(lh.get("defaultStyle.id"), catalog::getStyle);
+            ResourceInfoImpl resource = newResource(rh.rootElement, catalog);
+            if (store == null || ns == null || style == null || resource == null) {
+                return Optional.empty();
+            }
+
+            resource.setId(id);
+            resource.setName(name);
+            resource.setNativeName(rh.get("nativeName"));
+            resource.setTitle(rh.get("title"));
+            resource.setSRS(rh.get("srs"));
+            resource.setStore(ModificationProxy.unwrap(store));
+            resource.setNamespace(ModificationProxy.unwrap(ns));
+            resource.setEnabled(Boolean.parseBoolean(rh.get("enabled")));
+            if (rh.get("advertised") != null) {
+                resource.setAdvertised(Boolean.parseBoolean(rh.get("advertised")));
+            }
+            if (resource instanceof CoverageInfoImpl) {
+                ((CoverageInfoImpl) resource).setNativeCoverageName(rh.get("nativeCoverageName"));
+            }
+            resource.setLatLonBoundingBox(latLonBoundingBox(rh));
+
+            LayerInfoImpl layer = new LayerInfoImpl();
+            layer.setId(layerId);
+            layer.setResource(resource);
+            layer.setDefaultStyle(ModificationProxy.unwrap(style));
+            if (lh.get("type") != null) {
+                layer.setType(PublishedType.valueOf(lh.get("type")));
+            }
+
+            return Optional.of(new Entry(layerDir.resourceFile, layerDir.layerFile, resource, layer));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not create stubs for " + layerDir.resourceFile + ", will load it fully", e);
+            return Optional.empty();
+        }
+    }
+
+    /** Registers the stubs, once they have been added to the catalog */
+    void register(Entry entry) {
+        pending.put(entry.resource.getId(), entry);
+        pending.put(entry.layer.getId(), entry);
+        stubCount.incrementAndGet();
+    }
+
+    @Override
+    public boolean isPending(CatalogInfo info) {
+        return !pending.isEmpty() && info != null && pending.containsKey(info.getId());
+    }
+
+    @Override
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public boolean isLoaded(String property) {
+        return STUB_PROPERTIES.contains(property);
+    }
+
+    @Override
+    public void materialize(CatalogInfo info) {
+        if (info == null || pending.isEmpty()) return;
+        Entry entry = pending.get(info.getId());
+        if (entry == null) return;
+
+        synchronized (entry) {
+            // re-entrant lookup of the objects being materialized while parsing them
+            if (entry.done || entry.owner == Thread.currentThread()) return;
+            entry.owner = Thread.currentThread();
+            try {
+                materialize(entry);
+                entry.done = true;
+                pending.remove(entry.resource.getId(), entry);
+                pending.remove(entry.layer.getId(), entry);
+            } finally {
+                entry.owner = null;
+            }
+        }
+    }
+
+    /**
+     * Materializes all pending objects, used when the target catalog cannot be set up for lazy loading. The stubs that
+     * cannot be fully loaded are removed from the catalog, as the eager loader would have skipped their files.
+     */
+    public void materializeAll() {
+        for (Entry entry : new LinkedHashSet<>(pending.values())) {
+            try {
+                materialize(entry.resource);
+            } catch (CatalogException e) {
+                LOGGER.log(Level.WARNING, "Skipping " + entry.resourceFile, e);
+                pending.remove(entry.resource.getId(), entry);
+                pending.remove(entry.layer.getId(), entry);
+                catalog.remove(entry.layer);
+                catalog.remove(entry.resource);
+            }
+        }
+    }
+
+    /**
+     * Materializes the layers directly referenced by layer groups, as they are not looked up through the catalog. The
+     * layers are looked up by id in the catalog, so that its indexes get updated as well.
+     */
+    public void materializeGroupLayers(Catalog catalog) {
+        for (LayerGroupInfo group : catalog.getLayerGroups()) {
+            Set<PublishedInfo> published = new LinkedHashSet<>(group.getLayers());
+            published.add(group.getRootLayer());
+            for (LayerGroupStyle style : group.getLayerGroupStyles()) {
+                published.addAll(style.getLayers());
+            }
+            for (PublishedInfo p : published) {
+                if (p instanceof LayerInfo && isPending(p)) {
+                    try {
+                        catalog.getLayer(p.getId());
+                    } catch (CatalogException e) {
+                        // stays pending, the group lookups will report it again
+                        LOGGER.log(Level.WARNING, "Could not load layer " + p.getId() + " of group " + group, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void materialize(Entry entry) {
+        Catalog catalog = this.catalog;
+        Optional<ResourceInfo> resource = xstreamLoader.depersist(entry.resourceFile, catalog);
+        Optional<LayerInfo> layer = xstreamLoader.depersist(entry.layerFile, catalog);
+        if (resource.isEmpty() || layer.isEmpty()) {
+            throw new CatalogException("Could not fully load " + entry.resourceFile + " and " + entry.layerFile);
+        }
+        if (!sameObject(entry.resource, resource.get()) || !sameObject(entry.layer, layer.get())) {
+            throw new CatalogException(entry.resourceFile
+                    + " no longer describes the resource and layer found at startup, reload the catalog to pick it up");
+        }
+
+        copyFields(resource.get(), entry.resource, RESOURCE_PRESERVED_FIELDS);
+        if (entry.resource instanceof FeatureTypeInfoImpl) {
+            FeatureTypeInfoImpl ft = (FeatureTypeInfoImpl) entry.resource;
+            if (ft.getAttributes() != null) {
+                for (AttributeTypeInfo att : ft.getAttributes()) {
+                    att.setFeatureType(ft);
+                }
+            }
+        }
+
+        LayerInfoImpl target = (LayerInfoImpl) entry.layer;
+        copyFields(layer.get(), target, LAYER_PRESERVED_FIELDS);
+        target.setDefaultStyle(resolve(catalog, target.getDefaultStyle()));
+        Set<StyleInfo> styles = new LinkedHashSet<>();
+        if (target.getStyles() != null) {
+            for (StyleInfo s : target.getStyles()) {
+                StyleInfo resolved = resolve(catalog, s);
+                if (resolved != null) styles.add(resolved);
+            }
+        }
+        target.setStyles(styles);
+
+        if (catalog instanceof CatalogImpl) {
+            ((CatalogImpl) catalog).resolve(entry.resource);
+            ((CatalogImpl) catalog).resolve(target);
+        }
+        materializedCount.incrementAndGet();
+    }
+
+    private static boolean sameObject(CatalogInfo stub, CatalogInfo loaded) {
+        return stub.getClass().equals(loaded.getClass()) && stub.getId().equals(loaded.getId());
+    }
+
+    private static <T> T resolve(Catalog catalog, T object) {
+        T resolved = ResolvingProxy.resolve(catalog, object);
+        return resolved == null ? null : ModificationProxy.unwrap(resolved);
+    }
+
+    /** Copies the instance fields of the source, of the same class as the target, except the preserved ones */
+    static void copyFields(Object source, Object target, Set<String> preserved) {
+        for (Class<?> c = target.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || preserved.contains(field.getName())) continue;
+                try {
+                    field.setAccessible(true);
+                    field.set(target, field.get(source));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new IllegalStateException("Failed to copy " + c.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+    }
+
+    private static ResourceInfoImpl newResource(String rootElement, Catalog catalog) {
+        switch (rootElement) {
+            case "featureType":
+                return new FeatureTypeInfoImpl(catalog);
+            case "coverage":
+                return new CoverageInfoImpl(catalog);
+            case "wmsLayer":
+                return new WMSLayerInfoImpl(catalog);
+            case "wmtsLayer":
+                return new WMTSLayerInfoImpl(catalog);
+            default:
+                return null;
+        }
+    }
+
+    private static ReferencedEnvelope latLonBoundingBox(XmlHeader header) {
+        String minx = header.get("latLonBoundingBox.minx");
+        String maxx = header.get("latLonBoundingBox.maxx");
+        String miny = header.get("latLonBoundingBox.miny");
+        String maxy = header.get("latLonBoundingBox.maxy");
+        if (minx == null || maxx == null || miny == null || maxy == null) {
+            return null;
+        }
+        return new ReferencedEnvelope(
+                Double.parseDouble(minx),
+                Double.parseDouble(maxx),
+                Double.parseDouble(miny),
+                Double.parseDouble(maxy),
+                DefaultGeographicCRS.WGS84);
+    }
+
+    private static <T> T lookup(String id, Function<String, T> finder) {
+        return id == null ? null : finder.apply(id);
+    }
+}
@@ -4,10 +4,13 @@
  */
 package org.geoserver.catalog.datadir.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -28,14 +31,24 @@ class XStreamLoader {
 
     private static final ThreadLocal<XStreamPersister> XP = ThreadLocal.withInitial(xpf::createXMLPersister);
 
+    private static final ThreadLocal<XStreamPersister> BINARY_XP =
+            ThreadLocal.withInitial(xpf::createBinaryPersister);
+
     private final AtomicLong readFileCount = new AtomicLong();
 
+    /** Snapshot to load files from, and to record the parsed ones in, if not null */
+    private volatile CatalogSnapshot snapshot;
+
+    void setSnapshot(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     @SuppressWarnings("unchecked")
     public <C extends Info> Optional<C> depersist(Path file, Catalog catalog) {
         C info = null;
-        try (InputStream in = Files.newInputStream(file, StandardOpenOption.READ)) {
-            XStreamPersister xp = getXstream(catalog);
-            Info depersisted = xp.load(in, Info.class);
+        try {
+            CatalogSnapshot snapshot = this.snapshot;
+            Info depersisted = snapshot == null ? load(file, catalog) : load(file, catalog, snapshot);
             if (null == depersisted) {
                 LOGGER.log(Level.WARNING, file + " depersisted to null");
             } else {
@@ -51,8 +64,31 @@ public <C extends Info> Optional<C> depersist(Path file, Catalog catalog) {
         return Optional.ofNullable(info);
     }
 
-    private XStreamPersister getXstream(Catalog catalog) {
-        XStreamPersister xp = XP.get();
+    private Info load(Path file, Catalog catalog) throws IOException {
+        try (InputStream in = Files.newInputStream(file, StandardOpenOption.READ)) {
+            return getXstream(XP.get(), catalog).load(in, Info.class);
+        }
+    }
+
+    private Info load(Path file, Catalog catalog, CatalogSnapshot snapshot) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Optional<InputStream> cached = snapshot.open(file, attributes);
+        if (cached.isPresent()) {
+            try (InputStream in = cached.get()) {
+                return getXstream(BINARY_XP.get(), catalog).load(in, Info.class);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Failed to load " + file + " from the catalog snapshot, parsing it", e);
+            }
+        }
+        byte[] xml = Files.readAllBytes(file);
+        Info info = getXstream(XP.get(), catalog).load(new ByteArrayInputStream(xml), Info.class);
+        if (info != null) {
+            snapshot.update(file, attributes, xml);
+        }
+        return info;
+    }
+
+    private XStreamPersister getXstream(XStreamPersister xp, Catalog catalog) {
         xp.setCatalog(catalog);
         xp.setUnwrapNulls(false);
         // disable password decrypt at this stage, or xp will use GeoServerExtensions to
@@ -0,0 +1,94 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.datadir.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The "header" of a catalog XML file, that is, the root element name and the text of its simple child elements, read
+ * with a streaming parser without building the full object graph.
+ *
+ * <p>Values are keyed by element name for the root children (e.g. {@code name}, {@code enabled}) and by dotted path
+ * for their simple children (e.g. {@code store.id}, {@code latLonBoundingBox.minx}). Repeated elements keep the first
+ * value, deeper elements are skipped.
+ */
+class XmlHeader {
+
+    private static final ThreadLocal<XMLInputFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    final String rootElement;
+
+    private final Map<String, String> values;
+
+    private XmlHeader(String rootElement, Map<String, String> values) {
+        this.rootElement = rootElement;
+        this.values = values;
+    }
+
+    /** Returns the value at the given path, or null if not found */
+    public String get(String path) {
+        return values.get(path);
+    }
+
+    public static XmlHeader read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(in);
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse " + file, e);
+        }
+    }
+
+    private static XmlHeader read(XMLStreamReader reader) throws XMLStreamException {
+        String root = null;
+        Map<String, String> values = new HashMap<>();
+        String[] path = new String[3];
+        StringBuilder text = new StringBuilder();
+        boolean simple = false;
+        int depth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 1) {
+                    root = reader.getLocalName();
+                } else if (depth <= 3) {
+                    path[depth - 1] = reader.getLocalName();
+                }
+                text.setLength(0);
+                simple = depth <= 3;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (simple) text.append(reader.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (simple && depth >= 2) {
+                    String key = depth == 2 ? path[1] : path[1] + "." + path[2];
+                    values.putIfAbsent(key, text.toString().trim());
+                }
+                // the parent of a closed element is not a simple one
+                simple = false;
+                depth--;
+            }
+        }
+        return new XmlHeader(root, values);
+    }
+}
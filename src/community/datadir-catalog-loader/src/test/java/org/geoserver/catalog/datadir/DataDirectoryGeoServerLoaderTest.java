@@ -4,18 +4,32 @@
  */
 package org.geoserver.catalog.datadir;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import com.thoughtworks.xstream.XStream;
+import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.WMSStoreInfo;
@@ -23,6 +37,8 @@
 import org.geoserver.catalog.datadir.config.DataDirectoryLoaderConfiguration.DataDirLoaderEnabledCondition;
 import org.geoserver.catalog.faker.CatalogFaker;
 import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.config.DefaultGeoServerLoader;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.ServiceInfo;
@@ -40,6 +56,7 @@
 import org.geoserver.test.GeoServerSystemTestSupport;
 import org.geoserver.test.TestSetup;
 import org.geoserver.test.TestSetupFrequency;
+import org.geotools.api.filter.Filter;
 import org.geotools.data.postgis.PostgisNGDataStoreFactory;
 import org.junit.After;
 import org.junit.Test;
@@ -72,6 +89,9 @@ protected void setUpTestData(SystemTestData testData) throws Exception {
     @After
     public void after() {
         System.clearProperty("datadir.loader.enabled");
+        System.clearProperty("DATADIR_LOADER_LAZY");
+        System.clearProperty("DATADIR_LOADER_SNAPSHOT");
+        System.clearProperty("DATADIR_LOADER_SNAPSHOT_FILE");
     }
 
     @Override
@@ -133,6 +153,160 @@ public void loadCatalog() {
         assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
     }
 
+    @Test
+    public void loadCatalogLazy() {
+        System.setProperty("DATADIR_LOADER_LAZY", "true");
+        GeoServerResourceLoader resourceLoader = super.getResourceLoader();
+        GeoServerSecurityManager secManager = getSecurityManager();
+        DataDirectoryGeoServerLoader loader = new DataDirectoryGeoServerLoader(resourceLoader, secManager);
+
+        final Catalog catalog = super.getCatalog();
+        CatalogImpl newCatalog = new CatalogImpl();
+
+        loader.postProcessBeforeInitialization(newCatalog, "catalog");
+
+        assertSameSize(catalog.getResources(ResourceInfo.class), newCatalog.getResources(ResourceInfo.class));
+        assertSameSize(catalog.getLayers(), newCatalog.getLayers());
+        assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
+
+        for (LayerInfo expected : catalog.getLayers()) {
+            LayerInfo actual = newCatalog.getLayer(expected.getId());
+            assertNotNull(actual);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDefaultStyle().getId(), actual.getDefaultStyle().getId());
+            assertEquals(expected.getStyles().size(), actual.getStyles().size());
+
+            ResourceInfo resource = actual.getResource();
+            assertEquals(expected.getResource().getAbstract(), resource.getAbstract());
+            assertEquals(expected.getResource().getKeywords(), resource.getKeywords());
+            assertEquals(expected.getResource().getNativeBoundingBox(), resource.getNativeBoundingBox());
+            assertEquals(expected.getResource().getMetadata(), resource.getMetadata());
+            assertSame(newCatalog, ModificationProxy.unwrap(resource).getCatalog());
+        }
+    }
+
+    @Test
+    public void loadCatalogLazyBrokenFile() throws Exception {
+        FeatureTypeInfo expected = ungroupedFeatureType(getCatalog());
+        Resource file = getDataDirectory().config(expected);
+        byte[] original = file.getContents();
+        try {
+            CatalogImpl newCatalog = loadCatalogLazily();
+            // the file gets broken after the stubs have been created
+            file.setContents("<featureType><id>".getBytes(UTF_8));
+
+            // the stub is never returned as a complete object, every lookup fails until the file is fixed
+            assertThrows(CatalogException.class, () -> newCatalog.getResource(expected.getId(), ResourceInfo.class));
+            assertThrows(CatalogException.class, () -> newCatalog.getResource(expected.getId(), ResourceInfo.class));
+
+            file.setContents(original);
+            ResourceInfo actual = newCatalog.getResource(expected.getId(), ResourceInfo.class);
+            assertEquals(expected.getKeywords(), actual.getKeywords());
+            assertEquals(expected.getNativeBoundingBox(), actual.getNativeBoundingBox());
+        } finally {
+            file.setContents(original);
+        }
+    }
+
+    @Test
+    public void loadCatalogLazyChangedFile() throws Exception {
+        FeatureTypeInfo expected = ungroupedFeatureType(getCatalog());
+        Resource file = getDataDirectory().config(expected);
+        byte[] original = file.getContents();
+        try {
+            CatalogImpl newCatalog = loadCatalogLazily();
+            // the file now describes another resource
+            String changed = new String(original, UTF_8)
+                    .replace("<id>" + expected.getId() + "</id>", "<id>" + expected.getId() + "-changed</id>");
+            file.setContents(changed.getBytes(UTF_8));
+
+            assertThrows(CatalogException.class, () -> newCatalog.getResource(expected.getId(), ResourceInfo.class));
+            LayerInfo layer = getCatalog().getLayers(expected).get(0);
+            assertThrows(CatalogException.class, () -> newCatalog.getLayer(layer.getId()));
+        } finally {
+            file.setContents(original);
+        }
+    }
+
+    @Test
+    public void loadCatalogLazyFilterOnKeywords() {
+        FeatureTypeInfo expected = ungroupedFeatureType(getCatalog());
+        String keyword = expected.getKeywords().get(0).getValue();
+        Filter filter = Predicates.equal("keywords.value", keyword);
+
+        // the stubs have no keywords yet, the index on them must not be trusted
+        CatalogImpl newCatalog = loadCatalogLazily();
+        List<String> actual = new ArrayList<>();
+        try (CloseableIterator<ResourceInfo> it = newCatalog.list(ResourceInfo.class, filter)) {
+            it.forEachRemaining(r -> actual.add(r.getId()));
+        }
+        List<String> eager = new ArrayList<>();
+        try (CloseableIterator<ResourceInfo> it = getCatalog().list(ResourceInfo.class, filter)) {
+            it.forEachRemaining(r -> eager.add(r.getId()));
+        }
+        assertTrue(actual.contains(expected.getId()));
+        assertEquals(eager, actual);
+    }
+
+    private CatalogImpl loadCatalogLazily() {
+        System.setProperty("DATADIR_LOADER_LAZY", "true");
+        DataDirectoryGeoServerLoader loader =
+                new DataDirectoryGeoServerLoader(getResourceLoader(), getSecurityManager());
+        CatalogImpl newCatalog = new CatalogImpl();
+        loader.postProcessBeforeInitialization(newCatalog, "catalog");
+        return newCatalog;
+    }
+
+    /** A feature type whose layer is not in any group, and is therefore not loaded at startup */
+    private FeatureTypeInfo ungroupedFeatureType(Catalog catalog) {
+        Set<String> grouped = new HashSet<>();
+        for (LayerGroupInfo group : catalog.getLayerGroups()) {
+            for (PublishedInfo published : group.getLayers()) {
+                if (published instanceof LayerInfo) {
+                    grouped.add(((LayerInfo) published).getResource().getId());
+                }
+            }
+        }
+        return catalog.getFeatureTypes().stream()
+                .filter(ft -> !grouped.contains(ft.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    public void loadCatalogFromSnapshot() throws Exception {
+        File snapshot = new File(getDataDirectory().root(), "test.snapshot");
+        System.setProperty("DATADIR_LOADER_SNAPSHOT", "true");
+        System.setProperty("DATADIR_LOADER_SNAPSHOT_FILE", snapshot.getAbsolutePath());
+        GeoServerResourceLoader resourceLoader = super.getResourceLoader();
+        GeoServerSecurityManager secManager = getSecurityManager();
+        final Catalog catalog = super.getCatalog();
+
+        // first load parses the XML files and writes the snapshot, the second one reads it
+        for (int i = 0; i < 2; i++) {
+            DataDirectoryGeoServerLoader loader = new DataDirectoryGeoServerLoader(resourceLoader, secManager);
+            CatalogImpl newCatalog = new CatalogImpl();
+            loader.postProcessBeforeInitialization(newCatalog, "catalog");
+            GeoServer newGs = new GeoServerImpl();
+            newGs.setCatalog(newCatalog);
+            loader.postProcessBeforeInitialization(newGs, "geoServer");
+            assertTrue(snapshot.exists());
+
+            assertSameSize(catalog.getWorkspaces(), newCatalog.getWorkspaces());
+            assertSameSize(catalog.getStyles(), newCatalog.getStyles());
+            assertSameSize(catalog.getStores(StoreInfo.class), newCatalog.getStores(StoreInfo.class));
+            assertSameSize(catalog.getResources(ResourceInfo.class), newCatalog.getResources(ResourceInfo.class));
+            assertSameSize(catalog.getLayers(), newCatalog.getLayers());
+            assertSameSize(catalog.getLayerGroups(), newCatalog.getLayerGroups());
+            for (ResourceInfo expected : catalog.getResources(ResourceInfo.class)) {
+                ResourceInfo actual = newCatalog.getResource(expected.getId(), ResourceInfo.class);
+                assertEquals(expected.getKeywords(), actual.getKeywords());
+                assertEquals(expected.getNativeBoundingBox(), actual.getNativeBoundingBox());
+            }
+            assertEquals(getGeoServer().getGlobal(), newGs.getGlobal());
+        }
+    }
+
     @Test
     public void loadCatalog_decrypts_datastoreinfo_passwords() {
         final Catalog catalog = super.getCatalog();
@@ -34,7 +34,6 @@
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
 import org.geotools.util.logging.Logging;
-import org.geowebcache.GeoWebCacheException;
 
 /**
  * Listens to transactions (so far only issued by WFS) and truncates the cache for the affected area of the layers
@@ -55,11 +54,22 @@ public class GWCTransactionListener implements TransactionCallback {
 
     private final GWC gwc;
 
+    private final TruncationAggregator aggregator;
+
     static final String GWC_TRANSACTION_INFO_PLACEHOLDER = "GWC_TRANSACTION_INFO_PLACEHOLDER";
 
     /** @param gwc */
     public GWCTransactionListener(final GWC gwc) {
+        this(gwc, new TruncationAggregator(gwc, 0));
+    }
+
+    /**
+     * @param gwc
+     * @param aggregator coalesces the truncations of consecutive transactions
+     */
+    public GWCTransactionListener(final GWC gwc, final TruncationAggregator aggregator) {
         this.gwc = gwc;
+        this.aggregator = aggregator;
     }
 
     /** Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction} hooks */
@@ -115,14 +125,7 @@ private void afterTransactionInternal(final TransactionRequest transaction, bool
             if (dirtyRegion == null) {
                 continue;
             }
-            try {
-                gwc.truncate(tileLayerName, dirtyRegion);
-            } catch (GeoWebCacheException e) {
-                log.warning("Error truncating tile layer "
-                        + tileLayerName
-                        + " for transaction affected bounds "
-                        + dirtyRegion);
-            }
+            aggregator.truncate(tileLayerName, dirtyRegion);
         }
     }
 
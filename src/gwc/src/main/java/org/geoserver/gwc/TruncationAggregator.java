@@ -0,0 +1,252 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.GeoWebCacheException;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Coalesces the dirty regions of the tile layers modified by many small transactions, so that a bulk load does not turn
+ * into a storm of truncate calls against the blob store.
+ *
+ * <p>When enabled by setting the {@link #WINDOW} system property or environment variable to a number of milliseconds,
+ * the dirty regions are collected for that long after the first one is received, then the overlapping regions of each
+ * layer are merged and truncated in a single pass. Regions are merged only as long as their bounding box is not much
+ * larger than the regions it covers, so that merging does not truncate large areas nobody modified. The cache may
+ * serve stale tiles for the modified areas during the window. When disabled, the default, each region is truncated
+ * right away.
+ *
+ * <p>{@link #getCoalescingRatio()} reports how many dirty regions have been received for each truncation performed.
+ */
+public class TruncationAggregator implements DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(TruncationAggregator.class);
+
+    /** System property or environment variable setting the time dirty regions are collected before truncation */
+    public static final String WINDOW = "GWC_TRUNCATE_WINDOW";
+
+    /** Max number of regions truncated for a layer, further ones are merged with the region growing the least */
+    static final int MAX_REGIONS = 256;
+
+    /** Max ratio between the area of a merged region and the sum of the areas of the regions it is made of */
+    static final double MAX_MERGE_OVERHEAD = 1.5;
+
+    private final GWC gwc;
+
+    private final long window;
+
+    private final ScheduledExecutorService executor;
+
+    /** Dirty regions for each tile layer, guarded by this */
+    private Map<String, List<ReferencedEnvelope>> pending = new LinkedHashMap<>();
+
+    /** The scheduled flush, if any, guarded by this */
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final AtomicLong regions = new AtomicLong();
+
+    private final AtomicLong truncations = new AtomicLong();
+
+    public TruncationAggregator(GWC gwc) {
+        this(gwc, getLongProperty(WINDOW, 0));
+    }
+
+    TruncationAggregator(GWC gwc, long window) {
+        this.gwc = gwc;
+        this.window = window;
+        if (window > 0) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "GWC truncation aggregator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            LOGGER.config("Coalescing tile truncations over " + window + "ms");
+        } else {
+            this.executor = null;
+        }
+    }
+
+    private static long getLongProperty(String name, long defaultValue) {
+        String value = GeoServerExtensions.getProperty(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    /** Whether truncations are coalesced, or performed right away */
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Truncates the tile layer in the given region, right away or at the end of the current window
+     *
+     * @param tileLayerName the tile layer name
+     * @param dirtyRegion the modified area, in the layer declared CRS
+     */
+    public void truncate(String tileLayerName, ReferencedEnvelope dirtyRegion) {
+        regions.incrementAndGet();
+        if (!isEnabled()) {
+            // runtime exceptions reach the caller, as they did before coalescing was introduced
+            truncateNow(tileLayerName, dirtyRegion);
+            return;
+        }
+        synchronized (this) {
+            pending.computeIfAbsent(tileLayerName, k -> new ArrayList<>()).add(dirtyRegion);
+            if (scheduledFlush == null) {
+                scheduledFlush = executor.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /** Truncates all the pending dirty regions */
+    public void flush() {
+        Map<String, List<ReferencedEnvelope>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            scheduledFlush = null;
+        }
+        for (Map.Entry<String, List<ReferencedEnvelope>> entry : batch.entrySet()) {
+            List<ReferencedEnvelope> merged = coalesce(entry.getValue());
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Truncating " + entry.getKey() + " in " + merged.size() + " regions, coalesced from "
+                        + entry.getValue().size());
+            }
+            for (ReferencedEnvelope region : merged) {
+                try {
+                    truncateNow(entry.getKey(), region);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error truncating tile layer " + entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    private void truncateNow(String tileLayerName, ReferencedEnvelope dirtyRegion) {
+        truncations.incrementAndGet();
+        try {
+            gwc.truncate(tileLayerName, dirtyRegion);
+        } catch (GeoWebCacheException e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "Error truncating tile layer " + tileLayerName + " for transaction affected bounds " + dirtyRegion,
+                    e);
+        }
+    }
+
+    /**
+     * Merges the overlapping regions, so that each tile is truncated once, as long as the merged region is at most
+     * {@link #MAX_MERGE_OVERHEAD} times larger than the regions it is made of. Past {@link #MAX_REGIONS} regions, a new
+     * region is merged with the one whose area grows the least, to bound both the merge cost and the number of truncate
+     * calls.
+     */
+    static List<ReferencedEnvelope> coalesce(List<ReferencedEnvelope> regions) {
+        List<Region> result = new ArrayList<>();
+        for (ReferencedEnvelope envelope : regions) {
+            if (envelope == null || envelope.isEmpty()) {
+                continue;
+            }
+            Region current = new Region(envelope);
+            boolean merged;
+            do {
+                merged = false;
+                for (Iterator<Region> it = result.iterator(); it.hasNext(); ) {
+                    Region other = it.next();
+                    if (other.bounds.intersects((Envelope) current.bounds) && current.canMerge(other)) {
+                        current.merge(other);
+                        it.remove();
+                        merged = true;
+                    }
+                }
+            } while (merged);
+
+            if (result.size() < MAX_REGIONS) {
+                result.add(current);
+            } else {
+                Region closest = result.get(0);
+                for (Region other : result) {
+                    if (other.growth(current) < closest.growth(current)) closest = other;
+                }
+                closest.merge(current);
+            }
+        }
+        List<ReferencedEnvelope> envelopes = new ArrayList<>();
+        for (Region region : result) {
+            envelopes.add(region.bounds);
+        }
+        return envelopes;
+    }
+
+    /** A merged region, tracking the area of the regions it is made of */
+    private static class Region {
+        final ReferencedEnvelope bounds;
+
+        double partsArea;
+
+        Region(ReferencedEnvelope envelope) {
+            this.bounds = new ReferencedEnvelope(envelope);
+            this.partsArea = envelope.getArea();
+        }
+
+        /** Whether the union with the other region is not much larger than the regions it would be made of */
+        boolean canMerge(Region other) {
+            Envelope union = new Envelope(bounds);
+            union.expandToInclude(other.bounds);
+            return union.getArea() <= MAX_MERGE_OVERHEAD * (partsArea + other.partsArea);
+        }
+
+        /** How much the area of this region would grow by merging the other one */
+        double growth(Region other) {
+            Envelope union = new Envelope(bounds);
+            union.expandToInclude(other.bounds);
+            return union.getArea() - bounds.getArea();
+        }
+
+        void merge(Region other) {
+            bounds.expandToInclude(other.bounds);
+            partsArea += other.partsArea;
+        }
+    }
+
+    /** The number of dirty regions received so far */
+    public long getRegions() {
+        return regions.get();
+    }
+
+    /** The number of truncate calls performed so far */
+    public long getTruncations() {
+        return truncations.get();
+    }
+
+    /** The number of dirty regions received for each truncate call, 1 when coalescing is disabled */
+    public double getCoalescingRatio() {
+        long performed = truncations.get();
+        return performed == 0 ? 1 : (double) regions.get() / performed;
+    }
+
+    /** Truncates the pending regions and stops the aggregator */
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            flush();
+        }
+    }
+}
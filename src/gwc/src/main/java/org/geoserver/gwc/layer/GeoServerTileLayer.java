@@ -57,6 +57,7 @@
 import org.geoserver.gwc.GWC;
 import org.geoserver.gwc.config.GWCConfig;
 import org.geoserver.gwc.dispatch.GwcServiceDispatcherCallback;
+import org.geoserver.gwc.seed.SeedingThrottle;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.LocalWorkspace;
 import org.geoserver.ows.Request;
@@ -1077,7 +1078,27 @@ public void seedTile(ConveyorTile tile, boolean tryCache) throws GeoWebCacheExce
         if (!tile.getMimeType().supportsTiling()) {
             metaX = metaY = 1;
         }
-        getMetatilingResponse(tile, tryCache, metaX, metaY);
+
+        // back off while the server is busy with interactive requests, if enabled
+        SeedingThrottle throttle = SeedingThrottle.lookup();
+        if (throttle != null) {
+            throttle.beforeSeed();
+        }
+        // load the vector features of a block of meta tiles at once, if enabled
+        SuperTileCache superTiles = SuperTileCache.lookup();
+        if (superTiles != null) {
+            SuperTileCache.setSuperTile(superTiles.getSuperTileBounds(gridSubset, tile.getTileIndex(), metaX, metaY));
+        }
+        try {
+            getMetatilingResponse(tile, tryCache, metaX, metaY);
+        } finally {
+            if (superTiles != null) {
+                SuperTileCache.setSuperTile(null);
+            }
+            if (throttle != null) {
+                throttle.afterSeed();
+            }
+        }
     }
 
     /** @see org.geowebcache.layer.TileLayer#getGridSubsets() */
@@ -0,0 +1,391 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wfs.TransactionCallback;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wms.GetMapCallbackAdapter;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.map.FeatureTile;
+import org.geoserver.wms.map.FeatureTileSource;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.feature.NameImpl;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSubset;
+
+/**
+ * Speeds up seeding of vector layers by loading the features of a "super tile", a block of adjacent meta tiles, once,
+ * and rendering all the meta tiles inside it from memory.
+ *
+ * <p>{@link GeoServerTileLayer#seedTile} sets the super tile of the meta tile being seeded with {@link #setSuperTile},
+ * and this callback replaces the feature sources of the GetMap layers with {@link FeatureTileSource} backed by the
+ * super tile features. The super tiles are shared among the seeding threads, so that threads working on adjacent
+ * meta tiles load the features only once.
+ *
+ * <p>The cache is disabled by default, and enabled by setting the {@link #FACTOR} system property or environment
+ * variable to the number of meta tiles per super tile side, e.g. 4 for blocks of 4x4 meta tiles. Super tiles having
+ * more than {@link #MAX_FEATURES} features are not kept in memory, their meta tiles are rendered against the store as
+ * usual. Super tiles are dropped when a WFS transaction modifies their feature type, when layers, feature types or
+ * stores are modified in the catalog, and when they expire, as configured by the {@link #CACHE_SPEC} cache
+ * specification. Changes made to the data outside of GeoServer are picked up only when the super tiles expire.
+ */
+public class SuperTileCache extends GetMapCallbackAdapter implements TransactionCallback, CatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(SuperTileCache.class);
+
+    /** System property or environment variable setting the number of meta tiles per super tile side */
+    public static final String FACTOR = "GWC_SEED_SUPERTILE_FACTOR";
+
+    /** System property or environment variable holding the {@link CacheBuilderSpec} of the super tile cache */
+    public static final String CACHE_SPEC = "GWC_SEED_SUPERTILE_CACHE";
+
+    /** System property or environment variable setting the max number of features in a super tile */
+    public static final String MAX_FEATURES = "GWC_SEED_SUPERTILE_MAX_FEATURES";
+
+    static final String DEFAULT_CACHE_SPEC = "maximumSize=8,expireAfterWrite=1m";
+
+    static final int DEFAULT_MAX_FEATURES = 100000;
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    /** The super tile of the meta tile being seeded by the current thread, in the grid set CRS */
+    private static final ThreadLocal<BoundingBox> SUPER_TILE = new ThreadLocal<>();
+
+    /** Feature types modified by the WFS transaction running in the current thread */
+    private static final ThreadLocal<Set<QName>> TRANSACTION_TYPES = new ThreadLocal<>();
+
+    /** Identifies the features of a layer in a super tile */
+    static final class SuperTileKey {
+        final String layerName;
+
+        final FeatureType schema;
+
+        final Filter filter;
+
+        final Object viewParams;
+
+        final ReferencedEnvelope area;
+
+        SuperTileKey(String layerName, FeatureType schema, Filter filter, Object viewParams, ReferencedEnvelope area) {
+            this.layerName = layerName;
+            this.schema = schema;
+            this.filter = filter;
+            this.viewParams = viewParams;
+            this.area = area;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SuperTileKey)) return false;
+            SuperTileKey other = (SuperTileKey) o;
+            return Objects.equals(layerName, other.layerName)
+                    && schema.equals(other.schema)
+                    && Objects.equals(filter, other.filter)
+                    && Objects.equals(viewParams, other.viewParams)
+                    && area.equals(other.area);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(layerName, schema, filter, viewParams, area);
+        }
+
+        @Override
+        public String toString() {
+            return "SuperTileKey[" + layerName + ", " + area + "]";
+        }
+    }
+
+    private final int factor;
+
+    private final int maxFeatures;
+
+    private final Cache<SuperTileKey, FeatureTile> tiles;
+
+    /** @param catalog the raw catalog, whose changes drop the cached super tiles */
+    public SuperTileCache(Catalog catalog) {
+        this(
+                catalog,
+                getIntProperty(FACTOR, 0),
+                GeoServerExtensions.getProperty(CACHE_SPEC),
+                getIntProperty(MAX_FEATURES, DEFAULT_MAX_FEATURES));
+    }
+
+    SuperTileCache(Catalog catalog, int factor, String spec, int maxFeatures) {
+        this.factor = factor;
+        this.maxFeatures = maxFeatures;
+        if (factor > 0) {
+            String cacheSpec = spec == null || spec.isBlank() ? DEFAULT_CACHE_SPEC : spec;
+            this.tiles = CacheBuilder.from(CacheBuilderSpec.parse(cacheSpec)).build();
+            catalog.addListener(this);
+            LOGGER.config("Seeding super tiles of " + factor + "x" + factor + " meta tiles, cached with " + cacheSpec);
+        } else {
+            this.tiles = null;
+        }
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        String value = GeoServerExtensions.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /** Returns the cache registered in the application context, or null if not available or disabled */
+    public static SuperTileCache lookup() {
+        SuperTileCache cache = GeoServerExtensions.bean(SuperTileCache.class);
+        return cache == null || !cache.isEnabled() ? null : cache;
+    }
+
+    /** Whether super tiles have been enabled */
+    public boolean isEnabled() {
+        return tiles != null;
+    }
+
+    /**
+     * Returns the bounds of the super tile containing the meta tile starting at the given tile, or null if the super
+     * tile would not be larger than the meta tile
+     */
+    public BoundingBox getSuperTileBounds(GridSubset gridSubset, long[] tileIndex, int metaX, int metaY) {
+        int z = (int) tileIndex[2];
+        long width = (long) metaX * factor;
+        long height = (long) metaY * factor;
+        if (width * height <= metaX * metaY) {
+            return null;
+        }
+        // aligned on multiples of the meta tile size, so that each meta tile falls in a single super tile
+        long minX = Math.floorDiv(tileIndex[0], width) * width;
+        long minY = Math.floorDiv(tileIndex[1], height) * height;
+        long[] coverage = gridSubset.getCoverage(z);
+        long[] rectangle = {
+            Math.max(minX, coverage[0]),
+            Math.max(minY, coverage[1]),
+            Math.min(minX + width - 1, coverage[2]),
+            Math.min(minY + height - 1, coverage[3]),
+            z
+        };
+        BoundingBox bounds = gridSubset.boundsFromRectangle(rectangle);
+        // add half a meta tile all around, to cover the symbols of the meta tiles on the border
+        double tileWidth = bounds.getWidth() / (rectangle[2] - rectangle[0] + 1);
+        double tileHeight = bounds.getHeight() / (rectangle[3] - rectangle[1] + 1);
+        double dx = tileWidth * metaX / 2;
+        double dy = tileHeight * metaY / 2;
+        return new BoundingBox(
+                bounds.getMinX() - dx, bounds.getMinY() - dy, bounds.getMaxX() + dx, bounds.getMaxY() + dy);
+    }
+
+    /** Sets the super tile for the meta tile seeded by the current thread, null to clear it */
+    public static void setSuperTile(BoundingBox bounds) {
+        if (bounds == null) {
+            SUPER_TILE.remove();
+        } else {
+            SUPER_TILE.set(bounds);
+        }
+    }
+
+    @Override
+    public Layer beforeLayer(WMSMapContent mapContent, Layer layer) {
+        BoundingBox superTile = SUPER_TILE.get();
+        if (superTile == null
+                || tiles == null
+                || !(layer instanceof FeatureLayer)
+                || mapContent.getRequest() == null) {
+            return layer;
+        }
+        FeatureLayer featureLayer = (FeatureLayer) layer;
+        FeatureSource<?, ?> source = featureLayer.getFeatureSource();
+        Query query = featureLayer.getQuery();
+        if (!(source.getSchema() instanceof SimpleFeatureType) || !isCacheable(featureLayer, query)) {
+            return layer;
+        }
+
+        try {
+            CoordinateReferenceSystem mapCRS = mapContent.getRequest().getCrs();
+            ReferencedEnvelope area = new ReferencedEnvelope(
+                    superTile.getMinX(), superTile.getMaxX(), superTile.getMinY(), superTile.getMaxY(), mapCRS);
+            CoordinateReferenceSystem sourceCRS = source.getSchema().getCoordinateReferenceSystem();
+            if (sourceCRS != null) {
+                area = area.transform(sourceCRS, true);
+            }
+            Filter filter = query.getFilter() == null ? Filter.INCLUDE : query.getFilter();
+            Object viewParams = query.getHints().get(Hints.VIRTUAL_TABLE_PARAMETERS);
+            SuperTileKey key = new SuperTileKey(layer.getTitle(), source.getSchema(), filter, viewParams, area);
+            FeatureTile tile = tiles.get(key, () -> load(source, key));
+            if (!tile.isComplete()) {
+                return layer;
+            }
+
+            FeatureLayer result = new FeatureLayer(new FeatureTileSource(source, tile), featureLayer.getStyle());
+            result.setTitle(featureLayer.getTitle());
+            result.setQuery(query);
+            result.getUserData().putAll(featureLayer.getUserData());
+            return result;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to load super tile for " + layer.getTitle() + ", using the store", e);
+            return layer;
+        }
+    }
+
+    /** Paging, sorting and rendering transformations cannot be served from memory */
+    private boolean isCacheable(FeatureLayer layer, Query query) {
+        if (query.getStartIndex() != null
+                || query.getVersion() != null
+                || (query.getSortBy() != null && query.getSortBy().length > 0)) {
+            return false;
+        }
+        for (FeatureTypeStyle fts : layer.getStyle().featureTypeStyles()) {
+            if (fts.getTransformation() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FeatureTile load(FeatureSource<?, ?> source, SuperTileKey key) throws Exception {
+        long start = System.currentTimeMillis();
+        SimpleFeatureType schema = (SimpleFeatureType) source.getSchema();
+        Filter bbox = FF.bbox(FF.property(schema.getGeometryDescriptor().getLocalName()), key.area);
+        Filter filter = Filter.INCLUDE.equals(key.filter) ? bbox : FF.and(bbox, key.filter);
+        Query query = new Query(schema.getTypeName(), filter);
+        query.setMaxFeatures(maxFeatures + 1);
+        if (key.viewParams != null) {
+            query.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, key.viewParams));
+        }
+
+        List<SimpleFeature> features = new ArrayList<>();
+        try (FeatureIterator<? extends Feature> it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                features.add((SimpleFeature) it.next());
+            }
+        }
+        if (features.size() > maxFeatures) {
+            LOGGER.fine("Too many features in " + key + ", seeding against the store");
+            return new FeatureTile(key.area, null);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            long elapsed = System.currentTimeMillis() - start;
+            LOGGER.fine("Loaded " + features.size() + " features for " + key + " in " + elapsed + "ms");
+        }
+        return new FeatureTile(key.area, features);
+    }
+
+    /** Drops all the cached super tiles */
+    public void invalidateAll() {
+        if (tiles != null) tiles.invalidateAll();
+    }
+
+    private void invalidate(QName typeName) {
+        Name name = new NameImpl(typeName.getNamespaceURI(), typeName.getLocalPart());
+        tiles.asMap().keySet().removeIf(k -> name.equals(k.schema.getName()));
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        TRANSACTION_TYPES.remove();
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (tiles == null || event.getLayerName() == null) return;
+        Set<QName> types = TRANSACTION_TYPES.get();
+        if (types == null) {
+            types = new HashSet<>();
+            TRANSACTION_TYPES.set(types);
+        }
+        if (types.add(event.getLayerName())) {
+            invalidate(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        Set<QName> types = TRANSACTION_TYPES.get();
+        TRANSACTION_TYPES.remove();
+        // a super tile may have been loaded again while the transaction was running, before the commit
+        if (types != null) {
+            types.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify event
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidate(event);
+    }
+
+    /** Super tiles are short lived, drop them all on any change of the published layers, feature types or stores */
+    private void invalidate(CatalogEvent event) {
+        Object source = event.getSource();
+        if (source instanceof LayerInfo || source instanceof FeatureTypeInfo || source instanceof StoreInfo) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+}
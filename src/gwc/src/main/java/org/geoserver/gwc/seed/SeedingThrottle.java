@@ -0,0 +1,159 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Makes seeding back off while the server is busy with interactive OWS requests, so that large seed jobs do not starve
+ * the clients.
+ *
+ * <p>As a dispatcher callback it keeps track of the OWS requests in flight, ignoring the ones issued by the seeding
+ * threads themselves, and nested requests (e.g., the GetMap issued by a tile service on a cache miss) are counted once.
+ * {@link org.geoserver.gwc.layer.GeoServerTileLayer#seedTile} calls {@link #beforeSeed()} for each meta tile,
+ * which waits for the number of interactive requests to fall below {@link #MAX_REQUESTS} before seeding, for at
+ * most {@link #MAX_WAIT} milliseconds, so that seeding keeps progressing on a server that is never idle.
+ *
+ * <p>The throttle is disabled by default, set the {@link #MAX_REQUESTS} system property or environment variable to
+ * enable it.
+ */
+public class SeedingThrottle extends AbstractDispatcherCallback {
+
+    static final Logger LOGGER = Logging.getLogger(SeedingThrottle.class);
+
+    /** System property or environment variable setting the interactive requests in flight making seeding wait */
+    public static final String MAX_REQUESTS = "GWC_SEED_THROTTLE_REQUESTS";
+
+    /** System property or environment variable setting the max time a meta tile waits, in milliseconds */
+    public static final String MAX_WAIT = "GWC_SEED_THROTTLE_MAX_WAIT";
+
+    static final long DEFAULT_MAX_WAIT = 30000;
+
+    static final long POLL_INTERVAL = 50;
+
+    /** Marks the seeding threads, whose requests are not interactive */
+    private static final ThreadLocal<Boolean> SEEDING = new ThreadLocal<>();
+
+    /**
+     * Nesting depth of the interactive requests run by the current thread, counted once. Tracked per thread, as
+     * callbacks can replace the request object between {@link #init(Request)} and {@link #finished(Request)}
+     */
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    private final int maxRequests;
+
+    private final long maxWait;
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    private final AtomicLong throttledTime = new AtomicLong();
+
+    public SeedingThrottle() {
+        this(getIntProperty(MAX_REQUESTS, 0), getIntProperty(MAX_WAIT, (int) DEFAULT_MAX_WAIT));
+    }
+
+    SeedingThrottle(int maxRequests, long maxWait) {
+        this.maxRequests = maxRequests;
+        this.maxWait = maxWait;
+        if (maxRequests > 0) {
+            LOGGER.config("Seeding waits with " + maxRequests + " interactive requests in flight, for at most "
+                    + maxWait + "ms per meta tile");
+        }
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        String value = GeoServerExtensions.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /** Returns the throttle registered in the application context, or null if not available or disabled */
+    public static SeedingThrottle lookup() {
+        SeedingThrottle throttle = GeoServerExtensions.bean(SeedingThrottle.class);
+        return throttle == null || !throttle.isEnabled() ? null : throttle;
+    }
+
+    /** Whether the throttle has been enabled */
+    public boolean isEnabled() {
+        return maxRequests > 0;
+    }
+
+    /** The number of interactive OWS requests in flight */
+    public int getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    /** The total time the seeding threads have been waiting for the server to calm down, in milliseconds */
+    public long getThrottledTime() {
+        return throttledTime.get();
+    }
+
+    @Override
+    public Request init(Request request) {
+        if (isEnabled() && SEEDING.get() == null) {
+            Integer depth = DEPTH.get();
+            if (depth == null) {
+                DEPTH.set(1);
+                activeRequests.incrementAndGet();
+            } else {
+                DEPTH.set(depth + 1);
+            }
+        }
+        return request;
+    }
+
+    @Override
+    public void finished(Request request) {
+        Integer depth = DEPTH.get();
+        if (depth == null) {
+            // not counted, e.g. a seeding request, or one failing before init
+            return;
+        }
+        if (depth > 1) {
+            DEPTH.set(depth - 1);
+        } else {
+            DEPTH.remove();
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the interactive load to fall below the threshold, then marks the current thread as a seeding one. Must
+     * be paired with a call to {@link #afterSeed()} in a finally block.
+     */
+    public void beforeSeed() {
+        awaitCapacity();
+        SEEDING.set(Boolean.TRUE);
+    }
+
+    /** Clears the seeding mark of the current thread */
+    public void afterSeed() {
+        SEEDING.remove();
+    }
+
+    void awaitCapacity() {
+        if (activeRequests.get() < maxRequests) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWait);
+        try {
+            while (activeRequests.get() >= maxRequests && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_INTERVAL);
+            }
+        } catch (InterruptedException e) {
+            // the seed task is being terminated, let it notice
+            Thread.currentThread().interrupt();
+        } finally {
+            throttledTime.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geowebcache.GeoWebCacheException;
+import org.junit.Test;
+
+public class TruncationAggregatorTest {
+
+    static ReferencedEnvelope envelope(double minX, double minY, double maxX, double maxY) {
+        return new ReferencedEnvelope(minX, maxX, minY, maxY, DefaultGeographicCRS.WGS84);
+    }
+
+    @Test
+    public void testDisabledTruncatesRightAway() throws Exception {
+        GWC gwc = mock(GWC.class);
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 0);
+        assertFalse(aggregator.isEnabled());
+
+        aggregator.truncate("layer", envelope(0, 0, 1, 1));
+        verify(gwc).truncate("layer", envelope(0, 0, 1, 1));
+        assertEquals(1, aggregator.getCoalescingRatio(), 0d);
+    }
+
+    @Test
+    public void testCoalesceWithinWindow() throws Exception {
+        GWC gwc = mock(GWC.class);
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 60000);
+        try {
+            assertTrue(aggregator.isEnabled());
+            aggregator.truncate("layer", envelope(0, 0, 2, 2));
+            aggregator.truncate("layer", envelope(1, 1, 3, 3));
+            aggregator.truncate("layer", envelope(10, 10, 11, 11));
+            aggregator.truncate("other", envelope(0, 0, 1, 1));
+            verifyNoMoreInteractions(gwc);
+
+            aggregator.flush();
+            verify(gwc).truncate("layer", envelope(0, 0, 3, 3));
+            verify(gwc).truncate("layer", envelope(10, 10, 11, 11));
+            verify(gwc).truncate("other", envelope(0, 0, 1, 1));
+            verifyNoMoreInteractions(gwc);
+            assertEquals(4, aggregator.getRegions());
+            assertEquals(3, aggregator.getTruncations());
+            assertEquals(4 / 3d, aggregator.getCoalescingRatio(), 1e-9);
+
+            // nothing left to truncate
+            aggregator.flush();
+            verifyNoMoreInteractions(gwc);
+        } finally {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    public void testScheduledFlush() throws Exception {
+        GWC gwc = mock(GWC.class);
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 50);
+        try {
+            for (int i = 0; i < 100; i++) {
+                aggregator.truncate("layer", envelope(i, 0, i + 1, 1));
+            }
+            verify(gwc, timeout(10000)).truncate("layer", envelope(0, 0, 100, 1));
+        } finally {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    public void testDestroyFlushes() throws Exception {
+        GWC gwc = mock(GWC.class);
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 60000);
+        aggregator.truncate("layer", envelope(0, 0, 1, 1));
+        aggregator.destroy();
+        verify(gwc).truncate("layer", envelope(0, 0, 1, 1));
+    }
+
+    @Test
+    public void testTruncateErrorsDoNotStopTheBatch() throws Exception {
+        GWC gwc = mock(GWC.class);
+        doThrow(new GeoWebCacheException("fake")).when(gwc).truncate(eq("broken"), any(ReferencedEnvelope.class));
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 60000);
+        try {
+            aggregator.truncate("broken", envelope(0, 0, 1, 1));
+            aggregator.truncate("layer", envelope(0, 0, 1, 1));
+            aggregator.flush();
+            verify(gwc, times(1)).truncate("layer", envelope(0, 0, 1, 1));
+        } finally {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    public void testRuntimeErrorsDoNotStopTheBatch() throws Exception {
+        GWC gwc = mock(GWC.class);
+        doThrow(new IllegalStateException("fake")).when(gwc).truncate(eq("broken"), any(ReferencedEnvelope.class));
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 60000);
+        try {
+            aggregator.truncate("broken", envelope(0, 0, 1, 1));
+            aggregator.truncate("layer", envelope(0, 0, 1, 1));
+            aggregator.flush();
+            verify(gwc, times(1)).truncate("layer", envelope(0, 0, 1, 1));
+        } finally {
+            aggregator.destroy();
+        }
+    }
+
+    @Test
+    public void testCoalesce() {
+        // chained overlaps collapse into a single region, regardless of the order
+        List<ReferencedEnvelope> merged = TruncationAggregator.coalesce(
+                Arrays.asList(envelope(0, 0, 1, 1), envelope(4, 4, 5, 5), envelope(0.5, 0.5, 4.5, 4.5)));
+        assertEquals(Arrays.asList(envelope(0, 0, 5, 5)), merged);
+
+        // overlapping regions whose bounding box would mostly cover untouched areas are kept apart
+        merged = TruncationAggregator.coalesce(Arrays.asList(envelope(0, 0, 10, 1), envelope(0, 0, 1, 10)));
+        assertEquals(Arrays.asList(envelope(0, 0, 10, 1), envelope(0, 0, 1, 10)), merged);
+
+        // too many disjoint regions, the extra one is merged with the closest region
+        int max = TruncationAggregator.MAX_REGIONS;
+        List<ReferencedEnvelope> regions = new ArrayList<>();
+        for (int i = 0; i <= max; i++) {
+            regions.add(envelope(i * 2, 0, i * 2 + 1, 1));
+        }
+        merged = TruncationAggregator.coalesce(regions);
+        assertEquals(max, merged.size());
+        assertEquals(envelope(0, 0, 1, 1), merged.get(0));
+        assertEquals(envelope((max - 1) * 2, 0, max * 2 + 1, 1), merged.get(max - 1));
+    }
+
+    @Test
+    public void testDisabledPropagatesRuntimeExceptions() throws Exception {
+        GWC gwc = mock(GWC.class);
+        doThrow(new IllegalStateException("fake")).when(gwc).truncate(eq("broken"), any(ReferencedEnvelope.class));
+        TruncationAggregator aggregator = new TruncationAggregator(gwc, 0);
+        assertThrows(IllegalStateException.class, () -> aggregator.truncate("broken", envelope(0, 0, 1, 1)));
+    }
+}
@@ -0,0 +1,194 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.layer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.security.decorators.DecoratingFeatureSource;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.TransactionEventType;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.map.FeatureTileSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.geowebcache.config.DefaultGridsets;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSetBroker;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.grid.GridSubsetFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SuperTileCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final String NS = "http://geoserver.org/test";
+
+    Catalog catalog = mock(Catalog.class);
+
+    AtomicInteger storeQueries = new AtomicInteger();
+
+    FeatureLayer layer;
+
+    WMSMapContent mapContent;
+
+    @Before
+    public void setup() throws Exception {
+        SimpleFeatureType schema = DataUtilities.createType(NS, "points", "geom:Point,name:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            features.add(DataUtilities.createFeature(schema, "points." + i + "=POINT(" + i + " " + i + ")|p" + i));
+        }
+        DecoratingFeatureSource<SimpleFeatureType, SimpleFeature> store = new DecoratingFeatureSource<>(
+                new CollectionFeatureSource(new ListFeatureCollection(schema, features))) {
+            @Override
+            public FeatureCollection<SimpleFeatureType, SimpleFeature> getFeatures(Query query) throws IOException {
+                storeQueries.incrementAndGet();
+                return super.getFeatures(query);
+            }
+        };
+        StyleBuilder sb = new StyleBuilder();
+        layer = new FeatureLayer(store, sb.createStyle(sb.createPointSymbolizer()));
+        layer.setTitle("test:points");
+
+        GetMapRequest request = new GetMapRequest();
+        request.setCrs(DefaultGeographicCRS.WGS84);
+        mapContent = new WMSMapContent(request);
+    }
+
+    @After
+    public void clearSuperTile() {
+        SuperTileCache.setSuperTile(null);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(new SuperTileCache(catalog, 0, null, 10).isEnabled());
+        SuperTileCache.setSuperTile(new BoundingBox(-180, -90, 180, 90));
+        assertSame(layer, new SuperTileCache(catalog, 0, null, 10).beforeLayer(mapContent, layer));
+    }
+
+    @Test
+    public void testSuperTileBounds() {
+        GridSetBroker broker = new GridSetBroker(Collections.singletonList(new DefaultGridsets(true, true)));
+        GridSubset gridSubset = GridSubsetFactory.createGridSubSet(broker.getWorldEpsg4326());
+        SuperTileCache cache = new SuperTileCache(catalog, 2, null, 10);
+
+        // blocks of 2x2 meta tiles of 4x4 tiles, at zoom level 5 (64x32 tiles)
+        BoundingBox bounds = cache.getSuperTileBounds(gridSubset, new long[] {13, 6, 5}, 4, 4);
+        BoundingBox block = gridSubset.boundsFromRectangle(new long[] {8, 0, 15, 7, 5});
+        assertTrue(bounds.contains(block));
+        // with half a meta tile of margin around
+        assertEquals(block.getWidth() * 1.5, bounds.getWidth(), 1e-6);
+        assertEquals(block.getHeight() * 1.5, bounds.getHeight(), 1e-6);
+        // all the tiles in the block share the same super tile
+        assertEquals(bounds, cache.getSuperTileBounds(gridSubset, new long[] {8, 0, 5}, 4, 4));
+        assertEquals(bounds, cache.getSuperTileBounds(gridSubset, new long[] {15, 7, 5}, 4, 4));
+
+        // a super tile of a single meta tile is pointless
+        assertNull(new SuperTileCache(catalog, 1, null, 10)
+                .getSuperTileBounds(gridSubset, new long[] {13, 6, 5}, 4, 4));
+    }
+
+    @Test
+    public void testSharedSuperTile() throws Exception {
+        SuperTileCache cache = new SuperTileCache(catalog, 4, null, 100);
+        // no super tile set, not seeding
+        assertSame(layer, cache.beforeLayer(mapContent, layer));
+
+        SuperTileCache.setSuperTile(new BoundingBox(0, 0, 10, 10));
+        Layer first = cache.beforeLayer(mapContent, layer);
+        assertNotSame(layer, first);
+        assertTrue(first.getFeatureSource() instanceof FeatureTileSource);
+        assertEquals(layer.getTitle(), first.getTitle());
+        assertSame(layer.getQuery(), first.getQuery());
+        assertEquals(1, storeQueries.get());
+
+        // the next meta tile in the same super tile does not hit the store
+        Layer second = cache.beforeLayer(mapContent, layer);
+        assertEquals(1, storeQueries.get());
+        ReferencedEnvelope metaTile = new ReferencedEnvelope(2.5, 5.5, 2.5, 5.5, DefaultGeographicCRS.WGS84);
+        Query query = new Query("points", FF.bbox(FF.property("geom"), metaTile));
+        assertEquals(3, second.getFeatureSource().getFeatures(query).size());
+        assertEquals(1, storeQueries.get());
+    }
+
+    @Test
+    public void testOversizedSuperTile() throws Exception {
+        SuperTileCache cache = new SuperTileCache(catalog, 4, null, 5);
+        SuperTileCache.setSuperTile(new BoundingBox(0, 0, 10, 10));
+        assertSame(layer, cache.beforeLayer(mapContent, layer));
+        assertSame(layer, cache.beforeLayer(mapContent, layer));
+        assertEquals(1, storeQueries.get());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        SuperTileCache cache = new SuperTileCache(catalog, 4, null, 100);
+        verify(catalog).addListener(cache);
+        SuperTileCache.setSuperTile(new BoundingBox(0, 0, 10, 10));
+        cache.beforeLayer(mapContent, layer);
+        assertEquals(1, storeQueries.get());
+
+        // a transaction on another feature type keeps the super tile
+        cache.beforeTransaction(null);
+        cache.dataStoreChange(insert("lines"));
+        cache.beforeLayer(mapContent, layer);
+        assertEquals(1, storeQueries.get());
+
+        // one on the same feature type drops it
+        cache.dataStoreChange(insert("points"));
+        cache.beforeLayer(mapContent, layer);
+        assertEquals(2, storeQueries.get());
+
+        // and so does the commit, the super tile may have been loaded again before it
+        cache.afterTransaction(null, null, true);
+        cache.beforeLayer(mapContent, layer);
+        assertEquals(3, storeQueries.get());
+
+        // catalog changes drop all super tiles
+        CatalogPostModifyEvent modify = mock(CatalogPostModifyEvent.class);
+        when(modify.getSource()).thenReturn(mock(FeatureTypeInfo.class));
+        cache.handlePostModifyEvent(modify);
+        cache.beforeLayer(mapContent, layer);
+        assertEquals(4, storeQueries.get());
+    }
+
+    private TransactionEvent insert(String typeName) {
+        return new TransactionEvent(TransactionEventType.POST_INSERT, null, new QName(NS, typeName), null);
+    }
+}
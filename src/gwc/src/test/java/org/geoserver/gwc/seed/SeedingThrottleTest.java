@@ -0,0 +1,134 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.ows.Request;
+import org.junit.Test;
+
+public class SeedingThrottleTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        SeedingThrottle throttle = new SeedingThrottle(0, 1000);
+        assertFalse(throttle.isEnabled());
+        Request request = new Request();
+        throttle.init(request);
+        assertEquals(0, throttle.getActiveRequests());
+        throttle.finished(request);
+        assertEquals(0, throttle.getActiveRequests());
+    }
+
+    @Test
+    public void testCountInteractiveRequests() {
+        SeedingThrottle throttle = new SeedingThrottle(2, 1000);
+        Request outer = new Request();
+        throttle.init(outer);
+        assertEquals(1, throttle.getActiveRequests());
+
+        // a nested request, e.g. the GetMap of a tile cache miss, is not counted again
+        Request nested = new Request();
+        throttle.init(nested);
+        assertEquals(1, throttle.getActiveRequests());
+        throttle.finished(nested);
+        assertEquals(1, throttle.getActiveRequests());
+
+        throttle.finished(outer);
+        assertEquals(0, throttle.getActiveRequests());
+    }
+
+    @Test
+    public void testFinishedWithAnotherRequestObject() {
+        SeedingThrottle throttle = new SeedingThrottle(2, 1000);
+        throttle.init(new Request());
+        assertEquals(1, throttle.getActiveRequests());
+
+        // a callback may have replaced the request, the count is tracked per thread
+        throttle.finished(new Request());
+        assertEquals(0, throttle.getActiveRequests());
+        throttle.finished(new Request());
+        assertEquals(0, throttle.getActiveRequests());
+    }
+
+    @Test
+    public void testIgnoreSeedingRequests() {
+        SeedingThrottle throttle = new SeedingThrottle(2, 1000);
+        throttle.beforeSeed();
+        try {
+            Request request = new Request();
+            throttle.init(request);
+            assertEquals(0, throttle.getActiveRequests());
+            throttle.finished(request);
+        } finally {
+            throttle.afterSeed();
+        }
+        assertEquals(0, throttle.getActiveRequests());
+    }
+
+    @Test
+    public void testWaitForInteractiveRequests() throws Exception {
+        SeedingThrottle throttle = new SeedingThrottle(1, 10000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> interactive = executor.submit(() -> {
+                Request request = new Request();
+                throttle.init(request);
+                started.countDown();
+                release.await();
+                throttle.finished(request);
+                return null;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // seeding waits until the interactive request is done
+            Thread releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            });
+            releaser.start();
+            long start = System.currentTimeMillis();
+            throttle.beforeSeed();
+            throttle.afterSeed();
+            long elapsed = System.currentTimeMillis() - start;
+            interactive.get();
+            assertTrue(elapsed >= 150);
+            assertTrue(elapsed < 10000);
+            assertEquals(0, throttle.getActiveRequests());
+            assertTrue(throttle.getThrottledTime() >= 150);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMaxWait() {
+        SeedingThrottle throttle = new SeedingThrottle(1, 100);
+        Request request = new Request();
+        throttle.init(request);
+        try {
+            // the server stays busy, seeding proceeds anyway after the max wait
+            long start = System.currentTimeMillis();
+            throttle.beforeSeed();
+            throttle.afterSeed();
+            assertTrue(System.currentTimeMillis() - start >= 100);
+        } finally {
+            throttle.finished(request);
+        }
+    }
+}
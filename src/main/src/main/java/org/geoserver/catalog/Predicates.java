@@ -142,6 +142,21 @@ public static Filter contains(final PropertyName propertyName, final String subs
         return factory.like(propertyName, pattern, wildcard, singleChar, escape, matchCase);
     }
 
+    /**
+     * @return a predicate that evaluates whether the given String {@code property} starts with the required prefix, in
+     *     a <b>case insensitive</b> manner. The default catalog can answer it using its name indexes, without scanning
+     *     all the objects.
+     */
+    public static Filter startsWith(final String property, final String prefix) {
+        String pattern = fixSpecials(prefix) + "*";
+        String wildcard = "*";
+        String singleChar = "?";
+        String escape = "\\";
+        boolean matchCase = false;
+
+        return factory.like(factory.property(property), pattern, wildcard, singleChar, escape, matchCase);
+    }
+
     /**
      * Convenience method to escape any character that is special to the regex system.
      *
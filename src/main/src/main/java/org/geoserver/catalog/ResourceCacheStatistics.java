@@ -0,0 +1,136 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of the usage counters of one of the {@link ResourcePool} caches.
+ *
+ * <p>Instances are returned by {@link ResourcePool#getCacheStatistics()}, and published over REST and JMX, so that
+ * administrators can size the caches against the actual working set of the catalog.
+ */
+public class ResourceCacheStatistics implements Serializable {
+
+    private static final long serialVersionUID = -3171964380129434519L;
+
+    private final String name;
+
+    private final String specification;
+
+    private final long size;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long loadCount;
+
+    private final long totalLoadTime;
+
+    @ConstructorProperties({
+        "name",
+        "specification",
+        "size",
+        "hitCount",
+        "missCount",
+        "evictionCount",
+        "loadCount",
+        "totalLoadTime"
+    })
+    public ResourceCacheStatistics(
+            String name,
+            String specification,
+            long size,
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long loadCount,
+            long totalLoadTime) {
+        this.name = name;
+        this.specification = specification;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+    }
+
+    /** The cache name, e.g., "featureTypes" */
+    public String getName() {
+        return name;
+    }
+
+    /** The cache builder specification in use, e.g. "maximumSize=200,expireAfterAccess=30m" */
+    public String getSpecification() {
+        return specification;
+    }
+
+    /** The approximate number of entries in the cache */
+    public long getSize() {
+        return size;
+    }
+
+    /** Number of lookups that found a cached value */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /** Number of lookups that did not find a cached value */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /** Number of entries removed by the cache policy (size, weight or expiration), explicit removals are not counted */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /** Number of values that have been loaded and stored in the cache */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /** Total time spent loading the cached values, in milliseconds */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /** Ratio between hits and total lookups, or 1 if no lookup has been performed yet */
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /** Average load time in milliseconds, or 0 if no value has been loaded yet */
+    public double getAverageLoadTime() {
+        return loadCount == 0 ? 0 : (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceCacheStatistics [name="
+                + name
+                + ", specification="
+                + specification
+                + ", size="
+                + size
+                + ", hitCount="
+                + hitCount
+                + ", missCount="
+                + missCount
+                + ", evictionCount="
+                + evictionCount
+                + ", loadCount="
+                + loadCount
+                + ", totalLoadTime="
+                + totalLoadTime
+                + "]";
+    }
+}
@@ -4,6 +4,13 @@
  */
 package org.geoserver.catalog;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
 import java.awt.RenderingHints;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
@@ -20,12 +27,14 @@
 import java.io.Serializable;
 import java.lang.reflect.Proxy;
 import java.net.URL;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +46,8 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.measure.Unit;
@@ -71,6 +82,7 @@
 import org.geoserver.platform.resource.ResourceNotification;
 import org.geoserver.platform.resource.Resources;
 import org.geoserver.util.EntityResolverProvider;
+import org.geoserver.util.SingleFlightLoader;
 import org.geotools.api.coverage.grid.GridCoverage;
 import org.geotools.api.coverage.grid.GridCoverageReader;
 import org.geotools.api.data.DataAccess;
@@ -168,6 +180,9 @@
  *   <li>{@link #sldCache}
  *   <li>{@link #styleCache}
  *
+ * <p>The eviction policy of each cache can be configured using system variables, see
+ * {@link #CACHE_SPEC_PROPERTY_PREFIX}, while the usage statistics are available via {@link #getCacheStatistics()}.
+ *
  * @author Justin Deoliveira, Boundless
  */
 public class ResourcePool {
@@ -193,8 +208,22 @@ public class ResourcePool {
     /** Default number of hard references */
     static int FEATURETYPE_CACHE_SIZE_DEFAULT = 100;
 
+    /**
+     * Prefix of the system variables used to configure the resource caches. The full name is the prefix followed by
+     * the upper case cache name, e.g., {@code GEOSERVER_RESOURCE_POOL_CACHE_DATASTORES}, while the value is a
+     * {@link CacheBuilderSpec}
+     */
+    public static final String CACHE_SPEC_PROPERTY_PREFIX = "GEOSERVER_RESOURCE_POOL_CACHE_";
+
     static String CRS_NOT_FOUND = "CRS_NOT_FOUND";
-    static Map<CoordinateReferenceSystem, String> crsIdentifierCache = new SoftValueHashMap<>();
+    /**
+     * Results of the full scan CRS identifier lookups, soft valued unless configured with the
+     * {@link #CACHE_SPEC_PROPERTY_PREFIX} + {@code CRSIDENTIFIERS} variable
+     */
+    static Map<CoordinateReferenceSystem, String> crsIdentifierCache = createCrsIdentifierCache();
+
+    /** Default number of entries kept by the store and reader caches before moving the others to a soft tail */
+    static final int STORE_CACHE_SIZE_DEFAULT = 100;
 
     Catalog catalog;
     Map<String, CoordinateReferenceSystem> crsCache;
@@ -225,6 +254,14 @@ public class ResourcePool {
     /** Holds the key for the CoverageHintReaderCache. By ensuring identity allows to synchronize on the key. */
     private CanonicalSet<CoverageHintReaderKey> coverageCacheKeys;
 
+    /** Makes sure a single thread at a time creates a given {@link DataAccess}, without blocking other stores */
+    private final SingleFlightLoader<String, DataAccess<? extends FeatureType, ? extends Feature>> dataStoreLoader =
+            new SingleFlightLoader<>();
+
+    /** Makes sure a single thread at a time creates a given coverage reader, without blocking other readers */
+    private final SingleFlightLoader<CoverageHintReaderKey, GridCoverageReader> coverageReaderLoader =
+            new SingleFlightLoader<>();
+
     /** Creates a new instance of the resource pool explicitly supplying the application context. */
     public static ResourcePool create(Catalog catalog, ApplicationContext appContext) {
         // look for an implementation in spring context
@@ -371,7 +408,7 @@ public Map<String, StyledLayerDescriptor> getSldCache() {
     }
 
     protected Map<String, StyledLayerDescriptor> createSldCache() {
-        return new ConcurrentHashMap<>();
+        return new SldCache();
     }
 
     /**
@@ -384,7 +421,7 @@ public Map<String, Style> getStyleCache() {
     }
 
     protected Map<String, Style> createStyleCache() {
-        return new ConcurrentHashMap<>();
+        return new StyleCache();
     }
 
     /**
@@ -410,6 +447,36 @@ protected Map<String, WebMapTileServer> createWmtsCache() {
         return new WMTSCache();
     }
 
+    /**
+     * Returns a snapshot of the usage statistics of the resource caches, keyed by cache name. Caches replaced by
+     * subclasses with implementations not extending {@link CatalogResourceCache} are not reported.
+     */
+    public Map<String, ResourceCacheStatistics> getCacheStatistics() {
+        Map<String, ResourceCacheStatistics> result = new LinkedHashMap<>();
+        for (Map<?, ?> cache : Arrays.asList(
+                dataStoreCache,
+                featureTypeCache,
+                featureTypeAttributeCache,
+                hintCoverageReaderCache,
+                wmsCache,
+                wmtsCache,
+                sldCache,
+                styleCache)) {
+            if (cache instanceof CatalogResourceCache) {
+                ResourceCacheStatistics stats = ((CatalogResourceCache<?, ?>) cache).getStatistics();
+                result.put(stats.getName(), stats);
+            }
+        }
+        return result;
+    }
+
+    /** Records the load time of a value going to be stored in the given cache, if it supports statistics */
+    private static void recordLoad(Map<?, ?> cache, long startNanos) {
+        if (cache instanceof CatalogResourceCache) {
+            ((CatalogResourceCache<?, ?>) cache).recordLoad(startNanos);
+        }
+    }
+
     /**
      * Sets the size of the feature type cache.
      *
@@ -526,6 +593,12 @@ public static String lookupIdentifier(CoordinateReferenceSystem crs, boolean ful
         }
     }
 
+    private static Map<CoordinateReferenceSystem, String> createCrsIdentifierCache() {
+        String spec = GeoServerExtensions.getProperty(CACHE_SPEC_PROPERTY_PREFIX + "CRSIDENTIFIERS");
+        CacheBuilderSpec builderSpec = CacheBuilderSpec.parse(spec == null ? "softValues" : spec);
+        return CacheBuilder.from(builderSpec).<CoordinateReferenceSystem, String>build().asMap();
+    }
+
     private static String lookupIdentifierInternal(CoordinateReferenceSystem crs, boolean fullScan)
             throws FactoryException {
         // Lookup the first code, it should be the official one for this CRS
@@ -630,13 +703,17 @@ public DataAccessFactory getDataStoreFactory(DataStoreInfo info) throws IOExcept
             String key = cacheKeys.unique(storeId);
             dataStore = dataStoreCache.get(key);
             if (dataStore == null) {
-                synchronized (key) {
-                    dataStore = dataStoreCache.get(key);
-                    if (dataStore == null) {
-                        dataStore = createDataAccess(info, expandedStore);
-                        dataStoreCache.put(key, dataStore);
+                // only one thread creates the store, the others wait for it
+                dataStore = dataStoreLoader.load(key, () -> {
+                    DataAccess<? extends FeatureType, ? extends Feature> cached = dataStoreCache.get(key);
+                    if (cached == null) {
+                        long start = System.nanoTime();
+                        cached = createDataAccess(info, expandedStore);
+                        recordLoad(dataStoreCache, start);
+                        dataStoreCache.put(key, cached);
                     }
-                }
+                    return cached;
+                });
             }
 
             return dataStore;
@@ -876,7 +953,9 @@ public List<AttributeTypeInfo> getAttributes(FeatureTypeInfo info) throws IOExce
             synchronized (key) {
                 atts = featureTypeAttributeCache.get(key);
                 if (atts == null) {
+                    long start = System.nanoTime();
                     atts = attributeTypeInfos(info);
+                    recordLoad(featureTypeAttributeCache, start);
                     featureTypeAttributeCache.put(key, atts);
                 }
             }
@@ -1046,7 +1125,9 @@ FeatureType getCacheableFeatureType(FeatureTypeInfo info, boolean handleProjecti
             synchronized (key) {
                 ft = featureTypeCache.get(key);
                 if (ft == null) {
+                    long start = System.nanoTime();
                     ft = acquireFeatureType(info, handleProjectionPolicy);
+                    recordLoad(featureTypeCache, start);
                     featureTypeCache.put(key, ft);
                 }
             }
@@ -1597,40 +1678,44 @@ private GridCoverageReader getGridCoverageReader(
             hints.add(new RenderingHints(Hints.EXECUTOR_SERVICE, coverageExecutor));
         }
         // look into the cache
-        CoverageHintReaderKey key = new CoverageHintReaderKey(info.getId(), hints);
-        key = coverageCacheKeys.unique(key);
+        final CoverageHintReaderKey key =
+                coverageCacheKeys.unique(new CoverageHintReaderKey(info.getId(), hints));
         GridCoverageReader reader = hintCoverageReaderCache.get(key);
 
-        // if not found in cache, create it
+        // if not found in cache, create it, making sure only one thread does so
         if (reader == null) {
-            synchronized (key) {
-                if (key != null) {
-                    reader = hintCoverageReaderCache.get(key);
+            final Hints readerHints = hints;
+            final CoverageInfo readerCoverageInfo = coverageInfo;
+            reader = coverageReaderLoader.load(key, () -> {
+                GridCoverageReader cached = hintCoverageReaderCache.get(key);
+                if (cached != null) {
+                    return cached;
                 }
-                if (reader == null) {
-                    try {
-                        /////////////////////////////////////////////////////////
-                        //
-                        // Getting coverage reader using the format and the real path.
-                        //
-                        // /////////////////////////////////////////////////////////
-                        final String urlString = expandedStore.getURL();
-                        Object readObject = getCoverageStoreSource(urlString, coverageInfo, expandedStore, hints);
-
-                        // readers might change the provided hints, pass down a defensive copy
-                        reader = gridFormat.getReader(readObject, hints);
-                        if (reader == null) {
-                            throw new IOException("Failed to create reader from " + urlString + " and hints " + hints);
-                        }
-                        if (key != null) {
-                            hintCoverageReaderCache.put(key, reader);
-                        }
-                    } catch (Exception e) {
-                        disableStoreInfoIfNeeded(info, CoverageStoreInfo.class, e);
-                        throw e;
+                try {
+                    /////////////////////////////////////////////////////////
+                    //
+                    // Getting coverage reader using the format and the real path.
+                    //
+                    // /////////////////////////////////////////////////////////
+                    long start = System.nanoTime();
+                    final String urlString = expandedStore.getURL();
+                    Object readObject =
+                            getCoverageStoreSource(urlString, readerCoverageInfo, expandedStore, readerHints);
+
+                    // readers might change the provided hints, pass down a defensive copy
+                    GridCoverageReader created = gridFormat.getReader(readObject, readerHints);
+                    if (created == null) {
+                        throw new IOException(
+                                "Failed to create reader from " + urlString + " and hints " + readerHints);
                     }
+                    recordLoad(hintCoverageReaderCache, start);
+                    hintCoverageReaderCache.put(key, created);
+                    return created;
+                } catch (Exception e) {
+                    disableStoreInfoIfNeeded(info, CoverageStoreInfo.class, e);
+                    throw e;
                 }
-            }
+            });
         }
 
         if (coverageInfo == null && coverageName != null) {
@@ -1863,7 +1948,9 @@ public WebMapServer getWebMapServer(WMSStoreInfo info) throws IOException {
                 synchronized (id) {
                     wms = wmsCache.get(id);
                     if (wms == null) {
+                        long start = System.nanoTime();
                         wms = createWebMapServer(expandedStore, entityResolver);
+                        recordLoad(wmsCache, start);
                         wmsCache.put(id, wms);
                     }
                 }
@@ -1929,7 +2016,9 @@ public WebMapTileServer getWebMapTileServer(WMTSStoreInfo info) throws IOExcepti
                 synchronized (id) {
                     wmts = wmtsCache.get(id);
                     if (wmts == null) {
+                        long start = System.nanoTime();
                         wmts = createWebMapTileServer(info, entityResolver);
+                        recordLoad(wmtsCache, start);
                         wmtsCache.put(id, wmts);
                     }
                 }
@@ -2080,7 +2169,9 @@ public StyledLayerDescriptor getSld(final StyleInfo info) throws IOException {
             synchronized (key) {
                 sld = sldCache.get(key);
                 if (sld == null) {
+                    long start = System.nanoTime();
                     sld = dataDir().parsedSld(info);
+                    recordLoad(sldCache, start);
 
                     sldCache.put(key, sld);
 
@@ -2119,7 +2210,9 @@ public Style getStyle(final StyleInfo info) throws IOException {
             synchronized (key) {
                 style = styleCache.get(key);
                 if (style == null) {
+                    long start = System.nanoTime();
                     style = createStyle(info);
+                    recordLoad(styleCache, start);
                     styleCache.put(key, style);
 
                     final Resource styleResource = dataDir().style(info);
@@ -2306,44 +2399,193 @@ public void dispose() {
 
     /**
      * Base class for all the resource caches, ensures type safety and provides an easier way to handle with resource
-     * disposal
+     * disposal.
+     *
+     * <p>The cache is backed by a Guava {@link Cache}, whose eviction policy can be configured by setting the
+     * {@link #CACHE_SPEC_PROPERTY_PREFIX} + upper case cache name system variable to a {@link CacheBuilderSpec}, e.g.,
+     * {@code -DGEOSERVER_RESOURCE_POOL_CACHE_FEATURETYPES=maximumWeight=20000,expireAfterAccess=30m}. When a
+     * maximum weight is configured, entries are weighted using {@link #weigh(Object, Object)}. Values are disposed
+     * when evicted, expired or explicitly removed, but not when replaced by a new value.
+     *
+     * <p>Without a configuration a cache can be bounded by a default size, as the {@link SoftValueHashMap} caches
+     * used to be: entries beyond it are moved to a soft valued tail instead of being disposed, as they can still be in
+     * use, and the garbage collector reclaims them once no longer referenced. A tail entry that is looked up again
+     * moves back to the bounded part.
      *
      * @author Andrea Aime
      * @param <K>
      * @param <V>
      */
-    abstract class CatalogResourceCache<K, V> extends SoftValueHashMap<K, V> {
+    abstract class CatalogResourceCache<K, V> extends AbstractMap<K, V> {
+
+        final String name;
+
+        final String specification;
+
+        final Cache<K, V> cache;
+
+        /** Entries evicted by the default size bound, null if the cache has been configured */
+        final Cache<K, V> tail;
+
+        final LongAdder loadCount = new LongAdder();
+
+        final LongAdder totalLoadTime = new LongAdder();
+
+        /**
+         * Builds a new cache keeping {@link #STORE_CACHE_SIZE_DEFAULT} entries, and the others in the soft tail,
+         * unless configured otherwise
+         */
+        public CatalogResourceCache(String name) {
+            this(name, STORE_CACHE_SIZE_DEFAULT);
+        }
+
+        /**
+         * Builds a new cache
+         *
+         * @param name The cache name, used to look up its configuration and to report statistics
+         * @param maximumSize The default maximum number of entries, used when no specification has been configured,
+         *     the evicted ones moving to the soft tail. A negative value makes the cache unbounded.
+         */
+        public CatalogResourceCache(String name, long maximumSize) {
+            this.name = name;
+            String spec = GeoServerExtensions.getProperty(CACHE_SPEC_PROPERTY_PREFIX + name.toUpperCase());
+            if (spec == null && maximumSize >= 0) {
+                spec = "maximumSize=" + maximumSize;
+                this.tail = CacheBuilder.newBuilder().softValues().build();
+            } else {
+                if (spec == null) spec = "";
+                this.tail = null;
+            }
+            this.specification = spec;
+
+            CacheBuilder<K, V> builder = CacheBuilder.from(CacheBuilderSpec.parse(spec))
+                    .recordStats()
+                    .removalListener((RemovalListener<K, V>) this::onRemoval);
+            if (spec.contains("maximumWeight")) {
+                builder = builder.weigher(this::weigh);
+            }
+            this.cache = builder.build();
+        }
 
-        public CatalogResourceCache() {
-            this(100);
+        private void onRemoval(RemovalNotification<K, V> notification) {
+            V value = notification.getValue();
+            // a replaced value is not disposed, and collected ones are gone already
+            if (value == null || notification.getCause() == RemovalCause.REPLACED) return;
+            if (tail != null && notification.getCause() == RemovalCause.SIZE) {
+                tail.put(notification.getKey(), value);
+                return;
+            }
+            disposeEntry(notification.getKey(), value);
         }
 
-        public CatalogResourceCache(int hardReferences) {
-            super(hardReferences);
-            super.cleaner = (ValueCleaner<K, V>) (key, object) -> dispose(key, object);
+        private void disposeEntry(K key, V value) {
+            try {
+                dispose(key, value);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error disposing entry: " + key, e);
+            }
         }
 
         @Override
         @SuppressWarnings("unchecked")
-        public V remove(Object key) {
-            V object = super.remove(key);
-            if (object != null) {
-                dispose((K) key, object);
+        public V get(Object key) {
+            V value = cache.getIfPresent(key);
+            if (value == null && tail != null) {
+                value = tail.asMap().remove(key);
+                if (value != null) {
+                    cache.asMap().putIfAbsent((K) key, value);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return cache.asMap().containsKey(key) || (tail != null && tail.asMap().containsKey(key));
+        }
+
+        @Override
+        public V put(K key, V value) {
+            V previous = cache.asMap().put(key, value);
+            if (previous == null && tail != null) {
+                previous = tail.asMap().remove(key);
             }
-            return object;
+            return previous;
         }
 
         @Override
         @SuppressWarnings("unchecked")
-        public void clear() {
-            for (Entry entry : entrySet()) {
-                try {
-                    dispose((K) entry.getKey(), (V) entry.getValue());
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error dispoing entry: " + entry, e);
+        public V remove(Object key) {
+            V value = cache.asMap().remove(key);
+            if (value == null && tail != null) {
+                value = tail.asMap().remove(key);
+                if (value != null) {
+                    disposeEntry((K) key, value);
                 }
             }
-            super.clear();
+            return value;
+        }
+
+        @Override
+        public void clear() {
+            cache.invalidateAll();
+            if (tail != null) {
+                tail.asMap().forEach(this::disposeEntry);
+                tail.invalidateAll();
+            }
+        }
+
+        @Override
+        public int size() {
+            return cache.asMap().size() + (tail == null ? 0 : tail.asMap().size());
+        }
+
+        @Override
+        public Set<K> keySet() {
+            if (tail == null) {
+                return cache.asMap().keySet();
+            }
+            Set<K> keys = new HashSet<>(cache.asMap().keySet());
+            keys.addAll(tail.asMap().keySet());
+            return keys;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            if (tail == null) {
+                return cache.asMap().entrySet();
+            }
+            Map<K, V> entries = new HashMap<>(tail.asMap());
+            entries.putAll(cache.asMap());
+            return entries.entrySet();
+        }
+
+        /** Records the time taken to load a value that is going to be stored in this cache */
+        void recordLoad(long startNanos) {
+            loadCount.increment();
+            totalLoadTime.add(System.nanoTime() - startNanos);
+        }
+
+        /** Returns a snapshot of the cache usage statistics */
+        public ResourceCacheStatistics getStatistics() {
+            CacheStats stats = cache.stats();
+            return new ResourceCacheStatistics(
+                    name,
+                    specification,
+                    size(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.evictionCount(),
+                    loadCount.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(totalLoadTime.sum()));
+        }
+
+        /**
+         * Returns the weight of a cache entry, used only if the cache is configured with a maximum weight. Defaults to
+         * 1, subclasses can override to account for larger values.
+         */
+        protected int weigh(K key, V value) {
+            return 1;
         }
 
         protected abstract void dispose(K key, V object);
@@ -2352,7 +2594,12 @@ public void clear() {
     class FeatureTypeCache extends CatalogResourceCache<String, FeatureType> {
 
         public FeatureTypeCache(int maxSize) {
-            super(maxSize);
+            super("featureTypes", maxSize);
+        }
+
+        @Override
+        protected int weigh(String key, FeatureType featureType) {
+            return 1 + featureType.getDescriptors().size();
         }
 
         @Override
@@ -2380,6 +2627,11 @@ protected void dispose(String key, FeatureType featureType) {
      * @see ResourcePool#dataStoreCache
      */
     class DataStoreCache extends CatalogResourceCache<String, DataAccess> {
+
+        public DataStoreCache() {
+            super("dataStores");
+        }
+
         /**
          * Ensure data access entry is removed from catalog, and ensure DataAccess dispose is called to return system
          * resources.
@@ -2414,6 +2666,10 @@ protected void dispose(String id, final DataAccess dataAccess) {
 
     class CoverageReaderCache extends CatalogResourceCache<String, GridCoverageReader> {
 
+        public CoverageReaderCache() {
+            super("coverageReaders");
+        }
+
         @Override
         protected void dispose(String id, GridCoverageReader reader) {
             CoverageStoreInfo info = catalog.getCoverageStore(id);
@@ -2434,6 +2690,10 @@ protected void dispose(String id, GridCoverageReader reader) {
 
     class CoverageHintReaderCache extends CatalogResourceCache<CoverageHintReaderKey, GridCoverageReader> {
 
+        public CoverageHintReaderCache() {
+            super("hintCoverageReaders");
+        }
+
         @Override
         protected void dispose(CoverageHintReaderKey key, GridCoverageReader reader) {
             CoverageStoreInfo info = catalog.getCoverageStore(key.id);
@@ -2494,7 +2754,12 @@ public boolean equals(Object obj) {
     class FeatureTypeAttributeCache extends CatalogResourceCache<String, List<AttributeTypeInfo>> {
 
         FeatureTypeAttributeCache(int size) {
-            super(size);
+            super("featureTypeAttributes", size);
+        }
+
+        @Override
+        protected int weigh(String key, List<AttributeTypeInfo> attributes) {
+            return 1 + attributes.size();
         }
 
         @Override
@@ -2505,6 +2770,10 @@ protected void dispose(String key, List<AttributeTypeInfo> object) {
 
     class WMSCache extends CatalogResourceCache<String, WebMapServer> {
 
+        public WMSCache() {
+            super("wms");
+        }
+
         @Override
         protected void dispose(String key, WebMapServer server) {
             HTTPClient client = server.getHTTPClient();
@@ -2525,6 +2794,10 @@ protected void dispose(String key, WebMapServer server) {
 
     class WMTSCache extends CatalogResourceCache<String, WebMapTileServer> {
 
+        public WMTSCache() {
+            super("wmts");
+        }
+
         @Override
         protected void dispose(String key, WebMapTileServer server) {
             HTTPClient client = server.getHTTPClient();
@@ -2543,6 +2816,39 @@ protected void dispose(String key, WebMapTileServer server) {
         }
     }
 
+    class SldCache extends CatalogResourceCache<String, StyledLayerDescriptor> {
+
+        public SldCache() {
+            // styles used to be cached without limits, keep it that way unless configured otherwise
+            super("slds", -1);
+        }
+
+        @Override
+        protected void dispose(String key, StyledLayerDescriptor sld) {
+            // nothing to do
+        }
+    }
+
+    class StyleCache extends CatalogResourceCache<String, Style> {
+
+        public StyleCache() {
+            super("styles", -1);
+        }
+
+        @Override
+        protected int weigh(String key, Style style) {
+            return 1
+                    + style.featureTypeStyles().stream()
+                            .mapToInt(fts -> fts.rules().size())
+                            .sum();
+        }
+
+        @Override
+        protected void dispose(String key, Style style) {
+            // nothing to do
+        }
+    }
+
     /** Listens to catalog events clearing cache entires when resources are modified. */
     public static class CacheClearingListener extends CatalogVisitorAdapter implements CatalogListener {
 
@@ -0,0 +1,67 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.geotools.util.logging.Logging;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Publishes the {@link ResourcePool} cache statistics in the platform MBean server, under the
+ * {@link #OBJECT_NAME} name.
+ */
+public class ResourcePoolCachesJMX implements ResourcePoolCachesMXBean, InitializingBean, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(ResourcePoolCachesJMX.class);
+
+    public static final String OBJECT_NAME = "org.geoserver:type=ResourcePool,name=Caches";
+
+    Catalog catalog;
+
+    ObjectName registeredName;
+
+    public ResourcePoolCachesJMX(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public List<ResourceCacheStatistics> getCacheStatistics() {
+        return new ArrayList<>(catalog.getResourcePool().getCacheStatistics().values());
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            // another GeoServer in the same JVM might have registered already
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+                registeredName = name;
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to register the resource pool caches JMX bean", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (registeredName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Failed to unregister the resource pool caches JMX bean", e);
+            }
+            registeredName = null;
+        }
+    }
+}
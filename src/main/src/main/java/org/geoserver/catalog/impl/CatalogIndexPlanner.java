@@ -0,0 +1,344 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.MultiValuedFilter.MatchAction;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.feature.NameImpl;
+
+/**
+ * Answers catalog queries using the secondary indexes of the {@link DefaultCatalogFacade} lookups, instead of scanning
+ * all the objects of a given type.
+ *
+ * <p>The planner recognizes equality, null and prefix (like with a single trailing wildcard) comparisons, and their
+ * combinations via {@link And} (using the most selective index) and {@link Or} (when all branches hit the same index).
+ * Properties of related objects are resolved by chaining index lookups, e.g., {@code resource.store.workspace.name}
+ * on layers is resolved by looking up the workspace by name, its stores by "workspace.id", their resources by
+ * "store.id", and finally the layers by "resource.id".
+ *
+ * <p>The indexes are only used to narrow down the candidates, the full filter is always evaluated against them, so the
+ * results are the same as a full scan, in the same order.
+ */
+class CatalogIndexPlanner {
+
+    /** Boolean properties, their index keys are normalized "true" and "false" strings */
+    static final Set<String> BOOLEAN_PROPERTIES = Set.of("enabled", "advertised");
+
+    enum Operator {
+        EQUAL,
+        NULL,
+        PREFIX
+    }
+
+    /** A comparison against a property */
+    static class Condition {
+        final Operator operator;
+        final String value;
+
+        Condition(Operator operator, String value) {
+            this.operator = operator;
+            this.value = value;
+        }
+    }
+
+    /** A query that can be run against a lookup index */
+    static class IndexQuery {
+        final CatalogInfoLookup<?> lookup;
+        final String property;
+        final Collection<String> keys;
+        final String prefix;
+
+        IndexQuery(CatalogInfoLookup<?> lookup, String property, Collection<String> keys, String prefix) {
+            this.lookup = lookup;
+            this.property = property;
+            this.keys = keys;
+            this.prefix = prefix;
+        }
+
+        int estimate() {
+            // prefix lookups are assumed to be less selective than any exact match
+            return prefix != null ? Integer.MAX_VALUE - 1 : lookup.estimate(property, keys);
+        }
+
+        <T extends CatalogInfo> List<T> run(Class<T> clazz, Predicate<T> predicate) {
+            if (prefix != null) {
+                return lookup.listByPrefix(clazz, property, prefix, predicate);
+            }
+            return lookup.listByIndex(clazz, property, keys, predicate);
+        }
+    }
+
+    final DefaultCatalogFacade facade;
+
+    CatalogIndexPlanner(DefaultCatalogFacade facade) {
+        this.facade = facade;
+    }
+
+    /**
+     * Returns the objects of the given type matching the filter and predicate, using the indexes, or null if the
+     * filter cannot be answered by the indexes.
+     */
+    <T extends CatalogInfo> List<T> list(Class<T> of, Filter filter, Predicate<T> predicate) {
+        IndexQuery query = plan(of, filter);
+        if (query == null) {
+            return null;
+        }
+        return query.run(of, predicate);
+    }
+
+    /** Builds an index query for the given type and filter, or returns null if no index can be used */
+    IndexQuery plan(Class<?> type, Filter filter) {
+        if (filter instanceof And) {
+            IndexQuery best = null;
+            int bestEstimate = Integer.MAX_VALUE;
+            for (Filter child : ((And) filter).getChildren()) {
+                IndexQuery query = plan(type, child);
+                if (query != null) {
+                    int estimate = query.estimate();
+                    if (best == null || estimate < bestEstimate) {
+                        best = query;
+                        bestEstimate = estimate;
+                    }
+                }
+            }
+            return best;
+        } else if (filter instanceof Or) {
+            IndexQuery union = null;
+            Set<String> keys = new LinkedHashSet<>();
+            for (Filter child : ((Or) filter).getChildren()) {
+                IndexQuery query = plan(type, child);
+                if (query == null
+                        || query.prefix != null
+                        || (union != null && !union.property.equals(query.property))) {
+                    return null;
+                }
+                union = query;
+                keys.addAll(query.keys);
+            }
+            return union == null ? null : new IndexQuery(union.lookup, union.property, keys, null);
+        } else if (filter instanceof Id) {
+            CatalogInfoLookup<?> lookup = lookup(type);
+            if (lookup == null) return null;
+            List<String> ids = new ArrayList<>();
+            for (Object id : ((Id) filter).getIDs()) {
+                ids.add(String.valueOf(id));
+            }
+            return new IndexQuery(lookup, CatalogInfoLookup.ID, ids, null);
+        } else if (filter instanceof PropertyIsEqualTo) {
+            PropertyIsEqualTo equal = (PropertyIsEqualTo) filter;
+            if (!equal.isMatchingCase() || equal.getMatchAction() != MatchAction.ANY) return null;
+            PropertyName name = propertyName(equal.getExpression1(), equal.getExpression2());
+            Literal literal = literal(equal.getExpression1(), equal.getExpression2());
+            if (name == null || literal == null) return null;
+            String path = name.getPropertyName();
+            String value = toKey(path, literal.getValue());
+            if (value == null) return null;
+            return resolve(type, path, new Condition(Operator.EQUAL, value));
+        } else if (filter instanceof PropertyIsNull) {
+            Expression expression = ((PropertyIsNull) filter).getExpression();
+            if (!(expression instanceof PropertyName)) return null;
+            return resolve(type, ((PropertyName) expression).getPropertyName(), new Condition(Operator.NULL, null));
+        } else if (filter instanceof PropertyIsLike) {
+            PropertyIsLike like = (PropertyIsLike) filter;
+            if (!(like.getExpression() instanceof PropertyName) || like.getMatchAction() != MatchAction.ANY) {
+                return null;
+            }
+            String prefix = getPrefix(like);
+            if (prefix == null) return null;
+            String path = ((PropertyName) like.getExpression()).getPropertyName();
+            return resolve(type, path, new Condition(Operator.PREFIX, prefix));
+        }
+        return null;
+    }
+
+    /** Resolves a comparison on a property path into an index query on the type lookup */
+    IndexQuery resolve(Class<?> type, String path, Condition condition) {
+        CatalogInfoLookup<?> lookup = lookup(type);
+        if (lookup == null) return null;
+
+        // direct lookups, by identifier or indexed property
+        if (CatalogInfoLookup.ID.equals(path)) {
+            if (condition.operator != Operator.EQUAL) return null;
+            return new IndexQuery(lookup, CatalogInfoLookup.ID, List.of(condition.value), null);
+        } else if (lookup.isIndexed(path)) {
+            switch (condition.operator) {
+                case EQUAL:
+                    return new IndexQuery(lookup, path, List.of(condition.value), null);
+                case NULL:
+                    return new IndexQuery(lookup, path, Collections.singletonList(null), null);
+                case PREFIX:
+                    return lookup.isPrefixIndexed(path) ? new IndexQuery(lookup, path, null, condition.value) : null;
+            }
+        }
+
+        // workspaces and namespaces are looked up by name
+        if (WorkspaceInfo.class.isAssignableFrom(type) && "name".equals(path)) {
+            return byName(lookup, WorkspaceInfo.class, condition);
+        } else if (NamespaceInfo.class.isAssignableFrom(type) && ("prefix".equals(path) || "name".equals(path))) {
+            return byName(lookup, NamespaceInfo.class, condition);
+        }
+
+        // layers share the name of their resource
+        if (LayerInfo.class.isAssignableFrom(type) && "name".equals(path)) {
+            return join(lookup, "resource.id", ResourceInfo.class, "name", condition);
+        }
+
+        // related objects, resolved via their identifiers
+        int idx = path.indexOf('.');
+        if (idx <= 0 || condition.operator == Operator.NULL) return null;
+        String reference = path.substring(0, idx);
+        String rest = path.substring(idx + 1);
+        Class<?> referenceType = referenceType(type, reference);
+        if (referenceType == null) return null;
+        return join(lookup, reference + ".id", referenceType, rest, condition);
+    }
+
+    /** Resolves the condition on the referenced type, and looks up the results by id in the lookup index */
+    private IndexQuery join(
+            CatalogInfoLookup<?> lookup,
+            String idProperty,
+            Class<?> referenceType,
+            String referencePath,
+            Condition condition) {
+        if (!lookup.isIndexed(idProperty)) return null;
+        IndexQuery referenceQuery = resolve(referenceType, referencePath, condition);
+        if (referenceQuery == null) return null;
+        @SuppressWarnings("unchecked")
+        Class<CatalogInfo> clazz = (Class<CatalogInfo>) referenceType;
+        List<CatalogInfo> references = referenceQuery.run(clazz, CatalogInfoLookup.ptrue());
+        if (references == null) return null;
+        List<String> ids = new ArrayList<>(references.size());
+        for (CatalogInfo reference : references) {
+            ids.add(reference.getId());
+        }
+        return new IndexQuery(lookup, idProperty, ids, null);
+    }
+
+    private IndexQuery byName(CatalogInfoLookup<?> lookup, Class<? extends CatalogInfo> clazz, Condition condition) {
+        if (condition.operator != Operator.EQUAL) return null;
+        CatalogInfo info = lookup.findByName(new NameImpl(condition.value), clazz);
+        List<String> ids = info == null ? List.of() : List.of(info.getId());
+        return new IndexQuery(lookup, CatalogInfoLookup.ID, ids, null);
+    }
+
+    /** Returns the lookup holding objects of the given type */
+    CatalogInfoLookup<?> lookup(Class<?> type) {
+        if (WorkspaceInfo.class.isAssignableFrom(type)) {
+            return facade.workspaces;
+        } else if (NamespaceInfo.class.isAssignableFrom(type)) {
+            return facade.namespaces;
+        } else if (StoreInfo.class.isAssignableFrom(type)) {
+            return facade.stores;
+        } else if (ResourceInfo.class.isAssignableFrom(type)) {
+            return facade.resources;
+        } else if (LayerInfo.class.isAssignableFrom(type)) {
+            return facade.layers;
+        } else if (LayerGroupInfo.class.isAssignableFrom(type)) {
+            return facade.layerGroups;
+        } else if (StyleInfo.class.isAssignableFrom(type)) {
+            return facade.styles;
+        }
+        return null;
+    }
+
+    /** Returns the type of the single valued reference property of the given type */
+    static Class<?> referenceType(Class<?> type, String reference) {
+        if ("workspace".equals(reference)
+                && (StoreInfo.class.isAssignableFrom(type)
+                        || LayerGroupInfo.class.isAssignableFrom(type)
+                        || StyleInfo.class.isAssignableFrom(type))) {
+            return WorkspaceInfo.class;
+        } else if (ResourceInfo.class.isAssignableFrom(type)) {
+            if ("store".equals(reference)) return StoreInfo.class;
+            if ("namespace".equals(reference)) return NamespaceInfo.class;
+        } else if (LayerInfo.class.isAssignableFrom(type) && "resource".equals(reference)) {
+            return ResourceInfo.class;
+        }
+        return null;
+    }
+
+    /** Converts a literal into an index key, or returns null if the literal cannot be matched against an index */
+    static String toKey(String path, Object value) {
+        String property = path.substring(path.lastIndexOf('.') + 1);
+        if (BOOLEAN_PROPERTIES.contains(property)) {
+            // only use the index if the filter comparison would not perform further conversions
+            if (value instanceof Boolean) return value.toString();
+            if ("true".equalsIgnoreCase(String.valueOf(value))) return "true";
+            if ("false".equalsIgnoreCase(String.valueOf(value))) return "false";
+            return null;
+        }
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Returns the prefix of a like pattern whose only wildcard is at the end, or null if the pattern is not a simple
+     * prefix match.
+     */
+    static String getPrefix(PropertyIsLike like) {
+        String pattern = like.getLiteral();
+        String wildcard = like.getWildCard();
+        String single = like.getSingleChar();
+        String escape = like.getEscape();
+        if (pattern == null || wildcard == null || wildcard.length() != 1 || !pattern.endsWith(wildcard)) {
+            return null;
+        }
+        StringBuilder prefix = new StringBuilder();
+        int end = pattern.length() - 1;
+        for (int i = 0; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (escape != null && escape.length() == 1 && c == escape.charAt(0)) {
+                if (i + 1 >= end) return null;
+                prefix.append(pattern.charAt(++i));
+            } else if (c == wildcard.charAt(0) || (single != null && single.length() == 1 && c == single.charAt(0))) {
+                return null;
+            } else {
+                prefix.append(c);
+            }
+        }
+        // the escape char might be escaping the trailing wildcard
+        if (end > 0 && escape != null && escape.length() == 1 && pattern.charAt(end - 1) == escape.charAt(0)) {
+            int escapes = 0;
+            for (int i = end - 1; i >= 0 && pattern.charAt(i) == escape.charAt(0); i--) escapes++;
+            if (escapes % 2 == 1) return null;
+        }
+        return prefix.length() > 0 ? prefix.toString() : null;
+    }
+
+    private static PropertyName propertyName(Expression e1, Expression e2) {
+        if (e1 instanceof PropertyName) return (PropertyName) e1;
+        if (e2 instanceof PropertyName) return (PropertyName) e2;
+        return null;
+    }
+
+    private static Literal literal(Expression e1, Expression e2) {
+        if (e1 instanceof Literal) return (Literal) e1;
+        if (e2 instanceof Literal) return (Literal) e2;
+        return null;
+    }
+}
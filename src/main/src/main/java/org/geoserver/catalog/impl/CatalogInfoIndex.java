@@ -0,0 +1,165 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import org.geoserver.catalog.CatalogInfo;
+import org.geotools.api.feature.type.Name;
+
+/**
+ * A secondary index for {@link CatalogInfoLookup}, maps the values of a property (e.g., "store.id") to the catalog
+ * objects having it. Like the lookup, the index is partitioned by implementation class, and the objects sharing the
+ * same key are sorted by name, so that lookups via index return objects in the same order as a full scan would.
+ *
+ * <p>The extractor function can return a single value, a collection of values (for multi-valued properties, such as
+ * keywords), or null. Keys are converted to strings, and eventually lower cased, for case insensitive indexes (which
+ * can be used to look up case insensitive prefixes).
+ *
+ * @param <T>
+ */
+class CatalogInfoIndex<T extends CatalogInfo> {
+
+    final String property;
+
+    final Function<T, Object> extractor;
+
+    final boolean caseInsensitive;
+
+    ConcurrentHashMap<Class<?>, ConcurrentSkipListMap<String, Map<Name, T>>> keyed = new ConcurrentHashMap<>();
+
+    ConcurrentHashMap<Class<?>, Map<Name, T>> nullKeyed = new ConcurrentHashMap<>();
+
+    CatalogInfoIndex(String property, Function<T, Object> extractor, boolean caseInsensitive) {
+        this.property = property;
+        this.extractor = extractor;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /** Returns the normalized keys for the given value, a null key is returned if the property is null */
+    List<String> keys(T value) {
+        Object v = extractor.apply(value);
+        if (v == null) {
+            return Collections.singletonList(null);
+        } else if (v instanceof Collection) {
+            Collection<?> values = (Collection<?>) v;
+            List<String> result = new ArrayList<>(values.size());
+            for (Object o : values) {
+                String key = normalize(o);
+                if (!result.contains(key)) {
+                    result.add(key);
+                }
+            }
+            return result;
+        }
+        return Collections.singletonList(normalize(v));
+    }
+
+    /** Normalizes a key value, turning it into a string, and lower casing it if the index is case insensitive */
+    String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String key = String.valueOf(value);
+        return caseInsensitive ? key.toLowerCase(Locale.ENGLISH) : key;
+    }
+
+    void add(Class<?> clazz, Name name, T value) {
+        add(clazz, name, value, keys(value));
+    }
+
+    private void add(Class<?> clazz, Name name, T value, List<String> keys) {
+        for (String key : keys) {
+            bucket(clazz, key).put(name, value);
+        }
+    }
+
+    void remove(Class<?> clazz, Name name, T value) {
+        remove(clazz, name, keys(value));
+    }
+
+    private void remove(Class<?> clazz, Name name, List<String> keys) {
+        for (String key : keys) {
+            Map<Name, T> bucket = key == null ? nullKeyed.get(clazz) : getKeyed(clazz).get(key);
+            if (bucket != null) {
+                bucket.remove(name);
+                // empty buckets are left in place, dropping them atomically would require locking
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a change. The old keys are computed from the actual object, the new ones from the
+     * modification proxy wrapping it, the actual object is the one stored in the index.
+     */
+    void update(Class<?> clazz, Name oldName, Name newName, T actualValue, T proxiedValue) {
+        List<String> oldKeys = keys(actualValue);
+        List<String> newKeys = keys(proxiedValue);
+        if (oldKeys.equals(newKeys) && Objects.equals(oldName, newName)) {
+            return;
+        }
+        remove(clazz, oldName, oldKeys);
+        add(clazz, newName, actualValue, newKeys);
+    }
+
+    /** Recomputes the keys of a value modified in place, given the keys it had before the change */
+    void reindex(Class<?> clazz, Name name, T value, List<String> oldKeys) {
+        List<String> newKeys = keys(value);
+        if (!oldKeys.equals(newKeys)) {
+            remove(clazz, name, oldKeys);
+            add(clazz, name, value, newKeys);
+        }
+    }
+
+    /** Handles a name change that does not affect the index keys */
+    void rename(Class<?> clazz, Name oldName, Name newName, T value) {
+        List<String> keys = keys(value);
+        remove(clazz, oldName, keys);
+        add(clazz, newName, value, keys);
+    }
+
+    /** Returns the objects of the given class associated to the key, sorted by name, or null if none is found */
+    Map<Name, T> get(Class<?> clazz, String key) {
+        if (key == null) {
+            return nullKeyed.get(clazz);
+        }
+        ConcurrentSkipListMap<String, Map<Name, T>> map = keyed.get(clazz);
+        return map == null ? null : map.get(normalize(key));
+    }
+
+    /** Returns the buckets of the objects of the given class whose key starts with the given prefix */
+    Collection<Map<Name, T>> getByPrefix(Class<?> clazz, String prefix) {
+        ConcurrentSkipListMap<String, Map<Name, T>> map = keyed.get(clazz);
+        if (map == null) {
+            return Collections.emptyList();
+        }
+        String from = normalize(prefix);
+        return map.subMap(from, true, from + Character.MAX_VALUE, true).values();
+    }
+
+    void clear() {
+        keyed.clear();
+        nullKeyed.clear();
+    }
+
+    private Map<Name, T> bucket(Class<?> clazz, String key) {
+        if (key == null) {
+            return nullKeyed.computeIfAbsent(clazz, k -> new ConcurrentSkipListMap<>());
+        }
+        return getKeyed(clazz).computeIfAbsent(key, k -> new ConcurrentSkipListMap<>());
+    }
+
+    private ConcurrentSkipListMap<String, Map<Name, T>> getKeyed(Class<?> clazz) {
+        return keyed.computeIfAbsent(clazz, k -> new ConcurrentSkipListMap<>());
+    }
+}
@@ -8,8 +8,10 @@
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Function;
@@ -29,6 +31,10 @@
  * <p>The lookups by predicate have been tested and optimized for performance, in particular the current for loops
  * turned out to be significantly faster than building and returning streams
  *
+ * <p>Secondary indexes on other properties can be registered via {@link #index(String, Function)}, they are kept up to
+ * date on add, update and remove, and used by {@link #listByIndex(Class, String, Collection, Predicate)} and
+ * {@link #listByPrefix(Class, String, String, Predicate)} to avoid full scans.
+ *
  * @param <T>
  */
 class CatalogInfoLookup<T extends CatalogInfo> {
@@ -37,8 +43,13 @@
     ConcurrentHashMap<Class<T>, Map<String, T>> idMultiMap = new ConcurrentHashMap<>();
     ConcurrentHashMap<Class<T>, Map<Name, T>> nameMultiMap = new ConcurrentHashMap<>();
     Function<T, Name> nameMapper;
+    Map<String, CatalogInfoIndex<T>> indexes = new ConcurrentHashMap<>();
+    volatile CatalogInfoMaterializer materializer;
     static final Predicate<?> TRUE = x -> true;
 
+    /** The pseudo-property used to look up objects by identifier in {@link #listByIndex} */
+    static final String ID = "id";
+
     /** Returns {@link CatalogInfoLookup#TRUE} in a type-safe way */
     @SuppressWarnings("unchecked")
     public static <T> Predicate<T> ptrue() {
@@ -49,6 +60,74 @@ public CatalogInfoLookup(Function<T, Name> nameMapper) {
         this.nameMapper = nameMapper;
     }
 
+    /**
+     * Registers a secondary index on the given property. Must be called before any object is added to the lookup.
+     *
+     * @param property The property path, as used in catalog filters (e.g., "store.id")
+     * @param extractor Extracts the property value, can return a collection for multi-valued properties
+     */
+    public CatalogInfoLookup<T> index(String property, Function<T, Object> extractor) {
+        indexes.put(property, new CatalogInfoIndex<>(property, extractor, false));
+        return this;
+    }
+
+    /**
+     * Registers a case insensitive secondary index on the given property, that can also be used for prefix lookups.
+     * Must be called before any object is added to the lookup.
+     */
+    public CatalogInfoLookup<T> indexIgnoreCase(String property, Function<T, Object> extractor) {
+        indexes.put(property, new CatalogInfoIndex<>(property, extractor, true));
+        return this;
+    }
+
+    /** Returns true if the lookup can answer queries on the given property without a full scan */
+    public boolean isIndexed(String property) {
+        return ID.equals(property) || (indexes.containsKey(property) && isIndexUsable(property));
+    }
+
+    /** Returns true if the given property supports case insensitive prefix lookups */
+    public boolean isPrefixIndexed(String property) {
+        CatalogInfoIndex<T> index = indexes.get(property);
+        return index != null && index.caseInsensitive && isIndexUsable(property);
+    }
+
+    /**
+     * Sets the materializer completing the loading of objects that were only partially loaded at startup. It's
+     * consulted for every object returned by the lookup methods, or tested against a predicate.
+     */
+    public void setMaterializer(CatalogInfoMaterializer materializer) {
+        this.materializer = materializer;
+    }
+
+    /**
+     * Makes sure the value is fully loaded, see {@link #setMaterializer(CatalogInfoMaterializer)}. The secondary
+     * indexes are updated, as properties that were not available before might now be.
+     */
+    T materialize(T value) {
+        CatalogInfoMaterializer m = materializer;
+        if (m != null && value != null && m.isPending(value)) {
+            Name name = nameMapper.apply(value);
+            Map<CatalogInfoIndex<T>, List<String>> oldKeys = new HashMap<>();
+            for (CatalogInfoIndex<T> index : indexes.values()) {
+                oldKeys.put(index, index.keys(value));
+            }
+            m.materialize(value);
+            for (CatalogInfoIndex<T> index : indexes.values()) {
+                index.reindex(value.getClass(), name, value, oldKeys.get(index));
+            }
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unwrapValue(T value) {
+        if (Proxy.isProxyClass(value.getClass())) {
+            ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(value);
+            return (T) h.getProxyObject();
+        }
+        return value;
+    }
+
     @SuppressWarnings("unchecked")
     <K> Map<K, T> getMapForValue(ConcurrentHashMap<Class<T>, Map<K, T>> maps, T value) {
         Class<T> vc;
@@ -88,7 +167,19 @@ public T add(T value) {
         Name name = nameMapper.apply(value);
         nameMap.put(name, value);
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
-        return idMap.put(value.getId(), value);
+        T previous = idMap.put(value.getId(), value);
+        if (!indexes.isEmpty()) {
+            if (previous != null && previous != value) {
+                Name previousName = nameMapper.apply(previous);
+                for (CatalogInfoIndex<T> index : indexes.values()) {
+                    index.remove(previous.getClass(), previousName, previous);
+                }
+            }
+            for (CatalogInfoIndex<T> index : indexes.values()) {
+                index.add(value.getClass(), name, value);
+            }
+        }
+        return previous;
     }
 
     public Collection<T> values() {
@@ -105,6 +196,12 @@ public T remove(T value) {
         Map<Name, T> nameMap = getMapForValue(nameMultiMap, value);
         nameMap.remove(name);
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
+        if (!indexes.isEmpty()) {
+            T actual = unwrapValue(value);
+            for (CatalogInfoIndex<T> index : indexes.values()) {
+                index.remove(actual.getClass(), name, actual);
+            }
+        }
         return idMap.remove(value.getId());
     }
 
@@ -121,11 +218,147 @@ public void update(T proxiedValue) {
             nameMap.remove(oldName);
             nameMap.put(newName, actualValue);
         }
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            index.update(actualValue.getClass(), oldName, newName, actualValue, proxiedValue);
+        }
+    }
+
+    /** Updates the secondary indexes after the name of a value changed as a side effect of another object change */
+    protected void renamed(T value, Name oldName, Name newName) {
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            index.rename(value.getClass(), oldName, newName, value);
+        }
     }
 
     public void clear() {
         idMultiMap.clear();
         nameMultiMap.clear();
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            index.clear();
+        }
+    }
+
+    /**
+     * Looks up objects by class and value of an indexed property, returning the ones matching the predicate, in the
+     * same order as {@link #list(Class, Predicate)} would.
+     *
+     * @param property The indexed property, or {@link #ID} to look up by identifier
+     * @param keys The property values to look up, a null value matches objects whose property is null
+     * @return The matching objects, or null if the property is not indexed, or its index cannot be used right now
+     */
+    <U extends CatalogInfo> List<U> listByIndex(
+            Class<U> clazz, String property, Collection<String> keys, Predicate<U> predicate) {
+        CatalogInfoIndex<T> index = indexes.get(property);
+        if ((index == null && !ID.equals(property)) || !isIndexUsable(property)) {
+            return null;
+        }
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        for (Class<T> key : nameMultiMap.keySet()) {
+            if (clazz.isAssignableFrom(key)) {
+                List<Map<Name, T>> buckets = new ArrayList<>(keys.size());
+                if (index == null) {
+                    Map<String, T> idMap = idMultiMap.get(key);
+                    if (idMap != null) {
+                        for (String id : keys) {
+                            T t = id == null ? null : idMap.get(id);
+                            if (t != null) buckets.add(Map.of(nameMapper.apply(t), t));
+                        }
+                    }
+                } else {
+                    for (String k : keys) {
+                        Map<Name, T> bucket = index.get(key, k);
+                        if (bucket != null && !bucket.isEmpty()) buckets.add(bucket);
+                    }
+                }
+                result = collect(clazz, buckets, predicate, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Looks up objects by class and case insensitive prefix of an indexed property, returning the ones matching the
+     * predicate, in the same order as {@link #list(Class, Predicate)} would.
+     *
+     * @return The matching objects, or null if the property does not have a case insensitive index, or it cannot be
+     *     used right now
+     */
+    <U extends CatalogInfo> List<U> listByPrefix(
+            Class<U> clazz, String property, String prefix, Predicate<U> predicate) {
+        CatalogInfoIndex<T> index = indexes.get(property);
+        if (index == null || !index.caseInsensitive || !isIndexUsable(property)) {
+            return null;
+        }
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        for (Class<T> key : nameMultiMap.keySet()) {
+            if (clazz.isAssignableFrom(key)) {
+                List<Map<Name, T>> buckets = new ArrayList<>(index.getByPrefix(key, prefix));
+                result = collect(clazz, buckets, predicate, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the index of a property can answer lookups: objects not fully loaded yet are indexed on the
+     * values they have been loaded with, which might not be the actual ones, see
+     * {@link CatalogInfoMaterializer#isLoaded(String)}
+     */
+    private boolean isIndexUsable(String property) {
+        CatalogInfoMaterializer m = materializer;
+        return ID.equals(property) || m == null || !m.hasPending() || m.isLoaded(property);
+    }
+
+    /**
+     * Estimates how many objects are associated to the given keys of an indexed property, used to pick the most
+     * selective index when multiple are available
+     */
+    int estimate(String property, Collection<String> keys) {
+        if (ID.equals(property)) {
+            return keys.size();
+        }
+        CatalogInfoIndex<T> index = indexes.get(property);
+        if (index == null || !isIndexUsable(property)) {
+            return Integer.MAX_VALUE;
+        }
+        int count = 0;
+        for (Class<T> key : nameMultiMap.keySet()) {
+            for (String k : keys) {
+                Map<Name, T> bucket = index.get(key, k);
+                if (bucket != null) count += bucket.size();
+            }
+        }
+        return count;
+    }
+
+    /** Merges the buckets in name order, and adds the values matching the predicate to the result */
+    private <U extends CatalogInfo> List<U> collect(
+            Class<U> clazz, List<Map<Name, T>> buckets, Predicate<U> predicate, List<U> result) {
+        if (buckets.isEmpty()) {
+            return result;
+        }
+        Collection<T> values;
+        if (buckets.size() == 1) {
+            values = buckets.get(0).values();
+        } else {
+            // multiple buckets, need to sort and remove duplicates (multi-valued properties)
+            Map<Name, T> merged = new TreeMap<>();
+            for (Map<Name, T> bucket : buckets) {
+                merged.putAll(bucket);
+            }
+            values = merged.values();
+        }
+        for (T v : values) {
+            final U u = clazz.cast(materialize(v));
+            if (predicate == TRUE || predicate.test(u)) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>();
+                }
+                result.add(u);
+            }
+        }
+        return result;
     }
 
     /**
@@ -142,7 +375,7 @@ <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate) {
                 Map<Name, T> valueMap = nameMultiMap.get(key);
                 if (valueMap != null) {
                     for (T v : valueMap.values()) {
-                        final U u = clazz.cast(v);
+                        final U u = clazz.cast(materialize(v));
                         if (predicate == TRUE || predicate.test(u)) {
                             if (result.isEmpty()) {
                                 result = new ArrayList<>();
@@ -166,7 +399,7 @@ public <U extends CatalogInfo> U findById(String id, Class<U> clazz) {
                     T t = valueMap.get(id);
                     if (t != null) {
                         @SuppressWarnings("unchecked")
-                        U cast = (U) t;
+                        U cast = (U) materialize(t);
                         return cast;
                     }
                 }
@@ -185,7 +418,7 @@ public <U extends CatalogInfo> U findByName(Name name, Class<U> clazz) {
                     T t = valueMap.get(name);
                     if (t != null) {
                         @SuppressWarnings("unchecked")
-                        U cast = (U) t;
+                        U cast = (U) materialize(t);
                         return cast;
                     }
                 }
@@ -209,7 +442,7 @@ <U extends CatalogInfo> U findFirst(Class<U> clazz, Predicate<U> predicate) {
                 if (valueMap != null) {
                     for (T v : valueMap.values()) {
                         @SuppressWarnings("unchecked")
-                        final U u = (U) v;
+                        final U u = (U) materialize(v);
                         if (predicate == TRUE || predicate.test(u)) {
                             return u;
                         }
@@ -0,0 +1,37 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import org.geoserver.catalog.CatalogInfo;
+
+/**
+ * Completes, in place, the loading of catalog objects that have been only partially loaded at startup (e.g., only
+ * their identifiers, names and references), so that the full configuration is read only for the objects actually
+ * used.
+ *
+ * @see DefaultCatalogFacade#setMaterializer(CatalogInfoMaterializer)
+ */
+public interface CatalogInfoMaterializer {
+
+    /** Returns true if the object has not been fully loaded yet. Called often, must be fast. */
+    boolean isPending(CatalogInfo info);
+
+    /** Returns true if some objects have not been fully loaded yet. Called often, must be fast. */
+    boolean hasPending();
+
+    /**
+     * Returns true if the objects not fully loaded yet already hold the actual value of the given property. The
+     * secondary indexes on the other properties are not used while objects are pending, as they would miss them.
+     */
+    boolean isLoaded(String property);
+
+    /**
+     * Fully loads the object, in place. Does nothing if the object is already fully loaded.
+     *
+     * @throws org.geoserver.catalog.CatalogException if the object cannot be fully loaded, in which case it stays
+     *     pending
+     */
+    void materialize(CatalogInfo info);
+}
@@ -25,6 +25,7 @@
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.KeywordInfo;
 import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.LockingCatalogFacade;
@@ -81,6 +82,7 @@ static final class LayerInfoLookup extends CatalogInfoLookup<LayerInfo> {
 
         public LayerInfoLookup() {
             super(LAYER_NAME_MAPPER);
+            index("resource.id", l -> id(l.getResource()));
         }
 
         public void update(ResourceInfo proxiedValue) {
@@ -96,6 +98,7 @@ public void update(ResourceInfo proxiedValue) {
                 // handle case of feature type without a corresponding layer
                 if (value != null) {
                     nameMap.put(newName, value);
+                    renamed(value, oldName, newName);
                 }
             }
         }
@@ -107,14 +110,66 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
         }
     }
 
+    /** Returns the id of the given object, or null if the object is null */
+    static String id(CatalogInfo info) {
+        return info == null ? null : info.getId();
+    }
+
+    /** Creates the stores lookup, with the secondary indexes used by the finder methods and the query planner */
+    static CatalogInfoLookup<StoreInfo> newStoreLookup() {
+        return new CatalogInfoLookup<>(STORE_NAME_MAPPER)
+                .index("workspace.id", s -> id(s.getWorkspace()))
+                .indexIgnoreCase("enabled", StoreInfo::isEnabled)
+                .indexIgnoreCase("name", StoreInfo::getName);
+    }
+
+    /** Creates the resources lookup, with the secondary indexes used by the finder methods and the query planner */
+    static CatalogInfoLookup<ResourceInfo> newResourceLookup() {
+        return new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER)
+                .index("store.id", r -> id(r.getStore()))
+                .index("namespace.id", r -> id(r.getNamespace()))
+                .indexIgnoreCase("enabled", ResourceInfo::isEnabled)
+                .indexIgnoreCase("advertised", ResourceInfo::isAdvertised)
+                .index("keywords.value", DefaultCatalogFacade::keywordValues)
+                .indexIgnoreCase("name", ResourceInfo::getName);
+    }
+
+    /** Creates the layer groups lookup, with the secondary indexes used by the finder methods and the query planner */
+    static CatalogInfoLookup<LayerGroupInfo> newLayerGroupLookup() {
+        return new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER)
+                .index("workspace.id", lg -> id(lg.getWorkspace()))
+                .indexIgnoreCase("name", LayerGroupInfo::getName);
+    }
+
+    /** Creates the styles lookup, with the secondary indexes used by the finder methods and the query planner */
+    static CatalogInfoLookup<StyleInfo> newStyleLookup() {
+        return new CatalogInfoLookup<>(STYLE_NAME_MAPPER)
+                .index("workspace.id", s -> id(s.getWorkspace()))
+                .indexIgnoreCase("name", StyleInfo::getName);
+    }
+
+    private static Object keywordValues(ResourceInfo resource) {
+        List<KeywordInfo> keywords = resource.getKeywords();
+        if (keywords == null || keywords.isEmpty()) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(keywords.size());
+        for (KeywordInfo keyword : keywords) {
+            if (keyword != null && keyword.getValue() != null) {
+                values.add(keyword.getValue());
+            }
+        }
+        return values.isEmpty() ? null : values;
+    }
+
     /** Contains the stores keyed by implementation class */
-    protected CatalogInfoLookup<StoreInfo> stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+    protected CatalogInfoLookup<StoreInfo> stores = newStoreLookup();
 
     /** The default store keyed by workspace id */
     protected Map<String, DataStoreInfo> defaultStores = new ConcurrentHashMap<>();
 
     /** resources */
-    protected CatalogInfoLookup<ResourceInfo> resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+    protected CatalogInfoLookup<ResourceInfo> resources = newResourceLookup();
 
     /** The default namespace */
     protected volatile NamespaceInfo defaultNamespace;
@@ -135,10 +190,10 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
     protected List<MapInfo> maps = new CopyOnWriteArrayList<>();
 
     /** layer groups */
-    protected CatalogInfoLookup<LayerGroupInfo> layerGroups = new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+    protected CatalogInfoLookup<LayerGroupInfo> layerGroups = newLayerGroupLookup();
 
     /** styles */
-    protected CatalogInfoLookup<StyleInfo> styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+    protected CatalogInfoLookup<StyleInfo> styles = newStyleLookup();
 
     /** the catalog */
     private CatalogImpl catalog;
@@ -157,6 +212,45 @@ public Catalog getCatalog() {
         return catalog;
     }
 
+    /**
+     * Sets the materializer completing the loading of resources and layers that have been only partially loaded at
+     * startup, called before they are returned or evaluated against a filter. The materializer travels with the
+     * contents when the facade is synched to another one.
+     *
+     * @param materializer the materializer, or null to remove it
+     */
+    public void setMaterializer(CatalogInfoMaterializer materializer) {
+        resources.setMaterializer(materializer);
+        if (materializer == null) {
+            layers.setMaterializer(null);
+            return;
+        }
+        // a layer might materialize its resource too, go through the resources lookup to keep its indexes updated
+        final CatalogInfoLookup<ResourceInfo> resourceLookup = resources;
+        layers.setMaterializer(new CatalogInfoMaterializer() {
+            @Override
+            public boolean isPending(CatalogInfo info) {
+                return materializer.isPending(info);
+            }
+
+            @Override
+            public boolean hasPending() {
+                return materializer.hasPending();
+            }
+
+            @Override
+            public boolean isLoaded(String property) {
+                return materializer.isLoaded(property);
+            }
+
+            @Override
+            public void materialize(CatalogInfo info) {
+                resourceLookup.materialize(((LayerInfo) info).getResource());
+                materializer.materialize(info);
+            }
+        });
+    }
+
     //
     // Stores
     //
@@ -226,21 +320,21 @@ public <T extends StoreInfo> List<T> getStoresByWorkspace(WorkspaceInfo workspac
             ws = workspace;
         }
 
-        List<T> matches = stores.list(clazz, s -> ws.equals(s.getWorkspace()));
-        return ModificationProxy.createList(matches, clazz);
+        List<T> matches = listByReference(stores, clazz, "workspace.id", ws, s -> ws.equals(s.getWorkspace()));
+        return wrapInModificationProxy(matches, clazz);
     }
 
     @Override
     public <T extends StoreInfo> List<T> getStores(Class<T> clazz) {
         List<T> list = stores.list(clazz, CatalogInfoLookup.ptrue());
-        return ModificationProxy.createList(list, clazz);
+        return wrapInModificationProxy(list, clazz);
     }
 
     @Override
     public DataStoreInfo getDefaultDataStore(WorkspaceInfo workspace) {
         if (defaultStores.containsKey(workspace.getId())) {
             DataStoreInfo defaultStore = defaultStores.get(workspace.getId());
-            return ModificationProxy.create(defaultStore, DataStoreInfo.class);
+            return wrapInModificationProxy(defaultStore, DataStoreInfo.class);
         } else {
             return null;
         }
@@ -327,7 +421,7 @@ public <T extends ResourceInfo> T getResourceByName(NamespaceInfo namespace, Str
 
     @Override
     public <T extends ResourceInfo> List<T> getResources(Class<T> clazz) {
-        return ModificationProxy.createList(resources.list(clazz, CatalogInfoLookup.ptrue()), clazz);
+        return wrapInModificationProxy(resources.list(clazz, CatalogInfoLookup.ptrue()), clazz);
     }
 
     @Override
@@ -340,8 +434,8 @@ public <T extends ResourceInfo> List<T> getResourcesByNamespace(NamespaceInfo na
             ns = namespace;
         }
 
-        List<T> matches = resources.list(clazz, r -> ns.equals(r.getNamespace()));
-        return ModificationProxy.createList(matches, clazz);
+        List<T> matches = listByReference(resources, clazz, "namespace.id", ns, r -> ns.equals(r.getNamespace()));
+        return wrapInModificationProxy(matches, clazz);
     }
 
     @Override
@@ -364,18 +458,33 @@ public <T extends ResourceInfo> T getResourceByStore(StoreInfo store, String nam
         return wrapInModificationProxy(resource, clazz);
     }
 
+    /**
+     * Wraps the object in a modification proxy, or in a read only view if the current thread is in
+     * {@link ReadOnlyCatalogMode read only mode}
+     */
     private <T extends CatalogInfo> T wrapInModificationProxy(T ci, Class<T> clazz) {
-        if (ci != null) {
+        if (ci == null) {
+            return null;
+        } else if (ReadOnlyCatalogMode.isEnabled()) {
+            return ReadOnlyProxy.create(ci, clazz);
+        } else {
             return ModificationProxy.create(ci, clazz);
+        }
+    }
+
+    /** Same as {@link #wrapInModificationProxy(CatalogInfo, Class)}, for a list of objects */
+    private <T extends CatalogInfo> List<T> wrapInModificationProxy(List<T> list, Class<T> clazz) {
+        if (ReadOnlyCatalogMode.isEnabled()) {
+            return ReadOnlyProxy.createList(list, clazz);
         } else {
-            return null;
+            return ModificationProxy.createList(list, clazz);
         }
     }
 
     @Override
     public <T extends ResourceInfo> List<T> getResourcesByStore(StoreInfo store, Class<T> clazz) {
-        List<T> matches = resources.list(clazz, r -> store.equals(r.getStore()));
-        return ModificationProxy.createList(matches, clazz);
+        List<T> matches = listByReference(resources, clazz, "store.id", store, r -> store.equals(r.getStore()));
+        return wrapInModificationProxy(matches, clazz);
     }
 
     //
@@ -438,14 +547,14 @@ public List<LayerInfo> getLayers(ResourceInfo resource) {
         } else {
             List<LayerInfo> matches = new ArrayList<>();
             matches.add(layer);
-            return ModificationProxy.createList(matches, LayerInfo.class);
+            return wrapInModificationProxy(matches, LayerInfo.class);
         }
 
         // we check the id first as it's faster to compare than a full blown equals
         // String id = resource.getId();
         // List<LayerInfo> matches = layers.list(LayerInfo.class, li ->
         // id.equals(li.getResource().getId()) && resource.equals(li.getResource()));
-        //     return ModificationProxy.createList(matches,LayerInfo.class);
+        //     return wrapInModificationProxy(matches,LayerInfo.class);
     }
 
     @Override
@@ -453,12 +562,14 @@ public List<LayerInfo> getLayers(StyleInfo style) {
         List<LayerInfo> matches = layers.list(
                 LayerInfo.class,
                 li -> style.equals(li.getDefaultStyle()) || li.getStyles().contains(style));
-        return ModificationProxy.createList(matches, LayerInfo.class);
+        return wrapInModificationProxy(matches, LayerInfo.class);
     }
 
     @Override
     public List<LayerInfo> getLayers() {
-        return ModificationProxy.createList(new ArrayList<>(layers.values()), LayerInfo.class);
+        List<LayerInfo> all = new ArrayList<>(layers.values());
+        all.forEach(layers::materialize);
+        return wrapInModificationProxy(all, LayerInfo.class);
     }
 
     //
@@ -504,7 +615,7 @@ public MapInfo detach(MapInfo map) {
     public MapInfo getMap(String id) {
         for (MapInfo map : maps) {
             if (id.equals(map.getId())) {
-                return ModificationProxy.create(map, MapInfo.class);
+                return wrapInModificationProxy(map, MapInfo.class);
             }
         }
 
@@ -515,7 +626,7 @@ public MapInfo getMap(String id) {
     public MapInfo getMapByName(String name) {
         for (MapInfo map : maps) {
             if (name.equals(map.getName())) {
-                return ModificationProxy.create(map, MapInfo.class);
+                return wrapInModificationProxy(map, MapInfo.class);
             }
         }
 
@@ -524,7 +635,7 @@ public MapInfo getMapByName(String name) {
 
     @Override
     public List<MapInfo> getMaps() {
-        return ModificationProxy.createList(new ArrayList<>(maps), MapInfo.class);
+        return wrapInModificationProxy(new ArrayList<>(maps), MapInfo.class);
     }
 
     //
@@ -574,7 +685,7 @@ public LayerGroupInfo detach(LayerGroupInfo layerGroup) {
 
     @Override
     public List<LayerGroupInfo> getLayerGroups() {
-        return ModificationProxy.createList(new ArrayList<>(layerGroups.values()), LayerGroupInfo.class);
+        return wrapInModificationProxy(new ArrayList<>(layerGroups.values()), LayerGroupInfo.class);
     }
 
     @Override
@@ -587,15 +698,15 @@ public List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
         } else {
             ws = workspace;
         }
-        Predicate<LayerGroupInfo> predicate;
+        List<LayerGroupInfo> matches;
         if (workspace == NO_WORKSPACE) {
-            predicate = lg -> lg.getWorkspace() == null;
+            matches = listByReference(
+                    layerGroups, LayerGroupInfo.class, "workspace.id", null, lg -> lg.getWorkspace() == null);
         } else {
-            predicate = lg -> ws.equals(lg.getWorkspace());
+            matches = listByReference(
+                    layerGroups, LayerGroupInfo.class, "workspace.id", ws, lg -> ws.equals(lg.getWorkspace()));
         }
-
-        List<LayerGroupInfo> matches = layerGroups.list(LayerGroupInfo.class, predicate);
-        return ModificationProxy.createList(matches, LayerGroupInfo.class);
+        return wrapInModificationProxy(matches, LayerGroupInfo.class);
     }
 
     @Override
@@ -703,12 +814,12 @@ public NamespaceInfo getNamespaceByURI(String uri) {
     @Override
     public List<NamespaceInfo> getNamespacesByURI(String uri) {
         List<NamespaceInfo> found = namespaces.findAllByUri(uri);
-        return ModificationProxy.createList(found, NamespaceInfo.class);
+        return wrapInModificationProxy(found, NamespaceInfo.class);
     }
 
     @Override
     public List<NamespaceInfo> getNamespaces() {
-        return ModificationProxy.createList(new ArrayList<>(namespaces.values()), NamespaceInfo.class);
+        return wrapInModificationProxy(new ArrayList<>(namespaces.values()), NamespaceInfo.class);
     }
 
     //
@@ -779,7 +890,7 @@ public void setDefaultWorkspace(WorkspaceInfo workspace) {
 
     @Override
     public List<WorkspaceInfo> getWorkspaces() {
-        return ModificationProxy.createList(new ArrayList<>(workspaces.values()), WorkspaceInfo.class);
+        return wrapInModificationProxy(new ArrayList<>(workspaces.values()), WorkspaceInfo.class);
     }
 
     @Override
@@ -867,7 +978,7 @@ public StyleInfo getStyleByName(WorkspaceInfo workspace, String name) {
 
     @Override
     public List<StyleInfo> getStyles() {
-        return ModificationProxy.createList(new ArrayList<>(styles.values()), StyleInfo.class);
+        return wrapInModificationProxy(new ArrayList<>(styles.values()), StyleInfo.class);
     }
 
     @Override
@@ -875,7 +986,7 @@ public List<StyleInfo> getStylesByWorkspace(WorkspaceInfo workspace) {
         // TODO: support ANY_WORKSPACE?
         List<StyleInfo> matches;
         if (workspace == NO_WORKSPACE) {
-            matches = styles.list(StyleInfo.class, s -> s.getWorkspace() == null);
+            matches = listByReference(styles, StyleInfo.class, "workspace.id", null, s -> s.getWorkspace() == null);
         } else {
             WorkspaceInfo ws;
             if (workspace == null) {
@@ -884,10 +995,10 @@ public List<StyleInfo> getStylesByWorkspace(WorkspaceInfo workspace) {
                 ws = workspace;
             }
 
-            matches = styles.list(StyleInfo.class, s -> ws.equals(s.getWorkspace()));
+            matches = listByReference(styles, StyleInfo.class, "workspace.id", ws, s -> ws.equals(s.getWorkspace()));
         }
 
-        return ModificationProxy.createList(matches, StyleInfo.class);
+        return wrapInModificationProxy(matches, StyleInfo.class);
     }
 
     @Override
@@ -926,7 +1037,7 @@ public void resolve() {
 
         // stores
         if (stores == null) {
-            stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+            stores = newStoreLookup();
         }
         for (Object o : stores.values()) {
             resolve((StoreInfoImpl) o);
@@ -934,7 +1045,7 @@ public void resolve() {
 
         // styles
         if (styles == null) {
-            styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+            styles = newStyleLookup();
         }
         for (StyleInfo s : styles.values()) {
             resolve(s);
@@ -942,7 +1053,7 @@ public void resolve() {
 
         // resources
         if (resources == null) {
-            resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+            resources = newResourceLookup();
         }
         for (Object o : resources.values()) {
             resolve((ResourceInfo) o);
@@ -958,7 +1069,7 @@ public void resolve() {
 
         // layer groups
         if (layerGroups == null) {
-            layerGroups = new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+            layerGroups = newLayerGroupLookup();
         }
         for (LayerGroupInfo lg : layerGroups.values()) {
             resolve(lg);
@@ -1003,13 +1114,13 @@ public void syncTo(CatalogFacade dao) {
                 dao.add(store);
             }
             for (ResourceInfo resource : resources.values()) {
-                dao.add(resource);
+                dao.add(resources.materialize(resource));
             }
             for (StyleInfo s : styles.values()) {
                 dao.add(s);
             }
             for (LayerInfo l : layers.values()) {
-                dao.add(l);
+                dao.add(layers.materialize(l));
             }
             for (LayerGroupInfo lg : layerGroups.values()) {
                 dao.add(lg);
@@ -1111,19 +1222,19 @@ public <T extends CatalogInfo> Iterable<T> iterable(
         } else if (WorkspaceInfo.class.isAssignableFrom(of)) {
             all = workspaces.list(of, toPredicate(filter));
         } else if (StoreInfo.class.isAssignableFrom(of)) {
-            all = stores.list(of, toPredicate(filter));
+            all = listMatching(stores, of, filter);
         } else if (ResourceInfo.class.isAssignableFrom(of)) {
-            all = resources.list(of, toPredicate(filter));
+            all = listMatching(resources, of, filter);
         } else if (LayerInfo.class.isAssignableFrom(of)) {
-            all = layers.list(of, toPredicate(filter));
+            all = listMatching(layers, of, filter);
         } else if (LayerGroupInfo.class.isAssignableFrom(of)) {
-            all = layerGroups.list(of, toPredicate(filter));
+            all = listMatching(layerGroups, of, filter);
         } else if (PublishedInfo.class.isAssignableFrom(of)) {
             all = new ArrayList<>();
-            all.addAll((List<T>) layers.list(LayerInfo.class, toPredicate(filter)));
-            all.addAll((List<T>) layerGroups.list(LayerGroupInfo.class, toPredicate(filter)));
+            all.addAll((List<T>) listMatching(layers, LayerInfo.class, filter));
+            all.addAll((List<T>) listMatching(layerGroups, LayerGroupInfo.class, filter));
         } else if (StyleInfo.class.isAssignableFrom(of)) {
-            all = styles.list(of, toPredicate(filter));
+            all = listMatching(styles, of, filter);
         } else if (MapInfo.class.isAssignableFrom(of)) {
             all = (List<T>) new ArrayList<>(maps);
         } else {
@@ -1141,7 +1252,41 @@ public <T extends CatalogInfo> Iterable<T> iterable(
             }
         }
 
-        return ModificationProxy.createList(all, of);
+        return wrapInModificationProxy(all, of);
+    }
+
+    /**
+     * Lists the objects matching the filter, using the lookup secondary indexes when the filter allows it, or a full
+     * scan otherwise
+     */
+    private <T extends CatalogInfo> List<T> listMatching(CatalogInfoLookup<?> lookup, Class<T> of, Filter filter) {
+        Predicate<T> predicate = toPredicate(filter);
+        if (filter != null && filter != Filter.INCLUDE) {
+            List<T> result = new CatalogIndexPlanner(this).list(of, filter, predicate);
+            if (result != null) {
+                return result;
+            }
+        }
+        return lookup.list(of, predicate);
+    }
+
+    /**
+     * Lists the objects referencing the given one, via the index on its id, falling back on a scan with the predicate
+     * if the reference has no id. A null reference looks up the objects whose reference is not set.
+     */
+    private <T extends CatalogInfo> List<T> listByReference(
+            CatalogInfoLookup<?> lookup,
+            Class<T> clazz,
+            String property,
+            CatalogInfo reference,
+            Predicate<T> predicate) {
+        if (reference == null || reference.getId() != null) {
+            List<T> result = lookup.listByIndex(clazz, property, Collections.singletonList(id(reference)), predicate);
+            if (result != null) {
+                return result;
+            }
+        }
+        return lookup.list(clazz, predicate);
     }
 
     private <T> Predicate<T> toPredicate(Filter filter) {
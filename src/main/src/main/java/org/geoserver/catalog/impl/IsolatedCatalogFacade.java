@@ -655,12 +655,13 @@ private <T extends CatalogInfo> List<T> filterIsolated(List<T> objects, Class<T>
             // unwrap the catalog objects list
             List<T> unwrapped = ModificationProxy.unwrap(objects);
             // filter the non visible catalog objects and wrap the resulting list with a
-            // modification proxy
-            return ModificationProxy.createList(
-                    unwrapped.stream()
-                            .filter(store -> filter.apply(store) != null)
-                            .collect(Collectors.toList()),
-                    type);
+            // modification proxy, or read only views
+            List<T> visible = unwrapped.stream()
+                    .filter(store -> filter.apply(store) != null)
+                    .collect(Collectors.toList());
+            return ReadOnlyCatalogMode.isEnabled()
+                    ? ReadOnlyProxy.createList(visible, type)
+                    : ModificationProxy.createList(visible, type);
         }
         return objects;
     }
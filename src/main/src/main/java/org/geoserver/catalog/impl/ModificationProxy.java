@@ -178,7 +178,7 @@ public Object invoke(Object proxy, Method method, Object[] args) throws Throwabl
         }
     }
 
-    private void accept(CatalogInfo proxy, CatalogVisitor visitor) {
+    void accept(CatalogInfo proxy, CatalogVisitor visitor) {
         if (proxy instanceof WorkspaceInfo) {
             visitor.visit((WorkspaceInfo) proxy);
         } else if (proxy instanceof NamespaceInfo) {
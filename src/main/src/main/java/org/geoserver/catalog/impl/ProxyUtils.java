@@ -21,56 +21,16 @@
  */
 public class ProxyUtils {
 
-    /** Avoids the cost of looking up over and over the same proxy class */
-    static final Map<ProxyClassConstructorKey, Constructor> PROXY_CLASS_CACHE = new ConcurrentHashMap<>();
-
-    static final class ProxyClassConstructorKey {
-        Class<?> c1;
-        Class<?> c2;
-
-        public ProxyClassConstructorKey(Class<?> c1, Class<?> c2) {
-            this.c1 = c1;
-            this.c2 = c2;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((c1 == null) ? 0 : c1.hashCode());
-            result = prime * result + ((c2 == null) ? 0 : c2.hashCode());
-            return result;
-        }
-
+    /**
+     * Avoids the cost of looking up over and over the same proxy class. The constructors are attached to the proxied
+     * object class, keyed on the explicit interface, so that they do not prevent unloading the class.
+     */
+    static final ClassValue<Map<Class<?>, Constructor>> PROXY_CLASS_CACHE = new ClassValue<>() {
         @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ProxyClassConstructorKey other = (ProxyClassConstructorKey) obj;
-            if (c1 == null) {
-                if (other.c1 != null) {
-                    return false;
-                }
-            } else if (!c1.equals(other.c1)) {
-                return false;
-            }
-            if (c2 == null) {
-                if (other.c2 != null) {
-                    return false;
-                }
-            } else if (!c2.equals(other.c2)) {
-                return false;
-            }
-            return true;
+        protected Map<Class<?>, Constructor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
         }
-    }
+    };
 
     /**
      * Creates a proxy for the specified object.
@@ -81,33 +41,52 @@ public boolean equals(Object obj) {
      */
     public static <T> T createProxy(T proxyObject, Class<? extends T> clazz, InvocationHandler h) {
         try {
-            // proxy all interfaces implemented by the source object
-            List<Class<?>> proxyInterfaces = new ArrayList<>(ClassUtils.getAllInterfacesAsSet(proxyObject));
-
-            // ensure that the specified class is included
-            boolean add = true;
-            for (Class<?> interfce : proxyInterfaces) {
-                if (clazz.isAssignableFrom(interfce)) {
-                    add = false;
-                    break;
-                }
-            }
-            if (add) {
-                // make the list mutable (Arrays.asList is not) and then add the extra
-                // interfaces
-                proxyInterfaces = new ArrayList<>(proxyInterfaces);
-                proxyInterfaces.add(clazz);
+            Map<Class<?>, Constructor> constructors = PROXY_CLASS_CACHE.get(proxyObject.getClass());
+            Constructor constructor = constructors.get(clazz);
+            if (constructor == null) {
+                constructor = constructors.computeIfAbsent(clazz, c -> proxyConstructor(proxyObject, c));
             }
-
             @SuppressWarnings("unchecked")
-            T instance = (T) Proxy.newProxyInstance(
-                    clazz.getClassLoader(), proxyInterfaces.toArray(new Class[proxyInterfaces.size()]), h);
+            T instance = (T) constructor.newInstance(h);
             return instance;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Looks up the constructor of the proxy class implementing all the interfaces of the object, and the specified one.
+     * The proxy class only depends on the object class, so the constructor can be reused for all its instances.
+     */
+    @SuppressWarnings("deprecation") // getProxyClass is the only way to reuse the proxy class constructor
+    private static Constructor proxyConstructor(Object proxyObject, Class<?> clazz) {
+        // proxy all interfaces implemented by the source object
+        List<Class<?>> proxyInterfaces = new ArrayList<>(ClassUtils.getAllInterfacesAsSet(proxyObject));
+
+        // ensure that the specified class is included
+        boolean add = true;
+        for (Class<?> interfce : proxyInterfaces) {
+            if (clazz.isAssignableFrom(interfce)) {
+                add = false;
+                break;
+            }
+        }
+        if (add) {
+            proxyInterfaces.add(clazz);
+        }
+
+        Class<?>[] interfaces = proxyInterfaces.toArray(new Class[proxyInterfaces.size()]);
+        try {
+            Class<?> proxyClass = Proxy.getProxyClass(clazz.getClassLoader(), interfaces);
+            Constructor constructor = proxyClass.getConstructor(InvocationHandler.class);
+            // proxy classes implementing non public interfaces are not public themselves
+            constructor.trySetAccessible();
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Unwraps a proxy returning the underlying object, if one exists.
      *
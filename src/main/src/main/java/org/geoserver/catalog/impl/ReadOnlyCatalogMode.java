@@ -0,0 +1,34 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+/**
+ * A thread local flag telling the catalog that the current thread only reads catalog objects. While enabled, the
+ * default catalog facade hands out {@link ReadOnlyProxy read only views} instead of {@link ModificationProxy
+ * modification proxies}, avoiding the per call proxy creation and collection cloning.
+ *
+ * <p>Code running in read only mode must not modify the catalog objects it obtains, setters and collection
+ * modifications fail with an {@link UnsupportedOperationException}.
+ */
+public class ReadOnlyCatalogMode {
+
+    static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    public static void set(boolean readOnly) {
+        if (readOnly) {
+            READ_ONLY.set(Boolean.TRUE);
+        } else {
+            READ_ONLY.remove();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return READ_ONLY.get() != null;
+    }
+
+    public static void remove() {
+        READ_ONLY.remove();
+    }
+}
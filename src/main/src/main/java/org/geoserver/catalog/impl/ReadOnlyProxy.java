@@ -0,0 +1,236 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import com.google.common.collect.Collections2;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogVisitor;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.MetadataMap;
+import org.geoserver.platform.GeoServerExtensions;
+
+/**
+ * A read only view of a catalog object, used in place of a {@link ModificationProxy} when the caller is known not to
+ * modify the objects it gets from the catalog, see {@link ReadOnlyCatalogMode}.
+ *
+ * <p>Getters are forwarded to the underlying object, catalog objects they return are wrapped in read only views, and
+ * collections and maps in unmodifiable views, without copying them. Setters throw an
+ * {@link UnsupportedOperationException}. Values that are neither catalog objects nor collections, such as bounding
+ * boxes or the contents of metadata maps, are returned as they are, and must not be modified.
+ *
+ * <p>Views hold no state, so a single view per object is created and shared among all callers, as long as it's in use.
+ * The class extends {@link ModificationProxy} so that views are recognized and unwrapped as modification proxies, and
+ * can be passed back to the catalog, but they never have pending changes.
+ */
+public class ReadOnlyProxy extends ModificationProxy {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The views in use, keyed by object identity. Values are weak too, as they refer to the keys */
+    private static final ConcurrentMap<Object, Object> VIEWS =
+            new MapMaker().weakKeys().weakValues().makeMap();
+
+    private enum Kind {
+        GETTER,
+        SETTER,
+        ACCEPT,
+        OTHER
+    }
+
+    private static final Map<Method, Kind> KINDS = new ConcurrentHashMap<>();
+
+    public ReadOnlyProxy(Object proxyObject) {
+        super(proxyObject);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Kind kind = KINDS.computeIfAbsent(method, ReadOnlyProxy::kind);
+        if (kind == Kind.SETTER) {
+            throw new UnsupportedOperationException(
+                    method.getName() + " called on a read only view of " + proxyObject + ", look up the object in"
+                            + " the catalog outside of read only mode to modify it");
+        } else if (kind == Kind.ACCEPT && proxyObject instanceof CatalogInfo) {
+            // have the visitor work against the view
+            accept((CatalogInfo) proxy, (CatalogVisitor) args[0]);
+            return null;
+        }
+
+        Object result;
+        try {
+            result = method.invoke(proxyObject, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (kind != Kind.GETTER || result == null) {
+            return result;
+        }
+        Object view = view(result);
+        // fall back on a copy in the unlikely case the getter returns a concrete collection class
+        if (view != result && !method.getReturnType().isInstance(view)) {
+            if (result instanceof Collection) {
+                return ModificationProxyCloner.cloneCollection((Collection<?>) result, false);
+            } else if (result instanceof Map) {
+                return ModificationProxyCloner.cloneMap((Map<?, ?>) result, false);
+            }
+            return result;
+        }
+        return view;
+    }
+
+    private static Kind kind(Method method) {
+        String name = method.getName();
+        int params = method.getParameterCount();
+        boolean getter = (name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2);
+        if (params == 0 && getter) {
+            return Kind.GETTER;
+        } else if (params == 1 && name.startsWith("set") && name.length() > 3) {
+            return Kind.SETTER;
+        } else if (params == 1 && name.equals("accept") && method.getParameterTypes()[0] == CatalogVisitor.class) {
+            return Kind.ACCEPT;
+        }
+        return Kind.OTHER;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return false;
+    }
+
+    @Override
+    public void commit() {
+        // nothing to commit
+    }
+
+    /** Returns a read only view of the value, if it's a catalog object, a collection or a map */
+    @SuppressWarnings("unchecked")
+    static <T> T view(T value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Proxy) {
+            ModificationProxy h = handler(value);
+            if (h != null) {
+                // already a view, or a modification proxy handed out by someone else
+                return h instanceof ReadOnlyProxy ? value : (T) view(unwrap(value));
+            }
+            ResolvingProxy rp = ProxyUtils.handler(value, ResolvingProxy.class);
+            if (rp != null) {
+                // dangling or not yet resolved reference, resolve against the catalog
+                Catalog catalog = (Catalog) GeoServerExtensions.bean("catalog");
+                Object resolved = rp.resolve(catalog, value);
+                return resolved == null ? null : (T) view(unwrap(resolved));
+            }
+        }
+        if (value instanceof Info && !(value instanceof Catalog)) {
+            return (T) create(value, Info.class);
+        } else if (value instanceof MetadataMap) {
+            MetadataMap source = (MetadataMap) value;
+            MetadataMap view = new MetadataMap(Collections.unmodifiableMap(source.getMap()));
+            view.setId(source.getId());
+            return (T) view;
+        } else if (value instanceof List) {
+            return (T) Collections.unmodifiableList(Lists.transform((List<Object>) value, ReadOnlyProxy::view));
+        } else if (value instanceof Set) {
+            return (T) new ReadOnlySet<>((Set<Object>) value);
+        } else if (value instanceof Collection) {
+            return (T) Collections.unmodifiableCollection(
+                    Collections2.transform((Collection<Object>) value, ReadOnlyProxy::view));
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            return (T) Collections.unmodifiableMap(Maps.transformValues(map, ReadOnlyProxy::view));
+        }
+        return value;
+    }
+
+    /** Returns the read only view of the given object, creating it only if no other caller is using one */
+    @SuppressWarnings("unchecked")
+    public static <T> T create(T proxyObject, Class<? extends T> clazz) {
+        Object object = unwrap(proxyObject);
+        Object view = VIEWS.get(object);
+        if (view == null) {
+            Object created = ProxyUtils.createProxy(object, clazz, new ReadOnlyProxy(object));
+            view = VIEWS.putIfAbsent(object, created);
+            if (view == null) {
+                view = created;
+            }
+        }
+        return (T) view;
+    }
+
+    /** Wraps a list in an unmodifiable list returning read only views of its items */
+    public static <T> List<T> createList(List<T> proxyList, Class<T> clazz) {
+        return new list<>(proxyList, clazz);
+    }
+
+    static class list<T> extends ProxyList<T> implements List<T> {
+
+        list(List<T> list, Class<T> clazz) {
+            super(list, clazz);
+        }
+
+        @Override
+        protected <T> T createProxy(T proxyObject, Class<T> proxyInterface) {
+            return ReadOnlyProxy.create(proxyObject, proxyInterface);
+        }
+
+        @Override
+        protected <U> U unwrapProxy(U proxy, java.lang.Class<U> proxyInterface) {
+            return ModificationProxy.unwrap(proxy);
+        }
+    }
+
+    /** An unmodifiable set returning read only views of its items */
+    static class ReadOnlySet<E> extends AbstractSet<E> {
+
+        private final Set<E> delegate;
+
+        ReadOnlySet(Set<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return delegate.contains(unwrap(o));
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<E> it = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return view(it.next());
+                }
+            };
+        }
+    }
+}
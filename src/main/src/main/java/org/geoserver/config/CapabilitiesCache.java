@@ -0,0 +1,314 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.servlet.http.HttpServletRequest;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.ProxifyingURLMangler;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.geotools.util.logging.Logging;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the encoded GetCapabilities documents, so that the catalog is walked and the document encoded only once for
+ * each distinct request, instead of once per request.
+ *
+ * <p>The cache is disabled by default, and enabled by setting the "CAPABILITIES_CACHE" system, environment or servlet
+ * context variable to a {@link CacheBuilderSpec}, e.g. {@code maximumSize=100,expireAfterWrite=10m}. Documents are
+ * keyed by service, version, request URL (which includes the virtual service workspace and layer), request parameters,
+ * the headers used to build the proxy base URL, the accepted languages, the user with its roles and the version of the
+ * data security rules. Only GET requests are cached.
+ *
+ * <p>Any catalog or configuration change empties the cache. Data changes are not notified, while the documents can
+ * list values read from the data, like the time and elevation domains of the WMS layers. Documents are thus always
+ * expired after write, after {@link #DEFAULT_EXPIRATION} unless the specification sets another time.
+ */
+public class CapabilitiesCache extends AbstractDispatcherCallback implements CatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(CapabilitiesCache.class);
+
+    /** System property or environment variable holding the {@link CacheBuilderSpec} of the capabilities cache */
+    public static final String CACHE = "CAPABILITIES_CACHE";
+
+    /** Time after which documents are encoded again, when the cache specification does not set one */
+    public static final String DEFAULT_EXPIRATION = "5m";
+
+    /** The headers taking part in the proxy base URL, the client address is not one of them */
+    static final List<String> URL_HEADERS = Arrays.asList(
+            ProxifyingURLMangler.Headers.FORWARDED.asString(),
+            ProxifyingURLMangler.Headers.FORWARDED_PROTO.asString(),
+            ProxifyingURLMangler.Headers.FORWARDED_HOST.asString(),
+            ProxifyingURLMangler.Headers.FORWARDED_PATH.asString(),
+            ProxifyingURLMangler.Headers.HOST.asString());
+
+    private final Cache<List<Object>, byte[]> cache;
+
+    private final String specification;
+
+    private final DataAccessRuleDAO dao;
+
+    /** Bumped on each invalidation, documents encoded against an older configuration are not cached */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CapabilitiesCache(GeoServer gs, DataAccessRuleDAO dao) {
+        this(gs, dao, GeoServerExtensions.getProperty(CACHE));
+    }
+
+    CapabilitiesCache(GeoServer gs, DataAccessRuleDAO dao, String spec) {
+        this.dao = dao;
+        if (spec == null || spec.isBlank()) {
+            this.cache = null;
+            this.specification = null;
+            return;
+        }
+        if (!spec.contains("expireAfterWrite")) {
+            spec += ",expireAfterWrite=" + DEFAULT_EXPIRATION;
+        }
+        this.specification = spec;
+        LOGGER.config("Caching capabilities documents with " + spec);
+        this.cache = CacheBuilder.from(CacheBuilderSpec.parse(spec)).recordStats().build();
+        gs.getCatalog().addListener(this);
+        gs.addListener(new ConfigurationListenerAdapter() {
+            @Override
+            public void handlePostGlobalChange(GeoServerInfo global) {
+                invalidate();
+            }
+
+            @Override
+            public void handleSettingsAdded(SettingsInfo settings) {
+                invalidate();
+            }
+
+            @Override
+            public void handleSettingsPostModified(SettingsInfo settings) {
+                invalidate();
+            }
+
+            @Override
+            public void handleSettingsRemoved(SettingsInfo settings) {
+                invalidate();
+            }
+
+            @Override
+            public void handlePostServiceChange(ServiceInfo service) {
+                invalidate();
+            }
+
+            @Override
+            public void handleServiceRemove(ServiceInfo service) {
+                invalidate();
+            }
+
+            @Override
+            public void reloaded() {
+                invalidate();
+            }
+        });
+    }
+
+    /** Whether the capabilities documents are cached */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /** Empties the cache */
+    public void invalidate() {
+        if (cache != null) {
+            synchronized (this) {
+                generation.incrementAndGet();
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    /** The cache specification in use, or null if the cache is disabled */
+    public String getSpecification() {
+        return specification;
+    }
+
+    /** The cache statistics, or null if the cache is disabled */
+    public CacheStats getStats() {
+        return cache == null ? null : cache.stats();
+    }
+
+    @Override
+    public Response responseDispatched(Request request, Operation operation, Object result, Response response) {
+        if (cache == null || !request.isGet() || !"GetCapabilities".equalsIgnoreCase(request.getRequest())) {
+            return response;
+        }
+        return new CachingResponse(response, getKey(request), generation.get());
+    }
+
+    /** Builds the key of the document answering the request */
+    List<Object> getKey(Request request) {
+        Map<String, String> kvp = new TreeMap<>();
+        if (request.getRawKvp() != null) {
+            for (Map.Entry<String, Object> entry : request.getRawKvp().entrySet()) {
+                Object value = entry.getValue();
+                kvp.put(
+                        entry.getKey().toUpperCase(),
+                        value instanceof Object[] ? Arrays.toString((Object[]) value) : String.valueOf(value));
+            }
+        }
+        String url = null;
+        Map<String, String> headers = new TreeMap<>();
+        HttpServletRequest httpRequest = request.getHttpRequest();
+        if (httpRequest != null) {
+            url = String.valueOf(httpRequest.getRequestURL());
+            for (String header : URL_HEADERS) {
+                headers.put(header, httpRequest.getHeader(header));
+            }
+            headers.put(HttpHeaders.ACCEPT_LANGUAGE, httpRequest.getHeader(HttpHeaders.ACCEPT_LANGUAGE));
+        }
+        String user = null;
+        Set<String> roles = new TreeSet<>();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            user = auth.getName();
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+        }
+        return Arrays.asList(
+                request.getService(),
+                request.getVersion(),
+                url,
+                kvp,
+                headers,
+                user,
+                roles,
+                request.getOutputFormat(),
+                getRulesVersion());
+    }
+
+    /** The last modification time of the data security rules, reloading them first if their file changed */
+    private long getRulesVersion() {
+        if (dao == null) {
+            return 0;
+        }
+        if (dao.isModified()) {
+            dao.getRules();
+        }
+        return dao.getLastModified();
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidate();
+    }
+
+    @Override
+    public void reloaded() {
+        invalidate();
+    }
+
+    /** Writes the cached document if available, otherwise caches the one written by the delegate */
+    private class CachingResponse extends Response {
+
+        Response delegate;
+
+        List<Object> key;
+
+        long keyGeneration;
+
+        public CachingResponse(Response delegate, List<Object> key, long keyGeneration) {
+            super(delegate.getBinding());
+            this.delegate = delegate;
+            this.key = key;
+            this.keyGeneration = keyGeneration;
+        }
+
+        @Override
+        public boolean canHandle(Operation operation) {
+            return delegate.canHandle(operation);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) throws ServiceException {
+            return delegate.getMimeType(value, operation);
+        }
+
+        @Override
+        public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+            return delegate.getHeaders(value, operation);
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+            byte[] cached = cache.getIfPresent(key);
+            if (cached != null) {
+                output.write(cached);
+                return;
+            }
+            // stream to the client while keeping a copy, a failed write does not get cached
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            delegate.write(value, new TeeOutputStream(output, copy), operation);
+            synchronized (CapabilitiesCache.this) {
+                if (generation.get() == keyGeneration) {
+                    cache.put(key, copy.toByteArray());
+                }
+            }
+        }
+
+        @Override
+        public String getPreferredDisposition(Object value, Operation operation) {
+            return delegate.getPreferredDisposition(value, operation);
+        }
+
+        @Override
+        public String getAttachmentFileName(Object value, Operation operation) {
+            return delegate.getAttachmentFileName(value, operation);
+        }
+
+        @Override
+        public String getCharset(Operation operation) {
+            return delegate.getCharset(operation);
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.geoserver.config.util;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
 import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
 import java.util.ArrayList;
 import java.util.List;
@@ -54,6 +55,14 @@ public XStreamPersister createXMLPersister() {
         return buildPersister(null);
     }
 
+    /**
+     * Creates an instance configured to persist the XStream binary format, a compact encoding of the same element tree
+     * written by {@link #createXMLPersister()}, faster to read back but not human readable.
+     */
+    public XStreamPersister createBinaryPersister() {
+        return buildPersister(new BinaryStreamDriver());
+    }
+
     /**
      * Creates an instance configured to persist JSON.
      *
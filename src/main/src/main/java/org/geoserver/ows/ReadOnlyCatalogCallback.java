@@ -0,0 +1,72 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.geoserver.catalog.impl.ReadOnlyCatalogMode;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Service;
+import org.geoserver.platform.ServiceException;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Dispatcher callback enabling the {@link ReadOnlyCatalogMode} for the requests known not to modify the catalog, so
+ * that they get read only views of the catalog objects instead of modification proxies.
+ *
+ * <p>The requests are configured with the {@link #READ_ONLY_REQUESTS} system property or environment variable, as a
+ * comma separated list of service identifiers, for all the requests of a service, or {@code service.request} pairs,
+ * e.g. {@code wms.GetMap,wms.GetCapabilities,wfs}. The list is empty by default, as code running in read only mode
+ * fails if it tries to modify catalog objects, even temporarily.
+ */
+public class ReadOnlyCatalogCallback extends AbstractDispatcherCallback {
+
+    static final Logger LOGGER = Logging.getLogger(ReadOnlyCatalogCallback.class);
+
+    public static final String READ_ONLY_REQUESTS = "CATALOG_READ_ONLY_REQUESTS";
+
+    private final Set<String> requests;
+
+    public ReadOnlyCatalogCallback() {
+        this(GeoServerExtensions.getProperty(READ_ONLY_REQUESTS));
+    }
+
+    ReadOnlyCatalogCallback(String requests) {
+        if (requests == null || requests.isBlank()) {
+            this.requests = Collections.emptySet();
+        } else {
+            this.requests = Arrays.stream(requests.split(","))
+                    .map(String::trim)
+                    .filter(r -> !r.isEmpty())
+                    .map(r -> r.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            LOGGER.config("Catalog read only mode enabled for " + this.requests);
+        }
+    }
+
+    @Override
+    public Service serviceDispatched(Request request, Service service) throws ServiceException {
+        if (!requests.isEmpty() && isReadOnly(service.getId(), request.getRequest())) {
+            ReadOnlyCatalogMode.set(true);
+        }
+        return service;
+    }
+
+    boolean isReadOnly(String service, String request) {
+        if (service == null) return false;
+        String id = service.toLowerCase(Locale.ROOT);
+        if (requests.contains(id)) return true;
+        return request != null && requests.contains(id + "." + request.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void finished(Request request) {
+        ReadOnlyCatalogMode.remove();
+    }
+}
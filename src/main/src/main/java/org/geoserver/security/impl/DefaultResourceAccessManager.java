@@ -7,13 +7,20 @@
 
 import static org.geoserver.security.impl.DataAccessRule.ANY;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -26,6 +33,7 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceCacheStatistics;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WMSLayerInfo;
@@ -39,6 +47,7 @@
 import org.geoserver.security.CatalogMode;
 import org.geoserver.security.CoverageAccessLimits;
 import org.geoserver.security.DataAccessLimits;
+import org.geoserver.security.GeoServerSecurityFilterChainProxy;
 import org.geoserver.security.InMemorySecurityFilter;
 import org.geoserver.security.LayerGroupAccessLimits;
 import org.geoserver.security.ResourceAccessManager;
@@ -51,6 +60,7 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.util.logging.Logging;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 
 /**
  * Default implementation of {@link ResourceAccessManager}, loads simple access rules from a properties file or a
@@ -88,6 +98,67 @@ public class DefaultResourceAccessManager implements ResourceAccessManager {
     static final Boolean RESOURCE_EQUALITY_FILTER_ENABLED =
             Boolean.getBoolean("geoserver.access.resourceEqualityFilterEnabled");
 
+    /**
+     * System property or environment variable holding the {@link CacheBuilderSpec} of the access decision cache, e.g.
+     * {@code maximumSize=50000,expireAfterAccess=10m}. Use {@code maximumSize=0} to disable caching.
+     */
+    public static final String DECISION_CACHE_SPEC = "GEOSERVER_ACCESS_DECISION_CACHE";
+
+    static final String DEFAULT_DECISION_CACHE_SPEC = "maximumSize=100000";
+
+    /**
+     * Key of a cached access decision. Besides the user roles, the object and the access mode, it includes the request
+     * state the decision depends on: whether layer group containment is considered, and whether security is enabled.
+     * It also includes the {@link LayerGroupContainmentCache#getGeneration() catalog generation}, so that decisions
+     * computed while a catalog change is being applied are never looked up once it completed.
+     */
+    static final class DecisionKey {
+
+        final Set<String> roles;
+
+        final String id;
+
+        final AccessMode mode;
+
+        final byte flags;
+
+        final long generation;
+
+        DecisionKey(Set<String> roles, String id, AccessMode mode, boolean directAccess, long generation) {
+            this.roles = roles;
+            this.id = id;
+            this.mode = mode;
+            this.generation = generation;
+            int flags = directAccess ? 1 : 0;
+            if (layerGroupContainmentCheckRequired()) flags |= 2;
+            if (GeoServerSecurityFilterChainProxy.isSecurityEnabledForCurrentRequest()) flags |= 4;
+            this.flags = (byte) flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DecisionKey)) return false;
+            DecisionKey that = (DecisionKey) o;
+            return flags == that.flags
+                    && generation == that.generation
+                    && mode == that.mode
+                    && id.equals(that.id)
+                    && roles.equals(that.roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roles, id, mode, flags, generation);
+        }
+
+        @Override
+        public String toString() {
+            return "DecisionKey[roles=" + roles + ", id=" + id + ", mode=" + mode + ", flags=" + flags
+                    + ", generation=" + generation + "]";
+        }
+    }
+
     /** A {@link LayerGroupSummary} extended with the associated secure tree node */
     static class SecuredGroupSummary extends LayerGroupSummary {
 
@@ -117,6 +188,20 @@ public SecureTreeNode getNode() {
 
     LayerGroupContainmentCache groupsCache;
 
+    /**
+     * Access decisions for workspaces, resources and layer groups, invalidated when the rules are reloaded and when the
+     * catalog generation changes
+     */
+    final Cache<DecisionKey, Boolean> decisions;
+
+    final String decisionCacheSpec;
+
+    /** The catalog generation the cached decisions were computed under */
+    volatile long decisionsGeneration;
+
+    /** The roles of each authentication, looked up once as the same authentication is checked many times */
+    final Cache<Authentication, Set<String>> roles = CacheBuilder.newBuilder().weakKeys().build();
+
     /**
      * Pass a reference to the raw, unsecured catalog. The reference is used to evaluate the relationship between layers
      * and the groups containing them
@@ -125,6 +210,12 @@ public DefaultResourceAccessManager(DataAccessRuleDAO dao, Catalog rawCatalog) {
         this.dao = dao;
         this.rawCatalog = rawCatalog;
         this.root = buildAuthorizationTree(dao);
+
+        String spec = GeoServerExtensions.getProperty(DECISION_CACHE_SPEC);
+        this.decisionCacheSpec = spec == null ? DEFAULT_DECISION_CACHE_SPEC : spec;
+        this.decisions = CacheBuilder.from(CacheBuilderSpec.parse(decisionCacheSpec))
+                .recordStats()
+                .build();
     }
 
     /**
@@ -142,6 +233,10 @@ public CatalogMode getMode() {
 
     public boolean canAccess(Authentication user, WorkspaceInfo workspace, AccessMode mode) {
         checkPropertyFile();
+        return cached(user, workspace, mode, true, () -> canAccessWorkspace(user, workspace, mode));
+    }
+
+    private boolean canAccessWorkspace(Authentication user, WorkspaceInfo workspace, AccessMode mode) {
         SecureTreeNode node = root.getDeepestNode(new String[] {workspace.getName()});
         if (node.canAccess(user, mode)) {
             return true;
@@ -191,6 +286,11 @@ public boolean canAccess(Authentication user, LayerInfo layer, AccessMode mode,
 
     public boolean canAccess(Authentication user, ResourceInfo resource, AccessMode mode, boolean directAccess) {
         checkPropertyFile();
+        return cached(user, resource, mode, directAccess, () -> canAccessResource(user, resource, mode, directAccess));
+    }
+
+    private boolean canAccessResource(
+            Authentication user, ResourceInfo resource, AccessMode mode, boolean directAccess) {
         String workspace;
         final String resourceName = resource.getName();
         try {
@@ -294,7 +394,74 @@ private SecureTreeNode getNodeForGroup(LayerGroupInfo lg) {
         return node;
     }
 
-    private boolean layerGroupContainmentCheckRequired() {
+    /**
+     * Returns the cached decision for the given user roles, object and mode, computing it if missing. Objects without
+     * an identifier, not yet added to the catalog, are not cached. Without a {@link LayerGroupContainmentCache} catalog
+     * changes are not tracked, and no decision is cached.
+     */
+    private boolean cached(
+            Authentication user, CatalogInfo info, AccessMode mode, boolean directAccess, Supplier<Boolean> decision) {
+        String id = info.getId();
+        LayerGroupContainmentCache cache = getLayerGroupsCache();
+        if (id == null || cache == null) {
+            return decision.get();
+        }
+        long generation = cache.getGeneration();
+        if (generation != decisionsGeneration) {
+            // older decisions are never looked up again, no need to wait for their eviction
+            decisionsGeneration = generation;
+            decisions.invalidateAll();
+        }
+        DecisionKey key = new DecisionKey(getRoles(user), id, mode, directAccess, generation);
+        Boolean result = decisions.getIfPresent(key);
+        if (result == null) {
+            // not using a loader, decisions on resources recursively look up the ones on the containing groups
+            result = decision.get();
+            decisions.put(key, result);
+        }
+        return result;
+    }
+
+    /** The user roles the decisions are based on, see {@link SecureTreeNode#canAccess(Authentication, AccessMode)} */
+    private Set<String> getRoles(Authentication user) {
+        if (user == null || user.getAuthorities() == null) {
+            return Collections.emptySet();
+        }
+        Set<String> result = roles.getIfPresent(user);
+        if (result == null) {
+            result = new HashSet<>();
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                result.add(authority.getAuthority());
+            }
+            result = Collections.unmodifiableSet(result);
+            roles.put(user, result);
+        }
+        return result;
+    }
+
+    /** Drops all cached access decisions */
+    public void clearDecisionCache() {
+        decisions.invalidateAll();
+    }
+
+    /**
+     * Returns the usage counters of the access decision cache. Decisions are not computed by a cache loader, the load
+     * count and time are reported as -1.
+     */
+    public ResourceCacheStatistics getDecisionCacheStatistics() {
+        CacheStats stats = decisions.stats();
+        return new ResourceCacheStatistics(
+                "accessDecisions",
+                decisionCacheSpec,
+                decisions.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                -1,
+                -1);
+    }
+
+    private static boolean layerGroupContainmentCheckRequired() {
         // first, is it WMS?
         Request request = Dispatcher.REQUEST.get();
         if (request == null) {
@@ -323,6 +490,7 @@ private void rebuildAuthorizationTree(boolean force) {
         if (lastLoaded < daoLastModified || force) {
             root = buildAuthorizationTree(dao);
             lastLoaded = daoLastModified;
+            decisions.invalidateAll();
         }
     }
 
@@ -453,6 +621,15 @@ public LayerGroupAccessLimits getAccessLimits(
     }
 
     private boolean canAccess(Authentication user, LayerGroupInfo layerGroup, boolean directAccess) {
+        return cached(
+                user,
+                layerGroup,
+                AccessMode.READ,
+                directAccess,
+                () -> canAccessLayerGroup(user, layerGroup, directAccess));
+    }
+
+    private boolean canAccessLayerGroup(Authentication user, LayerGroupInfo layerGroup, boolean directAccess) {
         String[] path = getLayerGroupPath(layerGroup);
         SecureTreeNode node = root.getDeepestNode(path);
         boolean catalogNodeAllowsAccess = node.canAccess(user, AccessMode.READ);
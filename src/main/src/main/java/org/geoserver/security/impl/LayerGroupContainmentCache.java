@@ -12,7 +12,7 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogException;
@@ -22,8 +22,10 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
 import org.geoserver.catalog.event.CatalogListener;
 import org.geoserver.catalog.event.CatalogModifyEvent;
 import org.geoserver.catalog.event.CatalogPostModifyEvent;
@@ -36,14 +38,18 @@
  * A cache for layer group containment, it speeds up looking up layer groups containing a particular layer
  * (recursively). * The class is thread safe.
  *
+ * <p>The cache is maintained incrementally, each catalog event only touches the groups and resources it involves.
+ * Updates are serialized, and replace the containment sets with new immutable ones (copy on write), so that lookups
+ * never lock nor iterate over a set being modified. An event is however applied one set at a time, a lookup running
+ * concurrently can observe it partially applied, e.g. a new group not yet linked to the groups it contains, or only
+ * part of the layers of a modified group. Only a full rebuild, on catalog reload, builds a new cache and swaps it in.
+ * Callers needing a view consistent with a change should rely on {@link #getGeneration()}, bumped once the change is
+ * fully applied.
+ *
  * @author Andrea Aime - GeoSolutions
  */
 public class LayerGroupContainmentCache implements ApplicationListener<ContextRefreshedEvent> {
 
-    /** Builds a concurrent set wrapping a {@link ConcurrentHashMap} */
-    static final Function<? super String, ? extends Set<LayerGroupSummary>> CONCURRENT_SET_BUILDER =
-            k -> Collections.newSetFromMap(new ConcurrentHashMap<>());
-
     /** Verifies a certain {@link PublishedInfo} is actually a {@link LayerInfo} */
     static final Predicate<PublishedInfo> IS_LAYER =
             p -> p != null && p.getId() != null && p instanceof LayerInfo && ((LayerInfo) p).getResource() != null;
@@ -52,13 +58,19 @@ public class LayerGroupContainmentCache implements ApplicationListener<ContextRe
     static final Predicate<PublishedInfo> IS_GROUP = p -> p != null && p.getId() != null && p instanceof LayerGroupInfo;
 
     /** Lookup from layer group id to group parent information */
-    Map<String, LayerGroupSummary> groupCache = new ConcurrentHashMap<>();
+    volatile Map<String, LayerGroupSummary> groupCache = new ConcurrentHashMap<>();
 
     /**
      * Lookup from {@link ResourceInfo} id to groups directly containing its associated layers (the transitive
      * containment is computed by suing {@link LayerGroupSummary}
      */
-    Map<String, Set<LayerGroupSummary>> resourceContainmentCache = new ConcurrentHashMap<>();
+    volatile Map<String, Set<LayerGroupSummary>> resourceContainmentCache = new ConcurrentHashMap<>();
+
+    /** Serializes the cache updates, lookups do not need it */
+    private final Object updateLock = new Object();
+
+    /** Bumped after each catalog change is applied, see {@link #getGeneration()} */
+    private final AtomicLong generation = new AtomicLong();
 
     private Catalog catalog;
 
@@ -70,66 +82,136 @@ public LayerGroupContainmentCache(Catalog catalog) {
     }
 
     private void buildLayerGroupCaches() {
-        groupCache.clear();
-        resourceContainmentCache.clear();
-        List<LayerGroupInfo> groups = catalog.getLayerGroups();
+        synchronized (updateLock) {
+            Map<String, LayerGroupSummary> groups = new ConcurrentHashMap<>();
+            Map<String, Set<LayerGroupSummary>> resources = new ConcurrentHashMap<>();
+            List<LayerGroupInfo> layerGroups = catalog.getLayerGroups();
+
+            // first populate the basic structure
+            for (LayerGroupInfo lg : layerGroups) {
+                addGroupInfo(lg, groups, resources);
+            }
 
-        // first populate the basic structure
-        for (LayerGroupInfo lg : groups) {
-            addGroupInfo(lg);
-        }
+            // now populate the containment structure
+            for (LayerGroupInfo lg : layerGroups) {
+                registerContainedGroups(lg, groups);
+            }
 
-        // now populate the containment structure
-        for (LayerGroupInfo lg : groups) {
-            registerContainedGroups(lg);
+            // publish the new structures, each one is consistent on its own
+            this.resourceContainmentCache = resources;
+            this.groupCache = groups;
+            generation.incrementAndGet();
         }
     }
 
-    private void registerContainedGroups(LayerGroupInfo lg) {
+    /**
+     * Returns a counter bumped after each catalog change, other than style ones, once the containment structures
+     * reflect it. Results derived from the containment, or from the catalog, computed under a given generation are
+     * stale as soon as it changes.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    private static void registerContainedGroups(LayerGroupInfo lg, Map<String, LayerGroupSummary> groups) {
+        LayerGroupSummary container = groups.get(lg.getId());
+        if (container == null) {
+            return;
+        }
         lg.getLayers().stream().filter(IS_GROUP).forEach(p -> {
-            String containerId = lg.getId();
-            String containedId = p.getId();
-            LayerGroupSummary container = groupCache.get(containerId);
-            LayerGroupSummary contained = groupCache.get(containedId);
-            if (container != null && contained != null) {
-                contained.containerGroups.add(container);
+            LayerGroupSummary contained = groups.get(p.getId());
+            if (contained != null) {
+                link(container, contained);
             }
         });
     }
 
-    private void addGroupInfo(LayerGroupInfo lg) {
+    private static void addGroupInfo(
+            LayerGroupInfo lg, Map<String, LayerGroupSummary> groups, Map<String, Set<LayerGroupSummary>> resources) {
         LayerGroupSummary groupData = new LayerGroupSummary(lg);
-        groupCache.put(lg.getId(), groupData);
+        groups.put(lg.getId(), groupData);
         lg.getLayers().stream().filter(IS_LAYER).forEach(p -> {
             String id = ((LayerInfo) p).getResource().getId();
-            Set<LayerGroupSummary> containers = resourceContainmentCache.computeIfAbsent(id, CONCURRENT_SET_BUILDER);
-            containers.add(groupData);
+            addResourceContainer(resources, id, groupData);
         });
     }
 
     private void clearGroupInfo(LayerGroupInfo lg) {
         LayerGroupSummary data = groupCache.remove(lg.getId());
+        if (data == null) {
+            return;
+        }
         // clear the resource containment cache
-        lg.getLayers().stream().filter(IS_LAYER).forEach(p -> {
-            String rid = ((LayerInfo) p).getResource().getId();
-            synchronized (rid) {
-                Set<LayerGroupSummary> containers = resourceContainmentCache.get(rid);
-                if (containers != null) {
-                    containers.remove(data);
-                }
+        for (String rid : data.resources) {
+            removeResourceContainer(resourceContainmentCache, rid, data);
+        }
+        // this group does not contain anything anymore, remove from containment
+        for (String gid : data.groups) {
+            LayerGroupSummary contained = groupCache.get(gid);
+            if (contained != null) {
+                contained.containerGroups = without(contained.containerGroups, data);
             }
+        }
+        // and it's not contained anymore
+        for (LayerGroupSummary container : data.containerGroups) {
+            container.groups = without(container.groups, data.id);
+        }
+    }
+
+    /** Records the container as directly containing the given group */
+    private static void link(LayerGroupSummary container, LayerGroupSummary contained) {
+        contained.containerGroups = with(contained.containerGroups, container);
+        container.groups = with(container.groups, contained.id);
+    }
+
+    /** Removes the direct containment relationship between the two groups */
+    private static void unlink(LayerGroupSummary container, LayerGroupSummary contained) {
+        contained.containerGroups = without(contained.containerGroups, container);
+        container.groups = without(container.groups, contained.id);
+    }
+
+    private static void addResourceContainer(
+            Map<String, Set<LayerGroupSummary>> resources, String resourceId, LayerGroupSummary group) {
+        resources.compute(resourceId, (k, v) -> with(v, group));
+        group.resources = with(group.resources, resourceId);
+    }
+
+    private static void removeResourceContainer(
+            Map<String, Set<LayerGroupSummary>> resources, String resourceId, LayerGroupSummary group) {
+        resources.computeIfPresent(resourceId, (k, v) -> {
+            Set<LayerGroupSummary> containers = without(v, group);
+            return containers.isEmpty() ? null : containers;
         });
-        // this group does not contain anything anymore, remove from containment
-        for (LayerGroupSummary d : groupCache.values()) {
-            // will be removed by equality
-            d.containerGroups.remove(new LayerGroupSummary(lg));
+        group.resources = without(group.resources, resourceId);
+    }
+
+    /** Returns an immutable copy of the set, with the item added */
+    static <T> Set<T> with(Set<T> set, T item) {
+        if (set != null && set.contains(item)) {
+            return set;
+        }
+        Set<T> result = set == null ? new HashSet<>() : new HashSet<>(set);
+        result.add(item);
+        return Collections.unmodifiableSet(result);
+    }
+
+    /** Returns an immutable copy of the set, with the item removed */
+    static <T> Set<T> without(Set<T> set, T item) {
+        if (!set.contains(item)) {
+            return set;
+        }
+        if (set.size() == 1) {
+            return Collections.emptySet();
         }
+        Set<T> result = new HashSet<>(set);
+        result.remove(item);
+        return Collections.unmodifiableSet(result);
     }
 
     /** Returns all groups containing directly or indirectly containing the resource */
     public Collection<LayerGroupSummary> getContainerGroupsFor(ResourceInfo resource) {
         String id = resource.getId();
-        Set<LayerGroupSummary> groups = resourceContainmentCache.get(id);
+        Set<LayerGroupSummary> groups = id == null ? null : resourceContainmentCache.get(id);
         if (groups == null) {
             return Collections.emptyList();
         }
@@ -185,20 +267,26 @@ public void onApplicationEvent(ContextRefreshedEvent event) {
     public static class LayerGroupSummary {
         String id;
 
-        String workspace;
+        volatile String workspace;
+
+        volatile String name;
+
+        volatile LayerGroupInfo.Mode mode;
 
-        String name;
+        /** The groups directly containing this one, replaced by a new immutable set on change */
+        volatile Set<LayerGroupSummary> containerGroups = Collections.emptySet();
 
-        LayerGroupInfo.Mode mode;
+        /** Identifiers of the resources whose layers are directly contained in this group */
+        volatile Set<String> resources = Collections.emptySet();
 
-        Set<LayerGroupSummary> containerGroups;
+        /** Identifiers of the groups directly contained in this group */
+        volatile Set<String> groups = Collections.emptySet();
 
         LayerGroupSummary(LayerGroupInfo lg) {
             this.id = lg.getId();
             this.workspace = lg.getWorkspace() != null ? lg.getWorkspace().getName() : null;
             this.name = lg.getName();
             this.mode = lg.getMode();
-            containerGroups = CONCURRENT_SET_BUILDER.apply(null);
         }
 
         LayerGroupSummary(LayerGroupSummary other) {
@@ -206,7 +294,9 @@ public static class LayerGroupSummary {
             this.workspace = other.workspace;
             this.name = other.name;
             this.mode = other.mode;
-            containerGroups = other.containerGroups;
+            this.containerGroups = other.containerGroups;
+            this.resources = other.resources;
+            this.groups = other.groups;
         }
 
         public String getId() {
@@ -289,19 +379,25 @@ final class CatalogChangeListener implements CatalogListener {
         public void handleAddEvent(CatalogAddEvent event) throws CatalogException {
             if (event.getSource() instanceof LayerGroupInfo) {
                 LayerGroupInfo lg = (LayerGroupInfo) event.getSource();
-                addGroupInfo(lg);
-                registerContainedGroups(lg);
+                synchronized (updateLock) {
+                    addGroupInfo(lg, groupCache, resourceContainmentCache);
+                    registerContainedGroups(lg, groupCache);
+                }
             }
+            changed(event);
         }
 
         @Override
         public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
             if (event.getSource() instanceof LayerGroupInfo) {
                 LayerGroupInfo lg = (LayerGroupInfo) event.getSource();
-                clearGroupInfo(lg);
+                synchronized (updateLock) {
+                    clearGroupInfo(lg);
+                }
             }
             // no need to listen to workspace or layer removal, these will cascade to
             // layer groups
+            changed(event);
         }
 
         @Override
@@ -309,46 +405,58 @@ public void handleModifyEvent(CatalogModifyEvent event) throws CatalogException
             final CatalogInfo source = event.getSource();
             if (source instanceof LayerGroupInfo) {
                 LayerGroupInfo lg = (LayerGroupInfo) event.getSource();
-                // was the layer group renamed, moved, or its contents changed?
-                int nameIdx = event.getPropertyNames().indexOf("name");
-                if (nameIdx != -1) {
-                    String newName = (String) event.getNewValues().get(nameIdx);
-                    updateGroupName(lg.getId(), newName);
-                }
-                int wsIdx = event.getPropertyNames().indexOf("workspace");
-                if (wsIdx != -1) {
-                    WorkspaceInfo newWorkspace =
-                            (WorkspaceInfo) event.getNewValues().get(wsIdx);
-                    updateGroupWorkspace(lg.getId(), newWorkspace);
-                }
-                int layerIdx = event.getPropertyNames().indexOf("layers");
-                if (layerIdx != -1) {
-                    @SuppressWarnings("unchecked")
-                    List<PublishedInfo> oldLayers =
-                            (List<PublishedInfo>) event.getOldValues().get(layerIdx);
-                    @SuppressWarnings("unchecked")
-                    List<PublishedInfo> newLayers =
-                            (List<PublishedInfo>) event.getNewValues().get(layerIdx);
-                    updateContainedLayers(groupCache.get(lg.getId()), oldLayers, newLayers);
-                }
-                int modeIdx = event.getPropertyNames().indexOf("mode");
-                if (modeIdx != -1) {
-                    Mode newMode = (Mode) event.getNewValues().get(modeIdx);
-                    updateGroupMode(lg.getId(), newMode);
+                synchronized (updateLock) {
+                    updateGroup(lg, event);
                 }
             } else if (source instanceof WorkspaceInfo) {
                 int nameIdx = event.getPropertyNames().indexOf("name");
                 if (nameIdx != -1) {
                     String oldName = (String) event.getOldValues().get(nameIdx);
                     String newName = (String) event.getNewValues().get(nameIdx);
-                    updateWorkspaceNames(oldName, newName);
+                    synchronized (updateLock) {
+                        updateWorkspaceNames(oldName, newName);
+                    }
                 }
             }
+            changed(event);
+        }
+
+        /** Bumps the generation once the event has been applied */
+        private void changed(CatalogEvent event) {
+            if (!(event.getSource() instanceof StyleInfo)) {
+                generation.incrementAndGet();
+            }
         }
 
-        private void updateGroupMode(String id, Mode newMode) {
-            LayerGroupSummary summary = groupCache.get(id);
-            summary.mode = newMode;
+        private void updateGroup(LayerGroupInfo lg, CatalogModifyEvent event) {
+            LayerGroupSummary summary = groupCache.get(lg.getId());
+            if (summary == null) {
+                return;
+            }
+            // was the layer group renamed, moved, or its contents changed?
+            int nameIdx = event.getPropertyNames().indexOf("name");
+            if (nameIdx != -1) {
+                summary.name = (String) event.getNewValues().get(nameIdx);
+            }
+            int wsIdx = event.getPropertyNames().indexOf("workspace");
+            if (wsIdx != -1) {
+                WorkspaceInfo newWorkspace = (WorkspaceInfo) event.getNewValues().get(wsIdx);
+                summary.workspace = newWorkspace == null ? null : newWorkspace.getName();
+            }
+            int layerIdx = event.getPropertyNames().indexOf("layers");
+            if (layerIdx != -1) {
+                @SuppressWarnings("unchecked")
+                List<PublishedInfo> oldLayers =
+                        (List<PublishedInfo>) event.getOldValues().get(layerIdx);
+                @SuppressWarnings("unchecked")
+                List<PublishedInfo> newLayers =
+                        (List<PublishedInfo>) event.getNewValues().get(layerIdx);
+                updateContainedLayers(summary, oldLayers, newLayers);
+            }
+            int modeIdx = event.getPropertyNames().indexOf("mode");
+            if (modeIdx != -1) {
+                summary.mode = (Mode) event.getNewValues().get(modeIdx);
+            }
         }
 
         private void updateContainedLayers(
@@ -358,22 +466,13 @@ private void updateContainedLayers(
             final HashSet<PublishedInfo> removedLayers = new HashSet<>(oldLayers);
             removedLayers.removeAll(newLayers);
             for (PublishedInfo removed : removedLayers) {
-                if (removed instanceof LayerInfo) {
+                if (IS_LAYER.test(removed)) {
                     String resourceId = ((LayerInfo) removed).getResource().getId();
-                    Set<LayerGroupSummary> containers = resourceContainmentCache.get(resourceId);
-                    if (containers != null) {
-                        synchronized (resourceId) {
-                            containers.remove(groupSummary);
-                            if (containers.isEmpty()) {
-                                resourceContainmentCache.remove(resourceId, containers);
-                            }
-                        }
-                    }
-                } else {
-                    LayerGroupInfo child = (LayerGroupInfo) removed;
-                    LayerGroupSummary summary = groupCache.get(child.getId());
+                    removeResourceContainer(resourceContainmentCache, resourceId, groupSummary);
+                } else if (IS_GROUP.test(removed)) {
+                    LayerGroupSummary summary = groupCache.get(removed.getId());
                     if (summary != null) {
-                        summary.containerGroups.remove(groupSummary);
+                        unlink(groupSummary, summary);
                     }
                 }
             }
@@ -382,37 +481,18 @@ private void updateContainedLayers(
             final HashSet<PublishedInfo> addedLayers = new HashSet<>(newLayers);
             addedLayers.removeAll(oldLayers);
             for (PublishedInfo added : addedLayers) {
-                if (added instanceof LayerInfo) {
+                if (IS_LAYER.test(added)) {
                     String resourceId = ((LayerInfo) added).getResource().getId();
-                    synchronized (resourceId) {
-                        Set<LayerGroupSummary> containers =
-                                resourceContainmentCache.computeIfAbsent(resourceId, CONCURRENT_SET_BUILDER);
-                        containers.add(groupSummary);
-                    }
-                } else {
-                    LayerGroupInfo child = (LayerGroupInfo) added;
-                    LayerGroupSummary summary = groupCache.get(child.getId());
+                    addResourceContainer(resourceContainmentCache, resourceId, groupSummary);
+                } else if (IS_GROUP.test(added)) {
+                    LayerGroupSummary summary = groupCache.get(added.getId());
                     if (summary != null) {
-                        summary.containerGroups.add(groupSummary);
+                        link(groupSummary, summary);
                     }
                 }
             }
         }
 
-        private void updateGroupWorkspace(String id, WorkspaceInfo newWorkspace) {
-            LayerGroupSummary summary = groupCache.get(id);
-            if (summary != null) {
-                summary.workspace = newWorkspace == null ? null : newWorkspace.getName();
-            }
-        }
-
-        private void updateGroupName(String id, String newName) {
-            LayerGroupSummary summary = groupCache.get(id);
-            if (summary != null) {
-                summary.name = newName;
-            }
-        }
-
         private void updateWorkspaceNames(String oldName, String newName) {
             groupCache.values().stream()
                     .filter(lg -> Objects.equals(lg.workspace, oldName))
@@ -421,8 +501,8 @@ private void updateWorkspaceNames(String oldName, String newName) {
 
         @Override
         public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
-            // nothing to do here
-
+            // the modified object is updated only now, results computed since the modify event are stale
+            changed(event);
         }
 
         @Override
@@ -0,0 +1,127 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coordinates concurrent loads of expensive resources, so that for each key only one thread at a time performs the
+ * load, while the other threads asking for the same key wait for its result. Loads for different keys never block
+ * each other.
+ *
+ * <p>The loader is expected to store the loaded value in a cache before returning, and to look up the cache before
+ * loading, as a thread arriving right after the completion of a load will start a new one:
+ *
+ * <pre>{@code
+ * V value = cache.get(key);
+ * if (value == null) {
+ *     value = singleFlight.load(key, () -> {
+ *         V v = cache.get(key);
+ *         if (v == null) {
+ *             v = create(key);
+ *             cache.put(key, v);
+ *         }
+ *         return v;
+ *     });
+ * }
+ * }</pre>
+ *
+ * If the load fails, the threads waiting for it receive an exception wrapping the original failure.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class SingleFlightLoader<K, V> {
+
+    /** Loads a value, eventually throwing an {@link IOException} */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder sharedLoads = new LongAdder();
+
+    /**
+     * Returns the value associated to the key, either running the loader, or waiting for another thread already
+     * loading the same key.
+     */
+    public V load(K key, Loader<V> loader) throws IOException {
+        Flight<V> flight = new Flight<>(Thread.currentThread());
+        Flight<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(key, existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.load();
+            flight.future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flight.future.completeExceptionally(t);
+            throw t;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private V await(K key, Flight<V> flight) throws IOException {
+        if (flight.owner == Thread.currentThread()) {
+            throw new IllegalStateException("Recursive load detected for key " + key);
+        }
+        sharedLoads.increment();
+        try {
+            return flight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException ie = new InterruptedIOException("Interrupted while waiting for " + key + " to load");
+            ie.initCause(e);
+            throw ie;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException(cause.getMessage(), cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /** Returns true if a load is currently in progress for the given key */
+    public boolean isLoading(K key) {
+        return flights.containsKey(key);
+    }
+
+    /** Number of loads actually performed */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /** Number of requests that waited for a load performed by another thread, instead of running their own */
+    public long getSharedLoadCount() {
+        return sharedLoads.sum();
+    }
+
+    private static class Flight<V> {
+        final Thread owner;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        Flight(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
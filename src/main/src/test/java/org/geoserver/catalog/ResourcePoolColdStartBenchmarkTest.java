@@ -0,0 +1,156 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geotools.api.data.DataAccess;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.data.memory.MemoryDataStore;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the {@link ResourcePool#getDataStore(DataStoreInfo)} latency distribution during a cold start, with many
+ * threads hitting a catalog of {@link #STORES} stores whose creation is slow. The sample time mode reports the
+ * percentiles, p0.99 being the one of interest, along with the number of times a store got created more than once.
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+@Ignore
+public class ResourcePoolColdStartBenchmarkTest {
+
+    static final int STORES = 500;
+
+    /** Simulated store connection time, in milliseconds */
+    static final int CREATION_DELAY = 20;
+
+    /**
+     * Runs the JMH benchmark. This isn't a really test so it includes the @Ignore annotation; by integrating JMH with
+     * Junit it just provides us an easy way to run the benchmark (typically through the IDE).
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ResourcePoolColdStartBenchmark.class.getSimpleName() + ".*")
+                .result("./target/resource-pool-cold-start.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @Threads(64)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class ResourcePoolColdStartBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class PoolState {
+
+            Catalog catalog;
+
+            DataStoreInfo[] stores = new DataStoreInfo[STORES];
+
+            AtomicInteger created = new AtomicInteger();
+
+            @Setup(Level.Trial)
+            public void setup() {
+                catalog = new CatalogImpl();
+                CatalogFactory factory = catalog.getFactory();
+                WorkspaceInfo ws = factory.createWorkspace();
+                ws.setName("bench");
+                catalog.add(ws);
+                NamespaceInfo ns = factory.createNamespace();
+                ns.setPrefix("bench");
+                ns.setURI("http://geoserver.org/bench");
+                catalog.add(ns);
+
+                for (int i = 0; i < STORES; i++) {
+                    DataStoreInfo ds = factory.createDataStore();
+                    ds.setName("store" + i);
+                    ds.setWorkspace(ws);
+                    ds.setEnabled(true);
+                    catalog.add(ds);
+                    stores[i] = catalog.getDataStoreByName(ws, ds.getName());
+                }
+                catalog.setResourcePool(new SlowResourcePool(catalog, created));
+            }
+
+            /** Empties the store cache before each iteration, simulating a cold start */
+            @Setup(Level.Iteration)
+            public void coldStart() {
+                created.set(0);
+                ResourcePool pool = catalog.getResourcePool();
+                for (DataStoreInfo store : stores) {
+                    pool.clear(store);
+                }
+            }
+
+            @TearDown(Level.Iteration)
+            public void report() {
+                System.out.println();
+                System.out.println("Stores created in iteration: " + created.get() + ", distinct stores: " + STORES);
+            }
+
+            @TearDown(Level.Trial)
+            public void tearDown() {
+                catalog.dispose();
+            }
+        }
+
+        @Benchmark
+        public Object getDataStore(PoolState state) throws IOException {
+            DataStoreInfo store = state.stores[ThreadLocalRandom.current().nextInt(STORES)];
+            return state.catalog.getResourcePool().getDataStore(store);
+        }
+    }
+
+    /** Resource pool whose store creation is slow, as it would be against a remote database */
+    static class SlowResourcePool extends ResourcePool {
+
+        AtomicInteger created;
+
+        SlowResourcePool(Catalog catalog, AtomicInteger created) {
+            super(catalog);
+            this.created = created;
+        }
+
+        @Override
+        protected DataAccess<? extends FeatureType, ? extends Feature> createDataAccess(
+                DataStoreInfo info, DataStoreInfo expandedStore) throws IOException {
+            created.incrementAndGet();
+            try {
+                Thread.sleep(CREATION_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return new MemoryDataStore();
+        }
+    }
+}
@@ -44,8 +44,12 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
@@ -124,7 +128,6 @@
 import org.geotools.ows.ServiceException;
 import org.geotools.referencing.CRS;
 import org.geotools.styling.AbstractStyleVisitor;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.URLs;
 import org.geotools.util.Version;
 import org.geotools.util.factory.FactoryRegistry;
@@ -362,6 +365,48 @@ protected void dispose(String name, DataAccess dataStore) {
         assertTrue(disposeCalled);
     }
 
+    @Test
+    public void testSingleFlightDataStoreCreation() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ResourcePool pool = new ResourcePool(getCatalog()) {
+            @Override
+            protected DataAccess<? extends FeatureType, ? extends Feature> createDataAccess(
+                    DataStoreInfo info, DataStoreInfo expandedStore) throws IOException {
+                created.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return super.createDataAccess(info, expandedStore);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            DataStoreInfo info = getCatalog().getDataStoreByName(MockData.CITE_PREFIX, MockData.CITE_PREFIX);
+            List<Future<DataAccess<?, ?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> pool.getDataStore(info)));
+            }
+            // give all threads a chance to pile up on the store creation
+            while (created.get() == 0) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            DataAccess<?, ?> first = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<DataAccess<?, ?>> future : futures) {
+                assertSame(first, future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, created.get());
+        } finally {
+            executor.shutdownNow();
+            pool.dispose();
+        }
+    }
+
     @Test
     public void testConfigureFeatureTypeCacheSize() {
         GeoServer gs = getGeoServer();
@@ -373,7 +418,68 @@ public void testConfigureFeatureTypeCacheSize() {
         // we actually keep two versions of the feature type in the cache, so we need it
         // twice as big
         assertEquals(
-                400, ((SoftValueHashMap) catalog.getResourcePool().getFeatureTypeCache()).getHardReferencesCount());
+                "maximumSize=400",
+                catalog.getResourcePool()
+                        .getCacheStatistics()
+                        .get("featureTypes")
+                        .getSpecification());
+    }
+
+    @Test
+    public void testCacheStatistics() throws Exception {
+        Catalog catalog = getCatalog();
+        ResourcePool pool = ResourcePool.create(catalog);
+        FeatureTypeInfo info =
+                catalog.getFeatureTypeByName(MockData.LAKES.getNamespaceURI(), MockData.LAKES.getLocalPart());
+
+        ResourceCacheStatistics stats = pool.getCacheStatistics().get("featureTypes");
+        assertEquals(0, stats.getLoadCount());
+        assertEquals(0, stats.getSize());
+
+        // first access loads
+        FeatureType ft1 = pool.getFeatureType(info);
+        stats = pool.getCacheStatistics().get("featureTypes");
+        long loads = stats.getLoadCount();
+        long hits = stats.getHitCount();
+        assertTrue(loads > 0);
+        assertTrue(stats.getSize() > 0);
+
+        // second one hits the cache
+        FeatureType ft2 = pool.getFeatureType(info);
+        assertSame(ft1, ft2);
+        stats = pool.getCacheStatistics().get("featureTypes");
+        assertEquals(loads, stats.getLoadCount());
+        assertTrue(stats.getHitCount() > hits);
+
+        // the data store has been loaded as a side effect
+        ResourceCacheStatistics dsStats = pool.getCacheStatistics().get("dataStores");
+        assertEquals(1, dsStats.getLoadCount());
+        // stores are bounded, with a soft tail, and styles are unbounded by default
+        assertEquals("maximumSize=100", dsStats.getSpecification());
+        assertEquals("", pool.getCacheStatistics().get("styles").getSpecification());
+        pool.dispose();
+    }
+
+    @Test
+    public void testCacheSoftTail() {
+        ResourcePool pool = ResourcePool.create(getCatalog());
+        ResourcePool.FeatureTypeAttributeCache cache = pool.new FeatureTypeAttributeCache(1);
+        List<AttributeTypeInfo> first = new ArrayList<>();
+        List<AttributeTypeInfo> second = new ArrayList<>();
+        cache.put("first", first);
+        cache.put("second", second);
+
+        // the entry evicted by the size bound is kept in the soft tail, and moves back when looked up
+        assertEquals(2, cache.size());
+        assertEquals(Set.of("first", "second"), cache.keySet());
+        assertSame(first, cache.get("first"));
+        assertSame(second, cache.get("second"));
+
+        assertSame(first, cache.remove("first"));
+        assertNull(cache.get("first"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        pool.dispose();
     }
 
     @Test
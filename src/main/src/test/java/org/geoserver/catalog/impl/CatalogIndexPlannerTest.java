@@ -0,0 +1,254 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.geoserver.catalog.CatalogFacade.NO_WORKSPACE;
+import static org.geoserver.catalog.Predicates.and;
+import static org.geoserver.catalog.Predicates.contains;
+import static org.geoserver.catalog.Predicates.equal;
+import static org.geoserver.catalog.Predicates.isNull;
+import static org.geoserver.catalog.Predicates.or;
+import static org.geoserver.catalog.Predicates.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.Keyword;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.platform.GeoServerExtensionsHelper;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Checks the {@link DefaultCatalogFacade} secondary indexes and the queries answered by {@link CatalogIndexPlanner} */
+public class CatalogIndexPlannerTest {
+
+    private CatalogImpl catalog;
+
+    private DefaultCatalogFacade facade;
+
+    @Before
+    public void setUp() {
+        GeoServerExtensionsHelper.setIsSpringContext(false);
+        catalog = new CatalogImpl();
+        facade = new DefaultCatalogFacade(catalog);
+        catalog.setFacade(facade);
+
+        for (int w = 0; w < 3; w++) {
+            WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+            ws.setId("ws" + w + "-id");
+            ws.setName("ws" + w);
+            facade.add(ws);
+
+            NamespaceInfoImpl ns = new NamespaceInfoImpl();
+            ns.setId("ns" + w + "-id");
+            ns.setPrefix("ws" + w);
+            ns.setURI("http://www.geoserver.org/ws" + w);
+            facade.add(ns);
+
+            StyleInfoImpl style = new StyleInfoImpl(catalog);
+            style.setId("ws" + w + "-style-id");
+            style.setName("style");
+            style.setFilename("style.sld");
+            style.setWorkspace(ws);
+            facade.add(style);
+
+            for (int d = 0; d < 3; d++) {
+                DataStoreInfoImpl ds = new DataStoreInfoImpl(catalog, "ws" + w + "-ds" + d + "-id");
+                ds.setName("ws" + w + "-ds" + d);
+                ds.setWorkspace(ws);
+                ds.setEnabled(d != 1);
+                facade.add(ds);
+
+                for (int f = 4; f >= 0; f--) {
+                    FeatureTypeInfoImpl ft = new FeatureTypeInfoImpl(catalog, ds.getName() + "-ft" + f + "-id");
+                    ft.setName("ft" + f + "_" + d);
+                    ft.setNativeName(ft.getName());
+                    ft.setStore(ds);
+                    ft.setNamespace(ns);
+                    ft.setEnabled(f % 2 == 0);
+                    ft.getKeywords().add(new Keyword("k" + f));
+                    ft.getKeywords().add(new Keyword("d" + d));
+                    facade.add(ft);
+
+                    LayerInfoImpl layer = new LayerInfoImpl();
+                    layer.setId(ft.getId() + "-layer");
+                    layer.setResource(ft);
+                    facade.add(layer);
+                }
+            }
+
+            LayerGroupInfoImpl lg = new LayerGroupInfoImpl();
+            lg.setId("ws" + w + "-lg-id");
+            lg.setName("ft0_group");
+            lg.setWorkspace(ws);
+            facade.add(lg);
+        }
+
+        StyleInfoImpl global = new StyleInfoImpl(catalog);
+        global.setId("global-style-id");
+        global.setName("style");
+        global.setFilename("style.sld");
+        facade.add(global);
+
+        LayerGroupInfoImpl globalGroup = new LayerGroupInfoImpl();
+        globalGroup.setId("global-lg-id");
+        globalGroup.setName("global");
+        facade.add(globalGroup);
+    }
+
+    @Test
+    public void testPlannedQueriesMatchScan() {
+        assertPlanned(StoreInfo.class, equal("workspace.name", "ws1"), 3);
+        assertPlanned(DataStoreInfo.class, equal("enabled", false), 3);
+        assertPlanned(ResourceInfo.class, equal("store.workspace.name", "ws1"), 15);
+        assertPlanned(FeatureTypeInfo.class, and(equal("enabled", true), equal("namespace.prefix", "ws0")), 9);
+        assertPlanned(ResourceInfo.class, or(equal("store.name", "ws0-ds1"), equal("store.name", "ws1-ds0")), 10);
+        assertPlanned(ResourceInfo.class, equal("keywords.value", "k3"), 9);
+        assertPlanned(ResourceInfo.class, startsWith("name", "FT1"), 9);
+        assertPlanned(LayerInfo.class, equal("resource.store.workspace.name", "ws2"), 15);
+        assertPlanned(LayerInfo.class, equal("name", "ft2_0"), 3);
+        assertPlanned(LayerInfo.class, and(equal("name", "ft2_0"), equal("resource.namespace.prefix", "ws1")), 1);
+        assertPlanned(PublishedInfo.class, startsWith("name", "ft0"), 12);
+        assertPlanned(StyleInfo.class, isNull("workspace.id"), 1);
+        assertPlanned(StyleInfo.class, equal("workspace.name", "ws2"), 1);
+        assertPlanned(LayerGroupInfo.class, isNull("workspace.id"), 1);
+        assertPlanned(ResourceInfo.class, equal("id", "ws0-ds0-ft1-id"), 1);
+        assertPlanned(WorkspaceInfo.class, equal("name", "ws1"), 1);
+        assertPlanned(NamespaceInfo.class, equal("prefix", "ws3"), 0);
+    }
+
+    @Test
+    public void testNotPlannedQueries() {
+        CatalogIndexPlanner planner = new CatalogIndexPlanner(facade);
+        // case insensitive equality, not a prefix like, unindexed property
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        assertNull(planner.plan(ResourceInfo.class, ff.equal(ff.property("name"), ff.literal("FT1_0"), false)));
+        assertNull(planner.plan(ResourceInfo.class, contains("name", "t1")));
+        assertNull(planner.plan(ResourceInfo.class, equal("title", "abc")));
+        // or on different properties
+        assertNull(planner.plan(ResourceInfo.class, or(equal("name", "ft1_0"), equal("store.name", "ws0-ds0"))));
+    }
+
+    @Test
+    public void testFinders() {
+        WorkspaceInfo ws1 = facade.getWorkspaceByName("ws1");
+        List<StoreInfo> stores = facade.getStoresByWorkspace(ws1, StoreInfo.class);
+        assertEquals(List.of("ws1-ds0", "ws1-ds1", "ws1-ds2"), names(stores));
+
+        StoreInfo store = stores.get(2);
+        List<ResourceInfo> resources = facade.getResourcesByStore(store, ResourceInfo.class);
+        assertEquals(List.of("ft0_2", "ft1_2", "ft2_2", "ft3_2", "ft4_2"), names(resources));
+
+        NamespaceInfo ns1 = facade.getNamespaceByPrefix("ws1");
+        assertEquals(15, facade.getResourcesByNamespace(ns1, ResourceInfo.class).size());
+
+        assertEquals(List.of("global-style-id"), ids(facade.getStylesByWorkspace(NO_WORKSPACE)));
+        assertEquals(List.of("ws1-style-id"), ids(facade.getStylesByWorkspace(ws1)));
+        assertEquals(List.of("global-lg-id"), ids(facade.getLayerGroupsByWorkspace(NO_WORKSPACE)));
+        assertEquals(List.of("ws1-lg-id"), ids(facade.getLayerGroupsByWorkspace(ws1)));
+    }
+
+    @Test
+    public void testIndexesUpdatedOnSave() {
+        // rename a feature type, the layer follows
+        FeatureTypeInfo ft = facade.getResource("ws0-ds0-ft1-id", FeatureTypeInfo.class);
+        ft.setName("renamed");
+        ft.setEnabled(true);
+        facade.save(ft);
+
+        assertPlanned(ResourceInfo.class, equal("name", "renamed"), 1);
+        assertPlanned(LayerInfo.class, equal("name", "renamed"), 1);
+        assertPlanned(LayerInfo.class, equal("name", "ft1_0"), 2);
+        assertPlanned(FeatureTypeInfo.class, equal("enabled", true), 28);
+
+        // move a store to another workspace
+        WorkspaceInfo ws2 = facade.getWorkspaceByName("ws2");
+        StoreInfo store = facade.getStore("ws0-ds2-id", StoreInfo.class);
+        store.setWorkspace(ws2);
+        facade.save(store);
+        assertEquals(2, facade.getStoresByWorkspace(facade.getWorkspaceByName("ws0"), StoreInfo.class).size());
+        assertEquals(4, facade.getStoresByWorkspace(ws2, StoreInfo.class).size());
+        assertPlanned(LayerInfo.class, equal("resource.store.workspace.name", "ws2"), 20);
+
+        // move a style to the global workspace
+        StyleInfo style = facade.getStyle("ws0-style-id");
+        style.setWorkspace(null);
+        style.setName("another");
+        facade.save(style);
+        assertPlanned(StyleInfo.class, isNull("workspace.id"), 2);
+    }
+
+    @Test
+    public void testIndexesUpdatedOnRemove() {
+        LayerInfo layer = facade.getLayer("ws0-ds0-ft1-id-layer");
+        facade.remove(layer);
+        facade.remove(facade.getResource("ws0-ds0-ft1-id", ResourceInfo.class));
+
+        assertPlanned(ResourceInfo.class, equal("name", "ft1_0"), 2);
+        assertPlanned(LayerInfo.class, equal("name", "ft1_0"), 2);
+        assertPlanned(ResourceInfo.class, equal("keywords.value", "k1"), 8);
+        assertTrue(facade.getResourcesByStore(facade.getStore("ws0-ds0-id", StoreInfo.class), ResourceInfo.class)
+                .stream()
+                .noneMatch(r -> "ft1_0".equals(r.getName())));
+    }
+
+    @Test
+    public void testDispose() {
+        facade.dispose();
+        assertPlanned(ResourceInfo.class, equal("store.workspace.name", "ws1"), 0);
+        assertTrue(facade.resources
+                .listByIndex(ResourceInfo.class, "store.id", List.of("ws0-ds0-id"), CatalogInfoLookup.ptrue())
+                .isEmpty());
+    }
+
+    /** Checks the filter is answered via indexes, with the same results as a full scan */
+    private <T extends CatalogInfo> void assertPlanned(Class<T> type, Filter filter, int expected) {
+        if (!PublishedInfo.class.equals(type)) {
+            assertNotNull(new CatalogIndexPlanner(facade).plan(type, filter));
+        }
+        List<T> planned = Lists.newArrayList(facade.iterable(type, filter, null));
+        List<T> scanned = scan(type, filter);
+        assertEquals(ids(scanned), ids(planned));
+        assertEquals(expected, planned.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends CatalogInfo> List<T> scan(Class<T> type, Filter filter) {
+        if (PublishedInfo.class.equals(type)) {
+            List<T> result = (List<T>) scan(LayerInfo.class, filter);
+            result.addAll((List<T>) scan(LayerGroupInfo.class, filter));
+            return result;
+        }
+        CatalogInfoLookup<?> lookup = new CatalogIndexPlanner(facade).lookup(type);
+        return lookup.list(type, filter::evaluate);
+    }
+
+    private static List<String> ids(List<? extends CatalogInfo> infos) {
+        return infos.stream().map(CatalogInfo::getId).collect(Collectors.toList());
+    }
+
+    private static List<String> names(List<? extends CatalogInfo> infos) {
+        return infos.stream()
+                .map(i -> i instanceof StoreInfo ? ((StoreInfo) i).getName() : ((ResourceInfo) i).getName())
+                .collect(Collectors.toList());
+    }
+}
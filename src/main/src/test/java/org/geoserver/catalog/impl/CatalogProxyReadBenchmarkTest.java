@@ -0,0 +1,169 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFactory;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.DimensionInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.Keyword;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of looking up a layer and reading the properties a GetMap request typically uses, going through
+ * {@link ModificationProxy} and through the {@link ReadOnlyProxy read only views}. The GC profiler reports the
+ * allocation rate per operation, {@code gc.alloc.rate.norm}, along with the average time.
+ */
+@Ignore
+public class CatalogProxyReadBenchmarkTest {
+
+    static final int LAYERS = 1000;
+
+    /**
+     * Runs the JMH benchmark. This isn't a really test so it includes the @Ignore annotation; by integrating JMH with
+     * Junit it just provides us an easy way to run the benchmark (typically through the IDE).
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(CatalogProxyReadBenchmark.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .result("./target/catalog-proxy-read.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class CatalogProxyReadBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class CatalogState {
+
+            Catalog catalog;
+
+            String[] names = new String[LAYERS];
+
+            @Setup(Level.Trial)
+            public void setup() {
+                catalog = new CatalogImpl();
+                CatalogFactory factory = catalog.getFactory();
+                WorkspaceInfo ws = factory.createWorkspace();
+                ws.setName("bench");
+                catalog.add(ws);
+                NamespaceInfo ns = factory.createNamespace();
+                ns.setPrefix("bench");
+                ns.setURI("http://geoserver.org/bench");
+                catalog.add(ns);
+                DataStoreInfo ds = factory.createDataStore();
+                ds.setName("store");
+                ds.setWorkspace(ws);
+                catalog.add(ds);
+                StyleInfo style = factory.createStyle();
+                style.setName("style");
+                style.setFilename("style.sld");
+                catalog.add(style);
+                StyleInfo alternate = factory.createStyle();
+                alternate.setName("alternate");
+                alternate.setFilename("alternate.sld");
+                catalog.add(alternate);
+
+                for (int i = 0; i < LAYERS; i++) {
+                    FeatureTypeInfo ft = factory.createFeatureType();
+                    ft.setName("layer" + i);
+                    ft.setNativeName(ft.getName());
+                    ft.setStore(ds);
+                    ft.setNamespace(ns);
+                    ft.setEnabled(true);
+                    ft.setLatLonBoundingBox(new ReferencedEnvelope(-180, 180, -90, 90, DefaultGeographicCRS.WGS84));
+                    ft.getKeywords().add(new Keyword("keyword"));
+                    ft.getKeywords().add(new Keyword("layer" + i));
+                    DimensionInfo time = new DimensionInfoImpl();
+                    time.setEnabled(true);
+                    time.setAttribute("date");
+                    ft.getMetadata().put(ResourceInfo.TIME, time);
+                    catalog.add(ft);
+
+                    LayerInfo layer = factory.createLayer();
+                    layer.setResource(ft);
+                    layer.setDefaultStyle(style);
+                    layer.getStyles().add(alternate);
+                    catalog.add(layer);
+                    names[i] = "bench:layer" + i;
+                }
+            }
+
+            @TearDown(Level.Trial)
+            public void tearDown() {
+                catalog.dispose();
+            }
+        }
+
+        @Benchmark
+        public void modificationProxy(CatalogState state, Blackhole bh) {
+            read(state, bh);
+        }
+
+        @Benchmark
+        public void readOnlyView(CatalogState state, Blackhole bh) {
+            ReadOnlyCatalogMode.set(true);
+            try {
+                read(state, bh);
+            } finally {
+                ReadOnlyCatalogMode.remove();
+            }
+        }
+
+        private void read(CatalogState state, Blackhole bh) {
+            LayerInfo layer = state.catalog.getLayerByName(state.names[ThreadLocalRandom.current().nextInt(LAYERS)]);
+            ResourceInfo resource = layer.getResource();
+            bh.consume(layer.isEnabled());
+            bh.consume(layer.getDefaultStyle().getName());
+            for (StyleInfo style : layer.getStyles()) {
+                bh.consume(style.getName());
+            }
+            bh.consume(resource.getNamespace().getPrefix());
+            bh.consume(resource.getStore().getName());
+            bh.consume(resource.getLatLonBoundingBox());
+            bh.consume(resource.getKeywords().size());
+            bh.consume(resource.getMetadata().get(ResourceInfo.TIME, DimensionInfo.class));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFactory;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.Keyword;
+import org.geoserver.catalog.KeywordInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadOnlyProxyTest {
+
+    Catalog catalog;
+
+    @Before
+    public void setUp() {
+        catalog = new CatalogImpl();
+        CatalogFactory factory = catalog.getFactory();
+        WorkspaceInfo ws = factory.createWorkspace();
+        ws.setName("ws");
+        catalog.add(ws);
+        NamespaceInfo ns = factory.createNamespace();
+        ns.setPrefix("ws");
+        ns.setURI("http://geoserver.org/ws");
+        catalog.add(ns);
+        DataStoreInfo ds = factory.createDataStore();
+        ds.setName("store");
+        ds.setWorkspace(ws);
+        catalog.add(ds);
+        StyleInfo style = factory.createStyle();
+        style.setName("style");
+        style.setFilename("style.sld");
+        catalog.add(style);
+        FeatureTypeInfo ft = factory.createFeatureType();
+        ft.setName("ft");
+        ft.setNativeName("ft");
+        ft.setStore(ds);
+        ft.setNamespace(ns);
+        ft.getKeywords().add(new Keyword("keyword"));
+        ft.getMetadata().put("key", "value");
+        catalog.add(ft);
+        LayerInfo layer = factory.createLayer();
+        layer.setResource(ft);
+        layer.setDefaultStyle(style);
+        layer.getStyles().add(style);
+        catalog.add(layer);
+    }
+
+    @Test
+    public void testGettersDelegate() {
+        FeatureTypeInfo ft = ModificationProxy.unwrap(catalog.getFeatureTypeByName("ws", "ft"));
+        FeatureTypeInfo view = ReadOnlyProxy.create(ft, FeatureTypeInfo.class);
+
+        assertThat(view.getName(), equalTo("ft"));
+        assertThat(view.getMetadata().get("key"), equalTo("value"));
+        assertThat(view.getKeywords().get(0).getValue(), equalTo("keyword"));
+        assertThat(ModificationProxy.unwrap(view), sameInstance(ft));
+        assertFalse(ModificationProxy.handler(view).isDirty());
+    }
+
+    @Test
+    public void testSameViewForSameObject() {
+        FeatureTypeInfo ft = ModificationProxy.unwrap(catalog.getFeatureTypeByName("ws", "ft"));
+
+        FeatureTypeInfo view = ReadOnlyProxy.create(ft, FeatureTypeInfo.class);
+        assertThat(ReadOnlyProxy.create(ft, FeatureTypeInfo.class), sameInstance(view));
+    }
+
+    @Test
+    public void testNoModifications() {
+        FeatureTypeInfo ft = ModificationProxy.unwrap(catalog.getFeatureTypeByName("ws", "ft"));
+        FeatureTypeInfo view = ReadOnlyProxy.create(ft, FeatureTypeInfo.class);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.setName("other"));
+        assertThrows(UnsupportedOperationException.class, () -> view.getMetadata().put("key", "other"));
+        List<KeywordInfo> keywords = view.getKeywords();
+        assertThrows(UnsupportedOperationException.class, () -> keywords.add(new Keyword("other")));
+        assertThat(ft.getName(), equalTo("ft"));
+        assertThat(ft.getMetadata().get("key"), equalTo("value"));
+        assertThat(ft.getKeywords().size(), equalTo(1));
+    }
+
+    @Test
+    public void testNestedViews() {
+        LayerInfo layer = ModificationProxy.unwrap(catalog.getLayerByName("ws:ft"));
+        LayerInfo view = ReadOnlyProxy.create(layer, LayerInfo.class);
+
+        assertThat(ModificationProxy.handler(view.getResource()), instanceOf(ReadOnlyProxy.class));
+        assertThat(ModificationProxy.handler(view.getResource().getStore()), instanceOf(ReadOnlyProxy.class));
+        assertThat(ModificationProxy.handler(view.getDefaultStyle()), instanceOf(ReadOnlyProxy.class));
+        StyleInfo style = view.getStyles().iterator().next();
+        assertThat(ModificationProxy.handler(style), instanceOf(ReadOnlyProxy.class));
+        assertTrue(view.getStyles().contains(style));
+        assertThrows(UnsupportedOperationException.class, () -> view.getStyles().clear());
+    }
+
+    @Test
+    public void testCatalogReadOnlyMode() {
+        assertThat(ModificationProxy.handler(catalog.getLayerByName("ws:ft")), instanceOf(ModificationProxy.class));
+        assertFalse(ModificationProxy.handler(catalog.getLayerByName("ws:ft")) instanceof ReadOnlyProxy);
+
+        ReadOnlyCatalogMode.set(true);
+        try {
+            LayerInfo layer = catalog.getLayerByName("ws:ft");
+            assertThat(ModificationProxy.handler(layer), instanceOf(ReadOnlyProxy.class));
+            assertThat(catalog.getLayerByName("ws:ft"), sameInstance(layer));
+            assertThat(
+                    ModificationProxy.handler(catalog.getFeatureTypes().get(0)), instanceOf(ReadOnlyProxy.class));
+            assertThat(catalog.getStyles().get(0), sameInstance(layer.getDefaultStyle()));
+        } finally {
+            ReadOnlyCatalogMode.remove();
+        }
+
+        // modifications work again once the mode is off
+        LayerInfo layer = catalog.getLayerByName("ws:ft");
+        layer.setEnabled(false);
+        catalog.save(layer);
+        assertFalse(catalog.getLayerByName("ws:ft").isEnabled());
+    }
+}
@@ -0,0 +1,181 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.Operation;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class CapabilitiesCacheTest {
+
+    /** Writes a different document on each call */
+    static class CountingResponse extends Response {
+
+        int writes;
+
+        CountingResponse() {
+            super(Object.class);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) {
+            return "text/xml";
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation) throws IOException {
+            writes++;
+            output.write(("<Capabilities>" + writes + "</Capabilities>").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    GeoServer gs;
+
+    Catalog catalog;
+
+    CapabilitiesCache cache;
+
+    CountingResponse delegate;
+
+    DataAccessRuleDAO dao;
+
+    @Before
+    public void setup() {
+        gs = mock(GeoServer.class);
+        catalog = mock(Catalog.class);
+        when(gs.getCatalog()).thenReturn(catalog);
+        dao = mock(DataAccessRuleDAO.class);
+        when(dao.getLastModified()).thenReturn(1L);
+        cache = new CapabilitiesCache(gs, dao, "maximumSize=10");
+        delegate = new CountingResponse();
+    }
+
+    static Request request(String service, String... kvp) {
+        Request request = new Request();
+        request.setService(service);
+        request.setRequest("GetCapabilities");
+        request.setVersion("1.3.0");
+        request.setGet(true);
+        Map<String, Object> raw = new HashMap<>();
+        for (int i = 0; i < kvp.length; i += 2) {
+            raw.put(kvp[i], kvp[i + 1]);
+        }
+        request.setRawKvp(raw);
+        request.setHttpRequest(new MockHttpServletRequest("GET", "/geoserver/" + service.toLowerCase()));
+        return request;
+    }
+
+    String write(Request request) throws IOException {
+        Response response = cache.responseDispatched(request, null, null, delegate);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        response.write(null, bos, null);
+        return bos.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testDisabled() {
+        CapabilitiesCache disabled = new CapabilitiesCache(gs, dao, null);
+        assertFalse(disabled.isEnabled());
+        assertSame(delegate, disabled.responseDispatched(request("WMS"), null, null, delegate));
+    }
+
+    @Test
+    public void testCached() throws Exception {
+        assertEquals("<Capabilities>1</Capabilities>", write(request("WMS", "service", "WMS")));
+        assertEquals("<Capabilities>1</Capabilities>", write(request("WMS", "SERVICE", "WMS")));
+        assertEquals(1, delegate.writes);
+        assertEquals(1, cache.getStats().hitCount());
+    }
+
+    @Test
+    public void testExpirationForced() {
+        assertEquals(
+                "maximumSize=10,expireAfterWrite=" + CapabilitiesCache.DEFAULT_EXPIRATION, cache.getSpecification());
+        String spec = "maximumSize=10,expireAfterWrite=1h";
+        assertEquals(spec, new CapabilitiesCache(gs, dao, spec).getSpecification());
+    }
+
+    @Test
+    public void testRefreshedOnSecurityRulesChanges() throws Exception {
+        write(request("WMS"));
+        when(dao.getLastModified()).thenReturn(2L);
+        assertEquals("<Capabilities>2</Capabilities>", write(request("WMS")));
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        write(request("WMS"));
+        write(request("WMS", "namespace", "topp"));
+        write(request("WFS"));
+
+        Request proxied = request("WMS");
+        ((MockHttpServletRequest) proxied.getHttpRequest()).addHeader("X-Forwarded-Host", "example.com");
+        write(proxied);
+        assertEquals(4, delegate.writes);
+    }
+
+    @Test
+    public void testOnlyGetCapabilities() {
+        Request post = request("WMS");
+        post.setGet(false);
+        assertSame(delegate, cache.responseDispatched(post, null, null, delegate));
+
+        Request getMap = request("WMS");
+        getMap.setRequest("GetMap");
+        assertSame(delegate, cache.responseDispatched(getMap, null, null, delegate));
+
+        assertNotSame(delegate, cache.responseDispatched(request("WMS"), null, null, delegate));
+    }
+
+    @Test
+    public void testInvalidatedByCatalogChanges() throws Exception {
+        verify(catalog).addListener(cache);
+        write(request("WMS"));
+        cache.handlePostModifyEvent(mock(CatalogPostModifyEvent.class));
+        assertEquals("<Capabilities>2</Capabilities>", write(request("WMS")));
+    }
+
+    @Test
+    public void testInvalidatedByConfigurationChanges() throws Exception {
+        ArgumentCaptor<ConfigurationListener> listener = ArgumentCaptor.forClass(ConfigurationListener.class);
+        verify(gs).addListener(listener.capture());
+        write(request("WMS"));
+        listener.getValue().handlePostServiceChange(null);
+        assertEquals("<Capabilities>2</Capabilities>", write(request("WMS")));
+    }
+
+    @Test
+    public void testNotCachedWhenInvalidatedDuringEncoding() throws Exception {
+        // the response is dispatched against the old configuration, but written after the change
+        Response response = cache.responseDispatched(request("WMS"), null, null, delegate);
+        cache.invalidate();
+        response.write(null, new ByteArrayOutputStream(), null);
+
+        assertEquals("<Capabilities>2</Capabilities>", write(request("WMS")));
+        assertTrue(cache.isEnabled());
+    }
+}
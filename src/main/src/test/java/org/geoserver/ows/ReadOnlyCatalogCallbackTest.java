@@ -0,0 +1,56 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.impl.ReadOnlyCatalogMode;
+import org.geoserver.platform.Service;
+import org.geotools.util.Version;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReadOnlyCatalogCallbackTest {
+
+    @After
+    public void clearMode() {
+        ReadOnlyCatalogMode.remove();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        ReadOnlyCatalogCallback callback = new ReadOnlyCatalogCallback(null);
+        assertFalse(callback.isReadOnly("wms", "GetMap"));
+    }
+
+    @Test
+    public void testServicesAndRequests() {
+        ReadOnlyCatalogCallback callback = new ReadOnlyCatalogCallback(" WMS.GetMap , wfs,");
+        assertTrue(callback.isReadOnly("wms", "GetMap"));
+        assertTrue(callback.isReadOnly("WMS", "getmap"));
+        assertFalse(callback.isReadOnly("wms", "GetFeatureInfo"));
+        assertTrue(callback.isReadOnly("wfs", "Transaction"));
+        assertFalse(callback.isReadOnly("wps", "Execute"));
+        assertFalse(callback.isReadOnly(null, "GetMap"));
+    }
+
+    @Test
+    public void testModeLifecycle() {
+        ReadOnlyCatalogCallback callback = new ReadOnlyCatalogCallback("wms.GetMap");
+        Service wms = new Service("wms", new Object(), new Version("1.1.1"), null);
+        Request request = new Request();
+        request.setRequest("GetMap");
+
+        callback.serviceDispatched(request, wms);
+        assertTrue(ReadOnlyCatalogMode.isEnabled());
+        callback.finished(request);
+        assertFalse(ReadOnlyCatalogMode.isEnabled());
+
+        request.setRequest("GetFeatureInfo");
+        callback.serviceDispatched(request, wms);
+        assertFalse(ReadOnlyCatalogMode.isEnabled());
+    }
+}
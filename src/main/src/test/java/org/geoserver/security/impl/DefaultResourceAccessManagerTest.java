@@ -4,13 +4,26 @@
  */
 package org.geoserver.security.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.ResourceCacheStatistics;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.security.AccessMode;
 import org.geoserver.security.WorkspaceAccessLimits;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -39,4 +52,83 @@ public void getAccessLimits() {
 
         assertNotNull(workspaceAccessLimits);
     }
+
+    @Test
+    public void testDecisionCache() throws Exception {
+        DataAccessRuleDAO dao = mock(DataAccessRuleDAO.class);
+        when(dao.getRules()).thenReturn(List.of(new DataAccessRule("ws", "*", AccessMode.READ, "ROLE_A")));
+        when(dao.getLastModified()).thenReturn(1L);
+        Catalog catalog = mock(Catalog.class);
+        LayerGroupContainmentCache groupsCache = new LayerGroupContainmentCache(catalog);
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dao, catalog);
+        manager.setGroupsCache(groupsCache);
+        // the manager relies on the containment cache listener, it does not add its own
+        verify(catalog, times(2)).addListener(any(CatalogListener.class));
+
+        WorkspaceInfo ws = mock(WorkspaceInfo.class);
+        when(ws.getName()).thenReturn("ws");
+        when(ws.getId()).thenReturn("ws-id");
+        Authentication userA = user("ROLE_A");
+        Authentication userB = user("ROLE_B");
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(manager.canAccess(userA, ws, AccessMode.READ));
+            assertFalse(manager.canAccess(userB, ws, AccessMode.READ));
+        }
+        ResourceCacheStatistics stats = manager.getDecisionCacheStatistics();
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getSize());
+        assertEquals(-1, stats.getLoadCount());
+        assertEquals(-1, stats.getTotalLoadTime());
+
+        // rules reload
+        when(dao.getRules()).thenReturn(List.of(new DataAccessRule("ws", "*", AccessMode.READ, "ROLE_B")));
+        when(dao.getLastModified()).thenReturn(2L);
+        assertFalse(manager.canAccess(userA, ws, AccessMode.READ));
+        assertTrue(manager.canAccess(userB, ws, AccessMode.READ));
+
+        // catalog changes, decisions computed before the post modify are not reused after it
+        LayerGroupContainmentCache.CatalogChangeListener listener = groupsCache.new CatalogChangeListener();
+        CatalogModifyEvent modify = mock(CatalogModifyEvent.class);
+        when(modify.getSource()).thenReturn(ws);
+        listener.handleModifyEvent(modify);
+        assertFalse(manager.canAccess(userA, ws, AccessMode.READ));
+        long misses = manager.getDecisionCacheStatistics().getMissCount();
+        CatalogPostModifyEvent postModify = mock(CatalogPostModifyEvent.class);
+        when(postModify.getSource()).thenReturn(ws);
+        listener.handlePostModifyEvent(postModify);
+        assertFalse(manager.canAccess(userA, ws, AccessMode.READ));
+        assertEquals(misses + 1, manager.getDecisionCacheStatistics().getMissCount());
+        assertEquals(1, manager.getDecisionCacheStatistics().getSize());
+    }
+
+    @Test
+    public void testNoDecisionCacheWithoutContainmentCache() throws Exception {
+        DataAccessRuleDAO dao = mock(DataAccessRuleDAO.class);
+        when(dao.getRules()).thenReturn(List.of(new DataAccessRule("ws", "*", AccessMode.READ, "ROLE_A")));
+        when(dao.getLastModified()).thenReturn(1L);
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dao, mock(Catalog.class));
+
+        // catalog changes would go unnoticed, decisions are computed every time
+        WorkspaceInfo ws = mock(WorkspaceInfo.class);
+        when(ws.getName()).thenReturn("ws");
+        when(ws.getId()).thenReturn("ws-id");
+        Authentication userA = user("ROLE_A");
+        for (int i = 0; i < 2; i++) {
+            assertTrue(manager.canAccess(userA, ws, AccessMode.READ));
+        }
+        ResourceCacheStatistics stats = manager.getDecisionCacheStatistics();
+        assertEquals(0, stats.getMissCount());
+        assertEquals(0, stats.getHitCount());
+        assertEquals(0, stats.getSize());
+    }
+
+    private Authentication user(String role) {
+        Authentication authentication = mock(Authentication.class);
+        Collection<? extends GrantedAuthority> authorities = Collections.singletonList(new GeoServerRole(role));
+        Mockito.<Collection<? extends GrantedAuthority>>when(authentication.getAuthorities())
+                .thenReturn(authorities);
+        return authentication;
+    }
 }
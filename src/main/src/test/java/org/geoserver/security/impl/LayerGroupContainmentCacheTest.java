@@ -8,17 +8,24 @@
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.xml.namespace.QName;
 import org.geoserver.catalog.CascadeDeleteVisitor;
@@ -382,4 +389,87 @@ public void testChangeGroupMode() throws Exception {
         summary = cc.groupCache.get(nature.getId());
         assertEquals(Mode.OPAQUE_CONTAINER, summary.getMode());
     }
+
+    /**
+     * Mixes group edits with concurrent lookups, as performed by the resource access manager while serving secured
+     * requests: lookups must never fail nor miss a containment that is not being edited, and the cache must end up
+     * matching a freshly built one.
+     */
+    @Test
+    public void testConcurrentEditsAndLookups() throws Exception {
+        LayerInfo neatline = catalog.getLayerByName(getLayerId(MockData.MAP_NEATLINE));
+        LayerInfo bridges = catalog.getLayerByName(getLayerId(MockData.BRIDGES));
+        AtomicBoolean editing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    int lookups = 0;
+                    while (editing.get()) {
+                        assertThat(containerNamesForResource(MockData.ROAD_SEGMENTS), hasItem(CONTAINER_GROUP));
+                        assertThat(containerNamesForResource(MockData.LAKES), hasItem(CONTAINER_GROUP));
+                        assertThat(containerNamesForGroup(nature), hasItem(CONTAINER_GROUP));
+                        containerNamesForResource(MockData.MAP_NEATLINE);
+                        containerNamesForResource(MockData.BRIDGES);
+                        lookups++;
+                    }
+                    return lookups;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                try {
+                    for (int i = 0; i < 100; i++) {
+                        LayerGroupInfo lg = catalog.getLayerGroup(nature.getId());
+                        lg.getLayers().add(neatline);
+                        lg.getStyles().add(null);
+                        lg.setMode(i % 2 == 0 ? Mode.NAMED : Mode.SINGLE);
+                        catalog.save(lg);
+
+                        LayerGroupInfo nested = addLayerGroup("nested" + i, Mode.NAMED, null, bridges);
+                        LayerGroupInfo c = catalog.getLayerGroup(container.getId());
+                        c.getLayers().add(nested);
+                        c.getStyles().add(null);
+                        catalog.save(c);
+
+                        lg = catalog.getLayerGroup(nature.getId());
+                        lg.getStyles().remove(lg.getLayers().indexOf(neatline));
+                        lg.getLayers().remove(neatline);
+                        catalog.save(lg);
+
+                        c = catalog.getLayerGroup(container.getId());
+                        c.getStyles().remove(c.getLayers().indexOf(nested));
+                        c.getLayers().remove(nested);
+                        catalog.save(c);
+                        catalog.remove(nested);
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    editing.set(false);
+                }
+            });
+            writer.get();
+            for (Future<Integer> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            editing.set(false);
+            executor.shutdown();
+        }
+
+        // the incrementally maintained cache matches a rebuilt one
+        LayerGroupContainmentCache rebuilt = new LayerGroupContainmentCache(catalog);
+        for (LayerInfo layer : catalog.getLayers()) {
+            Set<String> expected = rebuilt.getContainerGroupsFor(layer.getResource()).stream()
+                    .map(LayerGroupSummary::prefixedName)
+                    .collect(Collectors.toSet());
+            Set<String> actual = cc.getContainerGroupsFor(layer.getResource()).stream()
+                    .map(LayerGroupSummary::prefixedName)
+                    .collect(Collectors.toSet());
+            assertEquals(layer.getName(), expected, actual);
+        }
+        assertEquals(rebuilt.groupCache.keySet(), cc.groupCache.keySet());
+        assertThat(containerNamesForResource(MockData.BRIDGES), empty());
+    }
 }
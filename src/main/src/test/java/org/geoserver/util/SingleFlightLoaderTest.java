@@ -0,0 +1,127 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class SingleFlightLoaderTest {
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSingleLoadPerKey() throws Exception {
+        SingleFlightLoader<String, Object> loader = new SingleFlightLoader<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object value = new Object();
+
+        int threads = 10;
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> loader.load("key", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return value;
+            })));
+        }
+        // wait for the load to start, and the other threads to pile up
+        while (loads.get() == 0 || loader.getSharedLoadCount() < threads - 1) {
+            Thread.sleep(10);
+        }
+        assertTrue(loader.isLoading("key"));
+        release.countDown();
+
+        for (Future<Object> f : futures) {
+            assertSame(value, f.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, loader.getLoadCount());
+        assertFalse(loader.isLoading("key"));
+    }
+
+    @Test
+    public void testOtherKeysNotBlocked() throws Exception {
+        SingleFlightLoader<String, String> loader = new SingleFlightLoader<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slow = executor.submit(() -> loader.load("slow", () -> {
+            await(release);
+            return "slow";
+        }));
+        while (!loader.isLoading("slow")) {
+            Thread.sleep(10);
+        }
+
+        // a different key loads while the slow one is still in progress
+        assertEquals("fast", loader.load("fast", () -> "fast"));
+        assertFalse(slow.isDone());
+
+        release.countDown();
+        assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailureSharedWithWaiters() throws Exception {
+        SingleFlightLoader<String, String> loader = new SingleFlightLoader<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> owner = executor.submit(() -> loader.load("key", () -> {
+            await(release);
+            throw new IOException("Cannot connect");
+        }));
+        while (!loader.isLoading("key")) {
+            Thread.sleep(10);
+        }
+        Future<String> waiter = executor.submit(() -> loader.load("key", () -> "unexpected"));
+        while (loader.getSharedLoadCount() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        ExecutionException e1 = assertThrows(ExecutionException.class, () -> owner.get(10, TimeUnit.SECONDS));
+        assertEquals("Cannot connect", e1.getCause().getMessage());
+        ExecutionException e2 = assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+        assertTrue(e2.getCause() instanceof IOException);
+        assertEquals("Cannot connect", e2.getCause().getMessage());
+
+        // the failure is not remembered, next load runs again
+        assertEquals("ok", loader.load("key", () -> "ok"));
+    }
+
+    @Test
+    public void testRecursiveLoad() throws Exception {
+        SingleFlightLoader<String, String> loader = new SingleFlightLoader<>();
+        assertThrows(IllegalStateException.class, () -> loader.load("key", () -> loader.load("key", () -> "inner")));
+        assertFalse(loader.isLoading("key"));
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
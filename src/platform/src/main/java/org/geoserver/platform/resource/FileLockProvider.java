@@ -39,7 +39,8 @@ public class FileLockProvider implements LockProvider, ServletContextAware {
     /** max lock attempts */
     int maxLockAttempts = 120 * 1000 / waitBeforeRetry;
 
-    MemoryLockProvider memoryProvider = new MemoryLockProvider();
+    /** Synchronizes the threads of this JVM, the file locks only work across processes */
+    StripedLockProvider memoryProvider = new StripedLockProvider();
 
     public FileLockProvider() {
         // base directory obtained from servletContext
@@ -10,6 +10,18 @@
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,15 +33,19 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.resource.ResourceNotification.Kind;
 import org.geotools.util.logging.Logging;
 import org.springframework.beans.factory.DisposableBean;
@@ -38,8 +54,13 @@
 /**
  * Active object (using a ScheduledExecutorService) used to watch file system for changes.
  *
- * <p>This implementation currently polls the file system and should be updated with Java 7 WatchService when available.
- * The internal design is similar to WatchService, WatchKey and WatchEvent in order to facilitate this transition.
+ * <p>When the platform provides a native {@link WatchService} the watched directories (recursively) and the parents of
+ * the watched files are registered with it, and the events it reports schedule a check of the affected watches only.
+ * Events arriving within {@link #coalesceDelay} are coalesced into a single notification per watch, and the periodic
+ * poll skips the natively watched paths, other than for an infrequent safety check. Paths that cannot be registered,
+ * e.g. on network file systems whose remote changes are not reported, keep being polled, as do all paths when the
+ * {@link #NATIVE_WATCH} property is set to false. Watches whose registration is lost, e.g. because their directory has
+ * been removed, are polled until they can be registered again.
  *
  * <p>This implementation makes a few concessions to being associated with ResourceStore, reporting changes with
  * resource paths rather than files.
@@ -117,11 +138,21 @@ private class Watch implements Comparable<Watch> {
         private Set<File> children = null;
         private long childrenLastModifiedMax = 0L;
 
+        /** Absolute path of the watched file, null if the file cannot be represented as a {@link Path} */
+        final Path nioPath;
+
+        /** Whether changes are reported by the native watch service, rather than found by polling */
+        volatile boolean nativeWatched;
+
+        /** Whether the native registration has been invalidated, and should be retried while polling */
+        volatile boolean reregister;
+
         public Watch(File file, String path) {
             Objects.requireNonNull(file);
             Objects.requireNonNull(path);
             this.file = file;
             this.path = path;
+            this.nioPath = toPath(file);
             this.exsists = file.exists();
             this.last = exsists ? file.lastModified() : 0;
             if (file.isDirectory()) {
@@ -258,6 +289,19 @@ private Delta pollDirectory() {
             return delta;
         }
 
+        /**
+         * Checks the watched file after a native event reported it as modified, the modification time may not have
+         * changed if the file system resolution is coarse
+         */
+        public Delta modified(long now) {
+            Delta delta = changed(now);
+            if (delta == null && exsists && file.isFile()) {
+                this.last = file.lastModified();
+                delta = new Delta(file, Kind.ENTRY_MODIFY);
+            }
+            return delta;
+        }
+
         private Delta simpleFileCheck() {
             long fileModified = file.lastModified();
             if (fileModified > last || !exsists) {
@@ -303,69 +347,303 @@ public boolean isMatch(File file, String path) {
     CopyOnWriteArrayList<Watch> watchers = new CopyOnWriteArrayList<>();
 
     /**
-     * Note we have a single runnable here to review all outstanding Watch instances. The focus is on using minimal
-     * system resources while we wait for Java 7 WatchService (to be more efficient).
+     * Note we have a single runnable here to review all outstanding Watch instances. The paths reported by the native
+     * watch service are only reviewed every {@link #safetyPollInterval}, in case an event has been missed.
      */
     private Runnable sync = new Runnable() {
         @Override
         public void run() {
             long now = System.currentTimeMillis();
+            boolean safetyPoll = now - lastSafetyPoll >= safetyPollInterval;
+            if (safetyPoll) lastSafetyPoll = now;
             for (Watch watch : watchers) {
                 if (watch.getListeners().isEmpty()) {
                     watchers.remove(watch);
                     continue;
                 }
-                final boolean directory = watch.file.isDirectory();
-                Level level = Level.FINER;
-                long start = System.nanoTime();
-                if (directory) LOGGER.log(level, "polling contents of " + watch.file);
-                Delta delta;
-                try {
-                    delta = watch.changed(now);
-                } catch (RuntimeException e) {
-                    LOGGER.log(Level.WARNING, "Error polling contents of " + watch.file, e);
+                // the first poll after registering again catches the changes made while unregistered
+                boolean reregistered = watch.reregister && reregister(watch);
+                if (watch.nativeWatched && !safetyPoll && !reregistered) {
+                    continue;
+                }
+                if (!check(watch, now, false)) {
                     return;
                 }
-                if (directory && LOGGER.isLoggable(level)) {
-                    long ellapsedMicros = MICROSECONDS.convert(System.nanoTime() - start, NANOSECONDS);
-                    long ellapsedMillis = MILLISECONDS.convert(ellapsedMicros, MICROSECONDS);
-                    String unit = ellapsedMillis == 0L ? "us" : "ms";
-                    long time = ellapsedMillis == 0L ? ellapsedMicros : ellapsedMillis;
-                    LOGGER.log(level, String.format("delta computed in %,d%s for %s", time, unit, watch.file));
+            }
+        }
+    };
+
+    /** Registers again a watch whose native registration has been invalidated, returns true if successful */
+    private boolean reregister(Watch watch) {
+        NativeWatcher watcher = nativeWatcher;
+        if (watcher == null) {
+            return false;
+        }
+        synchronized (watch) {
+            if (!watch.reregister || !watcher.register(watch)) {
+                return false;
+            }
+            watch.reregister = false;
+            watch.nativeWatched = true;
+            return true;
+        }
+    }
+
+    /** Reviews the watches affected by the native events collected so far */
+    private Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            long now = System.currentTimeMillis();
+            for (Iterator<Watch> it = pending.keySet().iterator(); it.hasNext(); ) {
+                Watch watch = it.next();
+                boolean modified = Boolean.TRUE.equals(pending.remove(watch));
+                if (watchers.contains(watch)) {
+                    check(watch, now, modified);
                 }
-                if (delta != null) {
-                    notify(watch, delta);
+            }
+        }
+    };
+
+    /**
+     * Computes the changes of a watch and notifies its listeners
+     *
+     * @param modified whether a native event reported the watched file itself as modified
+     * @return false if the changes could not be computed
+     */
+    private boolean check(Watch watch, long now, boolean modified) {
+        final boolean directory = watch.file.isDirectory();
+        Level level = Level.FINER;
+        long start = System.nanoTime();
+        if (directory) LOGGER.log(level, "polling contents of " + watch.file);
+        Delta delta;
+        try {
+            delta = modified ? watch.modified(now) : watch.changed(now);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error polling contents of " + watch.file, e);
+            return false;
+        }
+        if (directory && LOGGER.isLoggable(level)) {
+            long ellapsedMicros = MICROSECONDS.convert(System.nanoTime() - start, NANOSECONDS);
+            long ellapsedMillis = MILLISECONDS.convert(ellapsedMicros, MICROSECONDS);
+            String unit = ellapsedMillis == 0L ? "us" : "ms";
+            long time = ellapsedMillis == 0L ? ellapsedMicros : ellapsedMillis;
+            LOGGER.log(level, String.format("delta computed in %,d%s for %s", time, unit, watch.file));
+        }
+        if (delta != null) {
+            notify(watch, delta);
+        }
+        return true;
+    }
+
+    private void notify(Watch watch, Delta delta) {
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.config(String.format(
+                    "Notifying %s change on %s. Created: %,d, removed: %,d, modified: %,d",
+                    delta.kind, delta.context, delta.created.size(), delta.removed.size(), delta.modified.size()));
+        }
+        // do not call listeners on the watch thread, they may take a
+        // considerable amount of time to process the events
+        CompletableFuture.runAsync(() -> {
+            /** Created based on created/removed/modified files */
+            List<ResourceNotification.Event> events =
+                    ResourceNotification.delta(watch.file, delta.created, delta.removed, delta.modified);
+
+            ResourceNotification notify = new ResourceNotification(watch.getPath(), delta.kind, watch.last, events);
+
+            for (ResourceListener listener : watch.getListeners()) {
+                try {
+                    listener.changed(notify);
+                } catch (Throwable t) {
+                    Logger logger = Logger.getLogger(listener.getClass().getPackage().getName());
+                    logger.log(Level.FINE, "Unable to notify " + watch + ":" + t.getMessage(), t);
                 }
             }
+        });
+    }
+
+    /**
+     * Receives the events of the native watch service, collecting the affected watches and scheduling their review
+     * after {@link #coalesceDelay}.
+     */
+    private class NativeWatcher implements Runnable {
+
+        final WatchService service;
+
+        /** Registered directories */
+        final Set<Path> registered = ConcurrentHashMap.newKeySet();
+
+        /** Directories registered along with all their sub directories */
+        final Set<Path> trees = ConcurrentHashMap.newKeySet();
+
+        final Thread thread;
+
+        NativeWatcher(WatchService service) {
+            this.service = service;
+            this.thread = tFactory.newThread(this);
+            this.thread.start();
         }
 
-        private void notify(Watch watch, Delta delta) {
-            if (LOGGER.isLoggable(Level.INFO)) {
-                LOGGER.config(String.format(
-                        "Notifying %s change on %s. Created: %,d, removed: %,d, modified: %,d",
-                        delta.kind, delta.context, delta.created.size(), delta.removed.size(), delta.modified.size()));
+        /** Registers the watch with the service, returning false if its changes need to be polled instead */
+        boolean register(Watch watch) {
+            if (watch.nioPath == null) return false;
+            try {
+                Path path = watch.nioPath;
+                if (java.nio.file.Files.isDirectory(path)) {
+                    registerTree(path);
+                } else {
+                    Path parent = path.getParent();
+                    if (parent == null || !java.nio.file.Files.isDirectory(parent)) return false;
+                    registerDirectory(parent);
+                }
+                return true;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Polling " + watch.file + " for changes", e);
+                return false;
             }
-            // do not call listeners on the watch thread, they may take a
-            // considerable amount of time to process the events
-            CompletableFuture.runAsync(() -> {
-                /** Created based on created/removed/modified files */
-                List<ResourceNotification.Event> events =
-                        ResourceNotification.delta(watch.file, delta.created, delta.removed, delta.modified);
-
-                ResourceNotification notify = new ResourceNotification(watch.getPath(), delta.kind, watch.last, events);
-
-                for (ResourceListener listener : watch.getListeners()) {
-                    try {
-                        listener.changed(notify);
-                    } catch (Throwable t) {
-                        Logger logger = Logger.getLogger(
-                                listener.getClass().getPackage().getName());
-                        logger.log(Level.FINE, "Unable to notify " + watch + ":" + t.getMessage(), t);
-                    }
+        }
+
+        private void registerTree(Path root) throws IOException {
+            trees.add(root);
+            java.nio.file.Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    registerDirectory(dir);
+                    return FileVisitResult.CONTINUE;
                 }
             });
         }
-    };
+
+        private void registerDirectory(Path dir) throws IOException {
+            if (registered.contains(dir)) return;
+            String type = java.nio.file.Files.getFileStore(dir).type();
+            if (type != null && REMOTE_FILE_STORES.contains(type.toLowerCase())) {
+                throw new IOException(dir + " is on a " + type + " file system, remote changes are not reported");
+            }
+            dir.register(
+                    service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            registered.add(dir);
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key;
+                try {
+                    key = service.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                }
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // events have been lost, review all the natively watched paths
+                        watchers.stream().filter(w -> w.nativeWatched).forEach(w -> pending.putIfAbsent(w, false));
+                    } else {
+                        Path child = dir.resolve((Path) event.context());
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                            created(child);
+                        }
+                        collect(dir, child, event.kind() == StandardWatchEventKinds.ENTRY_MODIFY);
+                    }
+                }
+                if (!key.reset()) {
+                    invalidated(dir);
+                }
+                scheduleFlush();
+            }
+        }
+
+        /**
+         * The directory is not watched anymore, e.g. because it has been removed. The watches registered through it go
+         * back to polling, and are registered again by the periodic sync once possible.
+         */
+        private void invalidated(Path dir) {
+            registered.remove(dir);
+            trees.remove(dir);
+            for (Watch watch : watchers) {
+                Path path = watch.nioPath;
+                if (path == null || !(path.equals(dir) || dir.equals(path.getParent()))) continue;
+                synchronized (watch) {
+                    if (watch.nativeWatched) {
+                        watch.nativeWatched = false;
+                        watch.reregister = true;
+                        pending.putIfAbsent(watch, false);
+                    }
+                }
+            }
+        }
+
+        /** Registers the directories created inside a recursively registered one */
+        private void created(Path child) {
+            if (!java.nio.file.Files.isDirectory(child)) return;
+            boolean inTree = trees.stream().anyMatch(child::startsWith)
+                    || watchers.stream().anyMatch(w -> child.equals(w.nioPath));
+            if (inTree) {
+                try {
+                    registerTree(child);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Unable to register " + child + " for native notifications", e);
+                }
+            }
+        }
+
+        /** Collects the watches whose delta may be affected by a change of child in dir */
+        private void collect(Path dir, Path child, boolean modify) {
+            for (Watch watch : watchers) {
+                Path path = watch.nioPath;
+                if (path == null) continue;
+                if (path.equals(child)) {
+                    boolean file = modify && !java.nio.file.Files.isDirectory(child);
+                    pending.merge(watch, file, Boolean::logicalOr);
+                } else if (dir.startsWith(path)) {
+                    pending.putIfAbsent(watch, false);
+                }
+            }
+        }
+
+        void close() {
+            thread.interrupt();
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing the file system watch service", e);
+            }
+        }
+    }
+
+    /**
+     * System property or environment variable, when set to false the file system is polled for changes instead of
+     * using the native watch service
+     */
+    public static final String NATIVE_WATCH = "GEOSERVER_FILESYSTEM_WATCHER_NATIVE";
+
+    /** File system types whose changes made by other hosts are not reported to the native watch service */
+    static final Set<String> REMOTE_FILE_STORES =
+            Set.of("nfs", "nfs4", "cifs", "smb", "smbfs", "smb2", "smb3", "fuse.sshfs", "9p", "afs", "gpfs");
+
+    /** Watches affected by native events, with whether the watched file itself was reported as modified */
+    private final Map<Watch, Boolean> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** Time waited after a native event, collecting further events, before notifying the listeners */
+    long coalesceDelay = 100;
+
+    /** Interval between the polls of the natively watched paths, in milliseconds */
+    long safetyPollInterval = 60_000;
+
+    private volatile long lastSafetyPoll = System.currentTimeMillis();
+
+    private final boolean nativeWatchEnabled;
+
+    private NativeWatcher nativeWatcher;
+
+    /** Whether the native watch service could not be created, in which case all watches are polled */
+    private boolean nativeWatchUnavailable;
 
     private ScheduledFuture<?> monitor;
 
@@ -389,6 +667,7 @@ private void notify(Watch watch, Delta delta) {
         Objects.requireNonNull(fileExtractor);
         this.pool = Executors.newSingleThreadScheduledExecutor(tFactory);
         this.fileExtractor = fileExtractor;
+        this.nativeWatchEnabled = !"false".equalsIgnoreCase(GeoServerExtensions.getProperty(NATIVE_WATCH));
     }
 
     FileSystemWatcher() {
@@ -415,6 +694,8 @@ public synchronized void addListener(String path, ResourceListener listener) {
         Watch watch = watch(file, path);
         if (watch == null) {
             watch = new Watch(file, path);
+            NativeWatcher watcher = nativeWatcher();
+            watch.nativeWatched = watcher != null && watcher.register(watch);
             watchers.add(watch);
             if (monitor == null) {
                 monitor = pool.scheduleWithFixedDelay(sync, delay, delay, unit);
@@ -423,6 +704,37 @@ public synchronized void addListener(String path, ResourceListener listener) {
         watch.addListener(listener);
     }
 
+    /** Lazily creates the native watcher, returns null if disabled or not supported */
+    private NativeWatcher nativeWatcher() {
+        if (nativeWatcher == null && nativeWatchEnabled && !nativeWatchUnavailable) {
+            try {
+                nativeWatcher = new NativeWatcher(FileSystems.getDefault().newWatchService());
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.log(Level.INFO, "Native file system notifications unavailable, polling for changes", e);
+                nativeWatchUnavailable = true;
+            }
+        }
+        return nativeWatcher;
+    }
+
+    private void scheduleFlush() {
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                pool.schedule(flush, coalesceDelay, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shut down
+            }
+        }
+    }
+
+    private static Path toPath(File file) {
+        try {
+            return file.toPath().toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
     @Override
     public synchronized boolean removeListener(String path, ResourceListener listener) {
         Objects.requireNonNull(path, "Path for notification is required");
@@ -442,10 +754,21 @@ public synchronized boolean removeListener(String path, ResourceListener listene
                 monitor.cancel(false); // stop watching nobody is looking
                 monitor = null;
             }
+            if (nativeWatcher != null) {
+                nativeWatcher.close();
+                nativeWatcher = null;
+            }
+            pending.clear();
         }
         return removed;
     }
 
+    /** Whether changes to the path are reported by the native watch service, rather than polled */
+    boolean isNativeWatch(String path) {
+        Watch watch = watch(fileExtractor.apply(path), path);
+        return watch != null && watch.nativeWatched;
+    }
+
     /** To allow test cases to set a shorter delay for testing. */
     public void schedule(long delay, TimeUnit unit) {
         this.delay = delay;
@@ -457,9 +780,13 @@ public void schedule(long delay, TimeUnit unit) {
     }
 
     @Override
-    public void destroy() throws Exception {
+    public synchronized void destroy() throws Exception {
         pool.shutdown();
         monitor = null;
+        if (nativeWatcher != null) {
+            nativeWatcher.close();
+            nativeWatcher = null;
+        }
     }
 
     @Override
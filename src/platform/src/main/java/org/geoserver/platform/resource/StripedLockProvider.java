@@ -0,0 +1,426 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.platform.resource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * An in memory lock provider with read/write semantics along the resource paths.
+ *
+ * <p>{@link #acquire(String)} locks the path exclusively, and takes shared locks on all its parent directories, so
+ * that writes to unrelated paths proceed in parallel, while an exclusive lock on a directory (e.g., to remove or
+ * rename it) waits for the writes below it to complete, and blocks new ones. {@link #acquireShared(String)} takes
+ * shared locks on the path and its parents, for readers wanting a stable view of a directory tree.
+ *
+ * <p>Exclusive locks are preferred: while a thread waits for an exclusive lock, new shared locks on the same stripe
+ * are granted only to the threads already holding it, so that a continuous stream of writes below a directory cannot
+ * starve an exclusive lock on it.
+ *
+ * <p>Paths are mapped to a fixed number of lock stripes. The stripes needed by an acquisition are locked in index
+ * order, so that acquisitions never deadlock against each other, and a thread can upgrade its own shared locks to
+ * exclusive. Deadlocks remain possible when threads nest acquisitions in different orders: a thread waiting longer
+ * than {@link #setDiagnosticInterval(long) the diagnostic interval} logs the lock holders, and if it finds it's part
+ * of a deadlock, fails with an {@link IllegalStateException} describing it, releasing what it was acquiring.
+ *
+ * <p>Lock wait times are tracked and can be retrieved with {@link #getStatistics()}.
+ */
+public class StripedLockProvider implements LockProvider {
+
+    static final Logger LOGGER = Logging.getLogger(StripedLockProvider.class);
+
+    /** A lock stripe, shared by any number of threads, or held exclusively by one */
+    static final class Stripe {
+
+        final int index;
+
+        /** The thread holding the stripe exclusively, if any, read without synchronization by deadlock detection */
+        volatile Thread writer;
+
+        int writeHolds;
+
+        /** Threads sharing the stripe, and their hold count */
+        final Map<Thread, Integer> readers = new ConcurrentHashMap<>();
+
+        /** Threads waiting to hold the stripe exclusively, new shared holds wait for them */
+        final Set<Thread> exclusiveWaiters = ConcurrentHashMap.newKeySet();
+
+        Stripe(int index) {
+            this.index = index;
+        }
+
+        /** Must be called holding the stripe monitor */
+        boolean tryLock(Thread thread, boolean exclusive) {
+            Thread w = writer;
+            if (w != null && w != thread) {
+                return false;
+            }
+            if (exclusive) {
+                // the thread can upgrade its own shared holds
+                if (!readers.isEmpty() && (readers.size() > 1 || !readers.containsKey(thread))) {
+                    return false;
+                }
+                writer = thread;
+                writeHolds++;
+            } else {
+                // re-entrant holds are granted regardless, or the waiting writer would wait for the thread forever
+                if (!exclusiveWaiters.isEmpty() && w != thread && !readers.containsKey(thread)) {
+                    return false;
+                }
+                readers.merge(thread, 1, Integer::sum);
+            }
+            return true;
+        }
+
+        /** Must be called holding the stripe monitor */
+        void unlock(Thread thread, boolean exclusive) {
+            if (exclusive) {
+                if (writer != thread) {
+                    throw new IllegalMonitorStateException("Stripe " + index + " is not locked by " + thread);
+                }
+                if (--writeHolds == 0) {
+                    writer = null;
+                }
+            } else {
+                Integer holds = readers.get(thread);
+                if (holds == null) {
+                    throw new IllegalMonitorStateException("Stripe " + index + " is not shared by " + thread);
+                }
+                if (holds == 1) {
+                    readers.remove(thread);
+                } else {
+                    readers.put(thread, holds - 1);
+                }
+            }
+            notifyAll();
+        }
+
+        /** The threads holding the stripe, other than the given one */
+        Set<Thread> holders(Thread exclude) {
+            Set<Thread> holders = new HashSet<>(readers.keySet());
+            Thread w = writer;
+            if (w != null) {
+                holders.add(w);
+            }
+            holders.remove(exclude);
+            return holders;
+        }
+
+        /**
+         * The threads the waiting one depends on: the holders, and for a shared waiter the exclusive waiters as well
+         */
+        Set<Thread> blockers(Thread waiter) {
+            Set<Thread> blockers = holders(null);
+            if (!exclusiveWaiters.contains(waiter)) {
+                blockers.addAll(exclusiveWaiters);
+                blockers.remove(waiter);
+            }
+            return blockers;
+        }
+    }
+
+    /** Lock wait time statistics */
+    public static class Statistics {
+
+        private final long acquisitions;
+
+        private final long contended;
+
+        private final long totalWaitTime;
+
+        private final long maxWaitTime;
+
+        private final long deadlocks;
+
+        Statistics(long acquisitions, long contended, long totalWaitTime, long maxWaitTime, long deadlocks) {
+            this.acquisitions = acquisitions;
+            this.contended = contended;
+            this.totalWaitTime = totalWaitTime;
+            this.maxWaitTime = maxWaitTime;
+            this.deadlocks = deadlocks;
+        }
+
+        /** Number of locks acquired */
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        /** Number of acquisitions that had to wait for another thread */
+        public long getContended() {
+            return contended;
+        }
+
+        /** Total time spent waiting for locks, in milliseconds */
+        public long getTotalWaitTime() {
+            return totalWaitTime;
+        }
+
+        /** Longest wait for a single lock, in milliseconds */
+        public long getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        /** Number of deadlocks detected */
+        public long getDeadlocks() {
+            return deadlocks;
+        }
+
+        @Override
+        public String toString() {
+            return "acquisitions="
+                    + acquisitions
+                    + ", contended="
+                    + contended
+                    + ", totalWaitTime="
+                    + totalWaitTime
+                    + "ms, maxWaitTime="
+                    + maxWaitTime
+                    + "ms, deadlocks="
+                    + deadlocks;
+        }
+    }
+
+    final Stripe[] stripes;
+
+    /** The stripe and path each blocked thread is waiting for */
+    final Map<Thread, Stripe> waiting = new ConcurrentHashMap<>();
+
+    final Map<Thread, String> waitingPaths = new ConcurrentHashMap<>();
+
+    /** How long to wait before looking for deadlocks and logging the lock holders, in milliseconds */
+    long diagnosticInterval = 10_000;
+
+    final LongAdder acquisitions = new LongAdder();
+
+    final LongAdder contended = new LongAdder();
+
+    final LongAdder totalWaitNanos = new LongAdder();
+
+    final AtomicLong maxWaitNanos = new AtomicLong();
+
+    final LongAdder deadlocks = new LongAdder();
+
+    public StripedLockProvider() {
+        this(1024);
+    }
+
+    public StripedLockProvider(int concurrency) {
+        stripes = new Stripe[concurrency];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(i);
+        }
+    }
+
+    /** Sets how long a thread waits for a lock before checking for deadlocks and logging diagnostics, in ms */
+    public void setDiagnosticInterval(long diagnosticInterval) {
+        this.diagnosticInterval = diagnosticInterval;
+    }
+
+    public long getDiagnosticInterval() {
+        return diagnosticInterval;
+    }
+
+    /** Acquires an exclusive lock on the path, and shared locks on its parents */
+    @Override
+    public Resource.Lock acquire(String path) {
+        return acquire(path, true);
+    }
+
+    /** Acquires a shared lock on the path and its parents */
+    public Resource.Lock acquireShared(String path) {
+        return acquire(path, false);
+    }
+
+    private Resource.Lock acquire(String path, boolean exclusive) {
+        // collect the stripes of the path and its parents, sorted by index, exclusive wins on collisions
+        TreeMap<Integer, Boolean> required = new TreeMap<>();
+        String normalized = path == null ? "" : path.replace('\\', '/');
+        for (int i = normalized.indexOf('/', 1); i > 0; i = normalized.indexOf('/', i + 1)) {
+            required.putIfAbsent(getIndex(normalized.substring(0, i)), Boolean.FALSE);
+        }
+        required.put(getIndex(normalized), exclusive);
+
+        Thread thread = Thread.currentThread();
+        List<Map.Entry<Integer, Boolean>> acquired = new ArrayList<>(required.size());
+        try {
+            for (Map.Entry<Integer, Boolean> entry : required.entrySet()) {
+                lock(stripes[entry.getKey()], entry.getValue(), thread, path);
+                acquired.add(entry);
+            }
+        } catch (RuntimeException | Error e) {
+            release(acquired, thread);
+            throw e;
+        }
+        acquisitions.increment();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine((exclusive ? "Exclusive" : "Shared") + " lock acquired on " + path + " by " + thread.getName());
+        }
+
+        return new Resource.Lock() {
+
+            boolean released;
+
+            @Override
+            public void release() {
+                if (!released) {
+                    released = true;
+                    StripedLockProvider.this.release(acquired, thread);
+                    if (LOGGER.isLoggable(Level.FINE)) LOGGER.fine("Released lock on " + path);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "StripedLock " + path;
+            }
+        };
+    }
+
+    private void lock(Stripe stripe, boolean exclusive, Thread thread, String path) {
+        synchronized (stripe) {
+            if (stripe.tryLock(thread, exclusive)) {
+                return;
+            }
+            contended.increment();
+            long start = System.nanoTime();
+            long interval = TimeUnit.MILLISECONDS.toNanos(diagnosticInterval);
+            long nextCheck = start + interval;
+            waiting.put(thread, stripe);
+            waitingPaths.put(thread, path);
+            if (exclusive) {
+                stripe.exclusiveWaiters.add(thread);
+            }
+            try {
+                while (!stripe.tryLock(thread, exclusive)) {
+                    long now = System.nanoTime();
+                    if (now - nextCheck >= 0) {
+                        checkDeadlock(thread, stripe, path, now - start);
+                        nextCheck = now + interval;
+                    }
+                    stripe.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextCheck - now)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a lock on " + path, e);
+            } finally {
+                if (exclusive && stripe.exclusiveWaiters.remove(thread)) {
+                    // shared waiters might be able to proceed
+                    stripe.notifyAll();
+                }
+                waiting.remove(thread);
+                waitingPaths.remove(thread);
+                long waited = System.nanoTime() - start;
+                totalWaitNanos.add(waited);
+                maxWaitNanos.accumulateAndGet(waited, Math::max);
+            }
+        }
+    }
+
+    private void release(List<Map.Entry<Integer, Boolean>> acquired, Thread thread) {
+        // release in reverse order
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            Map.Entry<Integer, Boolean> entry = acquired.get(i);
+            Stripe stripe = stripes[entry.getKey()];
+            synchronized (stripe) {
+                stripe.unlock(thread, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Follows the chain of threads holding, or waiting with precedence for, the stripe the current thread is waiting
+     * for, and the stripes they are waiting for in turn. Fails if the chain leads back to the current thread, logs
+     * the holders otherwise.
+     */
+    private void checkDeadlock(Thread thread, Stripe stripe, String path, long waited) {
+        List<Thread> cycle = findCycle(thread, thread, stripe, new ArrayList<>(), new HashSet<>());
+        if (cycle != null) {
+            deadlocks.increment();
+            String message = "Deadlock detected while acquiring a lock on " + path + ": " + describe(cycle);
+            LOGGER.severe(message);
+            throw new IllegalStateException(message);
+        }
+        LOGGER.warning("Thread "
+                + thread.getName()
+                + " waited "
+                + TimeUnit.NANOSECONDS.toMillis(waited)
+                + "ms for a lock on "
+                + path
+                + ", held by: "
+                + describe(new ArrayList<>(stripe.blockers(thread))));
+    }
+
+    private List<Thread> findCycle(
+            Thread origin, Thread waiter, Stripe stripe, List<Thread> chain, Set<Thread> visited) {
+        for (Thread holder : stripe.blockers(waiter)) {
+            if (holder == origin && !chain.isEmpty()) {
+                return chain;
+            }
+            if (holder == origin || !visited.add(holder)) {
+                continue;
+            }
+            Stripe next = waiting.get(holder);
+            if (next != null) {
+                chain.add(holder);
+                List<Thread> cycle = findCycle(origin, holder, next, chain, visited);
+                if (cycle != null) {
+                    return cycle;
+                }
+                chain.remove(chain.size() - 1);
+            }
+        }
+        return null;
+    }
+
+    private String describe(List<Thread> threads) {
+        StringBuilder sb = new StringBuilder();
+        for (Thread t : threads) {
+            sb.append("\n  ").append(t.getName());
+            String waitingFor = waitingPaths.get(t);
+            if (waitingFor != null) {
+                sb.append(", waiting for a lock on ").append(waitingFor);
+            }
+            for (StackTraceElement element : t.getStackTrace()) {
+                sb.append("\n    at ").append(element);
+            }
+        }
+        return sb.toString();
+    }
+
+    int getIndex(String path) {
+        // spread the hash bits, path hash codes differ mostly in the lower bits
+        int h = path.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    /** Returns the lock wait time statistics */
+    public Statistics getStatistics() {
+        return new Statistics(
+                acquisitions.sum(),
+                contended.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                deadlocks.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "StripedLockProvider";
+    }
+}
@@ -299,8 +299,8 @@ public static void zipDirectory(File directory, ZipOutputStream zipout, final Fi
     private static void zipDirectory(File directory, String prefix, ZipOutputStream zipout, final FilenameFilter filter)
             throws IOException, FileNotFoundException {
         File[] files = directory.listFiles(filter);
-        // copy file by reading 4k at a time (faster than buffered reading)
-        byte[] buffer = new byte[4 * 1024];
+        // copy file by reading 16k at a time (faster than buffered reading)
+        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
         if (files != null) {
             for (File file : files) {
                 if (file.exists()) {
@@ -0,0 +1,164 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.platform.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.geoserver.platform.resource.ResourceNotification.Event;
+import org.geoserver.platform.resource.ResourceNotification.Kind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileSystemWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    FileSystemWatcher watcher;
+
+    BlockingQueue<ResourceNotification> notifications = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() {
+        watcher = new FileSystemWatcher(path -> new File(folder.getRoot(), path));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.destroy();
+        System.clearProperty(FileSystemWatcher.NATIVE_WATCH);
+    }
+
+    private void watchNatively(String path) {
+        // polling would take an hour, only native events are reported
+        watcher.schedule(1, TimeUnit.HOURS);
+        watcher.addListener(path, notifications::add);
+        assumeTrue("Native file system notifications unavailable", watcher.isNativeWatch(path));
+    }
+
+    @Test
+    public void testFileModified() throws Exception {
+        File file = folder.newFile("file.xml");
+        watchNatively("file.xml");
+
+        Files.write(file.toPath(), "contents".getBytes());
+        ResourceNotification n = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull(n);
+        assertEquals("file.xml", n.getPath());
+        assertEquals(Kind.ENTRY_MODIFY, n.getKind());
+    }
+
+    @Test
+    public void testEventsCoalesced() throws Exception {
+        folder.newFolder("dir");
+        watcher.coalesceDelay = 500;
+        watchNatively("dir");
+
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(folder.newFile("dir/file" + i));
+        }
+        ResourceNotification n = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull(n);
+        assertEquals("dir", n.getPath());
+        Set<String> created = n.events().stream()
+                .filter(e -> e.getKind() == Kind.ENTRY_CREATE)
+                .map(Event::getPath)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("file0", "file1", "file2", "file3", "file4"), created);
+        assertNull(notifications.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubdirectoriesRegistered() throws Exception {
+        folder.newFolder("dir");
+        watchNatively("dir");
+
+        // created after the registration, gets registered as well
+        assertNotNull(folder.newFolder("dir", "sub"));
+        assertNotNull(notifications.poll(10, TimeUnit.SECONDS));
+        notifications.clear();
+
+        // a watch on the sub directory is notified through the existing registrations
+        watcher.addListener("dir/sub", notifications::add);
+        folder.newFile("dir/sub/file.xml");
+        ResourceNotification n;
+        while ((n = notifications.poll(10, TimeUnit.SECONDS)) != null && !"dir/sub".equals(n.getPath())) {}
+        assertNotNull(n);
+        assertEquals("file.xml", n.events().get(0).getPath());
+    }
+
+    @Test
+    public void testWatchedFileCreated() throws Exception {
+        watchNatively("missing.xml");
+
+        folder.newFile("missing.xml");
+        ResourceNotification n = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull(n);
+        assertEquals(Kind.ENTRY_CREATE, n.getKind());
+    }
+
+    @Test
+    public void testDirectoryRemovedAndCreated() throws Exception {
+        File dir = folder.newFolder("dir");
+        File file = folder.newFile("dir/file.xml");
+        watchNatively("dir/file.xml");
+        watcher.schedule(50, TimeUnit.MILLISECONDS);
+
+        // the registration of the directory is lost, back to polling
+        Files.delete(file.toPath());
+        Files.delete(dir.toPath());
+        assertNotNull(notifications.poll(10, TimeUnit.SECONDS));
+        waitNativeWatch("dir/file.xml", false);
+
+        // registered again once the directory is back
+        assertNotNull(folder.newFolder("dir"));
+        waitNativeWatch("dir/file.xml", true);
+        watcher.schedule(1, TimeUnit.HOURS);
+        notifications.clear();
+
+        folder.newFile("dir/file.xml");
+        ResourceNotification n = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull(n);
+        assertEquals("dir/file.xml", n.getPath());
+        assertEquals(Kind.ENTRY_CREATE, n.getKind());
+    }
+
+    private void waitNativeWatch(String path, boolean expected) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (watcher.isNativeWatch(path) != expected && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, watcher.isNativeWatch(path));
+    }
+
+    @Test
+    public void testPollingFallback() throws Exception {
+        System.setProperty(FileSystemWatcher.NATIVE_WATCH, "false");
+        watcher.destroy();
+        watcher = new FileSystemWatcher(path -> new File(folder.getRoot(), path));
+        watcher.schedule(50, TimeUnit.MILLISECONDS);
+        watcher.addListener("polled.xml", notifications::add);
+        assertFalse(watcher.isNativeWatch("polled.xml"));
+
+        folder.newFile("polled.xml");
+        ResourceNotification n = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull(n);
+        assertEquals(Kind.ENTRY_CREATE, n.getKind());
+    }
+}
@@ -0,0 +1,216 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.platform.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+
+public class StripedLockProviderTest {
+
+    StripedLockProvider provider = new StripedLockProvider();
+
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Future<?> acquireAndRelease(String path) {
+        return executor.submit(() -> provider.acquire(path).release());
+    }
+
+    private boolean isBlocked(Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            return false;
+        } catch (TimeoutException e) {
+            return true;
+        }
+    }
+
+    @Test
+    public void testSamePathIsExclusive() throws Exception {
+        Resource.Lock lock = provider.acquire("workspaces/ws/datastore.xml");
+        Future<?> other = acquireAndRelease("workspaces/ws/datastore.xml");
+        assertTrue(isBlocked(other));
+        lock.release();
+        other.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, provider.getStatistics().getContended());
+        assertEquals(2, provider.getStatistics().getAcquisitions());
+    }
+
+    @Test
+    public void testSiblingsInParallel() throws Exception {
+        Resource.Lock lock = provider.acquire("workspaces/ws/a.xml");
+        try {
+            acquireAndRelease("workspaces/ws/b.xml").get(5, TimeUnit.SECONDS);
+            acquireAndRelease("workspaces/other/a.xml").get(5, TimeUnit.SECONDS);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Test
+    public void testDirectoryWaitsForChildren() throws Exception {
+        Resource.Lock child = provider.acquire("workspaces/ws/store/featuretype.xml");
+        Future<?> directory = acquireAndRelease("workspaces/ws");
+        assertTrue(isBlocked(directory));
+        child.release();
+        directory.get(5, TimeUnit.SECONDS);
+
+        // and the other way around
+        Resource.Lock parent = provider.acquire("workspaces/ws");
+        Future<?> other = acquireAndRelease("workspaces/ws/store/featuretype.xml");
+        assertTrue(isBlocked(other));
+        parent.release();
+        other.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testWaitingDirectoryBlocksNewChildren() throws Exception {
+        Resource.Lock child = provider.acquire("workspaces/ws/a.xml");
+        Future<?> directory = acquireAndRelease("workspaces/ws");
+        assertTrue(isBlocked(directory));
+
+        // a new write below the directory waits for the directory lock
+        Future<?> sibling = acquireAndRelease("workspaces/ws/b.xml");
+        assertTrue(isBlocked(sibling));
+        // while the thread already holding it can go on
+        provider.acquire("workspaces/ws/c.xml").release();
+
+        child.release();
+        directory.get(5, TimeUnit.SECONDS);
+        sibling.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDirectoryNotStarvedByChildren() throws Exception {
+        // overlapping writes below the directory, so that there is always one holding a shared lock on it
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String path = "workspaces/ws/file" + i + ".xml";
+            writers.add(executor.submit(() -> {
+                while (running.get()) {
+                    Resource.Lock lock = provider.acquire(path);
+                    try {
+                        Thread.sleep(5);
+                    } finally {
+                        lock.release();
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            Thread.sleep(100);
+            acquireAndRelease("workspaces/ws").get(5, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+        }
+        for (Future<?> writer : writers) {
+            writer.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        Resource.Lock shared = provider.acquireShared("workspaces/ws");
+        executor.submit(() -> provider.acquireShared("workspaces/ws").release()).get(5, TimeUnit.SECONDS);
+        Future<?> exclusive = acquireAndRelease("workspaces/ws");
+        assertTrue(isBlocked(exclusive));
+        shared.release();
+        exclusive.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReentrantAndUpgrade() throws Exception {
+        Resource.Lock child = provider.acquire("workspaces/ws/a.xml");
+        Resource.Lock again = provider.acquire("workspaces/ws/a.xml");
+        // upgrades the shared lock on the parent taken by the first acquisition
+        Resource.Lock parent = provider.acquire("workspaces/ws");
+        parent.release();
+        again.release();
+        child.release();
+        // released twice is harmless
+        child.release();
+
+        acquireAndRelease("workspaces/ws").get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDeadlockDetection() throws Exception {
+        provider.setDiagnosticInterval(100);
+        CountDownLatch locked = new CountDownLatch(2);
+        Future<?> first = executor.submit(() -> nested(locked, "a.xml", "b.xml"));
+        Future<?> second = executor.submit(() -> nested(locked, "b.xml", "a.xml"));
+
+        // at least one of the two fails, allowing the other to complete
+        int failures = 0;
+        for (Future<?> f : new Future<?>[] {first, second}) {
+            try {
+                f.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                assertTrue(e.getCause().getMessage().contains("Deadlock detected"));
+                failures++;
+            }
+        }
+        assertTrue(failures > 0);
+        assertTrue(provider.getStatistics().getDeadlocks() > 0);
+
+        // nothing is left locked
+        acquireAndRelease("a.xml").get(5, TimeUnit.SECONDS);
+        acquireAndRelease("b.xml").get(5, TimeUnit.SECONDS);
+    }
+
+    private Void nested(CountDownLatch locked, String first, String second) throws InterruptedException {
+        Resource.Lock outer = provider.acquire(first);
+        try {
+            locked.countDown();
+            locked.await();
+            provider.acquire(second).release();
+        } finally {
+            outer.release();
+        }
+        return null;
+    }
+
+    @Test
+    public void testReleasedOnFailure() throws Exception {
+        Thread.currentThread().interrupt();
+        Resource.Lock lock = provider.acquire("a.xml");
+        lock.release();
+        assertTrue(Thread.interrupted());
+
+        Resource.Lock held = provider.acquire("dir/a.xml");
+        Future<?> waiting = executor.submit(() -> {
+            Thread.currentThread().interrupt();
+            provider.acquire("dir");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        held.release();
+        acquireAndRelease("dir").get(5, TimeUnit.SECONDS);
+        assertFalse(isBlocked(acquireAndRelease("dir/a.xml")));
+    }
+}
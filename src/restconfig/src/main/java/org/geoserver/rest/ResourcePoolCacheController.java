@@ -0,0 +1,50 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.rest;
+
+import java.util.Map;
+import org.geoserver.catalog.ResourceCacheStatistics;
+import org.geoserver.config.GeoServer;
+import org.geoserver.rest.catalog.NamedMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Reports the usage statistics of the {@link org.geoserver.catalog.ResourcePool} caches */
+@RestController
+@RequestMapping(
+        path = RestBaseController.ROOT_PATH + "/resourcepool/caches",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+public class ResourcePoolCacheController extends AbstractGeoServerController {
+
+    @Autowired
+    public ResourcePoolCacheController(@Qualifier("geoServer") GeoServer geoServer) {
+        super(geoServer);
+    }
+
+    @GetMapping
+    public Map<String, Object> cachesGet() {
+        Map<String, ResourceCacheStatistics> statistics =
+                geoServer.getCatalog().getResourcePool().getCacheStatistics();
+
+        NamedMap<String, Object> caches = new NamedMap<>("caches");
+        for (ResourceCacheStatistics stats : statistics.values()) {
+            NamedMap<String, Object> cache = new NamedMap<>(stats.getName());
+            cache.put("specification", stats.getSpecification());
+            cache.put("size", stats.getSize());
+            cache.put("hitCount", stats.getHitCount());
+            cache.put("missCount", stats.getMissCount());
+            cache.put("hitRate", stats.getHitRate());
+            cache.put("evictionCount", stats.getEvictionCount());
+            cache.put("loadCount", stats.getLoadCount());
+            cache.put("totalLoadTime", stats.getTotalLoadTime());
+            caches.put(stats.getName(), cache);
+        }
+        return caches;
+    }
+}
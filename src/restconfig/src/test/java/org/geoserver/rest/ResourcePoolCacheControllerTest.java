@@ -0,0 +1,41 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.rest;
+
+import static org.geoserver.rest.RestBaseController.ROOT_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import net.sf.json.JSON;
+import net.sf.json.JSONObject;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class ResourcePoolCacheControllerTest extends GeoServerSystemTestSupport {
+
+    @Test
+    public void testGetAsJSON() throws Exception {
+        JSON json = getAsJSON(ROOT_PATH + "/resourcepool/caches.json");
+        assertTrue(json instanceof JSONObject);
+
+        JSONObject caches = (JSONObject) json;
+        JSONObject featureTypes = caches.getJSONObject("featureTypes");
+        assertNotNull(featureTypes);
+        assertTrue(featureTypes.containsKey("hitCount"));
+        assertTrue(featureTypes.containsKey("loadCount"));
+        assertTrue(caches.containsKey("dataStores"));
+        assertTrue(caches.containsKey("styles"));
+    }
+
+    @Test
+    public void testGetAsXML() throws Exception {
+        Document dom = getAsDOM(ROOT_PATH + "/resourcepool/caches.xml");
+        assertEquals("caches", dom.getDocumentElement().getNodeName());
+        assertNotNull(getFirstElementByTagName(dom, "featureTypes"));
+        assertNotNull(getFirstElementByTagName(dom, "evictionCount"));
+    }
+}
@@ -0,0 +1,125 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import com.google.common.cache.Cache;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.feature.type.Name;
+import org.geotools.feature.NameImpl;
+
+/**
+ * Drops the counts cached by {@link CountExecutor} when a WFS transaction modifies their feature type, and all of them
+ * when layers, feature types or stores are modified in the catalog. Does nothing if the count cache is disabled.
+ */
+public class CountCacheInvalidator implements TransactionCallback, CatalogListener {
+
+    /** Feature types modified by the WFS transaction running in the current thread */
+    private static final ThreadLocal<Set<QName>> TRANSACTION_TYPES = new ThreadLocal<>();
+
+    private final Cache<CountExecutor.CountKey, Integer> cache;
+
+    /** @param catalog the raw catalog, whose changes drop the cached counts */
+    public CountCacheInvalidator(Catalog catalog) {
+        this(catalog, CountExecutor.getCountCache());
+    }
+
+    CountCacheInvalidator(Catalog catalog, Cache<CountExecutor.CountKey, Integer> cache) {
+        this.cache = cache;
+        if (cache != null) {
+            catalog.addListener(this);
+        }
+    }
+
+    /** Drops all the cached counts */
+    public void invalidateAll() {
+        if (cache != null) cache.invalidateAll();
+    }
+
+    private void invalidate(QName typeName) {
+        Name name = new NameImpl(typeName.getNamespaceURI(), typeName.getLocalPart());
+        cache.asMap().keySet().removeIf(k -> name.equals(k.typeName));
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        TRANSACTION_TYPES.remove();
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (cache == null || event.getLayerName() == null) return;
+        Set<QName> types = TRANSACTION_TYPES.get();
+        if (types == null) {
+            types = new HashSet<>();
+            TRANSACTION_TYPES.set(types);
+        }
+        if (types.add(event.getLayerName())) {
+            invalidate(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        Set<QName> types = TRANSACTION_TYPES.get();
+        TRANSACTION_TYPES.remove();
+        // a count may have been cached again while the transaction was running, before the commit
+        if (types != null) {
+            types.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify event
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidate(event);
+    }
+
+    /** Counts are short lived, drop them all on any change of the published layers, feature types or stores */
+    private void invalidate(CatalogEvent event) {
+        Object source = event.getSource();
+        if (source instanceof LayerInfo || source instanceof FeatureTypeInfo || source instanceof StoreInfo) {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+}
@@ -5,20 +5,95 @@
  */
 package org.geoserver.wfs;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
+import org.geotools.api.feature.type.Name;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * A class executing a feature count, but also able to return a pre-computed one. Used as an accessory to compute the
  * numberMatched attribute for WFS 2.0, and running the actual counts only when strictly necessary
  *
+ * <p>The counts of a request with many queries can be run in parallel, by setting the {@link #THREADS} system property
+ * or environment variable, and cached for a short time, by setting {@link #CACHE} to a {@link CacheBuilderSpec}, e.g.
+ * {@code maximumSize=1000,expireAfterWrite=30s}. Cached counts are dropped by {@link CountCacheInvalidator} when a WFS
+ * transaction modifies their feature type, or the published data changes in the catalog. Setting {@link #ESTIMATE} to
+ * true uses only the counts the stores can compute without scanning the data, reporting an unknown number of matches
+ * otherwise.
+ *
  * @author Andrea Aime - GeoSolutions
  */
 class CountExecutor {
 
+    static final Logger LOGGER = Logging.getLogger(CountExecutor.class);
+
+    /** System property or environment variable setting the number of threads running counts in parallel */
+    static final String THREADS = "WFS_COUNT_THREADS";
+
+    /** System property or environment variable holding the {@link CacheBuilderSpec} of the count cache */
+    static final String CACHE = "WFS_COUNT_CACHE";
+
+    /** System property or environment variable enabling the store provided counts only */
+    static final String ESTIMATE = "WFS_COUNT_ESTIMATE";
+
     private static final int COUNT_UNSET = -1;
 
+    private static final Executor COUNT_POOL = createCountPool();
+
+    private static final Cache<CountKey, Integer> COUNT_CACHE = createCountCache();
+
+    private static final boolean ESTIMATED_COUNTS = Boolean.parseBoolean(GeoServerExtensions.getProperty(ESTIMATE));
+
+    /**
+     * Identifies a count, the user and its roles are part of it as the secured sources can return different counts to
+     * each
+     */
+    static final class CountKey {
+        final Name typeName;
+
+        final Query query;
+
+        final String user;
+
+        CountKey(Name typeName, Query query, String user) {
+            this.typeName = typeName;
+            this.query = query;
+            this.user = user;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CountKey)) return false;
+            CountKey other = (CountKey) o;
+            return Objects.equals(typeName, other.typeName)
+                    && Objects.equals(query, other.query)
+                    && Objects.equals(user, other.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(typeName, query, user);
+        }
+    }
+
     FeatureSource source;
 
     Query query;
@@ -35,16 +110,139 @@ public CountExecutor(int providedCount) {
     }
 
     public int getCount() throws IOException {
+        return getCount(COUNT_CACHE);
+    }
+
+    int getCount(Cache<CountKey, Integer> cache) throws IOException {
         if (isCountSet()) {
             return providedCount;
+        }
+        CountKey key = null;
+        if (cache != null) {
+            key = new CountKey(source.getName(), query, getUser());
+            Integer cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int count;
+        if (ESTIMATED_COUNTS) {
+            // only what the store can tell without a full scan, -1 otherwise
+            count = source.getCount(query);
         } else {
             // make sure we get a count by getting a feature colleciton
             // FeatureSource.getCount(...) can return -1
-            return source.getFeatures(query).size();
+            count = source.getFeatures(query).size();
+        }
+        if (cache != null && count >= 0) {
+            cache.put(key, count);
         }
+        return count;
     }
 
     public boolean isCountSet() {
         return providedCount != COUNT_UNSET;
     }
+
+    private static String getUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? null : auth.getName() + auth.getAuthorities();
+    }
+
+    /** The count cache, or null if caching has not been enabled */
+    static Cache<CountKey, Integer> getCountCache() {
+        return COUNT_CACHE;
+    }
+
+    /**
+     * Sums up the counts of the given executors, returning -1 if any of them is unknown. The counts to be computed are
+     * run in parallel if a count thread pool has been configured.
+     */
+    static long getTotalCount(List<CountExecutor> executors) throws IOException {
+        return getTotalCount(executors, COUNT_POOL);
+    }
+
+    static long getTotalCount(List<CountExecutor> executors, Executor pool) throws IOException {
+        long pending = executors.stream().filter(e -> !e.isCountSet()).count();
+        if (pool == null || pending < 2) {
+            long totalCount = 0;
+            for (CountExecutor q : executors) {
+                int result = q.getCount();
+                // if the count is unknown for one, we don't know the total,
+                // period
+                if (result == -1) {
+                    return -1;
+                }
+                totalCount += result;
+            }
+            return totalCount;
+        }
+
+        Thread caller = Thread.currentThread();
+        List<FutureTask<Integer>> tasks = new ArrayList<>();
+        for (CountExecutor q : executors) {
+            ThreadLocalsTransfer threadLocalsTransfer = new ThreadLocalsTransfer();
+            FutureTask<Integer> task = new FutureTask<>(() -> {
+                if (Thread.currentThread() == caller) {
+                    return q.getCount();
+                }
+                threadLocalsTransfer.apply();
+                try {
+                    return q.getCount();
+                } finally {
+                    threadLocalsTransfer.cleanup();
+                }
+            });
+            tasks.add(task);
+            if (!q.isCountSet()) {
+                pool.execute(task);
+            }
+        }
+        long totalCount = 0;
+        for (FutureTask<Integer> task : tasks) {
+            // run the counts the pool did not start yet, a no-op otherwise
+            task.run();
+            int result;
+            try {
+                result = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while counting features", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException("Failed to count features", e.getCause());
+            }
+            if (result == -1) {
+                // don't wait for the others, the total is unknown anyways
+                tasks.forEach(t -> t.cancel(false));
+                return -1;
+            }
+            totalCount += result;
+        }
+        return totalCount;
+    }
+
+    private static Executor createCountPool() {
+        String threads = GeoServerExtensions.getProperty(THREADS);
+        if (threads == null || Integer.parseInt(threads) <= 0) {
+            return null;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        Executor pool = Executors.newFixedThreadPool(Integer.parseInt(threads), r -> {
+            Thread thread = new Thread(r, "WFS count " + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOGGER.config("Running WFS counts on " + threads + " threads");
+        return pool;
+    }
+
+    private static Cache<CountKey, Integer> createCountCache() {
+        String spec = GeoServerExtensions.getProperty(CACHE);
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        LOGGER.config("Caching WFS counts with " + spec);
+        return CacheBuilder.from(CacheBuilderSpec.parse(spec)).build();
+    }
 }
@@ -858,19 +858,7 @@ private boolean isPreComputed(List<CountExecutor> totalCountExecutors) {
     }
 
     private long getTotalCount(List<CountExecutor> totalCountExecutors) throws IOException {
-        long totalCount = 0;
-        for (CountExecutor q : totalCountExecutors) {
-            int result = q.getCount();
-            // if the count is unknown for one, we don't know the total,
-            // period
-            if (result == -1) {
-                totalCount = -1;
-                break;
-            } else {
-                totalCount += result;
-            }
-        }
-        return totalCount;
+        return CountExecutor.getTotalCount(totalCountExecutors);
     }
 
     private Filter toFeatureIdFilter(List<FeatureId> lockedFeatures) {
@@ -7,6 +7,7 @@
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -18,6 +19,7 @@
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.config.GeoServer;
 import org.geoserver.feature.ReprojectingFeatureCollection;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.request.Insert;
 import org.geoserver.wfs.request.TransactionElement;
@@ -53,11 +55,44 @@ public class InsertElementHandler extends AbstractTransactionElementHandler {
     /** logger */
     static Logger LOGGER = org.geotools.util.logging.Logging.getLogger("org.geoserver.wfs");
 
+    /**
+     * System property or environment variable setting the max number of features written to the store at once, for
+     * each feature type of an insert element. Not set by default, all features are written at once, as they are when
+     * the value is not a positive integer
+     */
+    public static final String BATCH_SIZE = "WFS_INSERT_BATCH_SIZE";
+
     private FilterFactory filterFactory;
 
+    private int batchSize;
+
     public InsertElementHandler(GeoServer gs, FilterFactory filterFactory) {
         super(gs);
         this.filterFactory = filterFactory;
+        this.batchSize = parseBatchSize(GeoServerExtensions.getProperty(BATCH_SIZE));
+    }
+
+    /** Parses the {@link #BATCH_SIZE} value, an invalid one is logged and disables batching */
+    static int parseBatchSize(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Ignoring invalid " + BATCH_SIZE + " value '" + value + "', inserts will not be batched");
+            return 0;
+        }
+    }
+
+    /** The max number of features written to the store at once, not positive if all are written at once */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /** Sets the max number of features written to the store at once, a non positive value disables batching */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -85,18 +120,13 @@ public void execute(
 
         try {
             // group features by their schema
-            HashMap /* <SimpleFeatureType,FeatureCollection> */ schema2features = new LinkedHashMap<>();
+            Map<SimpleFeatureType, List<SimpleFeature>> schema2features = new LinkedHashMap<>();
 
             List featureList = insert.getFeatures();
             for (Object item : featureList) {
                 SimpleFeature feature = (SimpleFeature) item;
                 SimpleFeatureType schema = feature.getFeatureType();
-                ListFeatureCollection collection = (ListFeatureCollection) schema2features.get(schema);
-
-                if (collection == null) {
-                    collection = new ListFeatureCollection(schema);
-                    schema2features.put(schema, collection);
-                }
+                List<SimpleFeature> features = schema2features.computeIfAbsent(schema, k -> new ArrayList<>());
 
                 // do a check for idegen = useExisting, if set try to tell the datastore to use
                 // the provided fid
@@ -112,7 +142,7 @@ public void execute(
                     }
                 }
 
-                collection.add(feature);
+                features.add(feature);
             }
 
             // JD: change from set fo list because if inserting
@@ -123,9 +153,8 @@ public void execute(
             // as they were supplied
             Map<String, List<FeatureId>> schema2fids = new HashMap<>();
 
-            for (Object value : schema2features.values()) {
-                SimpleFeatureCollection collection = (SimpleFeatureCollection) value;
-                SimpleFeatureType schema = collection.getSchema();
+            for (Map.Entry<SimpleFeatureType, List<SimpleFeature>> entry : schema2features.entrySet()) {
+                SimpleFeatureType schema = entry.getKey();
 
                 final QName elementName = new QName(schema.getName().getNamespaceURI(), schema.getTypeName());
                 SimpleFeatureStore store = DataUtilities.simple((FeatureStore) featureStores.get(elementName));
@@ -134,71 +163,17 @@ public void execute(
                     throw new WFSException(request, "Could not locate FeatureStore for '" + elementName + "'");
                 }
 
-                if (collection != null) {
-                    // if we really need to, make sure we are inserting coordinates that do
-                    // match the CRS area of validity
-                    if (getInfo().isCiteCompliant()) {
-                        checkFeatureCoordinatesRange(collection);
-                    }
+                List<FeatureId> fids = schema2fids.get(schema.getTypeName());
 
-                    // reprojection
-                    final GeometryDescriptor defaultGeometry = store.getSchema().getGeometryDescriptor();
-                    if (defaultGeometry != null) {
-                        CoordinateReferenceSystem target = defaultGeometry.getCoordinateReferenceSystem();
-                        if (target != null /* && !CRS.equalsIgnoreMetadata(collection.getSchema()
-                                        .getCoordinateReferenceSystem(), target) */) {
-                            collection = new ReprojectingFeatureCollection(collection, target);
-                        }
-                    }
-
-                    // Need to use the namespace here for the
-                    // lookup, due to our weird
-                    // prefixed internal typenames. see
-                    // https://osgeo-org.atlassian.net/browse/GEOS-143
-
-                    // Once we get our datastores making features
-                    // with the correct namespaces
-                    // we can do something like this:
-                    // FeatureTypeInfo typeInfo =
-                    // catalog.getFeatureTypeInfo(schema.getTypeName(),
-                    // schema.getNamespace());
-                    // until then (when geos-144 is resolved) we're
-                    // stuck with:
-                    // QName qName = (QName) typeNames.get( i );
-                    // FeatureTypeInfo typeInfo =
-                    // catalog.featureType( qName.getPrefix(),
-                    // qName.getLocalPart() );
-
-                    // this is possible with the insert hack above.
-                    LOGGER.finer("Use featureValidation to check contents of insert");
-
-                    // featureValidation(
-                    // typeInfo.getDataStore().getId(), schema,
-                    // collection );
-                    List<FeatureId> fids = schema2fids.get(schema.getTypeName());
-
-                    if (fids == null) {
-                        fids = new LinkedList<>();
-                        schema2fids.put(schema.getTypeName(), fids);
-                    }
+                if (fids == null) {
+                    fids = new LinkedList<>();
+                    schema2fids.put(schema.getTypeName(), fids);
+                }
 
-                    // fire pre insert event
-                    TransactionEvent event =
-                            new TransactionEvent(TransactionEventType.PRE_INSERT, request, elementName, collection);
-                    event.setSource(Insert.WFS11.unadapt(insert));
-
-                    listener.dataStoreChange(event);
-                    fids.addAll(store.addFeatures(collection));
-
-                    // fire post insert event
-                    SimpleFeatureCollection features = store.getFeatures(filterFactory.id(new HashSet<>(fids)));
-                    event = new TransactionEvent(
-                            TransactionEventType.POST_INSERT,
-                            request,
-                            elementName,
-                            features,
-                            Insert.WFS11.unadapt(insert));
-                    listener.dataStoreChange(event);
+                // bulk inserts are written in batches, keeping the collections handed to the
+                // store and the listeners, and the post insert id filters, bounded in size
+                for (SimpleFeatureCollection batch : split(schema, entry.getValue(), batchSize)) {
+                    insertBatch(batch, store, elementName, insert, request, listener, fids);
                 }
             }
 
@@ -225,6 +200,85 @@ public void execute(
         response.setTotalInserted(BigInteger.valueOf(inserted));
     }
 
+    /** Splits the features in collections of at most batchSize features, a single one if batchSize is not positive */
+    static List<SimpleFeatureCollection> split(SimpleFeatureType schema, List<SimpleFeature> features, int batchSize) {
+        if (batchSize <= 0 || features.size() <= batchSize) {
+            return Collections.singletonList(new ListFeatureCollection(schema, features));
+        }
+        List<SimpleFeatureCollection> batches = new ArrayList<>();
+        for (int i = 0; i < features.size(); i += batchSize) {
+            List<SimpleFeature> batch = features.subList(i, Math.min(i + batchSize, features.size()));
+            batches.add(new ListFeatureCollection(schema, batch));
+        }
+        return batches;
+    }
+
+    private void insertBatch(
+            SimpleFeatureCollection collection,
+            SimpleFeatureStore store,
+            QName elementName,
+            Insert insert,
+            TransactionRequest request,
+            TransactionListener listener,
+            List<FeatureId> fids)
+            throws Exception {
+        // if we really need to, make sure we are inserting coordinates that do
+        // match the CRS area of validity
+        if (getInfo().isCiteCompliant()) {
+            checkFeatureCoordinatesRange(collection);
+        }
+
+        // reprojection
+        final GeometryDescriptor defaultGeometry = store.getSchema().getGeometryDescriptor();
+        if (defaultGeometry != null) {
+            CoordinateReferenceSystem target = defaultGeometry.getCoordinateReferenceSystem();
+            if (target != null /* && !CRS.equalsIgnoreMetadata(collection.getSchema()
+                            .getCoordinateReferenceSystem(), target) */) {
+                collection = new ReprojectingFeatureCollection(collection, target);
+            }
+        }
+
+        // Need to use the namespace here for the
+        // lookup, due to our weird
+        // prefixed internal typenames. see
+        // https://osgeo-org.atlassian.net/browse/GEOS-143
+
+        // Once we get our datastores making features
+        // with the correct namespaces
+        // we can do something like this:
+        // FeatureTypeInfo typeInfo =
+        // catalog.getFeatureTypeInfo(schema.getTypeName(),
+        // schema.getNamespace());
+        // until then (when geos-144 is resolved) we're
+        // stuck with:
+        // QName qName = (QName) typeNames.get( i );
+        // FeatureTypeInfo typeInfo =
+        // catalog.featureType( qName.getPrefix(),
+        // qName.getLocalPart() );
+
+        // this is possible with the insert hack above.
+        LOGGER.finer("Use featureValidation to check contents of insert");
+
+        // featureValidation(
+        // typeInfo.getDataStore().getId(), schema,
+        // collection );
+
+        // fire pre insert event
+        TransactionEvent event =
+                new TransactionEvent(TransactionEventType.PRE_INSERT, request, elementName, collection);
+        event.setSource(Insert.WFS11.unadapt(insert));
+
+        listener.dataStoreChange(event);
+        List<FeatureId> batchFids = store.addFeatures(collection);
+        fids.addAll(batchFids);
+
+        // fire post insert event
+        SimpleFeatureCollection features = store.getFeatures(filterFactory.id(new HashSet<>(batchFids)));
+        event = new TransactionEvent(
+                TransactionEventType.POST_INSERT, request, elementName, features, Insert.WFS11.unadapt(insert));
+        listener.dataStoreChange(event);
+    }
+
     /** Checks that all features coordinates are within the expected coordinate range */
     void checkFeatureCoordinatesRange(SimpleFeatureCollection collection) throws PointOutsideEnvelopeException {
         List types = collection.getSchema().getAttributeDescriptors();
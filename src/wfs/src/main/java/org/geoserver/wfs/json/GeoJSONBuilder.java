@@ -5,6 +5,7 @@
  */
 package org.geoserver.wfs.json;
 
+import java.io.IOException;
 import java.io.Writer;
 import java.util.Calendar;
 import java.util.List;
@@ -39,6 +40,14 @@ public class GeoJSONBuilder extends JSONBuilder {
 
     private boolean encodeMeasures = false;
 
+    /** Max number of decimals formatted without going through {@link Double#toString(double)} */
+    static final int MAX_FAST_DECIMALS = 8;
+
+    private static final long[] LONG_SCALE = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+    /** Holds the ordinates of a coordinate, reused to avoid allocating objects for each of them */
+    private final char[] ordinates = new char[128];
+
     public GeoJSONBuilder(Writer w) {
         super(w);
     }
@@ -173,28 +182,35 @@ private JSONBuilder writeCoordinates(CoordinateSequence coordinates) throws JSON
     private JSONBuilder writeCoordinate(double x, double y, double z, double m) {
         // start encoding JSON array
         this.array();
+        int length = 0;
         // adjust the order of X and Y ordinates if needed
         if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
             // encode latitude first and then longitude
-            encodeOrdinate(y);
-            encodeOrdinate(x);
+            length = encodeOrdinate(y, length);
+            length = encodeOrdinate(x, length);
         } else {
             // encode longitude first and then latitude
-            encodeOrdinate(x);
-            encodeOrdinate(y);
+            length = encodeOrdinate(x, length);
+            length = encodeOrdinate(y, length);
         }
         // if Z value is not available but we have a measure, we set Z value to zero
         z = Double.isNaN(z) && !Double.isNaN(m) ? 0 : z;
         // encode Z value if available
-        encodeOrdinate(z);
+        length = encodeOrdinate(z, length);
         // encode M value if available
-        encodeOrdinate(m);
+        length = encodeOrdinate(m, length);
+        // the ordinates go straight to the output, the array start and end keep track of the commas
+        try {
+            writer.write(ordinates, 0, length);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
         // we are done with the array
         return this.endArray();
     }
 
     /**
-     * Writes a double value as a rounded number.
+     * Writes a double value as a rounded number in the ordinates buffer, preceded by a comma if not the first one.
      *
      * <p>If the value is {@link Double#NaN} then the value will not be written.
      *
@@ -203,21 +219,90 @@ private JSONBuilder writeCoordinate(double x, double y, double z, double m) {
      * is infinite.
      *
      * @param value value to encode
+     * @param length the number of chars already in the ordinates buffer
+     * @return the number of chars in the ordinates buffer after the value
      * @see #setNumberOfDecimals(int)
      */
-    private void encodeOrdinate(double value) {
+    private int encodeOrdinate(double value, int length) {
         if (Double.isNaN(value)) {
             // the value is not available then we don't encode it
-            return;
+            return length;
+        }
+        if (length > 0) {
+            ordinates[length++] = ',';
         }
-
         if (Double.isInfinite(value)) {
             // the value is +- infinity then we write its value as a String representation
-            super.value(String.valueOf(value));
-        } else {
-            // the value is a finite number then we write it as a rounded double
-            roundedValue(value);
+            String infinity = value > 0 ? "\"Infinity\"" : "\"-Infinity\"";
+            infinity.getChars(0, infinity.length(), ordinates, length);
+            return length + infinity.length();
+        }
+        // the value is a finite number then we write it as a rounded double
+        return formatRounded(value, numDecimals, ordinates, length);
+    }
+
+    /**
+     * Formats a finite value rounded to the given number of decimals, the same way the JSON library would format the
+     * rounded double, that is, {@link Double#toString(double)} without trailing zeros. Values in the range where
+     * {@link Double#toString(double)} uses no exponent, and having up to {@link #MAX_FAST_DECIMALS}, are formatted from
+     * the scaled long value, without allocating any object.
+     *
+     * @return the position in the buffer after the formatted value
+     */
+    static int formatRounded(double value, int numDecimals, char[] buffer, int position) {
+        double rounded = RoundingUtil.round(value, numDecimals);
+        double abs = Math.abs(rounded);
+        if (numDecimals >= 0 && numDecimals <= MAX_FAST_DECIMALS && abs < 1e7 && (abs >= 1e-3 || abs == 0)) {
+            // sign, keeping the one of negative zero as Double.toString does
+            if (rounded < 0 || (rounded == 0 && 1 / rounded < 0)) {
+                buffer[position++] = '-';
+            }
+            // at most 15 significant digits, the decimal representation identifies the double
+            long scale = LONG_SCALE[numDecimals];
+            long scaled = Math.round(abs * scale);
+            position = formatLong(scaled / scale, buffer, position);
+            long fraction = scaled % scale;
+            if (fraction != 0) {
+                buffer[position++] = '.';
+                int digits = numDecimals;
+                while (fraction % 10 == 0) {
+                    fraction /= 10;
+                    digits--;
+                }
+                for (int i = position + digits - 1; i >= position; i--) {
+                    buffer[i] = (char) ('0' + fraction % 10);
+                    fraction /= 10;
+                }
+                position += digits;
+            }
+            return position;
+        }
+
+        // general case, same as the JSON library number encoding
+        String formatted = Double.toString(rounded);
+        int length = formatted.length();
+        if (formatted.indexOf('.') > 0 && formatted.indexOf('E') < 0) {
+            while (formatted.charAt(length - 1) == '0') {
+                length--;
+            }
+            if (formatted.charAt(length - 1) == '.') {
+                length--;
+            }
+        }
+        formatted.getChars(0, length, buffer, position);
+        return position + length;
+    }
+
+    private static int formatLong(long value, char[] buffer, int position) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
         }
+        return position + digits;
     }
 
     private void roundedValue(double value) {
@@ -21,7 +21,6 @@
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xsd.XSDElementDeclaration;
@@ -57,7 +56,8 @@
  */
 public class CSVOutputFormat extends WFSGetFeatureOutputFormat {
 
-    static Pattern CSV_ESCAPES;
+    /** The characters forcing a field to be quoted, along with the separator ones */
+    static final String CSV_SPECIALS = "\"\n\r\t";
 
     public CSVOutputFormat(GeoServer gs) {
         // this is the name of your output format, it is the string
@@ -94,7 +94,7 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
         Object o = getFeature.getParameters()[0];
 
         String csvSeparator = getCsvSeparator(o);
-        CSV_ESCAPES = Pattern.compile("[\"\n\r\t" + csvSeparator + "]");
+        String specials = CSV_SPECIALS + csvSeparator;
 
         // create a writer
         BufferedWriter w = new BufferedWriter(
@@ -113,7 +113,7 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
             w.write("FID" + csvSeparator);
             for (int i = 0; i < ft.getAttributeCount(); i++) {
                 AttributeDescriptor ad = ft.getDescriptor(i);
-                w.write(prepCSVField(ad.getLocalName()));
+                w.write(prepCSVField(ad.getLocalName(), specials));
 
                 if (i < ft.getAttributeCount() - 1) {
                     w.write(csvSeparator);
@@ -139,7 +139,7 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
                         elName = xsdEl.getQName();
                     }
                     elName = resolveNamespacePrefixName(elName);
-                    w.write(prepCSVField(elName));
+                    w.write(prepCSVField(elName, specials));
                     i++;
                 }
             }
@@ -161,14 +161,14 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
             while (i.hasNext()) {
                 Feature f = i.next();
                 // dump fid
-                w.write(prepCSVField(f.getIdentifier().getID()));
+                w.write(prepCSVField(f.getIdentifier().getID(), specials));
                 w.write(csvSeparator);
                 if (f instanceof SimpleFeature) {
                     // dump attributes
                     for (int j = 0; j < ((SimpleFeature) f).getAttributeCount(); j++) {
                         Object att = ((SimpleFeature) f).getAttribute(j);
                         if (att != null) {
-                            String value = formatters[j].format(att);
+                            String value = formatters[j].format(att, specials);
                             w.write(value);
                         }
                         if (j < ((SimpleFeature) f).getAttributeCount() - 1) {
@@ -203,7 +203,7 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
                                 sb.append(value).append(",");
                             }
                             sb.setLength(sb.length() - 1);
-                            w.write(prepCSVField(sb.toString()));
+                            w.write(prepCSVField(sb.toString(), specials));
                         } else {
                             Object att = null;
                             if (!values.isEmpty()) {
@@ -212,7 +212,7 @@ protected void write(FeatureCollectionResponse featureCollection, OutputStream o
 
                             if (att != null) {
                                 String value = formatToString(att, coordFormatter);
-                                w.write(prepCSVField(value));
+                                w.write(prepCSVField(value, specials));
                             }
                         }
                     }
@@ -286,7 +286,7 @@ private AttrFormatter[] getFormatters(FeatureType schema) {
     }
 
     private interface AttrFormatter {
-        String format(Object att);
+        String format(Object att, String specials);
     }
 
     private static class NumberFormatter implements AttrFormatter {
@@ -297,13 +297,13 @@ public NumberFormatter(NumberFormat coordFormatter) {
         }
 
         @Override
-        public String format(Object att) {
-
+        public String format(Object att, String specials) {
+            String value = formatNumber(att, coordFormatter);
             // check for negative numbers
-            if (coordFormatter.format(att).contains("-")) {
-                return prepCSVField(coordFormatter.format(att));
+            if (value.indexOf('-') >= 0) {
+                return prepCSVField(value, specials);
             }
-            return coordFormatter.format(att);
+            return value;
         }
     }
 
@@ -315,15 +315,15 @@ public CustomDateFormatter(String workspaceDateFormat) {
         }
 
         @Override
-        public String format(Object att) {
-            return prepCSVField(TemporalUtils.serializeDateTime((Date) att, workspaceDateFormat));
+        public String format(Object att, String specials) {
+            return prepCSVField(TemporalUtils.serializeDateTime((Date) att, workspaceDateFormat), specials);
         }
     }
 
     private static class JUDateFormatter implements AttrFormatter {
         @Override
-        public String format(Object att) {
-            return prepCSVField(DateUtil.serializeDateTime((Date) att));
+        public String format(Object att, String specials) {
+            return prepCSVField(DateUtil.serializeDateTime((Date) att), specials);
         }
     }
 
@@ -331,8 +331,8 @@ public String format(Object att) {
 
     private static class SQLDateFormatter implements AttrFormatter {
         @Override
-        public String format(Object att) {
-            return prepCSVField(DateUtil.serializeSqlDate((java.sql.Date) att));
+        public String format(Object att, String specials) {
+            return prepCSVField(DateUtil.serializeSqlDate((java.sql.Date) att), specials);
         }
     }
 
@@ -340,8 +340,8 @@ public String format(Object att) {
 
     private static class SQLTimeFormatter implements AttrFormatter {
         @Override
-        public String format(Object att) {
-            return prepCSVField(DateUtil.serializeSqlTime((java.sql.Time) att));
+        public String format(Object att, String specials) {
+            return prepCSVField(DateUtil.serializeSqlTime((java.sql.Time) att), specials);
         }
     }
 
@@ -349,8 +349,8 @@ public String format(Object att) {
 
     private static class DefaultFormatter implements AttrFormatter {
         @Override
-        public String format(Object att) {
-            return prepCSVField(att.toString());
+        public String format(Object att, String specials) {
+            return prepCSVField(att.toString(), specials);
         }
     }
 
@@ -361,7 +361,7 @@ private String formatToString(Object att, NumberFormat coordFormatter) {
         if (att instanceof Number) {
             // don't allow scientific notation in the output, as OpenOffice won't
             // recognize that as a number
-            value = coordFormatter.format(att);
+            value = formatNumber(att, coordFormatter);
         } else if (att instanceof Date) {
             // serialize dates in ISO format
             if (att instanceof java.sql.Date) value = DateUtil.serializeSqlDate((java.sql.Date) att);
@@ -374,6 +374,26 @@ private String formatToString(Object att, NumberFormat coordFormatter) {
         return value;
     }
 
+    /**
+     * Formats a number without grouping or scientific notation. Integral values are written directly, as the number
+     * formatter would produce the same digits at a much higher cost.
+     */
+    static String formatNumber(Object att, NumberFormat coordFormatter) {
+        if (att instanceof Integer || att instanceof Long || att instanceof Short || att instanceof Byte) {
+            return Long.toString(((Number) att).longValue());
+        }
+        if (att instanceof Double || att instanceof Float) {
+            double d = ((Number) att).doubleValue();
+            // negative zero is formatted as "-0", leave it to the formatter
+            if (d == Math.rint(d) && Math.abs(d) < 1e15 && Double.doubleToRawLongBits(d) != NEGATIVE_ZERO_BITS) {
+                return Long.toString((long) d);
+            }
+        }
+        return coordFormatter.format(att);
+    }
+
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0d);
+
     private static Escaper escaper = Escapers.builder().addEscape('"', "\"\"").build();
 
     /*
@@ -382,19 +402,19 @@ private String formatToString(Object att, NumberFormat coordFormatter) {
      * must be escaped.  This method takes a field and returns one that
      * obeys the CSV spec.
      */
-    private static String prepCSVField(String field) {
-        // "embedded double-quote characters must be represented by a pair of double-quote
-        // characters."
-        String mod = escaper.escape(field);
-
+    static String prepCSVField(String field, String specials) {
         /*
-         * Enclose string in double quotes if it contains double quotes, commas, or newlines
+         * Enclose string in double quotes if it contains double quotes, separators, or newlines,
+         * most fields don't and are returned as is
          */
-        if (CSV_ESCAPES.matcher(mod).find()) {
-            mod = "\"" + mod + "\"";
+        for (int i = 0; i < field.length(); i++) {
+            if (specials.indexOf(field.charAt(i)) >= 0) {
+                // "embedded double-quote characters must be represented by a pair of double-quote
+                // characters."
+                return "\"" + escaper.escape(field) + "\"";
+            }
         }
-
-        return mod;
+        return field;
     }
 
     @Override
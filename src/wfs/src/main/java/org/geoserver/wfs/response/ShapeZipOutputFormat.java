@@ -9,6 +9,7 @@
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -33,6 +34,7 @@
 import java.util.Properties;
 import java.util.SimpleTimeZone;
 import java.util.logging.Logger;
+import java.util.zip.Deflater;
 import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.namespace.QName;
@@ -90,6 +92,15 @@ public class ShapeZipOutputFormat extends WFSGetFeatureOutputFormat implements A
     public static final String GS_SHAPEFILE_CHARSET = "GS-SHAPEFILE-CHARSET";
     public static final String SHAPE_ZIP_DEFAULT_PRJ_IS_ESRI = "SHAPE-ZIP_DEFAULT_PRJ_IS_ESRI";
 
+    /**
+     * System property or environment variable setting the deflate level of the zip, from 0 (no compression) to 9 (best
+     * compression), lower levels trading a bigger download for a faster one
+     */
+    public static final String COMPRESSION_LEVEL = "WFS_SHAPEZIP_COMPRESSION_LEVEL";
+
+    /** The deflater writes in small chunks, they are collected in a buffer of this size before reaching the client */
+    static final int ZIP_BUFFER_SIZE = 64 * 1024;
+
     private static final Configuration templateConfig = TemplateUtils.getSafeConfiguration(null, null, EXPOSE_NOTHING);
 
     private ApplicationContext applicationContext;
@@ -97,6 +108,7 @@ public class ShapeZipOutputFormat extends WFSGetFeatureOutputFormat implements A
     private GeoServerResourceLoader resourceLoader;
     private long maxShpSize = Long.getLong("GS_SHP_MAX_SIZE", Integer.MAX_VALUE);
     private long maxDbfSize = Long.getLong("GS_DBF_MAX_SIZE", Integer.MAX_VALUE);
+    private int compressionLevel = getCompressionLevel();
 
     public ShapeZipOutputFormat(GeoServer gs, Catalog catalog, GeoServerResourceLoader resourceLoader) {
         super(gs, "SHAPE-ZIP");
@@ -236,9 +248,12 @@ protected void shapefileDumped(String fileName, SimpleFeatureType remappedSchema
                         || name.endsWith(".cst")
                         || name.endsWith(".txt");
             };
-            ZipOutputStream zipOut = new ZipOutputStream(output);
+            BufferedOutputStream bufferedOut = new BufferedOutputStream(output, ZIP_BUFFER_SIZE);
+            ZipOutputStream zipOut = new ZipOutputStream(bufferedOut);
+            zipOut.setLevel(compressionLevel);
             IOUtils.zipDirectory(tempDir, zipOut, filter);
             zipOut.finish();
+            bufferedOut.flush();
 
             // This is an error, because this closes the output stream too... it's
             // not the right place to do so
@@ -254,6 +269,31 @@ protected void shapefileDumped(String fileName, SimpleFeatureType remappedSchema
         }
     }
 
+    /** Reads the deflate level from {@link #COMPRESSION_LEVEL}, using the default one if not set */
+    private static int getCompressionLevel() {
+        return parseCompressionLevel(GeoServerExtensions.getProperty(COMPRESSION_LEVEL));
+    }
+
+    /**
+     * Parses a deflate level, -1 (the default) or 0 to 9. Invalid levels are logged and replaced by the default one,
+     * rather than failing every request when set on the zip stream
+     */
+    static int parseCompressionLevel(String level) {
+        if (level == null) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        try {
+            int result = Integer.parseInt(level.trim());
+            if (result >= Deflater.DEFAULT_COMPRESSION && result <= Deflater.BEST_COMPRESSION) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // logged below
+        }
+        LOGGER.warning("Ignoring invalid " + COMPRESSION_LEVEL + " value '" + level + "', expected -1 to 9");
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
     /** Dumps the request */
     private void createRequestDump(File tempDir, GetFeatureRequest gft, SimpleFeatureCollection fc) {
         final Request request = Dispatcher.REQUEST.get();
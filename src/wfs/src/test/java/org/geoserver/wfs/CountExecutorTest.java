@@ -0,0 +1,188 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.NameImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class CountExecutorTest {
+
+    static final String NS = "http://www.geoserver.org/test";
+
+    ExecutorService pool;
+
+    @Before
+    public void createPool() {
+        pool = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @After
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @SuppressWarnings("unchecked")
+    static FeatureSource source(Query query, CountDownLatch barrier, int count, Set<Thread> threads)
+            throws Exception {
+        FeatureCollection collection = mock(FeatureCollection.class);
+        when(collection.size()).then(invocation -> {
+            threads.add(Thread.currentThread());
+            if (barrier != null) {
+                barrier.countDown();
+                // only succeeds if the other count runs at the same time
+                assertTrue(barrier.await(10, TimeUnit.SECONDS));
+            }
+            return count;
+        });
+        FeatureSource source = mock(FeatureSource.class);
+        when(source.getFeatures(query)).thenReturn(collection);
+        return source;
+    }
+
+    @Test
+    public void testSequentialWithoutPool() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Query q1 = new Query("a");
+        Query q2 = new Query("b");
+        CountExecutor c1 = new CountExecutor(source(q1, null, 3, threads), q1);
+        CountExecutor c2 = new CountExecutor(source(q2, null, 4, threads), q2);
+
+        assertEquals(12, CountExecutor.getTotalCount(Arrays.asList(c1, c2, new CountExecutor(5)), null));
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void testParallelCounts() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch barrier = new CountDownLatch(2);
+        Query q1 = new Query("a");
+        Query q2 = new Query("b");
+        CountExecutor c1 = new CountExecutor(source(q1, barrier, 3, threads), q1);
+        CountExecutor c2 = new CountExecutor(source(q2, barrier, 4, threads), q2);
+
+        assertEquals(12, CountExecutor.getTotalCount(Arrays.asList(new CountExecutor(5), c1, c2), pool));
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    public void testParallelUnknownCount() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Query q1 = new Query("a");
+        Query q2 = new Query("b");
+        CountExecutor c1 = new CountExecutor(source(q1, null, -1, threads), q1);
+        CountExecutor c2 = new CountExecutor(source(q2, null, 4, threads), q2);
+
+        assertEquals(-1, CountExecutor.getTotalCount(Arrays.asList(c1, c2), pool));
+    }
+
+    @Test
+    public void testSingleCountStaysOnCallerThread() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Query q1 = new Query("a");
+        FeatureSource source = source(q1, null, 3, threads);
+        CountExecutor c1 = new CountExecutor(source, q1);
+
+        assertEquals(8, CountExecutor.getTotalCount(Arrays.asList(c1, new CountExecutor(5)), pool));
+        assertEquals(Set.of(Thread.currentThread()), threads);
+        verify(source, never()).getCount(q1);
+    }
+
+    @Test
+    public void testCacheInvalidation() throws Exception {
+        Cache<CountExecutor.CountKey, Integer> cache = CacheBuilder.newBuilder().maximumSize(10).build();
+        CountCacheInvalidator invalidator = new CountCacheInvalidator(mock(Catalog.class), cache);
+        Query query = new Query("a");
+        FeatureSource source = source(query, null, 3, ConcurrentHashMap.newKeySet());
+        when(source.getName()).thenReturn(new NameImpl(NS, "a"));
+        CountExecutor counter = new CountExecutor(source, query);
+
+        assertEquals(3, counter.getCount(cache));
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(1)).getFeatures(query);
+
+        // a transaction on another type keeps the count, one on the counted type drops it
+        invalidator.beforeTransaction(null);
+        invalidator.dataStoreChange(insert("b"));
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(1)).getFeatures(query);
+        invalidator.dataStoreChange(insert("a"));
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(2)).getFeatures(query);
+        // cached again while the transaction was running, dropped after it
+        invalidator.afterTransaction(null, null, true);
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(3)).getFeatures(query);
+
+        CatalogPostModifyEvent modify = mock(CatalogPostModifyEvent.class);
+        when(modify.getSource()).thenReturn(mock(FeatureTypeInfo.class));
+        invalidator.handlePostModifyEvent(modify);
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(4)).getFeatures(query);
+    }
+
+    @Test
+    public void testCacheKeyedOnRoles() throws Exception {
+        Cache<CountExecutor.CountKey, Integer> cache = CacheBuilder.newBuilder().maximumSize(10).build();
+        Query query = new Query("a");
+        FeatureSource source = source(query, null, 3, ConcurrentHashMap.newKeySet());
+        when(source.getName()).thenReturn(new NameImpl(NS, "a"));
+        CountExecutor counter = new CountExecutor(source, query);
+
+        authenticate("ROLE_A");
+        assertEquals(3, counter.getCount(cache));
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(1)).getFeatures(query);
+        // same user name, different roles
+        authenticate("ROLE_B");
+        assertEquals(3, counter.getCount(cache));
+        verify(source, times(2)).getFeatures(query);
+        assertEquals(2, cache.size());
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "user", "pwd", List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    private static TransactionEvent insert(String typeName) {
+        return new TransactionEvent(TransactionEventType.POST_INSERT, null, new QName(NS, typeName), null);
+    }
+}
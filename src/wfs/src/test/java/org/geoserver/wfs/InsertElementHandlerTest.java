@@ -0,0 +1,56 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.junit.Test;
+
+public class InsertElementHandlerTest {
+
+    @Test
+    public void testSplit() throws Exception {
+        SimpleFeatureType schema = DataUtilities.createType("points", "geom:Point,name:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            features.add(DataUtilities.createFeature(schema, "points." + i + "=POINT(" + i + " " + i + ")|p" + i));
+        }
+
+        // no batching
+        assertEquals(1, InsertElementHandler.split(schema, features, 0).size());
+        assertEquals(1, InsertElementHandler.split(schema, features, 10).size());
+
+        // batches keep the original order
+        List<SimpleFeatureCollection> batches = InsertElementHandler.split(schema, features, 4);
+        assertEquals(3, batches.size());
+        assertEquals(4, batches.get(0).size());
+        assertEquals(4, batches.get(1).size());
+        assertEquals(2, batches.get(2).size());
+        int i = 0;
+        for (SimpleFeatureCollection batch : batches) {
+            assertEquals(schema, batch.getSchema());
+            try (SimpleFeatureIterator it = batch.features()) {
+                while (it.hasNext()) {
+                    assertEquals(features.get(i++), it.next());
+                }
+            }
+        }
+        assertEquals(10, i);
+    }
+
+    @Test
+    public void testParseBatchSize() {
+        assertEquals(0, InsertElementHandler.parseBatchSize(null));
+        assertEquals(100, InsertElementHandler.parseBatchSize(" 100 "));
+        assertEquals(0, InsertElementHandler.parseBatchSize("lots"));
+    }
+}
@@ -16,6 +16,7 @@
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.custommonkey.xmlunit.XMLAssert;
 import org.geoserver.catalog.Catalog;
@@ -55,6 +56,12 @@
  */
 public class TransactionTest extends WFSTestSupport {
 
+    @Override
+    protected void setUpSpring(List<String> springContextLocations) {
+        super.setUpSpring(springContextLocations);
+        springContextLocations.add("classpath:/org/geoserver/wfs/TransactionListenerTestContext.xml");
+    }
+
     @Before
     public void revert() throws Exception {
         revertLayer(CiteTestData.POINTS);
@@ -931,6 +938,66 @@ public void elementHandlerOrder() throws Exception {
         dispose(cat, ds, store, ft);
     }
 
+    @Test
+    public void testInsertBatches() throws Exception {
+        Catalog cat = getCatalog();
+        DataStoreInfo ds = getDataStoreInfo(cat);
+        DataStore store = (DataStore) ds.getDataStore(null);
+
+        CatalogBuilder cb = new CatalogBuilder(cat);
+        cb.setStore(ds);
+
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("bar");
+
+        FeatureTypeInfo ft = cb.buildFeatureType(fs);
+        cat.add(ft);
+
+        InsertElementHandler handler = applicationContext.getBean(InsertElementHandler.class);
+        TransactionListenerTester listener =
+                (TransactionListenerTester) applicationContext.getBean("transactionListenerTester");
+        listener.clear();
+        handler.setBatchSize(2);
+        try {
+            StringBuilder xml = new StringBuilder("<wfs:Transaction service=\"WFS\" version=\"1.0.0\" "
+                    + " xmlns:wfs=\"http://www.opengis.net/wfs\" "
+                    + " xmlns:gml=\"http://www.opengis.net/gml\" "
+                    + " xmlns:gs='"
+                    + SystemTestData.DEFAULT_URI
+                    + "'>"
+                    + "<wfs:Insert idgen='UseExisting'>");
+            for (int i = 1; i <= 5; i++) {
+                xml.append(" <gs:bar gml:id='" + i + "'><gs:name>bar" + i + "</gs:name></gs:bar>");
+            }
+            xml.append("</wfs:Insert></wfs:Transaction>");
+
+            Document dom = postAsDOM("wfs", xml.toString());
+            assertEquals(1, dom.getElementsByTagName("wfs:SUCCESS").getLength());
+
+            // all fids are reported, in the order of the request
+            NodeList fids = dom.getElementsByTagName("ogc:FeatureId");
+            assertEquals(5, fids.getLength());
+            for (int i = 1; i <= 5; i++) {
+                assertEquals("bar." + i, ((Element) fids.item(i - 1)).getAttribute("fid"));
+            }
+
+            // one pre and post insert event pair for each batch of at most 2 features
+            List<TransactionEvent> events = listener.events;
+            assertEquals(6, events.size());
+            int[] sizes = {2, 2, 1};
+            for (int i = 0; i < 3; i++) {
+                TransactionEvent pre = events.get(i * 2);
+                TransactionEvent post = events.get(i * 2 + 1);
+                assertEquals(TransactionEventType.PRE_INSERT, pre.getType());
+                assertEquals(TransactionEventType.POST_INSERT, post.getType());
+                assertEquals(sizes[i], pre.getAffectedFeatures().size());
+                assertEquals(sizes[i], post.getAffectedFeatures().size());
+            }
+        } finally {
+            handler.setBatchSize(0);
+            dispose(cat, ds, store, ft);
+        }
+    }
+
     @Test
     public void testBuildGeotoolsTransaction() throws IOException {
         Authentication authentication = null;
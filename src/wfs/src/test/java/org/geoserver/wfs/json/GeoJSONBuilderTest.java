@@ -13,10 +13,12 @@
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.TimeZone;
 import java.util.UUID;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
+import net.sf.json.util.JSONUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
@@ -485,6 +487,35 @@ public void testWrite3DLineWithInfiniteCoordinates() throws Exception {
                 writer.toString());
     }
 
+    @Test
+    public void testWriteOrdinatesNeedingExponent() throws Exception {
+        builder.setNumberOfDecimals(8);
+        builder.writeGeom(new WKTReader().read("LINESTRING(0.00001 -123456789.5, -0.00099 0.001)"));
+        assertEquals(
+                "{\"type\":\"LineString\",\"coordinates\":[[1.0E-5,-1.234567895E8],[-9.9E-4,0.001]]}",
+                writer.toString());
+    }
+
+    @Test
+    public void testFormatRoundedSameAsJSONLibrary() throws Exception {
+        Random random = new Random(0);
+        char[] buffer = new char[64];
+        for (int i = 0; i < 100000; i++) {
+            int decimals = random.nextInt(10);
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16) - 6);
+            String expected = JSONUtils.numberToString(RoundingUtil.round(value, decimals));
+            String actual = new String(buffer, 0, GeoJSONBuilder.formatRounded(value, decimals, buffer, 0));
+            assertEquals(value + " with " + decimals + " decimals", expected, actual);
+        }
+        for (double value : new double[] {0, -0d, 0.0005, -0.0005, 1e-3, 1e7, 9999999.99999999, -1}) {
+            for (int decimals = 0; decimals < 10; decimals++) {
+                String expected = JSONUtils.numberToString(RoundingUtil.round(value, decimals));
+                String actual = new String(buffer, 0, GeoJSONBuilder.formatRounded(value, decimals, buffer, 0));
+                assertEquals(value + " with " + decimals + " decimals", expected, actual);
+            }
+        }
+    }
+
     private void addLevels(final GeoJSONBuilder builder, int level, final int max) {
         if (level >= max) return;
         level++;
@@ -0,0 +1,190 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.json;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.sf.json.util.JSONBuilder;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link GeoJSONBuilder} geometry encoding with the one it replaced, which wrote each ordinate as a boxed
+ * double through the JSON library, on point, line and polygon heavy datasets.
+ */
+@Ignore
+public class GeoJSONEncoderBenchmarkTest {
+
+    static final int DECIMALS = 6;
+
+    /**
+     * Runs the JMH benchmark. This isn't a really test so it includes the @Ignore annotation; by integrating JMH with
+     * Junit it just provides us an easy way to run the benchmark (typically through the IDE).
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(GeoJSONEncoderBenchmark.class.getSimpleName() + ".*")
+                .result("./target/geojson-encoder.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    /** Discards the output */
+    static class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) {}
+
+        @Override
+        public void write(String str, int off, int len) {}
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    /** The previous encoding of the coordinates, one boxed and JSON library formatted value per ordinate */
+    static class LegacyGeoJSONBuilder extends JSONBuilder {
+
+        LegacyGeoJSONBuilder(Writer w) {
+            super(w);
+        }
+
+        void writeGeom(Geometry geometry) {
+            object().key("type").value(geometry.getGeometryType()).key("coordinates");
+            if (geometry instanceof Point) {
+                writeCoordinate(((Point) geometry).getCoordinateSequence(), 0);
+            } else if (geometry instanceof LineString) {
+                writeCoordinates(((LineString) geometry).getCoordinateSequence());
+            } else {
+                Polygon polygon = (Polygon) geometry;
+                array();
+                writeCoordinates(polygon.getExteriorRing().getCoordinateSequence());
+                for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                    writeCoordinates(polygon.getInteriorRingN(i).getCoordinateSequence());
+                }
+                endArray();
+            }
+            endObject();
+        }
+
+        void writeCoordinates(CoordinateSequence coordinates) {
+            array();
+            for (int i = 0; i < coordinates.size(); i++) {
+                writeCoordinate(coordinates, i);
+            }
+            endArray();
+        }
+
+        void writeCoordinate(CoordinateSequence coordinates, int i) {
+            array();
+            value(RoundingUtil.round(coordinates.getX(i), DECIMALS));
+            value(RoundingUtil.round(coordinates.getY(i), DECIMALS));
+            endArray();
+        }
+    }
+
+    static List<Geometry> buildGeometries(String type, int count) {
+        Random random = new Random(0);
+        GeometryFactory gf = new GeometryFactory();
+        List<Geometry> geometries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double cx = random.nextDouble() * 360 - 180;
+            double cy = random.nextDouble() * 180 - 90;
+            if ("point".equals(type)) {
+                geometries.add(gf.createPoint(new Coordinate(cx, cy)));
+            } else {
+                int vertices = "line".equals(type) ? 100 : 500;
+                Coordinate[] coordinates = new Coordinate[vertices];
+                for (int j = 0; j < vertices; j++) {
+                    double angle = 2 * Math.PI * j / (vertices - 1);
+                    double radius = 0.01 + random.nextDouble() * 0.001;
+                    coordinates[j] = "line".equals(type)
+                            ? new Coordinate(cx + j * 0.0001, cy + random.nextDouble() * 0.001)
+                            : new Coordinate(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle));
+                }
+                if ("line".equals(type)) {
+                    geometries.add(gf.createLineString(coordinates));
+                } else {
+                    coordinates[vertices - 1] = coordinates[0];
+                    geometries.add(gf.createPolygon(coordinates));
+                }
+            }
+        }
+        return geometries;
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class GeoJSONEncoderBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class GeometryState {
+
+            @Param({"point", "line", "polygon"})
+            String type;
+
+            List<Geometry> geometries;
+
+            @Setup(Level.Trial)
+            public void setup() {
+                geometries = buildGeometries(type, "point".equals(type) ? 100000 : 1000);
+            }
+        }
+
+        @Benchmark
+        public void legacy(GeometryState state) {
+            LegacyGeoJSONBuilder builder = new LegacyGeoJSONBuilder(new NullWriter());
+            builder.array();
+            for (Geometry geometry : state.geometries) {
+                builder.writeGeom(geometry);
+            }
+            builder.endArray();
+        }
+
+        @Benchmark
+        public void current(GeometryState state) {
+            GeoJSONBuilder builder = new GeoJSONBuilder(new NullWriter());
+            builder.setNumberOfDecimals(DECIMALS);
+            builder.array();
+            for (Geometry geometry : state.geometries) {
+                builder.writeGeom(geometry);
+            }
+            builder.endArray();
+        }
+    }
+}
@@ -19,6 +19,7 @@
 import java.io.IOException;
 import java.io.StringReader;
 import java.security.InvalidParameterException;
+import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -333,6 +334,27 @@ public void testDontResolvePrefixedAttributeNames() {
         assertEquals("test-ns2:attributeName", csvFormat.resolveNamespacePrefixName("test-ns2:attributeName"));
     }
 
+    @Test
+    public void testPrepCSVField() {
+        String specials = CSVOutputFormat.CSV_SPECIALS + ";";
+        assertEquals("plain, text", CSVOutputFormat.prepCSVField("plain, text", specials));
+        assertEquals("\"a;b\"", CSVOutputFormat.prepCSVField("a;b", specials));
+        assertEquals("\"say \"\"hi\"\"\"", CSVOutputFormat.prepCSVField("say \"hi\"", specials));
+        assertEquals("\"two\r\nlines\"", CSVOutputFormat.prepCSVField("two\r\nlines", specials));
+    }
+
+    @Test
+    public void testFormatNumber() {
+        NumberFormat formatter = NumberFormat.getInstance(Locale.US);
+        formatter.setMaximumFractionDigits(4);
+        formatter.setGroupingUsed(false);
+        List<Number> numbers = List.of(
+                0, -12, Long.MIN_VALUE, (short) 3, (byte) -4, 5d, -0d, 0d, 1e20, 123456789012345d, 1.23456, -7.5f);
+        for (Number number : numbers) {
+            assertEquals(formatter.format(number), CSVOutputFormat.formatNumber(number, formatter));
+        }
+    }
+
     @Test
     public void testUnvalidResolvePrefixedAttributeNames() {
         CSVOutputFormat csvFormat = new CSVOutputFormat(getGeoServer());
@@ -28,6 +28,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import javax.xml.namespace.QName;
@@ -898,6 +899,18 @@ private byte[] getShpOnlyBytes(byte[] zipBytes) throws IOException {
         return resultBytes;
     }
 
+    @Test
+    public void testParseCompressionLevel() {
+        assertEquals(Deflater.DEFAULT_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel(null));
+        assertEquals(Deflater.NO_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel("0"));
+        assertEquals(Deflater.BEST_SPEED, ShapeZipOutputFormat.parseCompressionLevel(" 1 "));
+        assertEquals(Deflater.BEST_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel("9"));
+        // out of range or not a number
+        assertEquals(Deflater.DEFAULT_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel("10"));
+        assertEquals(Deflater.DEFAULT_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel("-2"));
+        assertEquals(Deflater.DEFAULT_COMPRESSION, ShapeZipOutputFormat.parseCompressionLevel("fast"));
+    }
+
     @Test
     public void testMultiGeometryColumns() throws Exception {
         final FeatureSource fs = getFeatureSource(SystemTestData.PRIMITIVEGEOFEATURE);
@@ -83,6 +83,9 @@ public class DefaultWebMapService implements WebMapService, ApplicationContextAw
     /** default for 'transparent' parameter. */
     public static volatile ExecutorService RENDERING_POOL;
 
+    /** pool used to render groups of layers in parallel */
+    public static volatile ExecutorService LAYER_RENDERING_POOL;
+
     /** default for 'bbox' paramter */
     public static ReferencedEnvelope BBOX =
             new ReferencedEnvelope(new Envelope(-180, 180, -90, 90), DefaultGeographicCRS.WGS84);
@@ -102,6 +105,12 @@ public class DefaultWebMapService implements WebMapService, ApplicationContextAw
     /** Use a global rendering pool, or use a new pool each time */
     private static Boolean USE_GLOBAL_RENDERING_POOL = null;
 
+    /** Max number of layer groups rendered in parallel by a single GetMap request */
+    private static Integer LAYER_RENDERING_PARALLELISM = null;
+
+    /** Max number of threads rendering layer groups in parallel, across all requests */
+    private static Integer LAYER_RENDERING_THREADS = null;
+
     private GetCapabilities getCapabilities;
 
     private DescribeLayer describeLayer;
@@ -182,6 +191,18 @@ public void setApplicationContext(ApplicationContext context) throws BeansExcept
             if (usePool == null) USE_GLOBAL_RENDERING_POOL = true;
             else USE_GLOBAL_RENDERING_POOL = Boolean.valueOf(usePool);
         }
+
+        // parallel rendering of layer groups, disabled by default
+        if (LAYER_RENDERING_PARALLELISM == null) {
+            String parallelism = GeoServerExtensions.getProperty("WMS_LAYER_RENDERING_PARALLELISM", context);
+            if (parallelism == null) LAYER_RENDERING_PARALLELISM = 1;
+            else LAYER_RENDERING_PARALLELISM = Math.max(1, Integer.parseInt(parallelism));
+        }
+        if (LAYER_RENDERING_THREADS == null) {
+            String threads = GeoServerExtensions.getProperty("WMS_LAYER_RENDERING_THREADS", context);
+            if (threads == null) LAYER_RENDERING_THREADS = Runtime.getRuntime().availableProcessors() * 2;
+            else LAYER_RENDERING_THREADS = Math.max(1, Integer.parseInt(threads));
+        }
     }
 
     /**
@@ -200,6 +221,14 @@ public static int getMaxFilterRules() {
         return MAX_FILTER_RULES;
     }
 
+    /**
+     * Max number of layer groups a single GetMap request can render in parallel, 1 (default) means the layers are
+     * rendered sequentially
+     */
+    public static int getLayerRenderingParallelism() {
+        return LAYER_RENDERING_PARALLELISM != null ? LAYER_RENDERING_PARALLELISM : 1;
+    }
+
     /** If true (default) the direct raster rendering path is enabled */
     public static boolean isDirectRasterPathEnabled() {
         return !BYPASS_DIRECT;
@@ -338,8 +367,32 @@ public static ExecutorService getRenderingPool() {
         return RENDERING_POOL;
     }
 
+    /**
+     * Returns the app wide pool used to render groups of layers in parallel, bounded by the WMS_LAYER_RENDERING_THREADS
+     * property
+     */
+    public static ExecutorService getLayerRenderingPool() {
+        if (LAYER_RENDERING_POOL == null) {
+            synchronized (DefaultWebMapService.class) {
+                if (LAYER_RENDERING_POOL == null) {
+                    int threads = LAYER_RENDERING_THREADS != null
+                            ? LAYER_RENDERING_THREADS
+                            : Runtime.getRuntime().availableProcessors() * 2;
+                    LAYER_RENDERING_POOL = new ThreadLocalTransferExecutor(threads);
+                }
+            }
+        }
+
+        return LAYER_RENDERING_POOL;
+    }
+
     @Override
     public void destroy() throws Exception {
+        if (LAYER_RENDERING_POOL != null) {
+            LAYER_RENDERING_POOL.shutdown();
+            LAYER_RENDERING_POOL.awaitTermination(10, TimeUnit.SECONDS);
+            LAYER_RENDERING_POOL = null;
+        }
         if (RENDERING_POOL != null) {
             RENDERING_POOL.shutdown();
             RENDERING_POOL.awaitTermination(10, TimeUnit.SECONDS);
@@ -14,6 +14,7 @@
 import javax.media.jai.RenderedImageList;
 import org.geoserver.ows.AbstractDispatcherCallback;
 import org.geoserver.ows.Request;
+import org.geoserver.wms.map.RasterPool;
 import org.geoserver.wms.map.RenderedImageTimeDecorator;
 import org.geotools.coverage.grid.GridCoverage2D;
 import org.geotools.image.util.ImageUtilities;
@@ -23,6 +24,8 @@ public class RasterCleaner extends AbstractDispatcherCallback {
 
     static final ThreadLocal<List<GridCoverage2D>> coverages = new ThreadLocal<>();
 
+    static final ThreadLocal<List<BufferedImage>> pooledImages = new ThreadLocal<>();
+
     /** Schedules a RenderedImage for cleanup at the end of the request */
     public static void addImage(RenderedImage image) {
         if (image == null) {
@@ -51,6 +54,23 @@ public static void addCoverage(GridCoverage2D coverage) {
         list.add(coverage);
     }
 
+    /**
+     * Schedules an image acquired from the {@link RasterPool} to be returned to it at the end of the request, after the
+     * other images have been disposed
+     */
+    public static void addPooledImage(BufferedImage image) {
+        if (image == null) {
+            return;
+        }
+
+        List<BufferedImage> list = pooledImages.get();
+        if (list == null) {
+            list = new ArrayList<>();
+            pooledImages.set(list);
+        }
+        list.add(image);
+    }
+
     @Override
     public void finished(Request request) {
         cleanup();
@@ -60,6 +80,7 @@ public void finished(Request request) {
     public static void cleanup() {
         disposeCoverages();
         disposeImages();
+        releasePooledImages();
     }
 
     private static void disposeImages() {
@@ -97,6 +118,17 @@ public static void disposeImage(RenderedImage image) {
         }
     }
 
+    private static void releasePooledImages() {
+        List<BufferedImage> list = pooledImages.get();
+        if (list != null) {
+            pooledImages.remove();
+            for (BufferedImage image : list) {
+                RasterPool.returnToPool(image);
+            }
+            list.clear();
+        }
+    }
+
     private static void disposeCoverages() {
         List<GridCoverage2D> list = coverages.get();
         if (list != null) {
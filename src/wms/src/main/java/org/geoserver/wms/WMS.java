@@ -63,6 +63,8 @@
 import org.geoserver.wms.capabilities.DimensionHelper;
 import org.geoserver.wms.dimension.DimensionDefaultValueSelectionStrategy;
 import org.geoserver.wms.dimension.DimensionDefaultValueSelectionStrategyFactory;
+import org.geoserver.wms.dimension.DimensionDomain;
+import org.geoserver.wms.dimension.DimensionDomainCache;
 import org.geoserver.wms.featureinfo.GetFeatureInfoOutputFormat;
 import org.geoserver.wms.map.RenderedImageMapOutputFormat;
 import org.geoserver.wms.map.RenderedImageMapResponse;
@@ -1321,6 +1323,20 @@ public TreeSet<Date> getFeatureTypeTimes(FeatureTypeInfo typeInfo) throws IOExce
             return result;
         }
 
+        DimensionDomain domain = DimensionDomainCache.lookup(typeInfo, time);
+        if (domain != null) {
+            if (time.getPresentation() == DimensionPresentation.LIST) {
+                if (domain.isEmpty()) return null;
+                @SuppressWarnings("unchecked")
+                List<Date> values = (List<Date>) (List) domain.getValues();
+                result.addAll(values);
+            } else if (!domain.isEmpty()) {
+                result.add((Date) domain.getMinimum());
+                result.add((Date) domain.getMaximumEnd());
+            }
+            return result;
+        }
+
         if (time.getPresentation() == DimensionPresentation.LIST) {
             final UniqueVisitor visitor = new UniqueVisitor(time.getAttribute());
             collection.accepts(visitor, null);
@@ -1398,9 +1414,23 @@ public TreeSet<Double> getFeatureTypeElevations(FeatureTypeInfo typeInfo) throws
             result.add(Double.parseDouble(endValue));
             return result;
         }
-        if (elevation.getPresentation() == DimensionPresentation.LIST
+        boolean allValues = elevation.getPresentation() == DimensionPresentation.LIST
                 || (elevation.getPresentation() == DimensionPresentation.DISCRETE_INTERVAL
-                        && elevation.getResolution() == null)) {
+                        && elevation.getResolution() == null);
+        DimensionDomain domain = DimensionDomainCache.lookup(typeInfo, elevation);
+        if (domain != null) {
+            if (allValues) {
+                if (domain.isEmpty()) return null;
+                for (Object value : domain.getValues()) {
+                    result.add(((Number) value).doubleValue());
+                }
+            } else if (!domain.isEmpty()) {
+                result.add(((Number) domain.getMinimum()).doubleValue());
+                result.add(((Number) domain.getMaximumEnd()).doubleValue());
+            }
+            return result;
+        }
+        if (allValues) {
             final UniqueVisitor visitor = new UniqueVisitor(elevation.getAttribute());
             collection.accepts(visitor, null);
 
@@ -1447,6 +1477,11 @@ TreeSet<Object> queryFeatureTypeDimension(FeatureTypeInfo typeInfo, Range range,
                     "Layer " + typeInfo.prefixedName() + " does not have " + dimensionName + " support enabled");
         }
 
+        DimensionDomain domain = DimensionDomainCache.lookup(typeInfo, di);
+        if (domain != null) {
+            return new TreeSet<>(domain.getValues(range.getMinValue(), range.getMaxValue(), maxItems));
+        }
+
         // filter by date range
         FeatureSource fs = getFeatureSource(typeInfo);
         // build query to grab the time values
@@ -1968,6 +2003,9 @@ public TreeSet<Object> getDimensionValues(FeatureTypeInfo typeInfo, DimensionInf
         String startValue = dimensionInfo.getStartValue();
         String endValue = dimensionInfo.getEndValue();
 
+        boolean allValues = dimensionInfo.getPresentation() == DimensionPresentation.LIST
+                || (dimensionInfo.getPresentation() == DimensionPresentation.DISCRETE_INTERVAL
+                        && dimensionInfo.getResolution() == null);
         if (dimensionInfo.getPresentation() != DimensionPresentation.LIST
                 && !StringUtils.isEmpty(startValue)
                 && !StringUtils.isEmpty(endValue)) {
@@ -1978,9 +2016,18 @@ public TreeSet<Object> getDimensionValues(FeatureTypeInfo typeInfo, DimensionInf
                 result.add(DimensionHelper.parseTimeRangeValue(startValue));
                 result.add(DimensionHelper.parseTimeRangeValue(endValue));
             }
-        } else if (dimensionInfo.getPresentation() == DimensionPresentation.LIST
-                || (dimensionInfo.getPresentation() == DimensionPresentation.DISCRETE_INTERVAL
-                        && dimensionInfo.getResolution() == null)) {
+            return result;
+        }
+
+        DimensionDomain domain = DimensionDomainCache.lookup(typeInfo, dimensionInfo);
+        if (domain != null) {
+            if (allValues) {
+                result.addAll(domain.getValues());
+            } else if (!domain.isEmpty()) {
+                result.add(domain.getMinimum());
+                result.add(domain.getMaximumEnd());
+            }
+        } else if (allValues) {
             final UniqueVisitor uniqueVisitor = new UniqueVisitor(dimensionInfo.getAttribute());
             fcollection.accepts(uniqueVisitor, null);
             @SuppressWarnings("unchecked")
@@ -52,6 +52,11 @@ protected CalcResult getCalculatedResult(
         return retval;
     }
 
+    /** Returns the cached domain of the dimension, or null if not available, see {@link DimensionDomainCache} */
+    protected DimensionDomain getDomain(FeatureTypeInfo typeInfo, DimensionInfo dimension) {
+        return DimensionDomainCache.lookup(typeInfo, dimension);
+    }
+
     private FeatureCollection<?, ?> getDimensionCollection(FeatureTypeInfo typeInfo, DimensionInfo dimension)
             throws IOException {
         // grab the feature source
@@ -0,0 +1,293 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.function.LongFunction;
+import org.geotools.util.Converters;
+
+/**
+ * The sorted, distinct values of a vector dimension, as found in the data. Times are stored as a {@code long[]} of
+ * milliseconds, numbers as a {@code double[]}, other values as a sorted array of objects, so that range and nearest
+ * value lookups are binary searches.
+ *
+ * <p>Instances are immutable and built by {@link DimensionDomainCache}.
+ */
+public abstract class DimensionDomain {
+
+    /** Maximum value of the end attribute, if any */
+    private final Object maximumEnd;
+
+    DimensionDomain(Object maximumEnd) {
+        this.maximumEnd = maximumEnd;
+    }
+
+    /**
+     * Builds a domain out of the unique values of the dimension attribute
+     *
+     * @param values the unique values, nulls are ignored
+     * @param maximumEnd the maximum of the end attribute, or null if the dimension does not have one
+     */
+    public static DimensionDomain build(Collection<?> values, Object maximumEnd) {
+        Object[] array = values.stream().filter(Objects::nonNull).toArray();
+        Class<?> type = commonType(array);
+        if (type != null && Date.class.isAssignableFrom(type)) {
+            long[] times = new long[array.length];
+            for (int i = 0; i < array.length; i++) times[i] = ((Date) array[i]).getTime();
+            Arrays.sort(times);
+            return new TimeDomain(times, Date::new, maximumEnd);
+        } else if (type == Double.class || type == Float.class || type == Integer.class || type == Short.class) {
+            double[] numbers = new double[array.length];
+            for (int i = 0; i < array.length; i++) numbers[i] = ((Number) array[i]).doubleValue();
+            Arrays.sort(numbers);
+            return new NumberDomain(numbers, boxer(type), maximumEnd);
+        } else {
+            // mixed types, longs that may not fit a double, big decimals, strings
+            Arrays.sort(array);
+            return new ObjectDomain(array, maximumEnd);
+        }
+    }
+
+    private static Class<?> commonType(Object[] values) {
+        Class<?> type = null;
+        for (Object value : values) {
+            Class<?> current = value instanceof Date ? Date.class : value.getClass();
+            if (type == null) type = current;
+            else if (type != current) return null;
+        }
+        return type;
+    }
+
+    private static DoubleFunction<Object> boxer(Class<?> type) {
+        if (type == Integer.class) return d -> (int) d;
+        if (type == Short.class) return d -> (short) d;
+        if (type == Float.class) return d -> (float) d;
+        return d -> d;
+    }
+
+    /** Number of distinct values */
+    public abstract int size();
+
+    /** Returns the value at the given position, in ascending order */
+    public abstract Object get(int index);
+
+    /**
+     * Binary search of the value, with the same return value as {@link Arrays#binarySearch(Object[], Object)}
+     *
+     * @throws IllegalArgumentException if the value cannot be compared with the domain values
+     */
+    abstract int search(Object value);
+
+    /** Distance between the value at index and the given one, as a double */
+    abstract double distance(int index, Object value);
+
+    /** Whether distances between values can be computed, as needed by {@link #nearest(Object)} */
+    public abstract boolean isMeasurable();
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** The smallest value, or null if the domain is empty */
+    public Object getMinimum() {
+        return isEmpty() ? null : get(0);
+    }
+
+    /** The largest value, or null if the domain is empty */
+    public Object getMaximum() {
+        return isEmpty() ? null : get(size() - 1);
+    }
+
+    /** The largest value of the end attribute, falling back on {@link #getMaximum()} when there is no end attribute */
+    public Object getMaximumEnd() {
+        return maximumEnd != null ? maximumEnd : getMaximum();
+    }
+
+    /** All the values, in ascending order */
+    public List<Object> getValues() {
+        return new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                return DimensionDomain.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return DimensionDomain.this.size();
+            }
+        };
+    }
+
+    /**
+     * The values between min and max, both included, in ascending order
+     *
+     * @param maxItems maximum number of values returned, a negative number or zero means no limit
+     */
+    public List<Object> getValues(Object min, Object max, int maxItems) {
+        int idx = search(min);
+        int from = idx >= 0 ? idx : -idx - 1;
+        idx = search(max);
+        int to = idx >= 0 ? idx + 1 : -idx - 1;
+        if (from >= to) return Collections.emptyList();
+        if (maxItems > 0) to = Math.min(to, from + maxItems);
+        return getValues().subList(from, to);
+    }
+
+    /**
+     * The value closest to the given one, or null if the domain is empty. When two values are at the same distance, the
+     * larger one is returned.
+     *
+     * @throws UnsupportedOperationException if the domain is not {@link #isMeasurable() measurable}
+     */
+    public Object nearest(Object value) {
+        if (!isMeasurable()) throw new UnsupportedOperationException("Cannot compute distances in " + this);
+        if (isEmpty()) return null;
+        int above = search(value);
+        if (above >= 0) return get(above);
+        above = -above - 1;
+        if (above == size()) return get(above - 1);
+        if (above == 0) return get(0);
+        int below = above - 1;
+        return distance(below, value) < distance(above, value) ? get(below) : get(above);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + size() + ", min=" + getMinimum() + ", max=" + getMaximum() + "]";
+    }
+
+    /** Time values, as milliseconds since the epoch */
+    static class TimeDomain extends DimensionDomain {
+        final long[] values;
+        final LongFunction<Object> boxer;
+
+        TimeDomain(long[] values, LongFunction<Object> boxer, Object maximumEnd) {
+            super(maximumEnd);
+            this.values = values;
+            this.boxer = boxer;
+        }
+
+        private static long time(Object value) {
+            Date date = Converters.convert(value, Date.class);
+            if (date == null) throw new IllegalArgumentException("Cannot convert " + value + " to a date");
+            return date.getTime();
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Object get(int index) {
+            return boxer.apply(values[index]);
+        }
+
+        @Override
+        int search(Object value) {
+            return Arrays.binarySearch(values, time(value));
+        }
+
+        @Override
+        double distance(int index, Object value) {
+            return Math.abs((double) values[index] - time(value));
+        }
+
+        @Override
+        public boolean isMeasurable() {
+            return true;
+        }
+    }
+
+    /** Numeric values, stored as doubles */
+    static class NumberDomain extends DimensionDomain {
+        final double[] values;
+        final DoubleFunction<Object> boxer;
+
+        NumberDomain(double[] values, DoubleFunction<Object> boxer, Object maximumEnd) {
+            super(maximumEnd);
+            this.values = values;
+            this.boxer = boxer;
+        }
+
+        private static double number(Object value) {
+            Double number = Converters.convert(value, Double.class);
+            if (number == null) throw new IllegalArgumentException("Cannot convert " + value + " to a number");
+            return number;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Object get(int index) {
+            return boxer.apply(values[index]);
+        }
+
+        @Override
+        int search(Object value) {
+            return Arrays.binarySearch(values, number(value));
+        }
+
+        @Override
+        double distance(int index, Object value) {
+            return Math.abs(values[index] - number(value));
+        }
+
+        @Override
+        public boolean isMeasurable() {
+            return true;
+        }
+    }
+
+    /** Any other comparable values */
+    static class ObjectDomain extends DimensionDomain {
+        final Object[] values;
+
+        ObjectDomain(Object[] values, Object maximumEnd) {
+            super(maximumEnd);
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        int search(Object value) {
+            if (values.length > 0 && value != null && value.getClass() != values[0].getClass()) {
+                Object converted = Converters.convert(value, values[0].getClass());
+                if (converted == null) throw new IllegalArgumentException("Cannot compare " + value + " with " + this);
+                value = converted;
+            }
+            return Arrays.binarySearch(values, value);
+        }
+
+        @Override
+        double distance(int index, Object value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isMeasurable() {
+            return false;
+        }
+    }
+}
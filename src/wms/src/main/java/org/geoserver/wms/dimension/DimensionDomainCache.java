@@ -0,0 +1,356 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.DimensionInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.ResourceCacheStatistics;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.catalog.impl.FeatureTypeInfoImpl;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wfs.TransactionCallback;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.visitor.CalcResult;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.util.factory.GeoTools;
+import org.geotools.util.logging.Logging;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Caches the {@link DimensionDomain domain} of the vector dimensions, so that capabilities documents and default value
+ * selection do not scan the whole feature type at each request.
+ *
+ * <p>The cache is disabled by default, and enabled by setting the {@link #DOMAIN_CACHE_SPEC} system property or
+ * environment variable to a {@link CacheBuilderSpec}, e.g. {@code maximumSize=1000,refreshAfterWrite=10m}. With
+ * {@code refreshAfterWrite} the domains are recomputed in the background at the given interval, while the previous
+ * value keeps being served, picking up changes made to the data outside of GeoServer. The domains are also dropped
+ * when a WFS transaction modifies the feature type, and when the feature type or its store are modified in the
+ * catalog.
+ *
+ * <p>Feature types decorated by the security subsystem, or having unsaved modifications, are not cached, as their
+ * domain may differ from the one of the catalog feature type.
+ */
+public class DimensionDomainCache
+        implements TransactionCallback, GeoServerLifecycleHandler, CatalogListener, DisposableBean {
+
+    static final Logger LOGGER = Logging.getLogger(DimensionDomainCache.class);
+
+    /** System property or environment variable holding the {@link CacheBuilderSpec} of the dimension domain cache */
+    public static final String DOMAIN_CACHE_SPEC = "WMS_DIMENSION_DOMAIN_CACHE";
+
+    /** Identifies a domain, the feature type and the attributes of the dimension */
+    static final class DomainKey {
+        final String typeId;
+
+        final String storeId;
+
+        final String attribute;
+
+        final String endAttribute;
+
+        DomainKey(String typeId, String storeId, String attribute, String endAttribute) {
+            this.typeId = typeId;
+            this.storeId = storeId;
+            this.attribute = attribute;
+            this.endAttribute = endAttribute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DomainKey)) return false;
+            DomainKey other = (DomainKey) o;
+            return typeId.equals(other.typeId)
+                    && Objects.equals(storeId, other.storeId)
+                    && attribute.equals(other.attribute)
+                    && Objects.equals(endAttribute, other.endAttribute);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(typeId, storeId, attribute, endAttribute);
+        }
+
+        @Override
+        public String toString() {
+            return "DomainKey[" + typeId + ", " + attribute + (endAttribute == null ? "" : "/" + endAttribute) + "]";
+        }
+    }
+
+    /** Feature types modified by the WFS transaction running in the current thread */
+    private static final ThreadLocal<Set<QName>> TRANSACTION_TYPES = new ThreadLocal<>();
+
+    private final Catalog catalog;
+
+    private final String spec;
+
+    private final LoadingCache<DomainKey, DimensionDomain> domains;
+
+    private final ExecutorService refresher;
+
+    /**
+     * Returns the domain of the dimension using the cache registered in the application context, or null if the cache
+     * is not available or cannot be used for this feature type
+     */
+    public static DimensionDomain lookup(FeatureTypeInfo typeInfo, DimensionInfo dimension) {
+        DimensionDomainCache cache = GeoServerExtensions.bean(DimensionDomainCache.class);
+        return cache == null ? null : cache.getDomain(typeInfo, dimension);
+    }
+
+    /** @param catalog the raw catalog, used to look up the feature types when loading their domains */
+    public DimensionDomainCache(Catalog catalog) {
+        this(catalog, GeoServerExtensions.getProperty(DOMAIN_CACHE_SPEC));
+    }
+
+    DimensionDomainCache(Catalog catalog, String spec) {
+        this.catalog = catalog;
+        this.spec = spec == null || spec.isBlank() ? null : spec;
+        if (this.spec == null) {
+            this.domains = null;
+            this.refresher = null;
+        } else {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("DimensionDomainRefresh-");
+            threadFactory.setDaemon(true);
+            this.refresher = Executors.newSingleThreadExecutor(threadFactory);
+            CacheLoader<DomainKey, DimensionDomain> loader = new CacheLoader<>() {
+                @Override
+                public DimensionDomain load(DomainKey key) throws IOException {
+                    return DimensionDomainCache.this.load(key);
+                }
+            };
+            this.domains = CacheBuilder.from(CacheBuilderSpec.parse(this.spec))
+                    .recordStats()
+                    .build(CacheLoader.asyncReloading(loader, refresher));
+            catalog.addListener(this);
+            LOGGER.config("Dimension domain cache enabled with " + this.spec);
+        }
+    }
+
+    /** Whether the cache has been enabled */
+    public boolean isEnabled() {
+        return domains != null;
+    }
+
+    /**
+     * Returns the domain of the given dimension, computing it if not cached yet
+     *
+     * @return the domain, or null if the cache is disabled, cannot be used for the feature type, or the domain could
+     *     not be computed, in which case the caller should compute the values by itself
+     */
+    public DimensionDomain getDomain(FeatureTypeInfo typeInfo, DimensionInfo dimension) {
+        if (domains == null || dimension == null || dimension.getAttribute() == null) return null;
+        if (!(ModificationProxy.unwrap(typeInfo) instanceof FeatureTypeInfoImpl) || typeInfo.getId() == null) {
+            return null;
+        }
+        ModificationProxy handler = ModificationProxy.handler(typeInfo);
+        if (handler != null && handler.isDirty()) return null;
+
+        String storeId = typeInfo.getStore() == null ? null : typeInfo.getStore().getId();
+        DomainKey key = new DomainKey(typeInfo.getId(), storeId, dimension.getAttribute(), dimension.getEndAttribute());
+        try {
+            return domains.get(key);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOGGER.log(Level.WARNING, "Failed to compute the dimension domain for " + key, e.getCause());
+            return null;
+        }
+    }
+
+    private DimensionDomain load(DomainKey key) throws IOException {
+        FeatureTypeInfo typeInfo = catalog.getFeatureType(key.typeId);
+        if (typeInfo == null) throw new IOException("Could not find feature type " + key.typeId);
+        long start = System.currentTimeMillis();
+
+        FeatureSource<?, ?> source = typeInfo.getFeatureSource(null, GeoTools.getDefaultHints());
+        Query query = new Query(source.getSchema().getName().getLocalPart());
+        if (key.endAttribute == null) {
+            query.setPropertyNames(List.of(key.attribute));
+        } else {
+            query.setPropertyNames(Arrays.asList(key.attribute, key.endAttribute));
+        }
+        FeatureCollection<?, ?> collection = source.getFeatures(query);
+
+        UniqueVisitor unique = new UniqueVisitor(key.attribute);
+        collection.accepts(unique, null);
+        Object maximumEnd = null;
+        if (key.endAttribute != null) {
+            MaxVisitor max = new MaxVisitor(key.endAttribute);
+            collection.accepts(max, null);
+            if (max.getResult() != CalcResult.NULL_RESULT) maximumEnd = max.getMax();
+        }
+        DimensionDomain domain = DimensionDomain.build(unique.getUnique(), maximumEnd);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            long elapsed = System.currentTimeMillis() - start;
+            LOGGER.fine("Computed " + domain + " for " + typeInfo.prefixedName() + " in " + elapsed + "ms");
+        }
+        return domain;
+    }
+
+    /** Drops all the cached domains */
+    public void invalidateAll() {
+        if (domains != null) domains.invalidateAll();
+    }
+
+    private void invalidate(Predicate<DomainKey> filter) {
+        if (domains != null) domains.asMap().keySet().removeIf(filter);
+    }
+
+    /** Drops the cached domains of the given feature type */
+    public void invalidate(String typeId) {
+        invalidate(k -> k.typeId.equals(typeId));
+    }
+
+    /** Returns the usage counters of the cache, or null if disabled */
+    public ResourceCacheStatistics getStatistics() {
+        if (domains == null) return null;
+        CacheStats stats = domains.stats();
+        return new ResourceCacheStatistics(
+                "dimensionDomains",
+                spec,
+                domains.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.loadCount(),
+                stats.totalLoadTime());
+    }
+
+    private void invalidate(QName typeName) {
+        FeatureTypeInfo typeInfo = catalog.getFeatureTypeByName(typeName.getNamespaceURI(), typeName.getLocalPart());
+        if (typeInfo != null) {
+            invalidate(typeInfo.getId());
+        }
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        TRANSACTION_TYPES.remove();
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (domains == null || event.getLayerName() == null) return;
+        Set<QName> types = TRANSACTION_TYPES.get();
+        if (types == null) {
+            types = new HashSet<>();
+            TRANSACTION_TYPES.set(types);
+        }
+        if (types.add(event.getLayerName())) {
+            invalidate(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        Set<QName> types = TRANSACTION_TYPES.get();
+        TRANSACTION_TYPES.remove();
+        // a domain may have been computed again while the transaction was running, before the commit
+        if (types != null) {
+            types.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify event
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(CatalogEvent event) {
+        Object source = event.getSource();
+        if (source instanceof FeatureTypeInfo) {
+            invalidate(((FeatureTypeInfo) source).getId());
+        } else if (source instanceof StoreInfo) {
+            String storeId = ((StoreInfo) source).getId();
+            invalidate(k -> storeId.equals(k.storeId));
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onReset() {
+        // data might have changed in the meantime
+        invalidateAll();
+    }
+
+    @Override
+    public void onDispose() {
+        invalidateAll();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        invalidateAll();
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) refresher.shutdownNow();
+    }
+}
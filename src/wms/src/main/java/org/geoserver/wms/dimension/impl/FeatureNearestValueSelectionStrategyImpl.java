@@ -9,6 +9,7 @@
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.wms.dimension.AbstractFeatureAttributeVisitorSelectionStrategy;
+import org.geoserver.wms.dimension.DimensionDomain;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.visitor.CalcResult;
@@ -40,6 +41,14 @@ public FeatureNearestValueSelectionStrategyImpl(Object toMatch, String capabilit
 
     @Override
     public Object getDefaultValue(ResourceInfo resource, String dimensionName, DimensionInfo dimension, Class<?> clz) {
+        DimensionDomain domain = getDomain((FeatureTypeInfo) resource, dimension);
+        if (domain != null && domain.isMeasurable()) {
+            try {
+                return Converters.convert(domain.nearest(this.toMatch), clz);
+            } catch (IllegalArgumentException e) {
+                // the value to match cannot be compared with the domain, let the visitor deal with it
+            }
+        }
         final FeatureCalc nearest = new NearestVisitor(ff.property(dimension.getAttribute()), this.toMatch);
 
         CalcResult res = getCalculatedResult((FeatureTypeInfo) resource, dimension, nearest);
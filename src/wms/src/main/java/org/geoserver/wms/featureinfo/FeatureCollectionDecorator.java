@@ -25,7 +25,8 @@
  * this is not the case for complex features in app-schema.
  *
  * <p>The other thing this does is providing an implementation of size(), since the app-schema one always returns 0.
- * This is used for limiting features to a maximum.
+ * This is used for limiting features to a maximum, the count is computed once and then reused, as the same result is
+ * checked by both the request and the output formats.
  *
  * <p>The decorator never needs to be used for SimpleFeatureCollections.
  *
@@ -51,6 +52,9 @@ public static Name getName(FeatureCollection fc) {
     protected FeatureCollection fc;
     protected Name name;
 
+    /** The cached feature count, or -1 if not computed yet */
+    private int size = -1;
+
     public FeatureCollectionDecorator(Name name, FeatureCollection fc) {
         this.name = name;
         this.fc = fc;
@@ -113,15 +117,18 @@ public boolean isEmpty() {
     @Override
     public int size() {
         // overriding size implementation
-        // simply counting!
-        try (FeatureIterator iterator = features()) {
-            int count = 0;
-            while (iterator.hasNext()) {
-                count++;
-                iterator.next();
+        // simply counting, once, as each count builds all the complex features
+        if (size < 0) {
+            try (FeatureIterator iterator = features()) {
+                int count = 0;
+                while (iterator.hasNext()) {
+                    count++;
+                    iterator.next();
+                }
+                size = count;
             }
-            return count;
         }
+        return size;
     }
 
     @Override
@@ -0,0 +1,461 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.geoserver.wfs.TransactionCallback;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geoserver.wms.map.FeatureTile;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.api.style.Style;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the structures used by the vector {@link LayerIdentifier layer identifiers}, so that the GetFeatureInfo
+ * requests fired at high rate by map viewers, e.g. on mouse hover, do not repeat the same work over and over:
+ *
+ * <ul>
+ *   <li>data derived from the styles, such as the style preprocessed for hit testing, the rescaled active rules and
+ *       the estimated symbol buffer, weakly keyed by the {@link Style} object
+ *   <li>short lived {@link FeatureTile tiles} of features, holding all the features of a layer intersecting the
+ *       requested map area, spatially indexed, so that repeated identifies in the same map are answered from memory
+ * </ul>
+ *
+ * <p>The cache is disabled by default, and enabled by setting the {@link #CACHE_SPEC} system property or environment
+ * variable to a {@link CacheBuilderSpec} for the feature tiles, e.g. {@code maximumSize=100,expireAfterWrite=30s}.
+ * Tiles having more than {@link #MAX_FEATURES} features are not kept in memory, the requests hitting them query the
+ * store as usual. Tiles are keyed by layer, user, view parameters and data security rules version, and dropped when a
+ * WFS transaction modifies the feature type, or when the feature type or its store are modified in the catalog.
+ * Changes made to the data outside of GeoServer are picked up only when the tiles expire.
+ */
+public class FeatureInfoCache implements TransactionCallback, GeoServerLifecycleHandler, CatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureInfoCache.class);
+
+    /** System property or environment variable holding the {@link CacheBuilderSpec} of the feature tiles cache */
+    public static final String CACHE_SPEC = "WMS_FEATUREINFO_CACHE";
+
+    /** System property or environment variable setting the max number of features held by a tile, 10000 by default */
+    public static final String MAX_FEATURES = "WMS_FEATUREINFO_CACHE_MAX_FEATURES";
+
+    static final int DEFAULT_MAX_FEATURES = 10000;
+
+    /** Margin added around the map area when loading a tile, as a fraction of the map size */
+    static final double TILE_MARGIN = 0.1;
+
+    /** Max number of tiles kept for each layer */
+    static final int MAX_TILES = 4;
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    /**
+     * Identifies the tiles of a layer, as seen by a given user with a given set of view parameters, under a given
+     * version of the data security rules
+     */
+    static final class TileKey {
+        final String typeId;
+
+        final String storeId;
+
+        final FeatureType schema;
+
+        final Map<String, String> viewParams;
+
+        final String user;
+
+        final long rulesVersion;
+
+        TileKey(
+                String typeId,
+                String storeId,
+                FeatureType schema,
+                Map<String, String> viewParams,
+                String user,
+                long rulesVersion) {
+            this.typeId = typeId;
+            this.storeId = storeId;
+            this.schema = schema;
+            this.viewParams = viewParams;
+            this.user = user;
+            this.rulesVersion = rulesVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey other = (TileKey) o;
+            return typeId.equals(other.typeId)
+                    && Objects.equals(storeId, other.storeId)
+                    && schema.equals(other.schema)
+                    && Objects.equals(viewParams, other.viewParams)
+                    && Objects.equals(user, other.user)
+                    && rulesVersion == other.rulesVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(typeId, storeId, schema, viewParams, user, rulesVersion);
+        }
+
+        @Override
+        public String toString() {
+            return "TileKey[" + typeId + ", " + user + (viewParams == null ? "" : ", " + viewParams) + "]";
+        }
+    }
+
+    /** The most recently used tiles of a layer */
+    static final class TileSet {
+        final List<FeatureTile> tiles = new ArrayList<>();
+
+        synchronized FeatureTile get(Envelope area, Callable<FeatureTile> loader) throws Exception {
+            for (Iterator<FeatureTile> it = tiles.iterator(); it.hasNext(); ) {
+                FeatureTile tile = it.next();
+                if (tile.getEnvelope().contains(area)) {
+                    it.remove();
+                    tiles.add(0, tile);
+                    return tile;
+                }
+            }
+            FeatureTile tile = loader.call();
+            tiles.add(0, tile);
+            if (tiles.size() > MAX_TILES) tiles.remove(tiles.size() - 1);
+            return tile;
+        }
+    }
+
+    /** Feature types modified by the WFS transaction running in the current thread */
+    private static final ThreadLocal<Set<QName>> TRANSACTION_TYPES = new ThreadLocal<>();
+
+    private final Catalog catalog;
+
+    private final DataAccessRuleDAO dao;
+
+    private final String spec;
+
+    private final int maxFeatures;
+
+    private final Cache<TileKey, TileSet> tiles;
+
+    private final Cache<Style, Cache<Object, Object>> styles;
+
+    /** Returns the cache registered in the application context, or null if not available or disabled */
+    public static FeatureInfoCache lookup() {
+        FeatureInfoCache cache = GeoServerExtensions.bean(FeatureInfoCache.class);
+        return cache == null || !cache.isEnabled() ? null : cache;
+    }
+
+    /**
+     * @param catalog the raw catalog, used to look up the feature types when invalidating their tiles
+     * @param dao the data security rules, the tiles loaded under older rules are not used anymore
+     */
+    public FeatureInfoCache(Catalog catalog, DataAccessRuleDAO dao) {
+        this(catalog, dao, GeoServerExtensions.getProperty(CACHE_SPEC), getMaxFeatures());
+    }
+
+    FeatureInfoCache(Catalog catalog, DataAccessRuleDAO dao, String spec, int maxFeatures) {
+        this.catalog = catalog;
+        this.dao = dao;
+        this.spec = spec == null || spec.isBlank() ? null : spec;
+        this.maxFeatures = maxFeatures;
+        if (this.spec == null) {
+            this.tiles = null;
+            this.styles = null;
+        } else {
+            this.tiles = CacheBuilder.from(CacheBuilderSpec.parse(this.spec)).build();
+            this.styles = CacheBuilder.newBuilder().weakKeys().maximumSize(1000).build();
+            catalog.addListener(this);
+            LOGGER.config("GetFeatureInfo cache enabled with " + this.spec);
+        }
+    }
+
+    private static int getMaxFeatures() {
+        String value = GeoServerExtensions.getProperty(MAX_FEATURES);
+        return value == null ? DEFAULT_MAX_FEATURES : Integer.parseInt(value);
+    }
+
+    /** Whether the cache has been enabled */
+    public boolean isEnabled() {
+        return tiles != null;
+    }
+
+    /**
+     * Returns a value derived from the style, computing it if not available yet. The value is dropped when the style
+     * object is garbage collected, thus it should depend only on the style itself and on the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getStyleData(Style style, Object key, Callable<T> loader) throws Exception {
+        try {
+            Cache<Object, Object> data = styles.get(
+                    style, () -> CacheBuilder.newBuilder().maximumSize(100).build());
+            return (T) data.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    /**
+     * Returns a tile with the features of the layer whose bounds intersect the area, loading one covering the tile
+     * area if necessary
+     *
+     * @param typeInfo the layer feature type
+     * @param source the source the features will be loaded from
+     * @param viewParams the SQL view parameters, if any
+     * @param area the area the caller is interested in, in the source CRS
+     * @param tileArea the area covered by a new tile, if one needs to be loaded, in the source CRS. Should contain the
+     *     area, and be the same for the requests working against the same map.
+     * @return the tile, or null if the features are not available from the cache, in which case the caller should
+     *     query the store directly
+     */
+    FeatureTile getTile(
+            FeatureTypeInfo typeInfo,
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            Map<String, String> viewParams,
+            Envelope area,
+            ReferencedEnvelope tileArea) {
+        if (typeInfo == null || typeInfo.getId() == null || !(source.getSchema() instanceof SimpleFeatureType)) {
+            return null;
+        }
+        if (!tileArea.contains(area)) return null;
+
+        String storeId = typeInfo.getStore() == null ? null : typeInfo.getStore().getId();
+        Map<String, String> params = viewParams == null || viewParams.isEmpty() ? null : viewParams;
+        TileKey key =
+                new TileKey(typeInfo.getId(), storeId, source.getSchema(), params, getUser(), getRulesVersion());
+        try {
+            FeatureTile tile = tiles.get(key, TileSet::new).get(area, () -> load(source, params, tileArea));
+            return tile.isComplete() ? tile : null;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to load the GetFeatureInfo tile for " + key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the area a new tile should cover for a given map, the map area plus a {@link #TILE_MARGIN} margin on
+     * each side to account for the symbols and search radius, in the target CRS
+     */
+    static ReferencedEnvelope getTileArea(ReferencedEnvelope mapArea, CoordinateReferenceSystem targetCRS)
+            throws TransformException, FactoryException {
+        ReferencedEnvelope area = new ReferencedEnvelope(mapArea);
+        area.expandBy(mapArea.getWidth() * TILE_MARGIN, mapArea.getHeight() * TILE_MARGIN);
+        if (targetCRS != null && !CRS.equalsIgnoreMetadata(targetCRS, area.getCoordinateReferenceSystem())) {
+            area = area.transform(targetCRS, true);
+        }
+        return area;
+    }
+
+    private FeatureTile load(
+            FeatureSource<? extends FeatureType, ? extends Feature> source,
+            Map<String, String> viewParams,
+            ReferencedEnvelope tileArea)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        SimpleFeatureType schema = (SimpleFeatureType) source.getSchema();
+        Filter bbox = FF.bbox(FF.property(schema.getGeometryDescriptor().getLocalName()), tileArea);
+        Query query = new Query(schema.getTypeName(), bbox);
+        query.setMaxFeatures(maxFeatures + 1);
+        if (viewParams != null) {
+            query.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, viewParams));
+        }
+
+        List<SimpleFeature> features = new ArrayList<>();
+        try (FeatureIterator<? extends Feature> it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                features.add((SimpleFeature) it.next());
+            }
+        }
+        if (features.size() > maxFeatures) {
+            LOGGER.fine("Too many features in " + tileArea + ", identifying against the store");
+            return new FeatureTile(tileArea, null);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            long elapsed = System.currentTimeMillis() - start;
+            LOGGER.fine("Loaded " + features.size() + " features of " + schema.getTypeName() + " in " + elapsed
+                    + "ms");
+        }
+        return new FeatureTile(tileArea, features);
+    }
+
+    private static String getUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? null : auth.getName() + auth.getAuthorities();
+    }
+
+    /** The last modification time of the data security rules, reloading them first if their file changed */
+    private long getRulesVersion() {
+        if (dao == null) {
+            return 0;
+        }
+        if (dao.isModified()) {
+            dao.getRules();
+        }
+        return dao.getLastModified();
+    }
+
+    /** Drops all the cached tiles and style data */
+    public void invalidateAll() {
+        if (tiles != null) {
+            tiles.invalidateAll();
+            styles.invalidateAll();
+        }
+    }
+
+    private void invalidate(Predicate<TileKey> filter) {
+        if (tiles != null) tiles.asMap().keySet().removeIf(filter);
+    }
+
+    /** Drops the cached tiles of the given feature type */
+    public void invalidate(String typeId) {
+        invalidate(k -> k.typeId.equals(typeId));
+    }
+
+    private void invalidate(QName typeName) {
+        FeatureTypeInfo typeInfo = catalog.getFeatureTypeByName(typeName.getNamespaceURI(), typeName.getLocalPart());
+        if (typeInfo != null) {
+            invalidate(typeInfo.getId());
+        }
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        TRANSACTION_TYPES.remove();
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (tiles == null || event.getLayerName() == null) return;
+        Set<QName> types = TRANSACTION_TYPES.get();
+        if (types == null) {
+            types = new HashSet<>();
+            TRANSACTION_TYPES.set(types);
+        }
+        if (types.add(event.getLayerName())) {
+            invalidate(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        Set<QName> types = TRANSACTION_TYPES.get();
+        TRANSACTION_TYPES.remove();
+        // a tile may have been loaded again while the transaction was running, before the commit
+        if (types != null) {
+            types.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify event
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(CatalogEvent event) {
+        Object source = event.getSource();
+        if (source instanceof FeatureTypeInfo) {
+            invalidate(((FeatureTypeInfo) source).getId());
+        } else if (source instanceof StoreInfo) {
+            String storeId = ((StoreInfo) source).getId();
+            invalidate(k -> storeId.equals(k.storeId));
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onReset() {
+        invalidateAll();
+    }
+
+    @Override
+    public void onDispose() {
+        invalidateAll();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        invalidateAll();
+    }
+}
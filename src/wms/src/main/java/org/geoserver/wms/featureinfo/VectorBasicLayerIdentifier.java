@@ -6,9 +6,12 @@
 package org.geoserver.wms.featureinfo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.catalog.FeatureTypeInfo;
@@ -18,9 +21,11 @@
 import org.geoserver.wms.GetMapRequest;
 import org.geoserver.wms.MapLayerInfo;
 import org.geoserver.wms.WMS;
+import org.geoserver.wms.map.FeatureTile;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.feature.type.GeometryDescriptor;
@@ -31,10 +36,12 @@
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.store.FilteringFeatureCollection;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.filter.Filters;
 import org.geotools.filter.IllegalFilterException;
+import org.geotools.filter.function.EnvFunction;
 import org.geotools.filter.visitor.SimplifyingFilterVisitor;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
@@ -78,16 +85,19 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, int
         }
 
         // compute the getMapRequest radius
-        double radius = getSearchRadius(params, layer, rules);
+        FeatureInfoCache cache = FeatureInfoCache.lookup();
+        double radius = getSearchRadius(params, layer, rules, cache);
 
         // compute the bbox for the getMapRequest
         ReferencedEnvelope queryEnvelope = LayerIdentifier.getEnvelopeFilter(params, radius);
         CoordinateReferenceSystem requestedCRS = params.getRequestedCRS();
         CoordinateReferenceSystem dataCRS = layer.getCoordinateReferenceSystem();
+        boolean transform3D = false;
         if ((requestedCRS != null) && !CRS.equalsIgnoreMetadata(dataCRS, requestedCRS)) {
             if (dataCRS.getCoordinateSystem().getDimension() == 3
                     && requestedCRS.getCoordinateSystem().getDimension() == 2) {
                 queryEnvelope = JTS.transformTo3D(queryEnvelope, dataCRS, true, 10);
+                transform3D = true;
             } else {
                 queryEnvelope = queryEnvelope.transform(dataCRS, true);
             }
@@ -158,7 +168,31 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, int
             // be reprojected
             q.setCoordinateSystemReproject(requestedCRS);
         }
-        FeatureCollection<? extends FeatureType, ? extends Feature> match = featureSource.getFeatures(q);
+        FeatureCollection<? extends FeatureType, ? extends Feature> match;
+        FeatureTile tile = null;
+        if (cache != null
+                && !transform3D
+                && params.getGetMapRequest().getClip() == null
+                && (params.getPropertyNames() == null || params.getPropertyNames().length == 0)
+                && (params.getSort() == null || params.getSort().length == 0)) {
+            tile = getTile(cache, params, featureSource, queryEnvelope, radius, dataCRS);
+        }
+        if (tile != null) {
+            // same filter as the store query, evaluated in memory on the cached features
+            List<SimpleFeature> features = new ArrayList<>();
+            for (SimpleFeature feature : tile.query(queryEnvelope)) {
+                if (features.size() >= maxFeatures) break;
+                if (getFInfoFilter.evaluate(feature)) {
+                    features.add(feature);
+                }
+            }
+            match = new ListFeatureCollection((SimpleFeatureType) schema, features);
+            if (!wms.isFeaturesReprojectionDisabled()) {
+                match = LayerIdentifierUtils.reproject(match, requestedCRS);
+            }
+        } else {
+            match = featureSource.getFeatures(q);
+        }
 
         // if we could not include the rules filter into the query, post process in
         // memory
@@ -169,8 +203,35 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, int
         return Collections.singletonList(match);
     }
 
+    /**
+     * Returns the cached tile of features covering the query envelope, loading one for the whole map if needed, or
+     * null if the features are not available from the cache
+     */
+    private FeatureTile getTile(
+            FeatureInfoCache cache,
+            FeatureInfoRequestParameters params,
+            FeatureSource<? extends FeatureType, ? extends Feature> featureSource,
+            ReferencedEnvelope queryEnvelope,
+            double radius,
+            CoordinateReferenceSystem dataCRS)
+            throws Exception {
+        if (!(featureSource.getSchema() instanceof SimpleFeatureType)) {
+            return null;
+        }
+        // the whole map, plus the search radius, so that all the clicks on it hit the same tile
+        ReferencedEnvelope mapArea = new ReferencedEnvelope(params.getRequestedBounds());
+        mapArea.expandBy(radius * mapArea.getWidth() / params.getWidth());
+        ReferencedEnvelope tileArea = FeatureInfoCache.getTileArea(mapArea, dataCRS);
+        return cache.getTile(
+                params.getLayer().getFeature(), featureSource, params.getViewParams(), queryEnvelope, tileArea);
+    }
+
     private double getSearchRadius(
-            FeatureInfoRequestParameters params, final MapLayerInfo layer, final List<Rule> rules) {
+            FeatureInfoRequestParameters params,
+            final MapLayerInfo layer,
+            final List<Rule> rules,
+            FeatureInfoCache cache)
+            throws Exception {
         double radius;
         int buffer = params.getBuffer();
         if (buffer <= 0) {
@@ -183,12 +244,24 @@ private double getSearchRadius(
                 radius = layerBuffer;
             } else {
                 // estimate the radius given the currently active rules
-                MetaBufferEstimator estimator = new MetaBufferEstimator();
-                for (Rule rule : rules) {
-                    rule.accept(estimator);
+                Callable<Integer> bufferEstimator = () -> {
+                    MetaBufferEstimator estimator = new MetaBufferEstimator();
+                    for (Rule rule : rules) {
+                        rule.accept(estimator);
+                    }
+                    return estimator.getBuffer();
+                };
+                int styleBuffer;
+                if (cache != null) {
+                    // the rules depend on the scale, the estimate might depend on the environment variables
+                    List<Object> key = Arrays.asList(
+                            "buffer", params.getScaleDenominator(), new HashMap<>(EnvFunction.getLocalValues()));
+                    styleBuffer = cache.getStyleData(params.getStyle(), key, bufferEstimator);
+                } else {
+                    styleBuffer = bufferEstimator.call();
                 }
 
-                int estimatedRadius = estimator.getBuffer() / 2;
+                int estimatedRadius = styleBuffer / 2;
                 if (estimatedRadius < MIN_BUFFER_SIZE) {
                     radius = MIN_BUFFER_SIZE;
                 } else {
@@ -28,6 +28,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageTypeSpecifier;
@@ -43,6 +44,8 @@
 import org.geoserver.wms.RenderingVariables;
 import org.geoserver.wms.WMS;
 import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.map.FeatureTile;
+import org.geoserver.wms.map.FeatureTileSource;
 import org.geoserver.wms.map.RenderedImageMapOutputFormat;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
@@ -54,9 +57,8 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.spatial.BBOX;
-import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
-import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.api.style.FeatureTypeStyle;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
 import org.geotools.data.collection.ListFeatureCollection;
@@ -65,6 +67,7 @@
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.filter.Filters;
+import org.geotools.filter.function.EnvFunction;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.map.FeatureLayer;
@@ -140,8 +143,14 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
             return fallback.identify(params, maxFeatures);
         }
 
-        final Style style = preprocessStyle(
-                params.getStyle(), params.getLayer().getFeature().getFeatureType());
+        FeatureInfoCache cache = FeatureInfoCache.lookup();
+        final FeatureType featureType = params.getLayer().getFeature().getFeatureType();
+        final Style style = cache == null
+                ? preprocessStyle(params.getStyle(), featureType)
+                : cache.getStyleData(
+                        params.getStyle(),
+                        Arrays.asList("preprocessed", featureType),
+                        () -> preprocessStyle(params.getStyle(), featureType));
         final int userBuffer = params.getBuffer() > 0 ? params.getBuffer() : MIN_BUFFER_SIZE;
         final int buffer = getBuffer(userBuffer);
 
@@ -160,7 +169,8 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
             mc.getViewport().setBounds(new ReferencedEnvelope(getMap.getBbox(), getMap.getCrs()));
             mc.setMapWidth(getMap.getWidth());
             mc.setMapHeight(getMap.getHeight());
-            FeatureLayer layer = getLayer(params, style);
+            FeatureTile tile = cache != null ? getTile(cache, params, style) : null;
+            FeatureLayer layer = getLayer(params, style, tile);
             mc.addLayer(layer);
             // setup the env variables just like in the original GetMap
             RenderingVariables.setupEnvironmentVariables(mc);
@@ -170,11 +180,8 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
                     params.getRequestedBounds(), new Rectangle(params.getWidth(), params.getHeight()));
             AffineTransform screenToWorld = worldToScreen.createInverse();
 
-            // apply uom rescale on the rules
-            rescaleRules(rules, params);
-
             // setup the area we are actually going to paint
-            int radius = getSearchRadius(params, rules, layer, getMap, screenToWorld);
+            int radius = getSearchRadius(params, style, rules, cache, tile, layer, getMap, screenToWorld);
             if (radius < buffer) {
                 radius = buffer;
             }
@@ -258,7 +265,7 @@ protected void onBeforeRender(StreamingRenderer renderer) {
         };
     }
 
-    private void rescaleRules(List<Rule> rules, FeatureInfoRequestParameters params) {
+    private List<Rule> rescaleRules(List<Rule> rules, FeatureInfoRequestParameters params) {
         Map<Object, Object> rendererParams = new HashMap<>();
         Integer requestedDpi =
                 ((Integer) params.getGetMapRequest().getFormatOptions().get("dpi"));
@@ -287,6 +294,7 @@ private void rescaleRules(List<Rule> rules, FeatureInfoRequestParameters params)
             Rule rescaled = (Rule) uomVisitor.getCopy();
             rules.set(i, rescaled);
         }
+        return rules;
     }
 
     private Style preprocessStyle(Style style, FeatureType schema) {
@@ -336,7 +344,44 @@ private List<FeatureCollection> aggregateByFeatureType(
         return result;
     }
 
-    private FeatureLayer getLayer(FeatureInfoRequestParameters params, Style style) throws IOException {
+    /**
+     * Returns the cached tile of features covering the whole map, plus a margin for the symbol sizes, or null if the
+     * request cannot be served from the cache
+     */
+    private FeatureTile getTile(FeatureInfoCache cache, FeatureInfoRequestParameters params, Style style)
+            throws Exception {
+        GetMapRequest getMap = params.getGetMapRequest();
+        if (getMap.getClip() != null
+                || getMap.getStartIndex() != null
+                || getMap.getFeatureVersion() != null
+                || (params.getSort() != null && params.getSort().length > 0)) {
+            return null;
+        }
+        // the features returned by a rendering transformation are not the ones in the store
+        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+            if (fts.getTransformation() != null) {
+                return null;
+            }
+        }
+
+        MapLayerInfo layer = params.getLayer();
+        FeatureSource<? extends FeatureType, ? extends Feature> featureSource =
+                layer.getFeatureSource(true, getMap.getCrs());
+        CoordinateReferenceSystem sourceCRS = featureSource.getSchema().getCoordinateReferenceSystem();
+        if (sourceCRS == null || sourceCRS.getCoordinateSystem().getDimension() != 2) {
+            return null;
+        }
+        ReferencedEnvelope mapArea = new ReferencedEnvelope(getMap.getBbox(), getMap.getCrs());
+        return cache.getTile(
+                layer.getFeature(),
+                featureSource,
+                params.getViewParams(),
+                mapArea.transform(sourceCRS, true),
+                FeatureInfoCache.getTileArea(mapArea, sourceCRS));
+    }
+
+    private FeatureLayer getLayer(FeatureInfoRequestParameters params, Style style, FeatureTile tile)
+            throws IOException {
         // build the full filter
         List<Object> times = params.getTimes();
         List<Object> elevations = params.getElevations();
@@ -350,7 +395,11 @@ private FeatureLayer getLayer(FeatureInfoRequestParameters params, Style style)
 
         GetMapRequest getMap = getMapRequest;
         FeatureSource<? extends FeatureType, ? extends Feature> featureSource =
-                super.handleClipParam(params, layer.getFeatureSource(true, getMap.getCrs()));
+                layer.getFeatureSource(true, getMap.getCrs());
+        if (tile != null) {
+            featureSource = new FeatureTileSource(featureSource, tile);
+        }
+        featureSource = super.handleClipParam(params, featureSource);
         final Query definitionQuery =
                 new Query(featureSource.getSchema().getName().getLocalPart());
         definitionQuery.setVersion(getMap.getFeatureVersion());
@@ -388,11 +437,14 @@ private FeatureLayer getLayer(FeatureInfoRequestParameters params, Style style)
 
     private int getSearchRadius(
             FeatureInfoRequestParameters params,
+            Style style,
             List<Rule> rules,
+            FeatureInfoCache cache,
+            FeatureTile tile,
             FeatureLayer layer,
             GetMapRequest getMap,
             AffineTransform screenToWorld)
-            throws TransformException, FactoryException, IOException {
+            throws Exception {
         // is it part of the request params?
         int requestBuffer = params.getBuffer();
         if (requestBuffer > 0) {
@@ -410,15 +462,21 @@ private int getSearchRadius(
             return layerBuffer;
         }
 
-        // estimate the radius given the currently active rules
-        MetaBufferEstimator estimator = new MetaBufferEstimator();
-        for (Rule rule : rules) {
-            rule.accept(estimator);
+        // estimate the radius given the currently active rules, the result depends on the scale, the dpi and the
+        // environment variables, which are the same for all the requests against the same map
+        HitTestRules hitTest;
+        if (cache != null) {
+            Object dpi = getMap.getFormatOptions().get("dpi");
+            List<Object> key = Arrays.asList(
+                    "rules", params.getScaleDenominator(), dpi, new HashMap<>(EnvFunction.getLocalValues()));
+            hitTest = cache.getStyleData(style, key, () -> new HitTestRules(rescaleRules(rules, params)));
+        } else {
+            hitTest = new HitTestRules(rescaleRules(rules, params));
         }
 
         // easy case, the style is static, we can just use size computed from the style
-        int estimatedRadius = estimator.getBuffer() / 2;
-        if (estimator.isEstimateAccurate()) {
+        int estimatedRadius = hitTest.estimatedRadius;
+        if (hitTest.accurate) {
             if (estimatedRadius < MIN_BUFFER_SIZE) {
                 return MIN_BUFFER_SIZE;
             } else {
@@ -426,16 +484,8 @@ private int getSearchRadius(
             }
         } else {
             // ok, so we have an estimate based on the static portion of the style,
-            // let's extract the dynamic one
-            DynamicSizeStyleExtractor extractor = new DynamicSizeStyleExtractor();
-            final List<Rule> dynamicRules = new ArrayList<>();
-            for (Rule rule : rules) {
-                rule.accept(extractor);
-                Rule copy = (Rule) extractor.getCopy();
-                if (copy != null) {
-                    dynamicRules.add(copy);
-                }
-            }
+            // let's use the dynamic one
+            final List<Rule> dynamicRules = hitTest.dynamicRules;
 
             // this can happen, the meta buffer estimator can get tripped by
             // graphic fills using dynamic sizes for their strokes
@@ -471,27 +521,65 @@ private int getSearchRadius(
                 Filter and = FF.and(query.getFilter(), bbox);
                 query.setFilter(and);
             }
-            String[] dynamicProperties = getDynamicProperties(dynamicRules);
-            query.setPropertyNames(dynamicProperties);
+            query.setPropertyNames(hitTest.dynamicProperties);
 
             // visit all features and evaluate buffer size
-            final DynamicBufferEstimator dbe = new DynamicBufferEstimator();
-            fs.getFeatures(query)
-                    .accepts(
-                            feature -> {
-                                dbe.setFeature(feature);
-                                for (Rule rule : dynamicRules) {
-                                    rule.accept(dbe);
-                                }
-                            },
-                            null);
-
-            int dynamicBuffer = dbe.getBuffer();
+            Callable<Integer> dynamicEstimator = () -> {
+                final DynamicBufferEstimator dbe = new DynamicBufferEstimator();
+                fs.getFeatures(query)
+                        .accepts(
+                                feature -> {
+                                    dbe.setFeature(feature);
+                                    for (Rule rule : dynamicRules) {
+                                        rule.accept(dbe);
+                                    }
+                                },
+                                null);
+                return dbe.getBuffer();
+            };
+            // the features of a tile do not change, neither does the buffer computed on them
+            int dynamicBuffer = tile != null && tile.getEnvelope().contains((Envelope) queryBBOX)
+                    ? tile.getDynamicBuffer(Arrays.asList(hitTest, query.getFilter()), dynamicEstimator)
+                    : dynamicEstimator.call();
             return Math.max(dynamicBuffer / 2, estimatedRadius);
         }
     }
 
-    private String[] getDynamicProperties(List<Rule> dynamicRules) {
+    /** The active rules rescaled to the request, along with the symbol size estimates derived from them */
+    static final class HitTestRules {
+        final int estimatedRadius;
+
+        final boolean accurate;
+
+        final List<Rule> dynamicRules = new ArrayList<>();
+
+        final String[] dynamicProperties;
+
+        HitTestRules(List<Rule> rules) {
+            MetaBufferEstimator estimator = new MetaBufferEstimator();
+            for (Rule rule : rules) {
+                rule.accept(estimator);
+            }
+            this.estimatedRadius = estimator.getBuffer() / 2;
+            this.accurate = estimator.isEstimateAccurate();
+
+            if (accurate) {
+                this.dynamicProperties = null;
+            } else {
+                DynamicSizeStyleExtractor extractor = new DynamicSizeStyleExtractor();
+                for (Rule rule : rules) {
+                    rule.accept(extractor);
+                    Rule copy = (Rule) extractor.getCopy();
+                    if (copy != null) {
+                        dynamicRules.add(copy);
+                    }
+                }
+                this.dynamicProperties = getDynamicProperties(dynamicRules);
+            }
+        }
+    }
+
+    private static String[] getDynamicProperties(List<Rule> dynamicRules) {
         StyleAttributeExtractor extractor = new StyleAttributeExtractor();
         for (Rule rule : dynamicRules) {
             rule.accept(extractor);
@@ -0,0 +1,90 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * The features of a layer intersecting an area, held in memory and indexed by a {@link STRtree}, so that many requests
+ * against the same area can be answered without hitting the store, see {@link FeatureTileSource}. A tile that would
+ * contain too many features is kept empty, as a marker that the store should be queried directly in that area.
+ *
+ * <p>The tile is immutable once built, and can be shared among threads.
+ */
+public final class FeatureTile {
+
+    final ReferencedEnvelope envelope;
+
+    final List<SimpleFeature> features;
+
+    final STRtree index;
+
+    final Map<Object, Integer> dynamicBuffers = new ConcurrentHashMap<>();
+
+    /**
+     * @param envelope the area covered by the tile, in the features CRS
+     * @param features all the features intersecting the area, in store order, or null for an oversized tile
+     */
+    public FeatureTile(ReferencedEnvelope envelope, List<SimpleFeature> features) {
+        this.envelope = envelope;
+        this.features = features;
+        if (features == null) {
+            this.index = null;
+        } else {
+            this.index = new STRtree();
+            for (int i = 0; i < features.size(); i++) {
+                ReferencedEnvelope bounds = ReferencedEnvelope.reference(features.get(i).getBounds());
+                if (!bounds.isEmpty()) index.insert(bounds, i);
+            }
+            // build upfront, the tile is shared among threads
+            index.build();
+        }
+    }
+
+    /** The area covered by the tile */
+    public ReferencedEnvelope getEnvelope() {
+        return envelope;
+    }
+
+    /** The features in the tile, or null if the tile is a marker for an area with too many of them */
+    public List<SimpleFeature> getFeatures() {
+        return features;
+    }
+
+    /** Whether the tile holds the features, or it's a marker for an area with too many of them */
+    public boolean isComplete() {
+        return features != null;
+    }
+
+    /** Returns the features whose bounds intersect the area, in the order they were returned by the store */
+    public List<SimpleFeature> query(Envelope area) {
+        @SuppressWarnings("unchecked")
+        List<Integer> positions = index.query(area);
+        positions.sort(null);
+        List<SimpleFeature> result = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            result.add(features.get(position));
+        }
+        return result;
+    }
+
+    /** Returns the dynamic symbol buffer computed on the features of this tile, computing it if necessary */
+    public int getDynamicBuffer(Object key, Callable<Integer> estimator) throws Exception {
+        Integer buffer = dynamicBuffers.get(key);
+        if (buffer == null) {
+            buffer = estimator.call();
+            dynamicBuffers.put(key, buffer);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,78 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.security.decorators.DecoratingFeatureSource;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Serves the queries falling inside a {@link FeatureTile} from memory, delegating the others to the wrapped feature
+ * source. Meant to be handed to a renderer, which issues its own queries: the filter, max features and property names
+ * are applied in memory, while sorting, paging and reprojection are left to the store.
+ */
+public class FeatureTileSource extends DecoratingFeatureSource<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureTileSource.class);
+
+    final FeatureTile tile;
+
+    @SuppressWarnings("unchecked")
+    public FeatureTileSource(FeatureSource<? extends FeatureType, ? extends Feature> delegate, FeatureTile tile) {
+        super((FeatureSource<SimpleFeatureType, SimpleFeature>) delegate);
+        this.tile = tile;
+    }
+
+    @Override
+    public FeatureCollection<SimpleFeatureType, SimpleFeature> getFeatures(Query query) throws IOException {
+        if ((query.getSortBy() != null && query.getSortBy().length > 0)
+                || query.getStartIndex() != null
+                || query.getCoordinateSystem() != null
+                || query.getCoordinateSystemReproject() != null) {
+            return super.getFeatures(query);
+        }
+        Filter filter = query.getFilter() == null ? Filter.INCLUDE : query.getFilter();
+        Envelope bounds = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        if (bounds == null || !tile.envelope.contains(bounds)) {
+            return super.getFeatures(query);
+        }
+
+        SimpleFeatureType schema = getSchema();
+        SimpleFeatureType target = schema;
+        if (query.getPropertyNames() != Query.ALL_NAMES) {
+            try {
+                target = SimpleFeatureTypeBuilder.retype(schema, query.getPropertyNames());
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "Could not retype, falling back on the store", e);
+                return super.getFeatures(query);
+            }
+        }
+        List<SimpleFeature> result = new ArrayList<>();
+        for (SimpleFeature feature : tile.query(bounds)) {
+            if (result.size() >= query.getMaxFeatures()) break;
+            if (filter.evaluate(feature)) {
+                result.add(target == schema ? feature : DataUtilities.reType(target, feature));
+            }
+        }
+        return new ListFeatureCollection(target, result);
+    }
+}
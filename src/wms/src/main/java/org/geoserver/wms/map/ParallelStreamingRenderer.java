@@ -0,0 +1,480 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.label.LabelCacheImpl;
+import org.geotools.renderer.label.LabelCacheImpl.LabelRenderingMode;
+import org.geotools.renderer.lite.LabelCache;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.util.NumberRange;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A {@link StreamingRenderer} that splits the map layers in groups, and renders each group concurrently with its own
+ * renderer onto a separate raster, compositing the results in z-order. Meant for maps made of many layers coming from
+ * different stores, whose rendering time is dominated by the data access latency.
+ *
+ * <p>Layers are split in contiguous groups, so painting each group on top of the previous one is equivalent to the
+ * sequential rendering. A layer using composition or blending is kept in the same group as all the layers it
+ * blends with, down to the closest composite base below it, or to the bottom of the map if there is none. Layers
+ * sorted together with the same sort by group are kept in one group, along with the layers in between. The labels of
+ * each group are buffered, and replayed in group order into a single label cache once the group is painted, so that
+ * conflict resolution works across layers and picks the same labels as the sequential rendering. The label cache is
+ * painted at the end on top of the composited map.
+ *
+ * <p>The first group is painted by the calling thread directly on the target graphics, the other ones are submitted
+ * to the executor. The calling thread then walks the groups in order, painting itself those the executor did not
+ * start yet, so the request always makes progress even when the executor is saturated, and never uses more threads
+ * than groups.
+ */
+public class ParallelStreamingRenderer extends StreamingRenderer {
+
+    static final Logger LOGGER = Logging.getLogger(ParallelStreamingRenderer.class);
+
+    private final List<List<Layer>> groups;
+
+    private final Supplier<StreamingRenderer> rendererFactory;
+
+    private final ExecutorService executor;
+
+    private final List<RenderListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<StreamingRenderer> renderers = new CopyOnWriteArrayList<>();
+
+    private ExecutorService threadPool;
+
+    private volatile boolean stopped;
+
+    /**
+     * @param groups the layer groups, as returned by {@link #partition(List, int)}
+     * @param rendererFactory builds the renderers painting each group
+     * @param executor the executor painting the groups, should transfer the request thread locals
+     */
+    public ParallelStreamingRenderer(
+            List<List<Layer>> groups, Supplier<StreamingRenderer> rendererFactory, ExecutorService executor) {
+        this.groups = groups;
+        this.rendererFactory = rendererFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Splits the layers in at most {@code parallelism} contiguous groups of similar size. A layer using composition or
+     * blending is put in the same group as the layers down to the closest composite base below it, or the first layer,
+     * and the layers sharing a sort by group are put in the same group along with the ones in between.
+     */
+    public static List<List<Layer>> partition(List<Layer> layers, int parallelism) {
+        // joined[i] is true when layer i must be painted by the same renderer as layer i - 1
+        boolean[] joined = new boolean[layers.size()];
+        Map<String, Integer> sortGroupStarts = new HashMap<>();
+        int base = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            List<Map<String, String>> options = getOptions(layers.get(i));
+            if (options.stream().anyMatch(o -> o.containsKey(FeatureTypeStyle.COMPOSITE))) {
+                // blends with everything painted since the closest base below
+                join(joined, base, i);
+            }
+            for (Map<String, String> o : options) {
+                String sortGroup = o.get(FeatureTypeStyle.SORT_BY_GROUP);
+                if (sortGroup != null) {
+                    sortGroupStarts.putIfAbsent(sortGroup, i);
+                    join(joined, sortGroupStarts.get(sortGroup), i);
+                }
+            }
+            if (options.stream().anyMatch(o -> Boolean.parseBoolean(o.get(FeatureTypeStyle.COMPOSITE_BASE)))) {
+                base = i;
+            }
+        }
+        List<List<Layer>> units = new ArrayList<>();
+        for (int i = 0; i < layers.size(); i++) {
+            if (units.isEmpty() || !joined[i]) units.add(new ArrayList<>());
+            units.get(units.size() - 1).add(layers.get(i));
+        }
+        if (parallelism < 2 || units.size() < 2) return Collections.singletonList(layers);
+
+        int target = (int) Math.ceil(layers.size() / (double) Math.min(parallelism, units.size()));
+        List<List<Layer>> groups = new ArrayList<>();
+        List<Layer> current = new ArrayList<>();
+        for (List<Layer> unit : units) {
+            if (!current.isEmpty() && current.size() + unit.size() > target && groups.size() < parallelism - 1) {
+                groups.add(current);
+                current = new ArrayList<>();
+            }
+            current.addAll(unit);
+        }
+        groups.add(current);
+        return groups;
+    }
+
+    private static void join(boolean[] joined, int from, int to) {
+        for (int i = from + 1; i <= to; i++) {
+            joined[i] = true;
+        }
+    }
+
+    private static List<Map<String, String>> getOptions(Layer layer) {
+        List<Map<String, String>> result = new ArrayList<>();
+        Style style = layer.getStyle();
+        if (style != null) {
+            for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+                if (fts.getOptions() != null) result.add(fts.getOptions());
+            }
+        }
+        return result;
+    }
+
+    /** The layer groups painted concurrently */
+    public List<List<Layer>> getGroups() {
+        return groups;
+    }
+
+    @Override
+    public void setThreadPool(ExecutorService threadPool) {
+        super.setThreadPool(threadPool);
+        this.threadPool = threadPool;
+    }
+
+    @Override
+    public void addRenderListener(RenderListener listener) {
+        super.addRenderListener(listener);
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeRenderListener(RenderListener listener) {
+        super.removeRenderListener(listener);
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void stopRendering() {
+        stopped = true;
+        super.stopRendering();
+        for (StreamingRenderer renderer : renderers) {
+            renderer.stopRendering();
+        }
+    }
+
+    @Override
+    public void paint(
+            Graphics2D graphics, Rectangle paintArea, ReferencedEnvelope mapArea, AffineTransform worldToScreen) {
+        if (groups.size() < 2) {
+            super.paint(graphics, paintArea, mapArea, worldToScreen);
+            return;
+        }
+
+        stopped = false;
+        Map<Object, Object> hints = new HashMap<>();
+        if (getRendererHints() != null) hints.putAll(getRendererHints());
+        LabelCache labelCache = (LabelCache) hints.get(LABEL_CACHE_KEY);
+        if (labelCache == null) {
+            LabelCacheImpl defaultCache = new LabelCacheImpl();
+            Object textRendering = hints.get(TEXT_RENDERING_KEY);
+            if (textRendering instanceof String) {
+                defaultCache.setLabelRenderingMode(LabelRenderingMode.valueOf((String) textRendering));
+            }
+            labelCache = defaultCache;
+        }
+        labelCache.start();
+
+        // queue all the groups but the first, painted right away by this thread
+        StreamingRenderer[] groupRenderers = new StreamingRenderer[groups.size()];
+        GroupLabelCache[] groupLabels = new GroupLabelCache[groups.size()];
+        List<CompletableFuture<BufferedImage>> results = new ArrayList<>();
+        List<AtomicBoolean> claims = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            groupLabels[i] = new GroupLabelCache(labelCache, "group" + i + ":");
+        }
+        for (int i = 1; i < groups.size(); i++) {
+            CompletableFuture<BufferedImage> result = new CompletableFuture<>();
+            AtomicBoolean claim = new AtomicBoolean();
+            StreamingRenderer renderer = buildGroupRenderer(i, hints, groupLabels[i]);
+            groupRenderers[i] = renderer;
+            executor.submit(() -> {
+                if (!claim.compareAndSet(false, true)) return;
+                try {
+                    result.complete(paintOnImage(renderer, graphics, paintArea, mapArea, worldToScreen));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+            results.add(result);
+            claims.add(claim);
+        }
+
+        try {
+            buildGroupRenderer(0, hints, groupLabels[0]).paint(graphics, paintArea, mapArea, worldToScreen);
+            groupLabels[0].replay(graphics, paintArea);
+            for (int i = 1; i < groups.size(); i++) {
+                if (stopped) break;
+                if (claims.get(i - 1).compareAndSet(false, true)) {
+                    // the executor did not get to it, the groups below are already painted, paint it directly
+                    groupRenderers[i].paint(graphics, paintArea, mapArea, worldToScreen);
+                } else {
+                    BufferedImage image = results.get(i - 1).get();
+                    graphics.drawImage(image, paintArea.x, paintArea.y, null);
+                    image.flush();
+                }
+                groupLabels[i].replay(graphics, paintArea);
+            }
+
+            if (!stopped) {
+                listeners.forEach(l -> l.labellingStart());
+                labelCache.end(graphics, paintArea);
+                listeners.forEach(l -> l.labellingEnd());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopRendering();
+        } catch (ExecutionException e) {
+            stopRendering();
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) throw (Error) cause;
+            LOGGER.log(Level.FINE, "Layer group rendering failed", cause);
+            Exception exception = cause instanceof Exception ? (Exception) cause : e;
+            listeners.forEach(l -> l.errorOccurred(exception));
+        } finally {
+            // the groups not started yet won't be painted anymore
+            claims.forEach(c -> c.set(true));
+            renderers.clear();
+        }
+    }
+
+    private StreamingRenderer buildGroupRenderer(int index, Map<Object, Object> hints, GroupLabelCache labelCache) {
+        Map<Object, Object> groupHints = new HashMap<>(hints);
+        groupHints.put(LABEL_CACHE_KEY, labelCache);
+
+        StreamingRenderer renderer = rendererFactory.get();
+        renderer.setThreadPool(threadPool);
+        renderer.setJava2DHints(getJava2DHints());
+        renderer.setRendererHints(groupHints);
+        renderer.setMapContent(new GroupContent(getMapContent(), groups.get(index)));
+        renderer.addRenderListener(new GroupListener(listeners));
+        renderers.add(renderer);
+        if (stopped) renderer.stopRendering();
+        return renderer;
+    }
+
+    private static BufferedImage paintOnImage(
+            StreamingRenderer renderer,
+            Graphics2D target,
+            Rectangle paintArea,
+            ReferencedEnvelope mapArea,
+            AffineTransform worldToScreen) {
+        BufferedImage image = new BufferedImage(paintArea.width, paintArea.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHints(target.getRenderingHints());
+            graphics.translate(-paintArea.x, -paintArea.y);
+            renderer.paint(graphics, paintArea, mapArea, worldToScreen);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /** A map content exposing a subset of the layers of another one, without taking ownership of them */
+    static class GroupContent extends MapContent {
+
+        private final List<Layer> layers;
+
+        GroupContent(MapContent parent, List<Layer> layers) {
+            this.layers = Collections.unmodifiableList(layers);
+            getUserData().putAll(parent.getUserData());
+        }
+
+        @Override
+        public List<Layer> layers() {
+            return layers;
+        }
+    }
+
+    /**
+     * Forwards the events of a group renderer to the listeners of the parallel renderer, one at a time. Labelling
+     * events are fired by the parallel renderer itself, once the shared label cache is painted.
+     */
+    static class GroupListener implements RenderListener {
+
+        private final List<RenderListener> listeners;
+
+        GroupListener(List<RenderListener> listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void featureRenderer(SimpleFeature feature) {
+            synchronized (listeners) {
+                listeners.forEach(l -> l.featureRenderer(feature));
+            }
+        }
+
+        @Override
+        public void errorOccurred(Exception e) {
+            synchronized (listeners) {
+                listeners.forEach(l -> l.errorOccurred(e));
+            }
+        }
+
+        @Override
+        public void layerStart(Layer layer) {
+            synchronized (listeners) {
+                listeners.forEach(l -> l.layerStart(layer));
+            }
+        }
+
+        @Override
+        public void layerEnd(Layer layer) {
+            synchronized (listeners) {
+                listeners.forEach(l -> l.layerEnd(layer));
+            }
+        }
+
+        @Override
+        public void labellingStart() {}
+
+        @Override
+        public void labellingEnd() {}
+    }
+
+    /**
+     * Collects the labels of a group renderer, keeping the layer identifiers of the different groups apart. The calls
+     * are buffered and replayed into the shared label cache once the group is painted, in group order, as the label
+     * conflict resolution depends on the insertion order. The label painting is deferred to the parallel renderer.
+     */
+    static class GroupLabelCache implements LabelCache {
+
+        private final LabelCache delegate;
+
+        private final String prefix;
+
+        private final List<LabelCall> calls = new ArrayList<>();
+
+        GroupLabelCache(LabelCache delegate, String prefix) {
+            this.delegate = delegate;
+            this.prefix = prefix;
+        }
+
+        /** A buffered label cache call */
+        interface LabelCall {
+            void replay(LabelCache cache, Graphics2D graphics, Rectangle displayArea);
+        }
+
+        private synchronized void record(LabelCall call) {
+            calls.add(call);
+        }
+
+        /**
+         * Replays the buffered calls into the shared label cache, with the graphics the labels are painted on
+         *
+         * @param graphics the target graphics, replacing the group one in {@link #endLayer}
+         * @param displayArea the target display area
+         */
+        synchronized void replay(Graphics2D graphics, Rectangle displayArea) {
+            synchronized (delegate) {
+                for (LabelCall call : calls) {
+                    call.replay(delegate, graphics, displayArea);
+                }
+            }
+            calls.clear();
+        }
+
+        @Override
+        public void start() {
+            // started once by the parallel renderer
+        }
+
+        @Override
+        public void end(Graphics2D graphics, Rectangle displayArea) {
+            // painted once by the parallel renderer, on top of all the groups
+        }
+
+        @Override
+        public void clear() {
+            // would remove the labels of the other groups
+        }
+
+        @Override
+        public void stop() {
+            synchronized (delegate) {
+                delegate.stop();
+            }
+        }
+
+        @Override
+        public void clear(String layerId) {
+            record((c, g, a) -> c.clear(prefix + layerId));
+        }
+
+        @Override
+        public void startLayer(String layerId) {
+            record((c, g, a) -> c.startLayer(prefix + layerId));
+        }
+
+        @Override
+        public void endLayer(String layerId, Graphics2D graphics, Rectangle displayArea) {
+            record((c, g, a) -> c.endLayer(prefix + layerId, g, a));
+        }
+
+        @Override
+        public void enableLayer(String layerId) {
+            record((c, g, a) -> c.enableLayer(prefix + layerId));
+        }
+
+        @Override
+        public void disableLayer(String layerId) {
+            record((c, g, a) -> c.disableLayer(prefix + layerId));
+        }
+
+        @Override
+        public void put(Rectangle2D area) {
+            record((c, g, a) -> c.put(area));
+        }
+
+        @Override
+        public void put(
+                String layerId,
+                TextSymbolizer symbolizer,
+                Feature feature,
+                LiteShape2 shape,
+                NumberRange<Double> scaleRange) {
+            record((c, g, a) -> c.put(prefix + layerId, symbolizer, feature, shape, scaleRange));
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public List orderedLabels() {
+            synchronized (delegate) {
+                return delegate.orderedLabels();
+            }
+        }
+    }
+}
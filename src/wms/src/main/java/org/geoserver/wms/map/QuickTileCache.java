@@ -5,16 +5,29 @@
  */
 package org.geoserver.wms.map;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.DataBuffer;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.geoserver.catalog.ResourcePool;
@@ -23,6 +36,7 @@
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.TransactionEvent;
 import org.geoserver.wfs.TransactionListener;
@@ -33,10 +47,30 @@
 import org.geotools.gml2.SrsSyntax;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.CRS.AxisOrder;
-import org.geotools.util.CanonicalSet;
+import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Envelope;
 
+/**
+ * Cache of the tiles resulting from the on the fly meta tiling of {@code tiled=true} requests, see
+ * {@link MetatileMapOutputFormat}.
+ *
+ * <p>The cache is bounded by the size in bytes of the cached tiles, and configured with the {@link #CACHE_SPEC} system
+ * property or environment variable, holding a {@link CacheBuilderSpec}, by default {@value #DEFAULT_CACHE_SPEC}. Each
+ * meta tile is rendered by a single thread, other threads asking for tiles of the same meta tile wait for it to be
+ * ready. The cache is emptied on configuration changes and whenever a WFS transaction modifies data.
+ */
 public class QuickTileCache implements TransactionListener, GeoServerLifecycleHandler {
+
+    static final Logger LOGGER = Logging.getLogger(QuickTileCache.class);
+
+    /**
+     * System property or environment variable holding the {@link CacheBuilderSpec} of the meta tile cache. The
+     * {@code maximumWeight} is expressed in bytes of uncompressed tiles.
+     */
+    public static final String CACHE_SPEC = "WMS_META_TILE_CACHE";
+
+    static final String DEFAULT_CACHE_SPEC = "maximumWeight=67108864,expireAfterAccess=5m";
+
     /**
      * Set of parameters that we can ignore, since they do not define a map, are either unrelated, or define the tiling
      * instead
@@ -55,34 +89,59 @@ public class QuickTileCache implements TransactionListener, GeoServerLifecycleHa
         ignoredParameters.add("EXCEPTIONS");
     }
 
-    /** Canonicalizer used to return the same object when two threads ask for the same meta-tile */
-    private CanonicalSet<MetaTileKey> metaTileKeys = CanonicalSet.newInstance(MetaTileKey.class);
+    private final String cacheSpec;
+
+    private final Cache<MetaTileKey, CacheElement> tileCache;
+
+    /** The meta tiles being rendered, allowing other threads to wait for them rather than rendering them again */
+    private final Map<MetaTileKey, CompletableFuture<RenderedImage[]>> rendering = new ConcurrentHashMap<>();
 
-    private WeakHashMap<MetaTileKey, CacheElement> tileCache = new WeakHashMap<>();
+    /** Incremented at each invalidation, meta tiles rendered across an invalidation are not cached */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong waits = new AtomicLong();
+
+    private final AtomicLong expirations = new AtomicLong();
 
     public QuickTileCache(GeoServer geoServer) {
+        this();
         geoServer.addListener(new ConfigurationListenerAdapter() {
             @Override
             public void handleGlobalChange(
                     GeoServerInfo global, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                clear();
             }
 
             @Override
             public void handleServiceChange(
                     ServiceInfo service, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                clear();
             }
 
             @Override
             public void reloaded() {
-                tileCache.clear();
+                clear();
             }
         });
     }
 
     /** For testing only */
-    QuickTileCache() {}
+    QuickTileCache() {
+        this(GeoServerExtensions.getProperty(CACHE_SPEC));
+    }
+
+    QuickTileCache(String spec) {
+        this.cacheSpec = spec == null || spec.isBlank() ? DEFAULT_CACHE_SPEC : spec;
+        CacheBuilder<Object, Object> builder = CacheBuilder.from(CacheBuilderSpec.parse(cacheSpec));
+        if (cacheSpec.contains("maximumWeight")) {
+            builder.weigher((MetaTileKey k, CacheElement v) -> v.weight);
+        }
+        this.tileCache = builder.recordStats()
+                .<MetaTileKey, CacheElement>removalListener(n -> {
+                    if (n.getCause() == RemovalCause.EXPIRED) expirations.incrementAndGet();
+                })
+                .build();
+    }
 
     /**
      * Given a tiled request, builds a key that can be used to access the cache looking for a specific meta-tile, and
@@ -108,10 +167,7 @@ public MetaTileKey getMetaTileKey(GetMapRequest request) {
         ReferencedEnvelope metaTileEnvelope = getMetaTileEnvelope(bbox, tileCoords, metaTileCoords);
         MetaTileKey key = new MetaTileKey(mapKey, metaTileCoords, metaTileEnvelope);
 
-        // since this will be used for thread synchronization, we have to make
-        // sure two thread asking for the same meta tile will get the same key
-        // object
-        return metaTileKeys.unique(key);
+        return key;
     }
 
     private ReferencedEnvelope getMetaTileEnvelope(ReferencedEnvelope bbox, Point tileCoords, Point metaTileCoords) {
@@ -314,9 +370,15 @@ public String toString() {
         }
     }
 
+    /** Renders a meta tile, returning its tiles as built by {@link MetatileMapOutputFormat#split} */
+    @FunctionalInterface
+    public interface MetaTileRenderer {
+        RenderedImage[] render() throws IOException;
+    }
+
     /** Gathers a tile from the cache, if available */
-    public synchronized RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
-        CacheElement ce = tileCache.get(key);
+    public RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
+        CacheElement ce = tileCache.getIfPresent(key);
 
         if (ce == null) {
             return null;
@@ -325,6 +387,56 @@ public synchronized RenderedImage getTile(MetaTileKey key, GetMapRequest request
         return getTile(key, request, ce.tiles);
     }
 
+    /**
+     * Returns the tiles of the meta tile, using the renderer if they are not cached. A meta tile is rendered by a
+     * single thread at a time, the others asking for it wait for the rendering to complete, and render it themselves
+     * only if it failed.
+     */
+    public RenderedImage[] getTiles(MetaTileKey key, MetaTileRenderer renderer) throws IOException {
+        while (true) {
+            CacheElement ce = tileCache.getIfPresent(key);
+            if (ce != null) {
+                return ce.tiles;
+            }
+
+            CompletableFuture<RenderedImage[]> future = new CompletableFuture<>();
+            CompletableFuture<RenderedImage[]> existing = rendering.putIfAbsent(key, future);
+            if (existing == null) {
+                return render(key, renderer, future);
+            }
+            waits.incrementAndGet();
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Interrupted while waiting for meta tile rendering", e);
+            } catch (ExecutionException e) {
+                // the rendering failed, possibly for reasons specific to the other request, try again
+                LOGGER.log(Level.FINE, "Rendering of meta tile failed in another request, retrying", e.getCause());
+            }
+        }
+    }
+
+    private RenderedImage[] render(
+            MetaTileKey key, MetaTileRenderer renderer, CompletableFuture<RenderedImage[]> future) throws IOException {
+        try {
+            long start = generation.get();
+            RenderedImage[] tiles = renderer.render();
+            storeTiles(key, tiles);
+            if (generation.get() != start) {
+                // invalidated while rendering, the tiles might be stale
+                tileCache.invalidate(key);
+            }
+            future.complete(tiles);
+            return tiles;
+        } catch (IOException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key, future);
+        }
+    }
+
     /** */
     public RenderedImage getTile(MetaTileKey key, GetMapRequest request, RenderedImage[] tiles) {
         Envelope bbox = request.getBbox();
@@ -338,15 +450,147 @@ public RenderedImage getTile(MetaTileKey key, GetMapRequest request, RenderedIma
     }
 
     /** Puts the specified tile array in the cache, and returns the tile the request was looking for */
-    public synchronized void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
+    public void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
         tileCache.put(key, new CacheElement(tiles));
     }
 
-    class CacheElement {
-        RenderedImage[] tiles;
+    /** Removes all the cached tiles */
+    public void clear() {
+        generation.incrementAndGet();
+        tileCache.invalidateAll();
+    }
+
+    /** Returns the current usage counters of the cache */
+    public Statistics getStatistics() {
+        CacheStats stats = tileCache.stats();
+        long weight = tileCache.asMap().values().stream().mapToLong(e -> e.weight).sum();
+        return new Statistics(
+                cacheSpec,
+                tileCache.size(),
+                weight,
+                stats.hitCount(),
+                stats.missCount(),
+                waits.get(),
+                stats.evictionCount() - expirations.get(),
+                expirations.get());
+    }
+
+    static class CacheElement {
+        final RenderedImage[] tiles;
+
+        final int weight;
 
         public CacheElement(RenderedImage[] tiles) {
             this.tiles = tiles;
+            long bytes = 0;
+            for (RenderedImage tile : tiles) {
+                if (tile != null) bytes += sizeOf(tile);
+            }
+            this.weight = (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+
+        /** Size in bytes of the uncompressed image */
+        static long sizeOf(RenderedImage image) {
+            SampleModel sm = image.getSampleModel();
+            long pixelBits = (long) DataBuffer.getDataTypeSize(sm.getDataType()) * sm.getNumDataElements();
+            return (long) image.getWidth() * image.getHeight() * pixelBits / 8;
+        }
+    }
+
+    /** Usage counters of the meta tile cache */
+    public static class Statistics {
+
+        private final String specification;
+
+        private final long size;
+
+        private final long weight;
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long waitCount;
+
+        private final long evictionCount;
+
+        private final long expirationCount;
+
+        Statistics(
+                String specification,
+                long size,
+                long weight,
+                long hitCount,
+                long missCount,
+                long waitCount,
+                long evictionCount,
+                long expirationCount) {
+            this.specification = specification;
+            this.size = size;
+            this.weight = weight;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.waitCount = waitCount;
+            this.evictionCount = evictionCount;
+            this.expirationCount = expirationCount;
+        }
+
+        /** The cache configuration */
+        public String getSpecification() {
+            return specification;
+        }
+
+        /** Number of cached meta tiles */
+        public long getSize() {
+            return size;
+        }
+
+        /** Size of the cached tiles, in bytes */
+        public long getWeight() {
+            return weight;
+        }
+
+        /** Number of lookups finding the meta tile in the cache */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /** Number of lookups not finding the meta tile in the cache */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /** Number of requests that waited for another one to render the meta tile */
+        public long getWaitCount() {
+            return waitCount;
+        }
+
+        /** Number of meta tiles evicted to respect the size limits */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /** Number of meta tiles removed as they were not used for the configured time */
+        public long getExpirationCount() {
+            return expirationCount;
+        }
+
+        @Override
+        public String toString() {
+            return "size="
+                    + size
+                    + ", weight="
+                    + weight
+                    + ", hits="
+                    + hitCount
+                    + ", misses="
+                    + missCount
+                    + ", waits="
+                    + waitCount
+                    + ", evictions="
+                    + evictionCount
+                    + ", expirations="
+                    + expirationCount;
         }
     }
 
@@ -356,18 +600,18 @@ public void dataStoreChange(TransactionEvent event) throws WFSException {
         // contains a string with part of the map request where the layer
         // name is included, but we would have to parse it and consider
         // also that the namespace may be missing in the getmap request
-        tileCache.clear();
+        clear();
     }
 
     @Override
     public void onReset() {
         // data might have changed in the meantime
-        tileCache.clear();
+        clear();
     }
 
     @Override
     public void onDispose() {
-        tileCache.clear();
+        clear();
     }
 
     @Override
@@ -377,6 +621,6 @@ public void beforeReload() {
 
     @Override
     public void onReload() {
-        tileCache.clear();
+        clear();
     }
 }
@@ -0,0 +1,264 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.RenderedImage;
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A pool of the {@link BufferedImage} used as drawing surfaces by {@link RenderedImageMapOutputFormat}, keyed by
+ * width, height and color model, and bounded by the total amount of bytes retained while idle.
+ *
+ * <p>Images are handed out by {@link #acquire(int, int, IndexColorModel, boolean)} and are returned by
+ * {@link #returnToPool(RenderedImage)}, which for GetMap happens through the {@link org.geoserver.wms.RasterCleaner}
+ * once the response has been written, or when the owning {@link RenderedImageMap} gets disposed. A reused image is
+ * cleared before being handed out again, so that the contents painted for a request never show up in another one.
+ *
+ * <p>When the logger is set at FINE level the pool tracks where each image has been acquired, and reports the images
+ * that got garbage collected without ever being returned.
+ */
+public class RasterPool {
+
+    static final Logger LOGGER = Logging.getLogger(RasterPool.class);
+
+    /**
+     * Name of the system/environment variable setting the max amount of bytes retained by the pool, zero or negative
+     * (default) disables pooling
+     */
+    public static final String MAX_BYTES = "WMS_RASTER_POOL_MAX_BYTES";
+
+    /** Image property pointing to the pool an image has been acquired from */
+    static final String POOL_PROPERTY = "org.geoserver.wms.map.RasterPool";
+
+    /** Lazily creates the pool shared by all GetMap requests */
+    private static class DefaultPool {
+        static final RasterPool INSTANCE = create();
+
+        private static RasterPool create() {
+            String maxBytes = GeoServerExtensions.getProperty(MAX_BYTES);
+            if (maxBytes == null || Long.parseLong(maxBytes) <= 0) {
+                return null;
+            }
+            return new RasterPool(Long.parseLong(maxBytes));
+        }
+    }
+
+    /** Reports the images collected without being returned to the pool */
+    private static class LeakDetector {
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+
+    private final long maxBytes;
+
+    private final Map<Key, ArrayDeque<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    private final Set<BufferedImage> idle = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    private final Map<BufferedImage, Lease> leases = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public RasterPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns the pool shared by all GetMap requests, or null if pooling has not been enabled */
+    public static RasterPool getInstance() {
+        return DefaultPool.INSTANCE;
+    }
+
+    /** Returns true if the image has been acquired from a {@link RasterPool} */
+    public static boolean isPooled(RenderedImage image) {
+        return image instanceof BufferedImage
+                && ((BufferedImage) image).getProperty(POOL_PROPERTY) instanceof RasterPool;
+    }
+
+    /**
+     * Returns the image to the pool it has been acquired from, does nothing if the image is not a pooled one. The image
+     * must not be used by the caller any longer after this call.
+     */
+    public static void returnToPool(RenderedImage image) {
+        if (isPooled(image)) {
+            BufferedImage bi = (BufferedImage) image;
+            ((RasterPool) bi.getProperty(POOL_PROPERTY)).release(bi);
+        }
+    }
+
+    /**
+     * Returns an image with the same structure as {@link ImageUtils#createImage(int, int, IndexColorModel, boolean)},
+     * either taken from the pool and cleared, or freshly allocated
+     */
+    public BufferedImage acquire(int width, int height, IndexColorModel palette, boolean transparent) {
+        Key key = new Key(Math.max(1, width), Math.max(1, height), palette, transparent);
+        BufferedImage[] pooled = new BufferedImage[1];
+        images.computeIfPresent(key, (k, queue) -> {
+            pooled[0] = queue.poll();
+            return queue.isEmpty() ? null : queue;
+        });
+
+        BufferedImage image = pooled[0];
+        if (image != null) {
+            idle.remove(image);
+            retainedBytes.addAndGet(-getSize(image));
+            clear(image);
+        } else {
+            image = ImageUtils.createImage(key.width, key.height, key.palette, key.transparent);
+            Hashtable<String, Object> properties = new Hashtable<>();
+            properties.put(POOL_PROPERTY, this);
+            image = new BufferedImage(image.getColorModel(), image.getRaster(), false, properties);
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            Lease lease = new Lease(width, height);
+            lease.cleanable = LeakDetector.CLEANER.register(image, lease);
+            leases.put(image, lease);
+        }
+        return image;
+    }
+
+    /** Clears the image contents, same as a freshly allocated image for the non opaque ones */
+    private static void clear(BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Clear);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    /** Returns an image to the pool, dropping it if the pool is already holding the max amount of bytes */
+    void release(BufferedImage image) {
+        Lease lease = leases.remove(image);
+        if (lease != null) {
+            lease.returned = true;
+            lease.cleanable.clean();
+        }
+        if (!idle.add(image)) {
+            LOGGER.fine("Image returned to the raster pool more than once, ignoring it");
+            return;
+        }
+
+        long size = getSize(image);
+        if (size > maxBytes) {
+            idle.remove(image);
+            return;
+        }
+        while (retainedBytes.addAndGet(size) > maxBytes) {
+            retainedBytes.addAndGet(-size);
+            if (!evict()) {
+                idle.remove(image);
+                return;
+            }
+        }
+        images.compute(getKey(image), (k, queue) -> {
+            if (queue == null) queue = new ArrayDeque<>();
+            queue.push(image);
+            return queue;
+        });
+    }
+
+    /** Drops the least recently returned image of the first non empty queue, returns false if the pool is empty */
+    private boolean evict() {
+        for (Key key : images.keySet()) {
+            BufferedImage[] evicted = new BufferedImage[1];
+            images.computeIfPresent(key, (k, queue) -> {
+                evicted[0] = queue.pollLast();
+                return queue.isEmpty() ? null : queue;
+            });
+            if (evicted[0] != null) {
+                idle.remove(evicted[0]);
+                retainedBytes.addAndGet(-getSize(evicted[0]));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The amount of bytes currently held by the idle images in the pool */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private static long getSize(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static Key getKey(BufferedImage image) {
+        ColorModel cm = image.getColorModel();
+        IndexColorModel palette = cm instanceof IndexColorModel ? (IndexColorModel) cm : null;
+        return new Key(image.getWidth(), image.getHeight(), palette, cm.hasAlpha());
+    }
+
+    /** Identifies images with the same structure */
+    private static class Key {
+        final int width;
+        final int height;
+        final IndexColorModel palette;
+        final boolean transparent;
+
+        Key(int width, int height, IndexColorModel palette, boolean transparent) {
+            this.width = width;
+            this.height = height;
+            this.palette = palette;
+            // the palette wins over transparency, see ImageUtils.createImage
+            this.transparent = palette == null && transparent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return width == key.width
+                    && height == key.height
+                    && transparent == key.transparent
+                    && Objects.equals(palette, key.palette);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(width, height, palette, transparent);
+        }
+    }
+
+    /** Tracks an acquired image, in debug mode, reporting it if collected without being returned */
+    private static class Lease implements Runnable {
+        final Exception origin;
+        volatile boolean returned;
+        Cleaner.Cleanable cleanable;
+
+        Lease(int width, int height) {
+            this.origin = new Exception("Image of " + width + "x" + height + " acquired here");
+        }
+
+        @Override
+        public void run() {
+            if (!returned) {
+                LOGGER.log(Level.FINE, "Image garbage collected without being returned to the raster pool", origin);
+            }
+        }
+    }
+}
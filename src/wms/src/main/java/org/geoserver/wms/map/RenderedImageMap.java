@@ -5,6 +5,7 @@
  */
 package org.geoserver.wms.map;
 
+import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.util.Collections;
 import java.util.List;
@@ -23,6 +24,8 @@ public class RenderedImageMap extends WebMap {
 
     private List<GridCoverage2D> renderedCoverages;
 
+    private BufferedImage pooledImage;
+
     public RenderedImageMap(final WMSMapContent mapContent, final RenderedImage image, final String mimeType) {
         super(mapContent);
         this.image = image;
@@ -36,6 +39,28 @@ public RenderedImage getImage() {
     @Override
     protected void disposeInternal() {
         image = null;
+        if (pooledImage != null) {
+            RasterPool.returnToPool(pooledImage);
+            pooledImage = null;
+        }
+    }
+
+    /**
+     * Sets the drawing surface acquired from the {@link RasterPool} to produce this map, which will be returned to the
+     * pool when the map is disposed
+     */
+    public void setPooledImage(BufferedImage pooledImage) {
+        this.pooledImage = pooledImage;
+    }
+
+    /**
+     * Returns the drawing surface acquired from the {@link RasterPool}, if any, and makes the caller responsible for
+     * returning it to the pool
+     */
+    public BufferedImage detachPooledImage() {
+        BufferedImage result = pooledImage;
+        pooledImage = null;
+        return result;
     }
 
     /**
@@ -16,6 +16,7 @@
 import java.awt.image.RenderedImage;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -250,7 +251,8 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
         // multiple featureTypeStyles against the same layer
         StreamingRenderer testRenderer = buildRenderer();
         testRenderer.setMapContent(mapContent);
-        memory += testRenderer.getMaxBackBufferMemory(paintArea.width, paintArea.height);
+        long backBufferMemory = testRenderer.getMaxBackBufferMemory(paintArea.width, paintArea.height);
+        memory += backBufferMemory;
         if (maxMemory > 0 && memory > maxMemory) {
             long kbUsed = memory / KB;
             long kbMax = maxMemory / KB;
@@ -264,6 +266,18 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
                     ServiceException.MAX_MEMORY_EXCEEDED);
         }
 
+        // split the layers in groups rendered in parallel, as long as the extra drawing surfaces
+        // fit in the memory limits, otherwise fall back on sequential rendering
+        List<List<Layer>> layerGroups = Collections.emptyList();
+        int parallelism = DefaultWebMapService.getLayerRenderingParallelism();
+        if (parallelism > 1 && !emptyMap) {
+            layerGroups = ParallelStreamingRenderer.partition(mapContent.layers(), parallelism);
+            long groupMemory = 4L * paintArea.width * paintArea.height + backBufferMemory;
+            if (maxMemory > 0 && memory + (layerGroups.size() - 1) * groupMemory > maxMemory) {
+                layerGroups = Collections.emptyList();
+            }
+        }
+
         final MapDecorationLayout layout = findDecorationLayout(request, tiled);
 
         // TODO: allow rendering to continue with vector layers
@@ -350,7 +364,10 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
         graphic.setRenderingHints(hintsMap);
 
         RenderingHints hints = new RenderingHints(hintsMap);
-        StreamingRenderer renderer = buildRenderer();
+        StreamingRenderer renderer = layerGroups.size() > 1
+                ? new ParallelStreamingRenderer(
+                        layerGroups, this::buildRenderer, DefaultWebMapService.getLayerRenderingPool())
+                : buildRenderer();
         renderer.setThreadPool(DefaultWebMapService.getRenderingPool());
         renderer.setMapContent(mapContent);
         // add the GeoServer MarkFactories provider settings
@@ -504,6 +521,7 @@ public void saveMap() {
             }
         };
         timeout.start();
+        RenderedImageMap result = null;
         try {
             // finally render the image;
             if (!emptyMap) {
@@ -554,7 +572,8 @@ public void saveMap() {
 
             // If there were no exceptions, return the map
             if (serviceException == null) {
-                return optimizeAndBuildMap(palette, preparedImage, mapContent);
+                result = optimizeAndBuildMap(palette, preparedImage, mapContent);
+                return result;
 
                 // If the exception format is PARTIALMAP, return whatever did get rendered with the
                 // exception
@@ -564,6 +583,7 @@ public void saveMap() {
                 if (map == null) {
                     map = optimizeAndBuildMap(palette, preparedImage, mapContent);
                 }
+                result = map;
                 // Wrap the serviceException in a WMSServiceException to hold the map
                 serviceException = new WMSPartialMapException(serviceException, map);
             }
@@ -573,6 +593,10 @@ public void saveMap() {
             if (statistics != null) {
                 statistics.renderingComplete();
             }
+            // no map is going to be written, the drawing surface can be reused right away
+            if (result == null) {
+                RasterPool.returnToPool(preparedImage);
+            }
         }
         throw serviceException;
     }
@@ -608,7 +632,11 @@ private RenderedImageMap optimizeAndBuildMap(
         } else {
             image = preparedImage;
         }
-        return buildMap(mapContent, image);
+        RenderedImageMap map = buildMap(mapContent, image);
+        if (RasterPool.isPooled(preparedImage)) {
+            map.setPooledImage((BufferedImage) preparedImage);
+        }
+        return map;
     }
 
     protected Graphics2D getGraphics(
@@ -637,8 +665,13 @@ protected RenderedImageMap buildMap(final WMSMapContent mapContent, RenderedImag
      * otherwise. Subclasses may override this method should they need a special kind of image
      */
     protected RenderedImage prepareImage(int width, int height, IndexColorModel palette, boolean transparent) {
-        return ImageUtils.createImage(
-                width, height, isPaletteSupported() ? palette : null, transparent && isTransparencySupported());
+        IndexColorModel icm = isPaletteSupported() ? palette : null;
+        boolean alpha = transparent && isTransparencySupported();
+        RasterPool pool = RasterPool.getInstance();
+        if (pool != null) {
+            return pool.acquire(width, height, icm, alpha);
+        }
+        return ImageUtils.createImage(width, height, icm, alpha);
     }
 
     /**
@@ -112,6 +112,8 @@ public final void write(final Object value, final OutputStream output, final Ope
                     RasterCleaner.addCoverage(coverage);
                 }
                 RasterCleaner.addImage(image);
+                // the drawing surface goes back to the pool only once the image chain is disposed
+                RasterCleaner.addPooledImage(imageMap.detachPooledImage());
             }
         } finally {
             imageMap.dispose();
@@ -8,7 +8,13 @@
 import ar.com.hjg.pngj.FilterType;
 import it.geosolutions.imageio.plugins.png.PNGWriter;
 import java.awt.image.RenderedImage;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.WMSMapContent;
 import org.geotools.api.style.ColorMap;
@@ -16,6 +22,7 @@
 import org.geotools.image.ImageWorker;
 import org.geotools.map.Layer;
 import org.geotools.styling.AbstractStyleVisitor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * Encodes the image in PNG using the PNGJ library
@@ -24,6 +31,36 @@
  */
 public class PNGJWriter {
 
+    /**
+     * Number of threads used to encode large images with the {@link ParallelPNGEncoder}, 0 or 1 (default) disables
+     * parallel encoding
+     */
+    public static final String ENCODER_THREADS = "WMS_PNG_ENCODER_THREADS";
+
+    /** Images split in fewer bands than this are encoded by PNGJ, as parallel encoding would not pay off */
+    static final int MIN_PARALLEL_BANDS = 4;
+
+    static final int THREADS = getEncoderThreads();
+
+    private static int getEncoderThreads() {
+        String threads = GeoServerExtensions.getProperty(ENCODER_THREADS);
+        return threads == null ? 0 : Integer.parseInt(threads);
+    }
+
+    /** Lazily creates the pool of threads used for parallel encoding */
+    private static class EncoderPool {
+        static final ExecutorService POOL;
+
+        static {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("PNGEncoder-");
+            threadFactory.setDaemon(true);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    THREADS, THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            POOL = executor;
+        }
+    }
+
     public RenderedImage writePNG(
             RenderedImage image, OutputStream outStream, float quality, WMSMapContent mapContent) {
         // what kind of scaline filtering are we going to use?
@@ -40,6 +77,22 @@ public RenderedImage writePNG(
                     .getRenderedImage();
         }
 
+        // large images are deflated in parallel, in independent bands of scanlines
+        if (THREADS > 1 && ParallelPNGEncoder.isSupported(image)) {
+            ParallelPNGEncoder encoder = new ParallelPNGEncoder(EncoderPool.POOL, THREADS);
+            if (encoder.getBandCount(image) >= MIN_PARALLEL_BANDS) {
+                ParallelPNGEncoder.Filter filter = filterType == FilterType.FILTER_SUB
+                        ? ParallelPNGEncoder.Filter.SUB
+                        : ParallelPNGEncoder.Filter.NONE;
+                try {
+                    encoder.encode(image, outStream, getCompressionLevel(quality), filter);
+                } catch (IOException e) {
+                    throw new ServiceException("Failed to encode the PNG", e);
+                }
+                return image;
+            }
+        }
+
         RenderedImage output = null;
         // Image writing
         try {
@@ -51,6 +104,11 @@ public RenderedImage writePNG(
         return output;
     }
 
+    /** Maps the quality, between 0 and 1, to a deflate level, lower quality meaning stronger compression */
+    static int getCompressionLevel(float quality) {
+        return Math.max(0, Math.min(9, Math.round(9 * (1 - quality))));
+    }
+
     /**
      * SUB filtering is useful for raster images with "high" variation, otherwise we go for NONE, empirically it
      * provides better compression at lower effort
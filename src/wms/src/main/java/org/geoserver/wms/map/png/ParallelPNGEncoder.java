@@ -0,0 +1,583 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import java.awt.Rectangle;
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A PNG encoder splitting the image in bands of scanlines that are filtered and deflated independently, and in
+ * parallel, then concatenated in a single zlib stream, the same way pigz does. Each band is deflated using the tail of
+ * the previous one as a preset dictionary and flushed to a byte boundary, so the output is very close in size to the
+ * one of a single deflater.
+ *
+ * <p>The calling thread writes the bands in order, and deflates itself the bands the executor did not start yet, so the
+ * encoding makes progress even when the executor is saturated. The scanline filters are simple loops over byte arrays
+ * that the JIT can vectorize. Deflaters and work buffers are pooled and reused across images.
+ *
+ * <p>Only 8 bits images with a palette, gray, gray/alpha, RGB or RGBA color model are supported, see
+ * {@link #isSupported(RenderedImage)}.
+ */
+public class ParallelPNGEncoder {
+
+    /** The PNG scanline filters, plus the adaptive, per scanline, selection of the best one */
+    public enum Filter {
+        NONE,
+        SUB,
+        UP,
+        AVERAGE,
+        PAETH,
+        ADAPTIVE
+    }
+
+    /** Uncompressed size of the bands deflated in parallel */
+    static final int DEFAULT_BAND_SIZE = 128 * 1024;
+
+    /** Size of the deflate window, used as the preset dictionary */
+    static final int DICTIONARY_SIZE = 32 * 1024;
+
+    static final int IDAT_SIZE = 64 * 1024;
+
+    static final int MAX_POOLED = 32;
+
+    static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    private static final Map<Integer, Queue<Deflater>> DEFLATERS = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger POOLED_DEFLATERS = new AtomicInteger();
+
+    private static final Queue<Workspace> WORKSPACES = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger POOLED_WORKSPACES = new AtomicInteger();
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final int bandSize;
+
+    /**
+     * @param executor the executor deflating the bands, or null to encode in the calling thread only
+     * @param parallelism max number of bands deflated at the same time
+     */
+    public ParallelPNGEncoder(Executor executor, int parallelism) {
+        this(executor, parallelism, DEFAULT_BAND_SIZE);
+    }
+
+    ParallelPNGEncoder(Executor executor, int parallelism, int bandSize) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.bandSize = bandSize;
+    }
+
+    /** Returns true if the image has 8 bits samples and a palette, gray, gray/alpha, RGB or RGBA color model */
+    public static boolean isSupported(RenderedImage image) {
+        SampleModel sm = image.getSampleModel();
+        ColorModel cm = image.getColorModel();
+        if (cm == null || !(sm instanceof ComponentSampleModel) || sm.getDataType() != DataBuffer.TYPE_BYTE) {
+            return false;
+        }
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) return false;
+        }
+        int bands = sm.getNumBands();
+        if (cm instanceof IndexColorModel) return bands == 1;
+        if (cm instanceof ComponentColorModel && !cm.isAlphaPremultiplied() && cm.getNumComponents() == bands) {
+            int type = cm.getColorSpace().getType();
+            if (type == ColorSpace.TYPE_GRAY) return bands == 1 || bands == 2 && cm.hasAlpha();
+            if (type == ColorSpace.TYPE_RGB) return bands == 3 || bands == 4 && cm.hasAlpha();
+        }
+        return false;
+    }
+
+    /** Returns the number of bands the image would be split into */
+    int getBandCount(RenderedImage image) {
+        int rowBytes = image.getWidth() * image.getSampleModel().getNumBands();
+        int rowsPerBand = Math.max(1, bandSize / (rowBytes + 1));
+        return (image.getHeight() + rowsPerBand - 1) / rowsPerBand;
+    }
+
+    /**
+     * Encodes the image
+     *
+     * @param level the deflate compression level, between 0 and 9
+     * @param filter the scanline filter
+     * @throws IllegalArgumentException if the image is not {@link #isSupported(RenderedImage) supported}
+     */
+    public void encode(RenderedImage image, OutputStream out, int level, Filter filter) throws IOException {
+        if (!isSupported(image)) throw new IllegalArgumentException("Unsupported image layout " + image);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bpp = image.getSampleModel().getNumBands();
+        int rowBytes = width * bpp;
+        int rowsPerBand = Math.max(1, bandSize / (rowBytes + 1));
+        int bands = (height + rowsPerBand - 1) / rowsPerBand;
+        int strategy = filter == Filter.NONE ? Deflater.DEFAULT_STRATEGY : Deflater.FILTERED;
+
+        out.write(SIGNATURE);
+        writeHeaders(image, out);
+
+        IdatOutputStream idat = new IdatOutputStream(out);
+        idat.write(0x78);
+        idat.write(level < 2 ? 0x01 : level < 6 ? 0x5E : level == 6 ? 0x9C : 0xDA);
+        long adler = 1;
+        Deque<FutureTask<Band>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (int i = 0; i < bands; i++) {
+                while (next < bands && pending.size() < parallelism * 2) {
+                    int first = next * rowsPerBand;
+                    int last = Math.min(height, first + rowsPerBand);
+                    FutureTask<Band> task =
+                            new FutureTask<>(() -> deflate(image, first, last, level, strategy, filter));
+                    pending.add(task);
+                    submit(task);
+                    next++;
+                }
+                FutureTask<Band> task = pending.poll();
+                // no-op if the executor already ran it
+                task.run();
+                Band band = get(task);
+                idat.write(band.workspace.output, 0, band.length);
+                adler = combineAdler(adler, band.adler, band.rawLength);
+                release(band.workspace);
+            }
+        } finally {
+            pending.forEach(t -> t.cancel(false));
+        }
+        idat.write((int) (adler >>> 24));
+        idat.write((int) (adler >>> 16));
+        idat.write((int) (adler >>> 8));
+        idat.write((int) adler);
+        idat.finish();
+        writeChunk(out, "IEND", new byte[0], 0);
+    }
+
+    private void submit(FutureTask<Band> task) {
+        if (executor == null || parallelism < 2) return;
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // will be run by the calling thread
+        }
+    }
+
+    private static Band get(FutureTask<Band> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encoding the PNG");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private static void writeHeaders(RenderedImage image, OutputStream out) throws IOException {
+        ColorModel cm = image.getColorModel();
+        int bands = image.getSampleModel().getNumBands();
+        int colorType;
+        if (cm instanceof IndexColorModel) colorType = 3;
+        else if (bands == 1) colorType = 0;
+        else if (bands == 2) colorType = 4;
+        else if (bands == 3) colorType = 2;
+        else colorType = 6;
+
+        byte[] header = new byte[13];
+        putInt(header, 0, image.getWidth());
+        putInt(header, 4, image.getHeight());
+        header[8] = 8;
+        header[9] = (byte) colorType;
+        writeChunk(out, "IHDR", header, header.length);
+
+        if (cm instanceof IndexColorModel) {
+            IndexColorModel icm = (IndexColorModel) cm;
+            int size = icm.getMapSize();
+            byte[] palette = new byte[size * 3];
+            for (int i = 0; i < size; i++) {
+                palette[i * 3] = (byte) icm.getRed(i);
+                palette[i * 3 + 1] = (byte) icm.getGreen(i);
+                palette[i * 3 + 2] = (byte) icm.getBlue(i);
+            }
+            writeChunk(out, "PLTE", palette, palette.length);
+
+            byte[] alphas = new byte[size];
+            icm.getAlphas(alphas);
+            int length = size;
+            while (length > 0 && alphas[length - 1] == (byte) 0xFF) length--;
+            if (length > 0) writeChunk(out, "tRNS", alphas, length);
+        }
+    }
+
+    static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] header = new byte[8];
+        putInt(header, 0, length);
+        for (int i = 0; i < 4; i++) header[4 + i] = (byte) type.charAt(i);
+        CRC32 crc = new CRC32();
+        crc.update(header, 4, 4);
+        crc.update(data, 0, length);
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) crc.getValue());
+        out.write(header);
+        out.write(data, 0, length);
+        out.write(trailer);
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Combines the Adler-32 checksums of two consecutive blocks of data, given the length of the second one, as in
+     * zlib's adler32_combine
+     */
+    static long combineAdler(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+        if (sum1 >= base) sum1 -= base;
+        if (sum1 >= base) sum1 -= base;
+        if (sum2 >= (base << 1)) sum2 -= (base << 1);
+        if (sum2 >= base) sum2 -= base;
+        return sum1 | (sum2 << 16);
+    }
+
+    /** Filters and deflates the rows between first (included) and last (excluded) */
+    private static Band deflate(RenderedImage image, int first, int last, int level, int strategy, Filter filter) {
+        int width = image.getWidth();
+        int bpp = image.getSampleModel().getNumBands();
+        int rowBytes = width * bpp;
+        int filteredRowBytes = rowBytes + 1;
+        // the tail of the previous band is filtered again, to be used as the dictionary
+        int dictionaryRows = Math.min(first, (DICTIONARY_SIZE + filteredRowBytes - 1) / filteredRowBytes);
+        int from = first - dictionaryRows;
+        int readFrom = Math.max(0, from - 1);
+        Raster raster = image.getData(
+                new Rectangle(image.getMinX(), image.getMinY() + readFrom, width, last - readFrom));
+
+        Workspace ws = acquire(rowBytes, (last - from) * filteredRowBytes);
+        byte[] previous = ws.previous;
+        byte[] current = ws.current;
+        if (from > 0) readRow(raster, image.getMinY() + from - 1, previous, bpp);
+        else Arrays.fill(previous, 0, rowBytes, (byte) 0);
+        byte[] filtered = ws.filtered;
+        int position = 0;
+        for (int row = from; row < last; row++) {
+            readRow(raster, image.getMinY() + row, current, bpp);
+            filterRow(filter, previous, current, rowBytes, bpp, filtered, position, ws);
+            position += filteredRowBytes;
+            byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        int dictionaryLength = dictionaryRows * filteredRowBytes;
+        int rawLength = position - dictionaryLength;
+        Adler32 adler = new Adler32();
+        adler.update(filtered, dictionaryLength, rawLength);
+
+        Deflater deflater = acquireDeflater(level, strategy);
+        try {
+            if (dictionaryLength > 0) {
+                int size = Math.min(DICTIONARY_SIZE, dictionaryLength);
+                deflater.setDictionary(filtered, dictionaryLength - size, size);
+            }
+            deflater.setInput(filtered, dictionaryLength, rawLength);
+            int length = 0;
+            if (last == image.getHeight()) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    if (length == ws.output.length) ws.output = Arrays.copyOf(ws.output, ws.output.length * 2);
+                    length += deflater.deflate(ws.output, length, ws.output.length - length);
+                }
+            } else {
+                // flush to a byte boundary, without marking the end of the stream
+                do {
+                    if (length == ws.output.length) ws.output = Arrays.copyOf(ws.output, ws.output.length * 2);
+                    length += deflater.deflate(ws.output, length, ws.output.length - length, Deflater.SYNC_FLUSH);
+                } while (length == ws.output.length);
+            }
+            return new Band(ws, length, adler.getValue(), rawLength);
+        } finally {
+            releaseDeflater(deflater, level, strategy);
+        }
+    }
+
+    /** Copies the samples of the row at the given y in the target array, pixel interleaved */
+    static void readRow(Raster raster, int y, byte[] row, int bpp) {
+        int width = raster.getWidth();
+        SampleModel sm = raster.getSampleModel();
+        DataBuffer buffer = raster.getDataBuffer();
+        if (sm instanceof ComponentSampleModel && buffer instanceof DataBufferByte && isSingleBank(sm)) {
+            ComponentSampleModel csm = (ComponentSampleModel) sm;
+            int bank = csm.getBankIndices()[0];
+            byte[] data = ((DataBufferByte) buffer).getData(bank);
+            int pixelStride = csm.getPixelStride();
+            int[] bandOffsets = csm.getBandOffsets();
+            int base = buffer.getOffsets()[bank]
+                    + (y - raster.getSampleModelTranslateY()) * csm.getScanlineStride()
+                    + (raster.getMinX() - raster.getSampleModelTranslateX()) * pixelStride;
+            if (pixelStride == bpp && isIdentity(bandOffsets)) {
+                System.arraycopy(data, base, row, 0, width * bpp);
+            } else {
+                for (int b = 0; b < bpp; b++) {
+                    for (int i = 0, s = base + bandOffsets[b], d = b; i < width; i++, s += pixelStride, d += bpp) {
+                        row[d] = data[s];
+                    }
+                }
+            }
+        } else {
+            raster.getDataElements(raster.getMinX(), y, width, 1, row);
+        }
+    }
+
+    private static boolean isSingleBank(SampleModel sm) {
+        int[] banks = ((ComponentSampleModel) sm).getBankIndices();
+        for (int bank : banks) {
+            if (bank != banks[0]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isIdentity(int[] offsets) {
+        for (int i = 0; i < offsets.length; i++) {
+            if (offsets[i] != i) return false;
+        }
+        return true;
+    }
+
+    /** Filters a row, writing the filter type and the filtered bytes in the target array at the given position */
+    static void filterRow(
+            Filter filter, byte[] prev, byte[] cur, int length, int bpp, byte[] target, int position, Workspace ws) {
+        if (filter != Filter.ADAPTIVE) {
+            target[position] = (byte) filter.ordinal();
+            applyFilter(filter, prev, cur, length, bpp, target, position + 1);
+            return;
+        }
+
+        // pick the filter with the minimum sum of absolute differences, as libpng does
+        Filter best = Filter.NONE;
+        long bestSum = Long.MAX_VALUE;
+        byte[][] candidates = ws.candidates;
+        for (Filter candidate : Filter.values()) {
+            if (candidate == Filter.ADAPTIVE) continue;
+            byte[] scratch = candidates[candidate.ordinal()];
+            applyFilter(candidate, prev, cur, length, bpp, scratch, 0);
+            long sum = sumOfAbs(scratch, length);
+            if (sum < bestSum) {
+                bestSum = sum;
+                best = candidate;
+            }
+        }
+        target[position] = (byte) best.ordinal();
+        System.arraycopy(candidates[best.ordinal()], 0, target, position + 1, length);
+    }
+
+    private static long sumOfAbs(byte[] data, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += Math.abs(data[i]);
+        }
+        return sum;
+    }
+
+    private static void applyFilter(
+            Filter filter, byte[] prev, byte[] cur, int length, int bpp, byte[] target, int offset) {
+        switch (filter) {
+            case NONE:
+                System.arraycopy(cur, 0, target, offset, length);
+                break;
+            case SUB:
+                System.arraycopy(cur, 0, target, offset, bpp);
+                for (int i = bpp; i < length; i++) {
+                    target[offset + i] = (byte) (cur[i] - cur[i - bpp]);
+                }
+                break;
+            case UP:
+                for (int i = 0; i < length; i++) {
+                    target[offset + i] = (byte) (cur[i] - prev[i]);
+                }
+                break;
+            case AVERAGE:
+                for (int i = 0; i < bpp; i++) {
+                    target[offset + i] = (byte) (cur[i] - ((prev[i] & 0xFF) >>> 1));
+                }
+                for (int i = bpp; i < length; i++) {
+                    target[offset + i] = (byte) (cur[i] - (((cur[i - bpp] & 0xFF) + (prev[i] & 0xFF)) >>> 1));
+                }
+                break;
+            case PAETH:
+                for (int i = 0; i < bpp; i++) {
+                    target[offset + i] = (byte) (cur[i] - prev[i]);
+                }
+                for (int i = bpp; i < length; i++) {
+                    int a = cur[i - bpp] & 0xFF;
+                    int b = prev[i] & 0xFF;
+                    int c = prev[i - bpp] & 0xFF;
+                    int pa = Math.abs(b - c);
+                    int pb = Math.abs(a - c);
+                    int pc = Math.abs(a + b - 2 * c);
+                    int predictor = pa <= pb && pa <= pc ? a : pb <= pc ? b : c;
+                    target[offset + i] = (byte) (cur[i] - predictor);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Not a scanline filter: " + filter);
+        }
+    }
+
+    private static Deflater acquireDeflater(int level, int strategy) {
+        Queue<Deflater> pool = DEFLATERS.computeIfAbsent(level * 16 + strategy, k -> new ConcurrentLinkedQueue<>());
+        Deflater deflater = pool.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+            deflater.setStrategy(strategy);
+            // apply the strategy right away, changing it after setting a dictionary would discard the latter
+            deflater.deflate(new byte[0]);
+            deflater.reset();
+        } else {
+            POOLED_DEFLATERS.decrementAndGet();
+        }
+        return deflater;
+    }
+
+    private static void releaseDeflater(Deflater deflater, int level, int strategy) {
+        deflater.reset();
+        if (POOLED_DEFLATERS.incrementAndGet() <= MAX_POOLED) {
+            DEFLATERS.get(level * 16 + strategy).offer(deflater);
+        } else {
+            POOLED_DEFLATERS.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    private static Workspace acquire(int rowBytes, int filteredBytes) {
+        Workspace ws = WORKSPACES.poll();
+        if (ws == null) ws = new Workspace();
+        else POOLED_WORKSPACES.decrementAndGet();
+        ws.ensureCapacity(rowBytes, filteredBytes);
+        return ws;
+    }
+
+    private static void release(Workspace ws) {
+        if (POOLED_WORKSPACES.incrementAndGet() <= MAX_POOLED) {
+            WORKSPACES.offer(ws);
+        } else {
+            POOLED_WORKSPACES.decrementAndGet();
+        }
+    }
+
+    /** The buffers used to encode a band, reused across bands and images */
+    static class Workspace {
+        byte[] previous = new byte[0];
+        byte[] current = new byte[0];
+        byte[][] candidates = new byte[Filter.values().length][0];
+        byte[] filtered = new byte[0];
+        byte[] output = new byte[0];
+
+        void ensureCapacity(int rowBytes, int filteredBytes) {
+            if (previous.length < rowBytes) {
+                previous = new byte[rowBytes];
+                current = new byte[rowBytes];
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] = new byte[rowBytes];
+                }
+            }
+            if (filtered.length < filteredBytes) filtered = new byte[filteredBytes];
+            if (output.length < filteredBytes / 2 + 64) output = new byte[filteredBytes / 2 + 64];
+        }
+    }
+
+    /** A deflated band */
+    static class Band {
+        final Workspace workspace;
+        final int length;
+        final long adler;
+        final int rawLength;
+
+        Band(Workspace workspace, int length, long adler, int rawLength) {
+            this.workspace = workspace;
+            this.length = length;
+            this.adler = adler;
+            this.rawLength = rawLength;
+        }
+    }
+
+    /** Splits the zlib stream in IDAT chunks */
+    static class IdatOutputStream extends OutputStream {
+        final OutputStream out;
+        final byte[] buffer = new byte[IDAT_SIZE];
+        int count;
+
+        IdatOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) flushChunk();
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) flushChunk();
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            writeChunk(out, "IDAT", buffer, count);
+            count = 0;
+        }
+
+        /** Writes the last IDAT chunk, without closing the wrapped stream */
+        void finish() throws IOException {
+            if (count > 0) flushChunk();
+        }
+    }
+}
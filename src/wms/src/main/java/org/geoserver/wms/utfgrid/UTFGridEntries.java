@@ -4,10 +4,24 @@
  */
 package org.geoserver.wms.utfgrid;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import org.geotools.api.feature.Feature;
-
+import org.geotools.api.feature.Property;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.xml.gml.GMLComplexTypes.GeometryPropertyType;
+
+/**
+ * Assigns a value to each feature painted in the grid, and keeps the non geometric attributes of the feature around
+ * until the grid gets encoded. The features themselves, and their geometries, are not retained, so that the memory
+ * used does not depend on the size of the rendered geometries.
+ */
 class UTFGridEntries {
 
     static class UTFGridEntry {
@@ -16,20 +30,37 @@ static class UTFGridEntry {
 
         int key = -1;
 
-        Feature feature;
+        String id;
+
+        String[] names;
 
-        public UTFGridEntry(int value, Feature feature) {
+        Object[] values;
+
+        public UTFGridEntry(int value, String id, String[] names, Object[] values) {
             super();
             this.value = value;
-            this.feature = feature;
+            this.id = id;
+            this.names = names;
+            this.values = values;
         }
 
         public int getValue() {
             return value;
         }
 
-        public Feature getFeature() {
-            return feature;
+        /** The feature identifier, as encoded in the output */
+        public String getId() {
+            return id;
+        }
+
+        /** The names of the non geometric attributes */
+        public String[] getNames() {
+            return names;
+        }
+
+        /** The values of the non geometric attributes, in the same order as the names */
+        public Object[] getValues() {
+            return values;
         }
 
         public int getKey() {
@@ -43,24 +74,62 @@ public void setKey(int key) {
 
     Map<String, UTFGridEntry> entryMap = new HashMap<>();
 
+    /** The entries, in value order, the entry for value {@code v} is at position {@code v - 1} */
+    List<UTFGridEntry> entries = new ArrayList<>();
+
+    /** The non geometric attribute names of each simple feature type, shared among the entries */
+    Map<SimpleFeatureType, String[]> typeNames = new IdentityHashMap<>();
+
     int value = 1;
 
     int getKeyForFeature(Feature feature) {
         String id = feature.getIdentifier().getID();
         UTFGridEntry entry = entryMap.get(id);
         if (entry == null) {
-            entry = new UTFGridEntry(value++, feature);
+            entry = buildEntry(value++, feature.getIdentifier().toString(), feature);
             entryMap.put(id, entry);
+            entries.add(entry);
         }
         return entry.getValue();
     }
 
-    Map<Integer, UTFGridEntry> getEntryMap() {
-        Map<Integer, UTFGridEntry> result = new HashMap<>();
-        for (UTFGridEntry entry : entryMap.values()) {
-            result.put(entry.getValue(), entry);
+    private UTFGridEntry buildEntry(int value, String id, Feature feature) {
+        if (feature instanceof SimpleFeature) {
+            SimpleFeature sf = (SimpleFeature) feature;
+            SimpleFeatureType type = sf.getFeatureType();
+            String[] names = typeNames.computeIfAbsent(type, t -> {
+                List<String> result = new ArrayList<>();
+                for (AttributeDescriptor ad : t.getAttributeDescriptors()) {
+                    if (!(ad instanceof GeometryDescriptor)) {
+                        result.add(ad.getLocalName());
+                    }
+                }
+                return result.toArray(new String[result.size()]);
+            });
+            Object[] values = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                values[i] = sf.getAttribute(names[i]);
+            }
+            return new UTFGridEntry(value, id, names, values);
+        } else {
+            List<String> names = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            for (Property p : feature.getProperties()) {
+                if (p.getType() instanceof GeometryPropertyType) {
+                    continue;
+                }
+                names.add(p.getName().getLocalPart());
+                values.add(p.getValue());
+            }
+            return new UTFGridEntry(value, id, names.toArray(new String[names.size()]), values.toArray());
         }
+    }
 
-        return result;
+    /** Returns the entry associated to the given value, or null if not found */
+    UTFGridEntry getEntry(int value) {
+        if (value < 1 || value > entries.size()) {
+            return null;
+        }
+        return entries.get(value - 1);
     }
 }
@@ -7,23 +7,19 @@
 import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import net.sf.json.util.JSONBuilder;
-import net.sf.json.util.JSONStringer;
 import org.geoserver.wms.map.RawMap;
 import org.geoserver.wms.utfgrid.UTFGridEntries.UTFGridEntry;
-import org.geotools.api.feature.Feature;
-import org.geotools.api.feature.Property;
-import org.geotools.api.feature.simple.SimpleFeature;
-import org.geotools.api.feature.type.AttributeDescriptor;
-import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.util.Converters;
-import org.geotools.xml.gml.GMLComplexTypes.GeometryPropertyType;
 
 public class UTFGridMap extends RawMap {
 
@@ -38,71 +34,50 @@ public UTFGridMap(final UTFGridMapContent mapContent, RenderedImage image) {
     public void writeTo(java.io.OutputStream out) throws java.io.IOException {
         UTFGridEntries entries = getEntries();
 
-        PrintWriter pw = new PrintWriter(out);
-        pw.println("{");
-        pw.println("\"grid\": [");
-        List<UTFGridEntry> encodedEntries = writeGrid(pw, image, entries);
-        pw.println("],");
-        pw.println("\"keys\": [");
+        // everything is written as it gets computed, one grid row and one entry at a time
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("{\n");
+        writer.write("\"grid\": [\n");
+        List<UTFGridEntry> encodedEntries = writeGrid(writer, image, entries);
+        writer.write("],\n");
+        writer.write("\"keys\": [\n");
         if (encodedEntries.isEmpty()) {
-            pw.println("  \"\"");
+            writer.write("  \"\"\n");
         } else {
-            pw.println("  \"\",");
+            writer.write("  \"\",\n");
             for (Iterator<UTFGridEntry> it = encodedEntries.iterator(); it.hasNext(); ) {
                 UTFGridEntry entry = it.next();
-                pw.print("  \"");
-                pw.print(entry.getKey());
-                if (it.hasNext()) {
-                    pw.println("\",");
-                } else {
-                    pw.println("\"");
-                }
+                writer.write("  \"");
+                writer.write(String.valueOf(entry.getKey()));
+                writer.write(it.hasNext() ? "\",\n" : "\"\n");
             }
         }
-        pw.println("],");
-        pw.println("\"data\": {");
+        writer.write("],\n");
+        writer.write("\"data\": {\n");
         for (Iterator<UTFGridEntry> it = encodedEntries.iterator(); it.hasNext(); ) {
             UTFGridEntry entry = it.next();
-            pw.print("  \"");
-            pw.print(entry.getKey());
-            pw.print("\" : ");
-            pw.print(getAttributesJson(entry.getFeature()));
+            writer.write("  \"");
+            writer.write(String.valueOf(entry.getKey()));
+            writer.write("\" : ");
+            writeAttributesJson(writer, entry);
             if (it.hasNext()) {
-                pw.println(",");
+                writer.write(",\n");
             }
         }
-        pw.println("}");
-        pw.println("}");
-        pw.flush();
+        writer.write("}\n");
+        writer.write("}\n");
+        writer.flush();
     }
 
-    private String getAttributesJson(Feature feature) {
-        JSONBuilder builder = new JSONStringer().object();
-        builder.key("id").value(feature.getIdentifier().toString());
-        if (feature instanceof SimpleFeature) {
-            SimpleFeature sf = (SimpleFeature) feature;
-            for (AttributeDescriptor ad : sf.getFeatureType().getAttributeDescriptors()) {
-                if (ad instanceof GeometryDescriptor) {
-                    continue;
-                } else {
-                    String name = ad.getLocalName();
-                    Object value = sf.getAttribute(name);
-                    addAttribute(builder, name, value);
-                }
-            }
-        } else {
-            for (Property p : feature.getProperties()) {
-                if (p.getType() instanceof GeometryPropertyType) {
-                    continue;
-                }
-                String name = p.getName().getLocalPart();
-                Object value = p.getValue();
-                addAttribute(builder, name, value);
-            }
+    private void writeAttributesJson(Writer writer, UTFGridEntry entry) {
+        JSONBuilder builder = new JSONBuilder(writer).object();
+        builder.key("id").value(entry.getId());
+        String[] names = entry.getNames();
+        Object[] values = entry.getValues();
+        for (int i = 0; i < names.length; i++) {
+            addAttribute(builder, names[i], values[i]);
         }
-
         builder.endObject();
-        return builder.toString();
     }
 
     private void addAttribute(JSONBuilder builder, String name, Object value) {
@@ -116,24 +91,27 @@ private void addAttribute(JSONBuilder builder, String name, Object value) {
      * Writes the grid, and maps the original values into a compact sequence of keys (the original values might be
      * sparse due to features being fully overwritten by other features)
      */
-    private List<UTFGridEntry> writeGrid(PrintWriter pw, RenderedImage image, UTFGridEntries entries) {
-        Map<Integer, UTFGridEntry> keyToFeature = entries.getEntryMap();
+    private List<UTFGridEntry> writeGrid(Writer writer, RenderedImage image, UTFGridEntries entries)
+            throws IOException {
         List<UTFGridEntry> result = new ArrayList<>();
 
         int key = 1;
         Raster data = getData(image);
         int width = data.getWidth();
         int[] pixels = new int[width];
+        // the row, with the quotes around it
+        char[] row = new char[width + 2];
+        row[0] = '"';
+        row[width + 1] = '"';
         int height = data.getHeight();
         for (int r = 0; r < height; r++) {
             data.getDataElements(0, r, width, 1, pixels);
-            pw.print("\"");
-            for (int j : pixels) {
-                int pixel = j & 0xFFFFFF;
+            for (int c = 0; c < width; c++) {
+                int pixel = pixels[c] & 0xFFFFFF;
                 if (pixel == 0) {
-                    pw.print(" ");
+                    row[c + 1] = ' ';
                 } else {
-                    UTFGridEntry entry = keyToFeature.get(pixel);
+                    UTFGridEntry entry = entries.getEntry(pixel);
                     if (entry == null) {
                         throw new RuntimeException("Could not find entry for pixel value "
                                 + pixel
@@ -148,14 +126,11 @@ private List<UTFGridEntry> writeGrid(PrintWriter pw, RenderedImage image, UTFGri
                         entry.setKey(entryKey);
                         result.add(entry);
                     }
-                    pw.print(getGridChar(entryKey));
+                    row[c + 1] = getGridChar(entryKey);
                 }
             }
-            if (r < height - 1) {
-                pw.println("\",");
-            } else {
-                pw.println("\"");
-            }
+            writer.write(row);
+            writer.write(r < height - 1 ? ",\n" : "\n");
         }
 
         return result;
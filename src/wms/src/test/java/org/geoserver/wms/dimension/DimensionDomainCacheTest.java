@@ -0,0 +1,81 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import org.geoserver.catalog.DimensionInfo;
+import org.geoserver.catalog.DimensionPresentation;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.wms.WMSDimensionsTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DimensionDomainCacheTest extends WMSDimensionsTestSupport {
+
+    DimensionDomainCache cache;
+
+    @Before
+    public void createCache() {
+        cache = new DimensionDomainCache(getCatalog(), "maximumSize=100");
+    }
+
+    @After
+    public void disposeCache() {
+        getCatalog().removeListener(cache);
+        cache.destroy();
+    }
+
+    private FeatureTypeInfo getTimeElevation() {
+        return getCatalog().getFeatureTypeByName(V_TIME_ELEVATION.getLocalPart());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        DimensionDomainCache disabled = new DimensionDomainCache(getCatalog(), null);
+        setupVectorDimension(ResourceInfo.ELEVATION, "elevation", DimensionPresentation.LIST, null, UNITS, UNIT_SYMBOL);
+        FeatureTypeInfo typeInfo = getTimeElevation();
+
+        DimensionInfo elevation = typeInfo.getMetadata().get(ResourceInfo.ELEVATION, DimensionInfo.class);
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.getDomain(typeInfo, elevation));
+    }
+
+    @Test
+    public void testDomain() {
+        setupVectorDimension(ResourceInfo.ELEVATION, "elevation", DimensionPresentation.LIST, null, UNITS, UNIT_SYMBOL);
+        FeatureTypeInfo typeInfo = getTimeElevation();
+        DimensionInfo elevation = typeInfo.getMetadata().get(ResourceInfo.ELEVATION, DimensionInfo.class);
+
+        DimensionDomain domain = cache.getDomain(typeInfo, elevation);
+        assertEquals(List.of(0d, 1d, 2d, 3d), domain.getValues());
+        assertEquals(List.of(1d, 2d), domain.getValues(0.5, 2d, 10));
+        assertEquals(2d, domain.nearest(1.8));
+        assertSame(domain, cache.getDomain(typeInfo, elevation));
+        assertEquals(1, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testInvalidatedOnCatalogChange() {
+        setupVectorDimension(ResourceInfo.TIME, "time", DimensionPresentation.LIST, null, null, null);
+        FeatureTypeInfo typeInfo = getTimeElevation();
+        DimensionInfo time = typeInfo.getMetadata().get(ResourceInfo.TIME, DimensionInfo.class);
+        assertEquals(4, cache.getDomain(typeInfo, time).size());
+        assertEquals(1, cache.getStatistics().getSize());
+
+        // unsaved changes are not cached
+        typeInfo.setTitle("Modified");
+        assertNull(cache.getDomain(typeInfo, time));
+
+        getCatalog().save(typeInfo);
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+}
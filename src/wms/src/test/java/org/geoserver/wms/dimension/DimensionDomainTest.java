@@ -0,0 +1,79 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.junit.Test;
+
+public class DimensionDomainTest {
+
+    @Test
+    public void testTimes() {
+        DimensionDomain domain = DimensionDomain.build(
+                Arrays.asList(new Timestamp(3000), new Date(1000), null, new Date(2000)), new Date(5000));
+        assertTrue(domain instanceof DimensionDomain.TimeDomain);
+        assertEquals(3, domain.size());
+        assertEquals(List.of(new Date(1000), new Date(2000), new Date(3000)), domain.getValues());
+        assertEquals(new Date(1000), domain.getMinimum());
+        assertEquals(new Date(3000), domain.getMaximum());
+        assertEquals(new Date(5000), domain.getMaximumEnd());
+
+        assertEquals(new Date(2000), domain.nearest(new Date(1800)));
+        assertEquals(new Date(1000), domain.nearest(new Date(1400)));
+        // ties go to the larger value
+        assertEquals(new Date(2000), domain.nearest(new Date(1500)));
+        assertEquals(new Date(1000), domain.nearest(new Date(0)));
+        assertEquals(new Date(3000), domain.nearest(new Date(10000)));
+
+        assertEquals(List.of(new Date(2000), new Date(3000)), domain.getValues(new Date(2000), new Date(3000), 0));
+        assertEquals(List.of(new Date(2000)), domain.getValues(new Date(1500), new Date(3500), 1));
+        assertEquals(Collections.emptyList(), domain.getValues(new Date(3500), new Date(4000), 0));
+    }
+
+    @Test
+    public void testNumbers() {
+        DimensionDomain domain = DimensionDomain.build(Arrays.asList(10, 0, 5), null);
+        assertTrue(domain instanceof DimensionDomain.NumberDomain);
+        // the original type is preserved
+        assertEquals(List.of(0, 5, 10), domain.getValues());
+        assertEquals(10, domain.getMaximumEnd());
+        assertEquals(5, domain.nearest(6.5));
+        assertEquals(10, domain.nearest("9"));
+        assertEquals(List.of(5, 10), domain.getValues(1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> domain.nearest("abc"));
+    }
+
+    @Test
+    public void testOtherValues() {
+        DimensionDomain domain = DimensionDomain.build(Arrays.asList("b", "c", "a"), null);
+        assertFalse(domain.isMeasurable());
+        assertEquals(List.of("a", "b", "c"), domain.getValues());
+        assertEquals(List.of("b", "c"), domain.getValues("az", "c", 0));
+        assertThrows(UnsupportedOperationException.class, () -> domain.nearest("b"));
+
+        // longs are kept as they are, they may not fit in a double
+        DimensionDomain longs = DimensionDomain.build(Arrays.asList(Long.MAX_VALUE, 1L), null);
+        assertEquals(List.of(1L, Long.MAX_VALUE), longs.getValues());
+    }
+
+    @Test
+    public void testEmpty() {
+        DimensionDomain domain = DimensionDomain.build(Collections.singleton(null), null);
+        assertTrue(domain.isEmpty());
+        assertNull(domain.getMinimum());
+        assertNull(domain.getMaximumEnd());
+        assertEquals(Collections.emptyList(), domain.getValues(1, 2, 0));
+    }
+}
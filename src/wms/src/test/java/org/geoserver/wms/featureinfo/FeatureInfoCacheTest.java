@@ -0,0 +1,203 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.geoserver.security.decorators.DecoratingFeatureSource;
+import org.geoserver.wms.map.FeatureTile;
+import org.geoserver.wms.map.FeatureTileSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class FeatureInfoCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType schema;
+
+    List<SimpleFeature> features;
+
+    /** Counts the queries reaching the store */
+    AtomicInteger storeQueries = new AtomicInteger();
+
+    DecoratingFeatureSource<SimpleFeatureType, SimpleFeature> store;
+
+    FeatureTypeInfo typeInfo;
+
+    DataAccessRuleDAO dao;
+
+    @Before
+    public void setup() throws Exception {
+        schema = DataUtilities.createType("points", "geom:Point:srid=4326,name:String,value:Integer");
+        features = new ArrayList<>();
+        // a diagonal of points, inserted in reverse order
+        for (int i = 9; i >= 0; i--) {
+            String fid = "points." + i;
+            features.add(DataUtilities.createFeature(schema, fid + "=POINT(" + i + " " + i + ")|p" + i + "|" + i));
+        }
+        store = new DecoratingFeatureSource<>(
+                new CollectionFeatureSource(new ListFeatureCollection(schema, features))) {
+            @Override
+            public FeatureCollection<SimpleFeatureType, SimpleFeature> getFeatures(Query query) throws IOException {
+                storeQueries.incrementAndGet();
+                return super.getFeatures(query);
+            }
+        };
+        typeInfo = mock(FeatureTypeInfo.class);
+        when(typeInfo.getId()).thenReturn("points-id");
+        dao = mock(DataAccessRuleDAO.class);
+        when(dao.getLastModified()).thenReturn(1L);
+    }
+
+    private ReferencedEnvelope envelope(double x1, double x2, double y1, double y2) {
+        return new ReferencedEnvelope(x1, x2, y1, y2, DefaultGeographicCRS.WGS84);
+    }
+
+    private FeatureInfoCache createCache(int maxFeatures) {
+        return new FeatureInfoCache(mock(Catalog.class), dao, "maximumSize=10", maxFeatures);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(new FeatureInfoCache(mock(Catalog.class), dao, null, 10).isEnabled());
+        assertTrue(createCache(10).isEnabled());
+    }
+
+    @Test
+    public void testTileQueryOrder() {
+        FeatureTile tile = new FeatureTile(envelope(0, 10, 0, 10), features);
+        List<SimpleFeature> result = tile.query(new Envelope(2.5, 5.5, 2.5, 5.5));
+        assertEquals(3, result.size());
+        // same order as the store
+        assertEquals("points.5", result.get(0).getID());
+        assertEquals("points.4", result.get(1).getID());
+        assertEquals("points.3", result.get(2).getID());
+    }
+
+    @Test
+    public void testGetTile() {
+        FeatureInfoCache cache = createCache(100);
+        ReferencedEnvelope tileArea = envelope(0, 10, 0, 10);
+        FeatureTile tile = cache.getTile(typeInfo, store, null, new Envelope(1, 2, 1, 2), tileArea);
+        assertNotNull(tile);
+        assertEquals(10, tile.getFeatures().size());
+        assertEquals(1, storeQueries.get());
+
+        // another click on the same map hits the same tile
+        assertSame(tile, cache.getTile(typeInfo, store, null, new Envelope(5, 6, 5, 6), tileArea));
+        assertEquals(1, storeQueries.get());
+
+        // different view parameters get a separate tile
+        cache.getTile(typeInfo, store, Map.of("p", "v"), new Envelope(5, 6, 5, 6), tileArea);
+        assertEquals(2, storeQueries.get());
+
+        // an area outside of the tile area cannot be served
+        assertNull(cache.getTile(typeInfo, store, null, new Envelope(5, 16, 5, 6), tileArea));
+    }
+
+    @Test
+    public void testRulesChange() {
+        FeatureInfoCache cache = createCache(100);
+        ReferencedEnvelope tileArea = envelope(0, 10, 0, 10);
+        FeatureTile tile = cache.getTile(typeInfo, store, null, new Envelope(1, 2, 1, 2), tileArea);
+        assertEquals(1, storeQueries.get());
+
+        // the secured source may return different features under the new rules
+        when(dao.getLastModified()).thenReturn(2L);
+        assertNotSame(tile, cache.getTile(typeInfo, store, null, new Envelope(1, 2, 1, 2), tileArea));
+        assertEquals(2, storeQueries.get());
+    }
+
+    @Test
+    public void testOversizedTile() {
+        FeatureInfoCache cache = createCache(5);
+        ReferencedEnvelope tileArea = envelope(0, 10, 0, 10);
+        assertNull(cache.getTile(typeInfo, store, null, new Envelope(1, 2, 1, 2), tileArea));
+        assertEquals(1, storeQueries.get());
+
+        // the marker avoids loading the same tile over and over
+        assertNull(cache.getTile(typeInfo, store, null, new Envelope(3, 4, 3, 4), tileArea));
+        assertEquals(1, storeQueries.get());
+
+        // until invalidated
+        cache.invalidate("points-id");
+        assertNull(cache.getTile(typeInfo, store, null, new Envelope(3, 4, 3, 4), tileArea));
+        assertEquals(2, storeQueries.get());
+    }
+
+    @Test
+    public void testFeatureTileSource() throws Exception {
+        FeatureTile tile = new FeatureTile(envelope(0, 5, 0, 5), features);
+        FeatureTileSource source = new FeatureTileSource(store, tile);
+
+        // served from memory, filtered, limited and retyped
+        Filter bbox = FF.bbox(FF.property("geom"), envelope(0.5, 4.5, 0.5, 4.5));
+        Filter filter = FF.and(bbox, FF.greater(FF.property("value"), FF.literal(1)));
+        Query query = new Query("points", filter, 2, new String[] {"name"}, null);
+        List<SimpleFeature> result = DataUtilities.list(source.getFeatures(query));
+        assertEquals(0, storeQueries.get());
+        assertEquals(2, result.size());
+        assertEquals("p4", result.get(0).getAttribute("name"));
+        assertEquals("p3", result.get(1).getAttribute("name"));
+        assertEquals(1, result.get(0).getAttributeCount());
+
+        // outside of the tile, delegated
+        query = new Query("points", FF.bbox(FF.property("geom"), envelope(4, 8, 4, 8)));
+        assertEquals(5, source.getFeatures(query).size());
+        assertEquals(1, storeQueries.get());
+
+        // sorted, delegated
+        query = new Query("points", bbox);
+        query.setSortBy(FF.sort("value", SortOrder.ASCENDING));
+        source.getFeatures(query);
+        assertEquals(2, storeQueries.get());
+    }
+
+    @Test
+    public void testStyleData() throws Exception {
+        FeatureInfoCache cache = createCache(10);
+        Style style = new StyleBuilder().createStyle(new StyleBuilder().createPointSymbolizer());
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals(1, (int) cache.getStyleData(style, "key", calls::incrementAndGet));
+        assertEquals(1, (int) cache.getStyleData(style, "key", calls::incrementAndGet));
+        assertEquals(2, (int) cache.getStyleData(style, "other", calls::incrementAndGet));
+
+        cache.invalidateAll();
+        assertEquals(3, (int) cache.getStyleData(style, "key", calls::incrementAndGet));
+    }
+}
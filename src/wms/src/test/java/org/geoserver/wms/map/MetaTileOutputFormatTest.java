@@ -5,6 +5,8 @@
 package org.geoserver.wms.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -53,6 +55,19 @@ public void testReleaseOnBufferedImage() throws Exception {
         assertEquals(1, cleaner.getImages().size());
     }
 
+    @Test
+    public void testSplitPooledImage() throws Exception {
+        RasterPool pool = new RasterPool(10 * 1024 * 1024);
+        BufferedImage bi = pool.acquire(768, 768, null, true);
+        RenderedImage[] tiles = MetatileMapOutputFormat.split(key, bi);
+
+        // the cached tiles must not share the raster of the pooled image, it will be reused
+        for (RenderedImage tile : tiles) {
+            assertNotSame(bi.getRaster().getDataBuffer(), ((BufferedImage) tile).getRaster().getDataBuffer());
+            assertFalse(RasterPool.isPooled(tile));
+        }
+    }
+
     @Test
     public void testReleaseOnPlanarImage() throws Exception {
         BufferedImage bi = new BufferedImage(256, 256, BufferedImage.TYPE_4BYTE_ABGR);
@@ -0,0 +1,248 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.xml.namespace.QName;
+import org.geoserver.data.test.MockData;
+import org.geoserver.wms.WMSTestSupport;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelStreamingRendererTest extends WMSTestSupport {
+
+    static final QName[] LAYERS = {
+        MockData.FORESTS,
+        MockData.LAKES,
+        MockData.STREAMS,
+        MockData.NAMED_PLACES,
+        MockData.ROAD_SEGMENTS,
+        MockData.PONDS,
+        MockData.BUILDINGS
+    };
+
+    ExecutorService executor;
+
+    MapContent map;
+
+    @Before
+    public void setupMap() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        map = new MapContent();
+        for (QName name : LAYERS) {
+            map.addLayer(createMapLayer(name));
+        }
+    }
+
+    @After
+    public void disposeMap() {
+        executor.shutdown();
+        map.dispose();
+    }
+
+    @Test
+    public void testPartition() {
+        List<Layer> layers = map.layers();
+        assertEquals(1, ParallelStreamingRenderer.partition(layers, 1).size());
+
+        List<List<Layer>> groups = ParallelStreamingRenderer.partition(layers, 3);
+        assertEquals(3, groups.size());
+        assertEquals(layers.subList(0, 3), groups.get(0));
+        assertEquals(layers.subList(3, 6), groups.get(1));
+        assertEquals(layers.subList(6, 7), groups.get(2));
+    }
+
+    /** A copy of the map layer at the given index, with a style using the given vendor options */
+    private Layer styled(int index, String... options) {
+        StyleBuilder sb = new StyleBuilder();
+        Style style = sb.createStyle(sb.createPolygonSymbolizer());
+        for (int i = 0; i < options.length; i += 2) {
+            style.featureTypeStyles().get(0).getOptions().put(options[i], options[i + 1]);
+        }
+        FeatureLayer layer = (FeatureLayer) map.layers().get(index);
+        return new FeatureLayer(layer.getFeatureSource(), style);
+    }
+
+    @Test
+    public void testPartitionKeepsCompositesTogether() {
+        List<Layer> all = map.layers();
+        // the lakes blend with the forests below them
+        List<Layer> layers = List.of(all.get(0), styled(1, FeatureTypeStyle.COMPOSITE, "multiply"));
+        assertEquals(1, ParallelStreamingRenderer.partition(layers, 2).size());
+
+        // the blending reaches the bottom of the map, not just the previous layer
+        layers = List.of(all.get(0), all.get(1), styled(2, FeatureTypeStyle.COMPOSITE, "multiply"));
+        assertEquals(1, ParallelStreamingRenderer.partition(layers, 2).size());
+
+        // but stops at the composite base, the layers above it can be split
+        Layer base = styled(1, FeatureTypeStyle.COMPOSITE_BASE, "true");
+        Layer blended = styled(2, FeatureTypeStyle.COMPOSITE, "multiply");
+        layers = List.of(all.get(0), base, blended, all.get(3));
+        List<List<Layer>> groups = ParallelStreamingRenderer.partition(layers, 2);
+        assertEquals(2, groups.size());
+        assertEquals(List.of(all.get(0)), groups.get(0));
+        assertEquals(List.of(base, blended, all.get(3)), groups.get(1));
+
+        // a composite on the base itself blends with the layers below it
+        base = styled(1, FeatureTypeStyle.COMPOSITE_BASE, "true", FeatureTypeStyle.COMPOSITE, "multiply");
+        layers = List.of(all.get(0), base, all.get(2));
+        groups = ParallelStreamingRenderer.partition(layers, 3);
+        assertEquals(List.of(List.of(all.get(0), base), List.of(all.get(2))), groups);
+    }
+
+    @Test
+    public void testPartitionKeepsSortByGroupTogether() {
+        List<Layer> all = map.layers();
+        Layer first = styled(0, FeatureTypeStyle.SORT_BY_GROUP, "roads");
+        Layer second = styled(2, FeatureTypeStyle.SORT_BY_GROUP, "roads");
+        List<Layer> layers = List.of(first, all.get(1), second, all.get(3));
+
+        List<List<Layer>> groups = ParallelStreamingRenderer.partition(layers, 4);
+        assertEquals(List.of(List.of(first, all.get(1), second), List.of(all.get(3))), groups);
+    }
+
+    @Test
+    public void testSameAsSequential() throws Exception {
+        ReferencedEnvelope bounds = new ReferencedEnvelope(map.layers().get(0).getBounds());
+        for (Layer layer : map.layers()) {
+            bounds.expandToInclude(layer.getBounds());
+        }
+        Rectangle area = new Rectangle(0, 0, 300, 200);
+        AffineTransform worldToScreen = RendererUtilities.worldToScreenTransform(bounds, area);
+
+        StreamingRenderer sequential = new StreamingRenderer();
+        sequential.setMapContent(map);
+        BufferedImage expected = paint(sequential, area, bounds, worldToScreen);
+
+        List<List<Layer>> groups = ParallelStreamingRenderer.partition(map.layers(), 3);
+        ParallelStreamingRenderer parallel = new ParallelStreamingRenderer(groups, StreamingRenderer::new, executor);
+        parallel.setMapContent(map);
+        AtomicInteger started = new AtomicInteger();
+        parallel.addRenderListener(new RenderListener() {
+            @Override
+            public void featureRenderer(SimpleFeature feature) {}
+
+            @Override
+            public void errorOccurred(Exception e) {}
+
+            @Override
+            public void layerStart(Layer layer) {
+                started.incrementAndGet();
+            }
+        });
+        BufferedImage actual = paint(parallel, area, bounds, worldToScreen);
+
+        assertEquals(LAYERS.length, started.get());
+        assertNotBlank("parallel", actual);
+        for (int y = 0; y < area.height; y++) {
+            for (int x = 0; x < area.width; x++) {
+                assertSimilar(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testLabelsSameAsSequential() throws Exception {
+        // large labels on all layers, conflict resolution depends on the order they are put in the label cache
+        MapContent labelled = new MapContent();
+        StyleBuilder sb = new StyleBuilder();
+        for (int i = 0; i < map.layers().size(); i++) {
+            TextSymbolizer text = sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 30), "label");
+            text.setLabel(sb.literalExpression("Label " + i));
+            FeatureLayer layer = (FeatureLayer) map.layers().get(i);
+            labelled.addLayer(new FeatureLayer(layer.getFeatureSource(), sb.createStyle(text)));
+        }
+        try {
+            ReferencedEnvelope bounds = new ReferencedEnvelope(map.layers().get(0).getBounds());
+            for (Layer layer : map.layers()) {
+                bounds.expandToInclude(layer.getBounds());
+            }
+            Rectangle area = new Rectangle(0, 0, 300, 200);
+            AffineTransform worldToScreen = RendererUtilities.worldToScreenTransform(bounds, area);
+
+            StreamingRenderer sequential = new StreamingRenderer();
+            sequential.setMapContent(labelled);
+            BufferedImage expected = paint(sequential, area, bounds, worldToScreen);
+
+            // the first group is built last, and delayed, so that its labels are collected after the other groups ones
+            List<List<Layer>> groups = ParallelStreamingRenderer.partition(labelled.layers(), 3);
+            AtomicInteger built = new AtomicInteger();
+            Supplier<StreamingRenderer> factory =
+                    () -> built.incrementAndGet() < groups.size() ? new StreamingRenderer() : new DelayedRenderer();
+            ParallelStreamingRenderer parallel = new ParallelStreamingRenderer(groups, factory, executor);
+            parallel.setMapContent(labelled);
+            BufferedImage actual = paint(parallel, area, bounds, worldToScreen);
+
+            assertNotBlank("parallel", actual);
+            for (int y = 0; y < area.height; y++) {
+                for (int x = 0; x < area.width; x++) {
+                    assertSimilar(expected.getRGB(x, y), actual.getRGB(x, y));
+                }
+            }
+        } finally {
+            labelled.dispose();
+        }
+    }
+
+    /** Waits a bit before painting, letting the other group renderers complete first */
+    static class DelayedRenderer extends StreamingRenderer {
+
+        @Override
+        public void paint(
+                Graphics2D graphics, Rectangle paintArea, ReferencedEnvelope mapArea, AffineTransform worldToScreen) {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.paint(graphics, paintArea, mapArea, worldToScreen);
+        }
+    }
+
+    private BufferedImage paint(
+            StreamingRenderer renderer, Rectangle area, ReferencedEnvelope bounds, AffineTransform worldToScreen) {
+        BufferedImage image = new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            renderer.paint(graphics, area, bounds, worldToScreen);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private void assertSimilar(int expected, int actual) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            int difference = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+            String message = "Pixel " + Integer.toHexString(actual) + " instead of " + Integer.toHexString(expected);
+            assertTrue(message, difference <= 2);
+        }
+    }
+}
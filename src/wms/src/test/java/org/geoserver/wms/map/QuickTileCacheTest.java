@@ -6,9 +6,26 @@
 package org.geoserver.wms.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.wms.map.QuickTileCache.MapKey;
+import org.geoserver.wms.map.QuickTileCache.MetaTileKey;
 import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
 
@@ -65,4 +82,94 @@ public void testInnerTileOffsets() {
         assertEquals(new Point(0, 2), cache.getTileOffsetsInMeta(box1, meta));
         assertEquals(new Point(1, 2), cache.getTileOffsetsInMeta(box2, meta));
     }
+
+    private static MetaTileKey key(int x) {
+        return new MetaTileKey(new MapKey("LAYERS=test", 1, new Point2D.Double(0, 0)), new Point(x, 0), null);
+    }
+
+    /** Nine 10x10 ARGB tiles, 3600 bytes */
+    private static RenderedImage[] tiles() {
+        RenderedImage[] tiles = new RenderedImage[9];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        }
+        return tiles;
+    }
+
+    @Test
+    public void testSingleFlightRendering() throws Exception {
+        QuickTileCache cache = new QuickTileCache("maximumSize=10");
+        AtomicInteger renderings = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RenderedImage[]>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.getTiles(key(0), () -> {
+                    renderings.incrementAndGet();
+                    started.countDown();
+                    try {
+                        proceed.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return tiles();
+                })));
+            }
+            started.await(10, TimeUnit.SECONDS);
+            // let the other threads reach the cache
+            Thread.sleep(100);
+            proceed.countDown();
+
+            RenderedImage[] tiles = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<RenderedImage[]> result : results) {
+                assertSame(tiles, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, renderings.get());
+        assertEquals(3, cache.getStatistics().getWaitCount());
+        assertEquals(1, cache.getStatistics().getSize());
+        assertEquals(9 * 400, cache.getStatistics().getWeight());
+    }
+
+    @Test
+    public void testBoundedBySize() throws Exception {
+        QuickTileCache cache = new QuickTileCache("maximumWeight=8000,concurrencyLevel=1");
+        for (int i = 0; i < 5; i++) {
+            cache.storeTiles(key(i), tiles());
+        }
+        QuickTileCache.Statistics stats = cache.getStatistics();
+        assertTrue(stats.getWeight() <= 8000);
+        assertEquals(3, stats.getEvictionCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    public void testFailedRenderingNotCached() throws Exception {
+        QuickTileCache cache = new QuickTileCache("maximumSize=10");
+        assertThrows(IOException.class, () -> cache.getTiles(key(0), () -> {
+            throw new IOException("failed");
+        }));
+        RenderedImage[] tiles = tiles();
+        assertSame(tiles, cache.getTiles(key(0), () -> tiles));
+        assertSame(tiles, cache.getTiles(key(0), () -> null));
+    }
+
+    @Test
+    public void testInvalidatedOnTransaction() throws Exception {
+        QuickTileCache cache = new QuickTileCache("maximumSize=10");
+        cache.storeTiles(key(0), tiles());
+        cache.dataStoreChange(null);
+        assertEquals(0, cache.getStatistics().getSize());
+
+        // a rendering running across the invalidation is not cached
+        cache.getTiles(key(1), () -> {
+            cache.dataStoreChange(null);
+            return tiles();
+        });
+        assertNull(cache.getTile(key(1), null));
+    }
 }
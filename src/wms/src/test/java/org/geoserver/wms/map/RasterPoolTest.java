@@ -0,0 +1,155 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import org.geoserver.wms.RasterCleaner;
+import org.junit.Test;
+
+public class RasterPoolTest {
+
+    static final long TILE_BYTES = 256 * 256 * 4;
+
+    private IndexColorModel palette() {
+        byte[] values = new byte[256];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) i;
+        }
+        return new IndexColorModel(8, 256, values, values, values);
+    }
+
+    @Test
+    public void testSameStructureAsUnpooled() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        IndexColorModel palette = palette();
+        assertEquals(BufferedImage.TYPE_4BYTE_ABGR, pool.acquire(256, 256, null, true).getType());
+        assertEquals(BufferedImage.TYPE_3BYTE_BGR, pool.acquire(256, 256, null, false).getType());
+        BufferedImage indexed = pool.acquire(256, 256, palette, true);
+        assertSame(palette, indexed.getColorModel());
+        assertTrue(RasterPool.isPooled(indexed));
+    }
+
+    @Test
+    public void testReuse() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        BufferedImage image = pool.acquire(256, 256, null, true);
+        RasterPool.returnToPool(image);
+        assertEquals(TILE_BYTES, pool.getRetainedBytes());
+
+        // a different structure cannot be served by the idle image
+        BufferedImage opaque = pool.acquire(256, 256, null, false);
+        assertNotSame(image, opaque);
+        BufferedImage larger = pool.acquire(512, 256, null, true);
+        assertNotSame(image, larger);
+
+        assertSame(image, pool.acquire(256, 256, null, true));
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void testReusedImageCleared() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        BufferedImage image = pool.acquire(256, 256, null, true);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 256, 256);
+        graphics.dispose();
+        RasterPool.returnToPool(image);
+
+        // the next request must not see the previous contents
+        assertSame(image, pool.acquire(256, 256, null, true));
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                assertEquals(0, image.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testPaletteReuse() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        IndexColorModel palette = palette();
+        BufferedImage image = pool.acquire(256, 256, palette, false);
+        RasterPool.returnToPool(image);
+        assertEquals(256 * 256, pool.getRetainedBytes());
+
+        assertNotSame(image, pool.acquire(256, 256, null, false));
+        // transparency is driven by the palette
+        assertSame(image, pool.acquire(256, 256, palette, true));
+    }
+
+    @Test
+    public void testMaxBytes() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 2);
+        BufferedImage first = pool.acquire(256, 256, null, true);
+        BufferedImage second = pool.acquire(256, 256, null, true);
+        BufferedImage third = pool.acquire(256, 256, null, true);
+        RasterPool.returnToPool(first);
+        RasterPool.returnToPool(second);
+        RasterPool.returnToPool(third);
+        assertEquals(TILE_BYTES * 2, pool.getRetainedBytes());
+
+        // too large to be retained at all
+        RasterPool.returnToPool(pool.acquire(1024, 1024, null, true));
+        assertEquals(TILE_BYTES * 2, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void testReleaseTwice() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        BufferedImage image = pool.acquire(256, 256, null, true);
+        RasterPool.returnToPool(image);
+        RasterPool.returnToPool(image);
+        assertEquals(TILE_BYTES, pool.getRetainedBytes());
+        assertSame(image, pool.acquire(256, 256, null, true));
+        assertNotSame(image, pool.acquire(256, 256, null, true));
+    }
+
+    @Test
+    public void testNotPooled() {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_4BYTE_ABGR);
+        assertFalse(RasterPool.isPooled(image));
+        // no-op
+        RasterPool.returnToPool(image);
+    }
+
+    @Test
+    public void testRasterCleaner() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        BufferedImage image = pool.acquire(256, 256, null, true);
+        RasterCleaner.addPooledImage(image);
+        assertEquals(0, pool.getRetainedBytes());
+
+        new RasterCleaner().finished(null);
+        assertEquals(TILE_BYTES, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void testMapDispose() {
+        RasterPool pool = new RasterPool(TILE_BYTES * 10);
+        BufferedImage image = pool.acquire(256, 256, null, true);
+        RenderedImageMap map = new RenderedImageMap(null, image, "image/png");
+        map.setPooledImage(image);
+        map.dispose();
+        assertEquals(TILE_BYTES, pool.getRetainedBytes());
+
+        // once detached, disposing the map does not return the image
+        image = pool.acquire(256, 256, null, true);
+        map = new RenderedImageMap(null, image, "image/png");
+        map.setPooledImage(image);
+        assertSame(image, map.detachPooledImage());
+        map.dispose();
+        assertEquals(0, pool.getRetainedBytes());
+    }
+}
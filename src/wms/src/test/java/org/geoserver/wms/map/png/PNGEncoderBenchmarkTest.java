@@ -0,0 +1,219 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import ar.com.hjg.pngj.FilterType;
+import it.geosolutions.imageio.plugins.png.PNGWriter;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the PNGJ based encoder with the {@link ParallelPNGEncoder}, both sequential and parallel, on map like
+ * images: a vector map with a palette, an antialiased RGBA vector map and a gray hillshade. The size of the encoded
+ * images is printed at the beginning of each trial.
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+@Ignore
+public class PNGEncoderBenchmarkTest {
+
+    static final float QUALITY = 0.75f;
+
+    /**
+     * Runs the JMH benchmark. This isn't a really test so it includes the @Ignore annotation; by integrating JMH with
+     * Junit it just provides us an easy way to run the benchmark (typically through the IDE).
+     */
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PNGEncoderBenchmark.class.getSimpleName() + ".*")
+                .result("./target/png-encoder.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    /** Counts the bytes written, and discards them */
+    static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    static BufferedImage buildImage(String imagery, int size) {
+        Random random = new Random(0);
+        if ("gray".equals(imagery)) {
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_GRAY);
+            WritableRaster raster = image.getRaster();
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    double shade = Math.sin(x * 0.01) * Math.cos(y * 0.013) + Math.sin((x + y) * 0.003);
+                    raster.setSample(x, y, 0, (int) Math.max(0, Math.min(255, 128 + 60 * shade + random.nextInt(8))));
+                }
+            }
+            return image;
+        }
+
+        BufferedImage image;
+        if ("palette".equals(imagery)) {
+            byte[] r = new byte[64];
+            byte[] g = new byte[64];
+            byte[] b = new byte[64];
+            byte[] a = new byte[64];
+            for (int i = 1; i < 64; i++) {
+                r[i] = (byte) random.nextInt(256);
+                g[i] = (byte) random.nextInt(256);
+                b[i] = (byte) random.nextInt(256);
+                a[i] = (byte) 255;
+            }
+            IndexColorModel icm = new IndexColorModel(8, 64, r, g, b, a);
+            image = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_INDEXED, icm);
+        } else {
+            image = new BufferedImage(size, size, BufferedImage.TYPE_4BYTE_ABGR);
+        }
+        Graphics2D graphics = image.createGraphics();
+        if (!"palette".equals(imagery)) {
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        }
+        // areas, then roads on top, with a handful of colors as in a typical base map
+        Color[] colors = {
+            new Color(200, 230, 180), new Color(170, 210, 240), new Color(240, 230, 210), new Color(250, 200, 120)
+        };
+        for (int i = 0; i < size / 8; i++) {
+            graphics.setColor(colors[random.nextInt(colors.length)]);
+            graphics.fill(randomPath(random, size, 6, size / 10, true));
+        }
+        for (int i = 0; i < size / 2; i++) {
+            graphics.setColor(colors[random.nextInt(colors.length)].darker());
+            graphics.setStroke(new BasicStroke(1 + random.nextInt(4)));
+            graphics.draw(randomPath(random, size, 10, size / 20, false));
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static Path2D randomPath(Random random, int size, int points, int step, boolean closed) {
+        Path2D path = new Path2D.Double();
+        double x = random.nextInt(size), y = random.nextInt(size);
+        path.moveTo(x, y);
+        for (int i = 0; i < points; i++) {
+            x += random.nextInt(step * 2 + 1) - step;
+            y += random.nextInt(step * 2 + 1) - step;
+            path.lineTo(x, y);
+        }
+        if (closed) path.closePath();
+        return path;
+    }
+
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class PNGEncoderBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class ImageState {
+
+            @Param({"palette", "rgba", "gray"})
+            String imagery;
+
+            @Param({"1024", "4096"})
+            int size;
+
+            @Param({"NONE", "SUB"})
+            String filter;
+
+            BufferedImage image;
+
+            ExecutorService executor;
+
+            int threads = Runtime.getRuntime().availableProcessors();
+
+            @Setup(Level.Trial)
+            public void setup() throws Exception {
+                image = buildImage(imagery, size);
+                executor = Executors.newFixedThreadPool(threads);
+
+                System.out.println();
+                System.out.println(imagery + " " + size + "x" + size + ", filter " + filter + ", encoded size:");
+                System.out.println("  pngj: " + pngjSize(this));
+                System.out.println("  sequential: " + encodedSize(this, new ParallelPNGEncoder(null, 1)));
+                System.out.println("  parallel: " + encodedSize(this, new ParallelPNGEncoder(executor, threads)));
+            }
+
+            @TearDown(Level.Trial)
+            public void tearDown() {
+                executor.shutdown();
+            }
+        }
+
+        static long pngjSize(ImageState state) throws Exception {
+            CountingOutputStream out = new CountingOutputStream();
+            FilterType filterType = "SUB".equals(state.filter) ? FilterType.FILTER_SUB : FilterType.FILTER_NONE;
+            new PNGWriter().writePNG(state.image, out, QUALITY, filterType);
+            return out.count;
+        }
+
+        static long encodedSize(ImageState state, ParallelPNGEncoder encoder) throws Exception {
+            CountingOutputStream out = new CountingOutputStream();
+            ParallelPNGEncoder.Filter filter = ParallelPNGEncoder.Filter.valueOf(state.filter);
+            encoder.encode(state.image, out, PNGJWriter.getCompressionLevel(QUALITY), filter);
+            return out.count;
+        }
+
+        @Benchmark
+        public long pngj(ImageState state) throws Exception {
+            return pngjSize(state);
+        }
+
+        @Benchmark
+        public long sequential(ImageState state) throws Exception {
+            return encodedSize(state, new ParallelPNGEncoder(null, 1));
+        }
+
+        @Benchmark
+        public long parallel(ImageState state) throws Exception {
+            return encodedSize(state, new ParallelPNGEncoder(state.executor, state.threads));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import javax.imageio.ImageIO;
+import org.geoserver.wms.map.png.ParallelPNGEncoder.Filter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelPNGEncoderTest {
+
+    static ExecutorService executor;
+
+    @BeforeClass
+    public static void setupExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    /** Some antialiased shapes over a noisy background, to exercise all the filters */
+    static BufferedImage map(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            g.setStroke(new BasicStroke(1 + random.nextInt(5)));
+            double size = random.nextInt(width / 2);
+            g.draw(new Ellipse2D.Double(random.nextInt(width), random.nextInt(height), size, size));
+        }
+        g.dispose();
+        return image;
+    }
+
+    static BufferedImage palette(int width, int height) {
+        byte[] values = new byte[16];
+        byte[] alphas = new byte[16];
+        for (int i = 0; i < 16; i++) {
+            values[i] = (byte) (i * 16);
+            alphas[i] = (byte) (i == 0 ? 0 : 255);
+        }
+        IndexColorModel icm = new IndexColorModel(8, 16, values, values, values, alphas);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, icm);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(map(width, height, BufferedImage.TYPE_INT_RGB), 0, 0, null);
+        g.dispose();
+        return image;
+    }
+
+    private byte[] encode(BufferedImage image, Filter filter, int parallelism) throws IOException {
+        // small bands, so that even small images are split in many of them
+        ParallelPNGEncoder encoder = new ParallelPNGEncoder(executor, parallelism, 4096);
+        assertTrue(encoder.getBandCount(image) > 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(image, out, 6, filter);
+        return out.toByteArray();
+    }
+
+    private void assertRoundTrip(BufferedImage image, Filter filter) throws IOException {
+        byte[] encoded = encode(image, filter, 4);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(encoded));
+        assertEquals(image.getWidth(), decoded.getWidth());
+        assertEquals(image.getHeight(), decoded.getHeight());
+        assertEquals(image.getColorModel().getNumComponents(), decoded.getColorModel().getNumComponents());
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                assertEquals("Pixel at " + x + "," + y, image.getRGB(x, y), decoded.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testRGBA() throws IOException {
+        BufferedImage image = map(300, 200, BufferedImage.TYPE_4BYTE_ABGR);
+        for (Filter filter : Filter.values()) {
+            assertRoundTrip(image, filter);
+        }
+    }
+
+    @Test
+    public void testRGB() throws IOException {
+        assertRoundTrip(map(300, 200, BufferedImage.TYPE_3BYTE_BGR), Filter.ADAPTIVE);
+    }
+
+    @Test
+    public void testGray() throws IOException {
+        assertRoundTrip(map(300, 200, BufferedImage.TYPE_BYTE_GRAY), Filter.SUB);
+    }
+
+    @Test
+    public void testPalette() throws IOException {
+        assertRoundTrip(palette(300, 200), Filter.NONE);
+    }
+
+    @Test
+    public void testSameOutputAnyParallelism() throws IOException {
+        BufferedImage image = map(300, 200, BufferedImage.TYPE_4BYTE_ABGR);
+        byte[] sequential = encode(image, Filter.PAETH, 1);
+        byte[] parallel = encode(image, Filter.PAETH, 4);
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertFalse(ParallelPNGEncoder.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB)));
+        assertFalse(ParallelPNGEncoder.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_USHORT_GRAY)));
+        assertFalse(ParallelPNGEncoder.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_BINARY)));
+        assertTrue(ParallelPNGEncoder.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_4BYTE_ABGR)));
+    }
+
+    @Test
+    public void testCombineAdler() {
+        byte[] data = new byte[100_000];
+        new Random(1).nextBytes(data);
+        Adler32 whole = new Adler32();
+        whole.update(data);
+        Adler32 first = new Adler32();
+        first.update(data, 0, 30_000);
+        Adler32 second = new Adler32();
+        second.update(data, 30_000, 70_000);
+        assertEquals(
+                whole.getValue(), ParallelPNGEncoder.combineAdler(first.getValue(), second.getValue(), 70_000));
+    }
+}
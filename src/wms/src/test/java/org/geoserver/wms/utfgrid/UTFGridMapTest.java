@@ -0,0 +1,74 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.utfgrid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import net.sf.json.JSONSerializer;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.utfgrid.UTFGridEntries.UTFGridEntry;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.junit.Test;
+
+public class UTFGridMapTest {
+
+    @Test
+    public void testStreamedGrid() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("roads", "geom:LineString,name:String,lanes:Integer");
+        UTFGridEntries entries = new UTFGridEntries();
+        int first = entries.getKeyForFeature(DataUtilities.createFeature(type, "roads.1=LINESTRING(0 0, 1 1)|Main|2"));
+        // fully overwritten by the others, will not be encoded
+        entries.getKeyForFeature(DataUtilities.createFeature(type, "roads.2=LINESTRING(0 0, 1 1)|Hidden|1"));
+        int third = entries.getKeyForFeature(DataUtilities.createFeature(type, "roads.3=LINESTRING(0 0, 1 1)|Side|1"));
+        // the same feature painted twice gets the same value
+        String repainted = "roads.3=LINESTRING(0 0, 1 1)|Side|1";
+        assertEquals(third, entries.getKeyForFeature(DataUtilities.createFeature(type, repainted)));
+
+        // geometries are not retained
+        UTFGridEntry entry = entries.getEntry(first);
+        assertArrayEquals(new String[] {"name", "lanes"}, entry.getNames());
+        assertArrayEquals(new Object[] {"Main", 2}, entry.getValues());
+        assertNull(entries.getEntry(4));
+
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, third);
+        image.setRGB(1, 0, first);
+        image.setRGB(2, 1, third);
+
+        UTFGridMap map = new UTFGridMap(new UTFGridMapContent(new WMSMapContent(), entries, 4), image);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        map.writeTo(bos);
+        JSONObject json = (JSONObject) JSONSerializer.toJSON(bos.toString(StandardCharsets.UTF_8));
+
+        // keys are assigned in order of appearance in the grid
+        JSONArray grid = json.getJSONArray("grid");
+        assertEquals(2, grid.size());
+        assertEquals("!# ", grid.getString(0));
+        assertEquals("  !", grid.getString(1));
+        JSONArray keys = json.getJSONArray("keys");
+        assertEquals(3, keys.size());
+        assertEquals("", keys.getString(0));
+        assertEquals("1", keys.getString(1));
+        assertEquals("2", keys.getString(2));
+
+        JSONObject data = json.getJSONObject("data");
+        assertEquals(2, data.size());
+        JSONObject side = data.getJSONObject("1");
+        assertEquals("roads.3", side.getString("id"));
+        assertEquals("Side", side.getString("name"));
+        assertEquals(1, side.getInt("lanes"));
+        assertFalse(side.has("geom"));
+        assertEquals("Main", data.getJSONObject("2").getString("name"));
+    }
+}